@@ -0,0 +1,54 @@
+package com.hal.travelapp.v1.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests a client has in flight. Callers over the limit wait up to the
+ * acquire timeout and are then rejected, so a slow remote cannot tie up every worker thread.
+ */
+class ConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String clientName;
+    private final int maxConcurrentRequests;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+
+    ConcurrencyLimitInterceptor(OutboundClientSettings settings, MeterRegistry meterRegistry) {
+        this.clientName = settings.name();
+        this.maxConcurrentRequests = settings.maxConcurrentRequests();
+        this.acquireTimeout = settings.acquireTimeout();
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        Gauge.builder("outbound.client.in.flight", permits, p -> maxConcurrentRequests - p.availablePermits())
+                .description("Outbound requests currently in flight")
+                .tag("client", clientName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new OutboundCapacityException(clientName, maxConcurrentRequests);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OutboundCapacityException(clientName, maxConcurrentRequests);
+        }
+        try {
+            return execution.execute(request, body);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.hal.travelapp.v1.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a latency histogram per client, operation and response status. The operation is
+ * taken from the {@link OutboundClientFactory#OPERATION_ATTRIBUTE} request attribute so that
+ * URIs with ids in them do not explode the number of series.
+ */
+class MetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String METRIC_NAME = "outbound.client.requests";
+
+    private final String clientName;
+    private final MeterRegistry meterRegistry;
+
+    MetricsInterceptor(String clientName, MeterRegistry meterRegistry) {
+        this.clientName = clientName;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long start = System.nanoTime();
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } catch (OutboundCapacityException e) {
+            status = "REJECTED";
+            throw e;
+        } finally {
+            Timer.builder(METRIC_NAME)
+                    .description("Latency of outbound HTTP calls")
+                    .tag("client", clientName)
+                    .tag("operation", operation(request))
+                    .tag("method", request.getMethod().name())
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String operation(HttpRequest request) {
+        Object operation = request.getAttributes().get(OutboundClientFactory.OPERATION_ATTRIBUTE);
+        return operation != null ? operation.toString() : request.getMethod().name();
+    }
+}
@@ -0,0 +1,14 @@
+package com.hal.travelapp.v1.client;
+
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Thrown when a client already has its maximum number of requests in flight and no slot
+ * became free within the acquire timeout.
+ */
+public class OutboundCapacityException extends ResourceAccessException {
+
+    public OutboundCapacityException(String clientName, int maxConcurrentRequests) {
+        super("Outbound client '" + clientName + "' is at its limit of " + maxConcurrentRequests + " concurrent requests");
+    }
+}
@@ -0,0 +1,57 @@
+package com.hal.travelapp.v1.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Builds {@link RestClient}s for calls to remote services. Each client gets its own JDK
+ * {@link HttpClient}, which keeps connections alive between calls and negotiates HTTP/2,
+ * plus a concurrency limit and latency metrics tagged with the client name.
+ * <p>
+ * Callers name each call with {@code .attribute(OPERATION_ATTRIBUTE, "...")}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboundClientFactory {
+
+    public static final String OPERATION_ATTRIBUTE = "outbound.operation";
+
+    private final MeterRegistry meterRegistry;
+    private final List<HttpClient> httpClients = new CopyOnWriteArrayList<>();
+
+    public RestClient create(OutboundClientSettings settings) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(settings.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        httpClients.add(httpClient);
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(settings.readTimeout());
+
+        // Metrics wrap the limiter so that rejected calls are counted as well
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .requestInterceptor(new MetricsInterceptor(settings.name(), meterRegistry))
+                .requestInterceptor(new ConcurrencyLimitInterceptor(settings, meterRegistry))
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClients.forEach(HttpClient::close);
+        httpClients.clear();
+        log.debug("Closed outbound HTTP clients");
+    }
+}
@@ -0,0 +1,21 @@
+package com.hal.travelapp.v1.client;
+
+import java.time.Duration;
+
+/**
+ * Connection and concurrency limits of one remote integration.
+ *
+ * @param name                  client name, used as the {@code client} metric tag
+ * @param connectTimeout        time allowed to open a connection
+ * @param readTimeout           time allowed for a response once the request is sent
+ * @param maxConcurrentRequests requests allowed in flight at once
+ * @param acquireTimeout        time a caller waits for a free slot before the call is rejected
+ */
+public record OutboundClientSettings(
+        String name,
+        Duration connectTimeout,
+        Duration readTimeout,
+        int maxConcurrentRequests,
+        Duration acquireTimeout
+) {
+}
@@ -0,0 +1,35 @@
+package com.hal.travelapp.v1.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImageProcessingConfig {
+
+    public static final String IMAGE_WORKER_POOL = "imageWorkerPool";
+
+    /**
+     * Bounded pool for decoding, resizing and uploading photos. When the queue is full the
+     * submitting request thread runs the task itself, which throttles uploads instead of
+     * piling up decoded images in memory.
+     */
+    @Bean(name = IMAGE_WORKER_POOL)
+    public ThreadPoolTaskExecutor imageWorkerPool(
+            @Value("${image.processing.pool-size:4}") int poolSize,
+            @Value("${image.processing.queue-capacity:32}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-worker-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.hal.travelapp.v1.config;
+
+import jakarta.servlet.MultipartConfigElement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.servlet.MultipartConfigFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class MultipartConfig {
+
+    /**
+     * Parts above the threshold are written to a temporary file instead of the heap. The
+     * container enforces the size limits while parsing, so an oversized request is rejected
+     * before the application sees it.
+     */
+    @Bean
+    public MultipartConfigElement multipartConfigElement(
+            @Value("${image.upload.max-part-size:15MB}") DataSize maxPartSize,
+            @Value("${image.upload.max-request-size:50MB}") DataSize maxPhotosSize,
+            @Value("${image.upload.file-size-threshold:256KB}") DataSize fileSizeThreshold,
+            @Value("${image.upload.temp-location:}") String tempLocation
+    ) {
+        MultipartConfigFactory factory = new MultipartConfigFactory();
+        factory.setMaxFileSize(maxPartSize);
+        // Leave room for the text fields sent alongside the photos
+        factory.setMaxRequestSize(DataSize.ofBytes(maxPhotosSize.toBytes() + DataSize.ofMegabytes(1).toBytes()));
+        factory.setFileSizeThreshold(fileSizeThreshold);
+        if (!tempLocation.isEmpty()) {
+            factory.setLocation(tempLocation);
+        }
+        return factory.createMultipartConfig();
+    }
+}
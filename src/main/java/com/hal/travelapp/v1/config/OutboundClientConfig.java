@@ -0,0 +1,28 @@
+package com.hal.travelapp.v1.config;
+
+import com.hal.travelapp.v1.client.OutboundClientFactory;
+import com.hal.travelapp.v1.client.OutboundClientSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+@Configuration
+public class OutboundClientConfig {
+
+    public static final String GITHUB_CLIENT = "gitHubRestClient";
+
+    @Bean(name = GITHUB_CLIENT)
+    public RestClient gitHubRestClient(
+            OutboundClientFactory outboundClientFactory,
+            @Value("${outbound.github.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${outbound.github.read-timeout:20s}") Duration readTimeout,
+            @Value("${outbound.github.max-concurrent-requests:8}") int maxConcurrentRequests,
+            @Value("${outbound.github.acquire-timeout:10s}") Duration acquireTimeout
+    ) {
+        return outboundClientFactory.create(new OutboundClientSettings(
+                "github", connectTimeout, readTimeout, maxConcurrentRequests, acquireTimeout));
+    }
+}
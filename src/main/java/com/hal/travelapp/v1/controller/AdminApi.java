@@ -1,10 +1,14 @@
 package com.hal.travelapp.v1.controller;
 
 import com.hal.travelapp.v1.dto.*;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
 import com.hal.travelapp.v1.dto.blog.BlogDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 @RequestMapping("/api/v1/admin")
@@ -16,12 +20,56 @@ public interface AdminApi {
     @PostMapping("/blog/approve")
     ResponseEntity<ApiSuccess<BlogDto>> approveOrRejectBlog(@RequestBody BlogApprovalRequestDto request);
 
+    @PostMapping("/certification/approve/bulk")
+    ResponseEntity<ApiSuccess<BulkModerationResultDto>> moderateCertificationRequests(@RequestBody BulkModerationRequestDto request);
+
+    @PostMapping("/blog/approve/bulk")
+    ResponseEntity<ApiSuccess<BulkModerationResultDto>> moderateBlogs(@RequestBody BulkModerationRequestDto request);
+
+    @PostMapping("/blog/claims")
+    ResponseEntity<ApiSuccess<ModerationClaimDto<BlogCardDto>>> claimBlogs(@RequestParam(defaultValue = "10") int count);
+
+    @DeleteMapping("/blog/claims")
+    ResponseEntity<ApiSuccess<Void>> releaseBlogClaims(@RequestParam List<Long> ids);
+
+    @PostMapping("/certification/claims")
+    ResponseEntity<ApiSuccess<ModerationClaimDto<CertifiedUserRequestDto>>> claimCertificationRequests(@RequestParam(defaultValue = "10") int count);
+
+    @DeleteMapping("/certification/claims")
+    ResponseEntity<ApiSuccess<Void>> releaseCertificationClaims(@RequestParam List<Long> ids);
+
     @GetMapping("/certification/requests")
-    ResponseEntity<ApiSuccess<List<CertifiedUserRequestDto>>> getAllCertificationRequests();
+    ResponseEntity<ApiSuccess<PageResult<CertifiedUserRequestDto>>> getAllCertificationRequests(
+            @RequestParam(required = false) String status,
+            Pageable pageable
+    );
 
     @GetMapping("/blog/pending")
-    ResponseEntity<ApiSuccess<List<BlogDto>>> getAllPendingBlogs();
-}
+    ResponseEntity<ApiSuccess<CursorPageResult<BlogCardDto>>> getPendingBlogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int pageSize
+    );
 
+    /**
+     * Earlier blogs that a submitted blog likely duplicates, most similar first
+     */
+    @GetMapping("/blog/{id}/duplicates")
+    ResponseEntity<ApiSuccess<List<BlogDuplicateFlagDto>>> getDuplicateFlags(@PathVariable Long id);
 
+    @GetMapping("/audit")
+    ResponseEntity<ApiSuccess<CursorPageResult<ModerationAuditEntryDto>>> getAuditLog(
+            @RequestParam(required = false) Long actorId,
+            @RequestParam(required = false) String targetType,
+            @RequestParam(required = false) Long targetId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int pageSize
+    );
 
+    @GetMapping("/stats")
+    ResponseEntity<ApiSuccess<AdminStatsDto>> getStats();
+
+    @PostMapping("/images/gc")
+    ResponseEntity<ApiSuccess<OrphanImageReportDto>> collectOrphanImages(@RequestParam(defaultValue = "true") boolean dryRun);
+}
@@ -3,11 +3,15 @@ package com.hal.travelapp.v1.controller;
 import com.hal.travelapp.v1.dto.ApiSuccess;
 import com.hal.travelapp.v1.dto.CursorPageResult;
 import com.hal.travelapp.v1.dto.PageResult;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
 import com.hal.travelapp.v1.dto.blog.BlogCreateRequestDto;
 import com.hal.travelapp.v1.dto.blog.BlogDto;
 import com.hal.travelapp.v1.dto.blog.BlogFavoriteResponseDto;
+import com.hal.travelapp.v1.dto.blog.BlogIndexHitDto;
 import com.hal.travelapp.v1.dto.blog.BlogLikeResponseDto;
+import com.hal.travelapp.v1.dto.blog.BlogSearchResultDto;
 import com.hal.travelapp.v1.dto.blog.BlogUpdateRequestDto;
+import com.hal.travelapp.v1.dto.blog.NearbyBlogDto;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
@@ -59,9 +63,78 @@ public interface BlogApi {
     @GetMapping("/favorites")
     ResponseEntity<ApiSuccess<PageResult<BlogDto>>> getFavoriteBlogs(Pageable pageable);
 
+    /**
+     * Full-text search and filtering of approved blogs; facet counts come with the first page
+     */
+    @GetMapping("/search")
+    ResponseEntity<ApiSuccess<BlogSearchResultDto>> searchBlogs(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long cityId,
+            @RequestParam(required = false) List<Long> categoryIds,
+            @RequestParam(defaultValue = "any") String categoryMatch,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int pageSize
+    );
+
+    /**
+     * Served from the in-memory index: no snippets and no paging, only the best {@code limit} hits
+     */
+    @GetMapping("/search/quick")
+    ResponseEntity<ApiSuccess<List<BlogIndexHitDto>>> quickSearchBlogs(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    );
+
     @GetMapping("/featured")
     ResponseEntity<ApiSuccess<CursorPageResult<BlogDto>>> getFeaturedBlogs(
             @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int pageSize
     );
+
+    /**
+     * Filtered list of approved blogs sorted by {@code recent} or {@code likes}, served from memory
+     */
+    @GetMapping("/browse")
+    ResponseEntity<ApiSuccess<CursorPageResult<BlogCardDto>>> browseBlogs(
+            @RequestParam(required = false) Long cityId,
+            @RequestParam(required = false) List<Long> categoryIds,
+            @RequestParam(defaultValue = "any") String categoryMatch,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int pageSize
+    );
+
+    /**
+     * Where to go in a month: approved blogs whose best time to visit includes it, newest first
+     */
+    @GetMapping("/best-for/{month}")
+    ResponseEntity<ApiSuccess<CursorPageResult<BlogCardDto>>> getBestForMonth(
+            @PathVariable int month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int pageSize
+    );
+
+    /**
+     * Blogs in the cities nearest to a blog's city ({@code blogId}) or to a point
+     * ({@code lat}, {@code lon}): within {@code radiusKm} if given, otherwise the few nearest cities
+     */
+    @GetMapping("/nearby")
+    ResponseEntity<ApiSuccess<List<NearbyBlogDto>>> getNearbyBlogs(
+            @RequestParam(required = false) Long blogId,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "10") int limit
+    );
+
+    /**
+     * "More like this" for a blog page: blogs sharing its likers, city or categories
+     */
+    @GetMapping("/{id}/related")
+    ResponseEntity<ApiSuccess<List<BlogCardDto>>> getRelatedBlogs(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "6") int limit
+    );
 }
@@ -3,11 +3,11 @@ package com.hal.travelapp.v1.controller;
 import com.hal.travelapp.v1.dto.ApiSuccess;
 import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
 import com.hal.travelapp.v1.dto.CertifiedUserRequestResponseDto;
+import com.hal.travelapp.v1.dto.PageResult;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RequestMapping("/api/v1/certified")
 public interface CertifiedUserApi {
 
@@ -18,7 +18,7 @@ public interface CertifiedUserApi {
     ResponseEntity<ApiSuccess<CertifiedUserRequestDto>> getMyRequest();
 
     @GetMapping("/pending")
-    ResponseEntity<ApiSuccess<List<CertifiedUserRequestDto>>> getAllPendingRequests();
+    ResponseEntity<ApiSuccess<PageResult<CertifiedUserRequestDto>>> getAllPendingRequests(Pageable pageable);
 }
 
 
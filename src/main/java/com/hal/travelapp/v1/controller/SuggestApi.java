@@ -0,0 +1,23 @@
+package com.hal.travelapp.v1.controller;
+
+import com.hal.travelapp.v1.dto.ApiSuccess;
+import com.hal.travelapp.v1.dto.SuggestionDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@RequestMapping("/api/v1/suggest")
+public interface SuggestApi {
+
+    /**
+     * Autocomplete for cities, categories and blog titles, tolerating one typo
+     */
+    @GetMapping
+    ResponseEntity<ApiSuccess<List<SuggestionDto>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit
+    );
+}
@@ -0,0 +1,34 @@
+package com.hal.travelapp.v1.controller;
+
+import com.hal.travelapp.v1.dto.ApiSuccess;
+import com.hal.travelapp.v1.dto.upload.UploadSessionCreateRequestDto;
+import com.hal.travelapp.v1.dto.upload.UploadSessionDto;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RequestMapping("/api/v1/uploads")
+public interface UploadApi {
+
+    @PostMapping
+    ResponseEntity<ApiSuccess<UploadSessionDto>> createUpload(@RequestBody @Valid UploadSessionCreateRequestDto request);
+
+    @GetMapping("/{uploadId}")
+    ResponseEntity<ApiSuccess<UploadSessionDto>> getUpload(@PathVariable String uploadId);
+
+    @PutMapping("/{uploadId}")
+    ResponseEntity<ApiSuccess<UploadSessionDto>> uploadChunk(
+            @PathVariable String uploadId,
+            @RequestParam long offset,
+            HttpServletRequest request
+    ) throws IOException;
+
+    @PostMapping("/{uploadId}/finalize")
+    ResponseEntity<ApiSuccess<UploadSessionDto>> finalizeUpload(@PathVariable String uploadId);
+
+    @DeleteMapping("/{uploadId}")
+    ResponseEntity<ApiSuccess<Void>> abortUpload(@PathVariable String uploadId);
+}
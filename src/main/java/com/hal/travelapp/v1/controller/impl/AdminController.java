@@ -2,15 +2,23 @@ package com.hal.travelapp.v1.controller.impl;
 
 import com.hal.travelapp.v1.controller.AdminApi;
 import com.hal.travelapp.v1.dto.*;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
 import com.hal.travelapp.v1.dto.blog.BlogDto;
 import com.hal.travelapp.v1.repository.UserRepo;
 import com.hal.travelapp.v1.service.AdminService;
+import com.hal.travelapp.v1.service.ImageGarbageCollector;
+import com.hal.travelapp.v1.service.ModerationAuditLog;
+import com.hal.travelapp.v1.service.ModerationClaimService;
+import com.hal.travelapp.v1.service.StatCounterService;
 import com.hal.travelapp.v1.utils.SecurityContextUtil;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -18,10 +26,20 @@ public class AdminController implements AdminApi {
 
     private final AdminService adminService;
     private final UserRepo userRepo;
-
-    public AdminController(AdminService adminService, UserRepo userRepo) {
+    private final ImageGarbageCollector imageGarbageCollector;
+    private final ModerationClaimService moderationClaimService;
+    private final StatCounterService statCounterService;
+    private final ModerationAuditLog moderationAuditLog;
+
+    public AdminController(AdminService adminService, UserRepo userRepo, ImageGarbageCollector imageGarbageCollector,
+                           ModerationClaimService moderationClaimService, StatCounterService statCounterService,
+                           ModerationAuditLog moderationAuditLog) {
         this.adminService = adminService;
         this.userRepo = userRepo;
+        this.imageGarbageCollector = imageGarbageCollector;
+        this.moderationClaimService = moderationClaimService;
+        this.statCounterService = statCounterService;
+        this.moderationAuditLog = moderationAuditLog;
     }
 
     @Override
@@ -55,10 +73,103 @@ public class AdminController implements AdminApi {
     }
 
     @Override
-    public ResponseEntity<ApiSuccess<List<CertifiedUserRequestDto>>> getAllCertificationRequests() {
-        List<CertifiedUserRequestDto> requests = adminService.getAllCertificationRequests();
+    public ResponseEntity<ApiSuccess<BulkModerationResultDto>> moderateCertificationRequests(@org.springframework.web.bind.annotation.RequestBody @Valid BulkModerationRequestDto request) {
+        Long adminId = SecurityContextUtil.getCurrentUserId(userRepo);
+        BulkModerationResultDto result = adminService.moderateCertificationRequests(request, adminId);
+
+        ApiSuccess<BulkModerationResultDto> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "CERTIFICATION_REQUESTS_PROCESSED",
+                "Certification requests processed successfully",
+                result
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<BulkModerationResultDto>> moderateBlogs(@org.springframework.web.bind.annotation.RequestBody @Valid BulkModerationRequestDto request) {
+        Long adminId = SecurityContextUtil.getCurrentUserId(userRepo);
+        BulkModerationResultDto result = adminService.moderateBlogs(request, adminId);
+
+        ApiSuccess<BulkModerationResultDto> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "BLOGS_PROCESSED",
+                "Blogs processed successfully",
+                result
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<ModerationClaimDto<BlogCardDto>>> claimBlogs(int count) {
+        Long adminId = SecurityContextUtil.getCurrentUserId(userRepo);
+        ModerationClaimDto<BlogCardDto> claim = moderationClaimService.claimBlogs(adminId, count);
+
+        ApiSuccess<ModerationClaimDto<BlogCardDto>> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "BLOGS_CLAIMED",
+                "Blogs claimed successfully",
+                claim
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<Void>> releaseBlogClaims(List<Long> ids) {
+        Long adminId = SecurityContextUtil.getCurrentUserId(userRepo);
+        int released = moderationClaimService.releaseBlogs(adminId, ids);
+
+        ApiSuccess<Void> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "BLOG_CLAIMS_RELEASED",
+                released + " blog claim(s) released",
+                null
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<ModerationClaimDto<CertifiedUserRequestDto>>> claimCertificationRequests(int count) {
+        Long adminId = SecurityContextUtil.getCurrentUserId(userRepo);
+        ModerationClaimDto<CertifiedUserRequestDto> claim = moderationClaimService.claimCertificationRequests(adminId, count);
+
+        ApiSuccess<ModerationClaimDto<CertifiedUserRequestDto>> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "CERTIFICATION_REQUESTS_CLAIMED",
+                "Certification requests claimed successfully",
+                claim
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<Void>> releaseCertificationClaims(List<Long> ids) {
+        Long adminId = SecurityContextUtil.getCurrentUserId(userRepo);
+        int released = moderationClaimService.releaseCertificationRequests(adminId, ids);
+
+        ApiSuccess<Void> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "CERTIFICATION_CLAIMS_RELEASED",
+                released + " certification request claim(s) released",
+                null
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<PageResult<CertifiedUserRequestDto>>> getAllCertificationRequests(
+            String status,
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        PageResult<CertifiedUserRequestDto> requests = adminService.getAllCertificationRequests(status, pageable);
 
-        ApiSuccess<List<CertifiedUserRequestDto>> body = new ApiSuccess<>(
+        ApiSuccess<PageResult<CertifiedUserRequestDto>> body = new ApiSuccess<>(
                 HttpStatus.OK,
                 "REQUESTS_RETRIEVED",
                 "Certification requests retrieved successfully",
@@ -69,10 +180,10 @@ public class AdminController implements AdminApi {
     }
 
     @Override
-    public ResponseEntity<ApiSuccess<List<BlogDto>>> getAllPendingBlogs() {
-        List<BlogDto> blogs = adminService.getAllPendingBlogs();
+    public ResponseEntity<ApiSuccess<CursorPageResult<BlogCardDto>>> getPendingBlogs(String cursor, int pageSize) {
+        CursorPageResult<BlogCardDto> blogs = adminService.getPendingBlogs(cursor, pageSize);
 
-        ApiSuccess<List<BlogDto>> body = new ApiSuccess<>(
+        ApiSuccess<CursorPageResult<BlogCardDto>> body = new ApiSuccess<>(
                 HttpStatus.OK,
                 "BLOGS_RETRIEVED",
                 "Pending blogs retrieved successfully",
@@ -81,7 +192,64 @@ public class AdminController implements AdminApi {
 
         return ResponseEntity.ok(body);
     }
-}
 
+    @Override
+    public ResponseEntity<ApiSuccess<List<BlogDuplicateFlagDto>>> getDuplicateFlags(Long id) {
+        List<BlogDuplicateFlagDto> flags = adminService.getDuplicateFlags(id);
+
+        ApiSuccess<List<BlogDuplicateFlagDto>> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "DUPLICATE_FLAGS_RETRIEVED",
+                "Duplicate flags retrieved successfully",
+                flags
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<CursorPageResult<ModerationAuditEntryDto>>> getAuditLog(Long actorId, String targetType,
+                                                                                            Long targetId, Instant from,
+                                                                                            Instant to, String cursor,
+                                                                                            int pageSize) {
+        CursorPageResult<ModerationAuditEntryDto> result =
+                moderationAuditLog.search(actorId, targetType, targetId, from, to, cursor, pageSize);
+
+        ApiSuccess<CursorPageResult<ModerationAuditEntryDto>> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "AUDIT_LOG_RETRIEVED",
+                "Audit log retrieved successfully",
+                result
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<AdminStatsDto>> getStats() {
+        AdminStatsDto stats = statCounterService.getStats();
+
+        ApiSuccess<AdminStatsDto> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "STATS_RETRIEVED",
+                "Stats retrieved successfully",
+                stats
+        );
+
+        return ResponseEntity.ok(body);
+    }
 
+    @Override
+    public ResponseEntity<ApiSuccess<OrphanImageReportDto>> collectOrphanImages(boolean dryRun) {
+        OrphanImageReportDto report = imageGarbageCollector.collect(dryRun);
 
+        ApiSuccess<OrphanImageReportDto> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                dryRun ? "ORPHAN_IMAGES_REPORTED" : "ORPHAN_IMAGES_COLLECTED",
+                dryRun ? "Orphaned images reported successfully" : "Orphaned images collected successfully",
+                report
+        );
+
+        return ResponseEntity.ok(body);
+    }
+}
@@ -7,6 +7,7 @@ import com.hal.travelapp.v1.dto.PageResult;
 import com.hal.travelapp.v1.dto.blog.*;
 import com.hal.travelapp.v1.repository.UserRepo;
 import com.hal.travelapp.v1.service.BlogLikeService;
+import com.hal.travelapp.v1.service.BlogSearchIndex;
 import com.hal.travelapp.v1.service.BlogService;
 import com.hal.travelapp.v1.service.FavoriteBlogService;
 import com.hal.travelapp.v1.utils.SecurityContextUtil;
@@ -28,13 +29,16 @@ public class BlogController implements BlogApi {
     private final BlogLikeService blogLikeService;
     private final FavoriteBlogService favoriteBlogService;
     private final UserRepo userRepo;
+    private final BlogSearchIndex blogSearchIndex;
 
     public BlogController(BlogService blogService, BlogLikeService blogLikeService, 
-                        FavoriteBlogService favoriteBlogService, UserRepo userRepo) {
+                        FavoriteBlogService favoriteBlogService, UserRepo userRepo,
+                        BlogSearchIndex blogSearchIndex) {
         this.blogService = blogService;
         this.blogLikeService = blogLikeService;
         this.favoriteBlogService = favoriteBlogService;
         this.userRepo = userRepo;
+        this.blogSearchIndex = blogSearchIndex;
     }
 
     @Override
@@ -241,5 +245,123 @@ public class BlogController implements BlogApi {
 
         return ResponseEntity.ok(body);
     }
+
+    @Override
+    public ResponseEntity<ApiSuccess<CursorPageResult<BlogCardDto>>> browseBlogs(
+            @RequestParam(required = false) Long cityId,
+            @RequestParam(required = false) List<Long> categoryIds,
+            @RequestParam(defaultValue = "any") String categoryMatch,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int pageSize
+    ) {
+        BlogSearchFilterDto filter = new BlogSearchFilterDto(cityId, categoryIds, categoryMatch, month);
+        CursorPageResult<BlogCardDto> blogs = blogService.browseBlogs(filter, sort, cursor, pageSize);
+
+        ApiSuccess<CursorPageResult<BlogCardDto>> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "BLOGS_RETRIEVED",
+                "Blogs retrieved successfully",
+                blogs
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<CursorPageResult<BlogCardDto>>> getBestForMonth(
+            @PathVariable int month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int pageSize
+    ) {
+        CursorPageResult<BlogCardDto> blogs = blogService.getBestForMonth(month, cursor, pageSize);
+
+        ApiSuccess<CursorPageResult<BlogCardDto>> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "BEST_FOR_MONTH_BLOGS_RETRIEVED",
+                "Blogs for the month retrieved successfully",
+                blogs
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<List<NearbyBlogDto>>> getNearbyBlogs(
+            @RequestParam(required = false) Long blogId,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<NearbyBlogDto> blogs = blogService.getNearbyBlogs(blogId, lat, lon, radiusKm, limit);
+
+        ApiSuccess<List<NearbyBlogDto>> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "NEARBY_BLOGS_RETRIEVED",
+                "Nearby blogs retrieved successfully",
+                blogs
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<List<BlogCardDto>>> getRelatedBlogs(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "6") int limit
+    ) {
+        List<BlogCardDto> blogs = blogService.getRelatedBlogs(id, limit);
+
+        ApiSuccess<List<BlogCardDto>> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "RELATED_BLOGS_RETRIEVED",
+                "Related blogs retrieved successfully",
+                blogs
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<BlogSearchResultDto>> searchBlogs(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long cityId,
+            @RequestParam(required = false) List<Long> categoryIds,
+            @RequestParam(defaultValue = "any") String categoryMatch,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int pageSize
+    ) {
+        BlogSearchFilterDto filter = new BlogSearchFilterDto(cityId, categoryIds, categoryMatch, month);
+        BlogSearchResultDto results = blogService.searchBlogs(q, filter, cursor, pageSize);
+
+        ApiSuccess<BlogSearchResultDto> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "BLOGS_SEARCHED",
+                "Blogs searched successfully",
+                results
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<List<BlogIndexHitDto>>> quickSearchBlogs(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<BlogIndexHitDto> hits = blogSearchIndex.search(q, limit);
+
+        ApiSuccess<List<BlogIndexHitDto>> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "BLOGS_SEARCHED",
+                "Blogs searched successfully",
+                hits
+        );
+
+        return ResponseEntity.ok(body);
+    }
 }
 
@@ -5,12 +5,12 @@ import com.hal.travelapp.v1.dto.*;
 import com.hal.travelapp.v1.repository.UserRepo;
 import com.hal.travelapp.v1.service.CertifiedUserService;
 import com.hal.travelapp.v1.utils.SecurityContextUtil;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 public class CertifiedUserController implements CertifiedUserApi {
 
@@ -53,10 +53,12 @@ public class CertifiedUserController implements CertifiedUserApi {
     }
 
     @Override
-    public ResponseEntity<ApiSuccess<List<CertifiedUserRequestDto>>> getAllPendingRequests() {
-        List<CertifiedUserRequestDto> requests = certifiedUserService.getAllPendingRequests();
+    public ResponseEntity<ApiSuccess<PageResult<CertifiedUserRequestDto>>> getAllPendingRequests(
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        PageResult<CertifiedUserRequestDto> requests = certifiedUserService.getAllPendingRequests(pageable);
 
-        ApiSuccess<List<CertifiedUserRequestDto>> body = new ApiSuccess<>(
+        ApiSuccess<PageResult<CertifiedUserRequestDto>> body = new ApiSuccess<>(
                 HttpStatus.OK,
                 "REQUESTS_RETRIEVED",
                 "Pending requests retrieved successfully",
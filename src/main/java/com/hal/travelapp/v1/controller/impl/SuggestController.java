@@ -0,0 +1,39 @@
+package com.hal.travelapp.v1.controller.impl;
+
+import com.hal.travelapp.v1.controller.SuggestApi;
+import com.hal.travelapp.v1.dto.ApiSuccess;
+import com.hal.travelapp.v1.dto.SuggestionDto;
+import com.hal.travelapp.v1.service.SuggestionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class SuggestController implements SuggestApi {
+
+    private final SuggestionService suggestionService;
+
+    public SuggestController(SuggestionService suggestionService) {
+        this.suggestionService = suggestionService;
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<List<SuggestionDto>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit
+    ) {
+        List<SuggestionDto> suggestions = suggestionService.suggest(prefix, limit);
+
+        ApiSuccess<List<SuggestionDto>> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "SUGGESTIONS_RETRIEVED",
+                "Suggestions retrieved successfully",
+                suggestions
+        );
+
+        return ResponseEntity.ok(body);
+    }
+}
@@ -0,0 +1,111 @@
+package com.hal.travelapp.v1.controller.impl;
+
+import com.hal.travelapp.v1.controller.UploadApi;
+import com.hal.travelapp.v1.dto.ApiSuccess;
+import com.hal.travelapp.v1.dto.upload.UploadSessionCreateRequestDto;
+import com.hal.travelapp.v1.dto.upload.UploadSessionDto;
+import com.hal.travelapp.v1.repository.UserRepo;
+import com.hal.travelapp.v1.service.UploadSessionService;
+import com.hal.travelapp.v1.utils.SecurityContextUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+public class UploadController implements UploadApi {
+
+    private final UploadSessionService uploadSessionService;
+    private final UserRepo userRepo;
+
+    public UploadController(UploadSessionService uploadSessionService, UserRepo userRepo) {
+        this.uploadSessionService = uploadSessionService;
+        this.userRepo = userRepo;
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<UploadSessionDto>> createUpload(@RequestBody @Valid UploadSessionCreateRequestDto request) {
+        Long userId = SecurityContextUtil.getCurrentUserId(userRepo);
+        UploadSessionDto session = uploadSessionService.createSession(request.getFileName(), request.getTotalSize(), userId);
+
+        ApiSuccess<UploadSessionDto> body = new ApiSuccess<>(
+                HttpStatus.CREATED,
+                "UPLOAD_CREATED",
+                "Upload session created successfully",
+                session
+        );
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<UploadSessionDto>> getUpload(@PathVariable String uploadId) {
+        Long userId = SecurityContextUtil.getCurrentUserId(userRepo);
+        UploadSessionDto session = uploadSessionService.getSession(uploadId, userId);
+
+        ApiSuccess<UploadSessionDto> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "UPLOAD_FOUND",
+                "Upload session retrieved successfully",
+                session
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<UploadSessionDto>> uploadChunk(
+            @PathVariable String uploadId,
+            @RequestParam long offset,
+            HttpServletRequest request
+    ) throws IOException {
+        Long userId = SecurityContextUtil.getCurrentUserId(userRepo);
+        UploadSessionDto session;
+        try (InputStream chunk = request.getInputStream()) {
+            session = uploadSessionService.writeChunk(uploadId, offset, chunk, userId);
+        }
+
+        ApiSuccess<UploadSessionDto> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "UPLOAD_CHUNK_RECEIVED",
+                "Chunk received successfully",
+                session
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<UploadSessionDto>> finalizeUpload(@PathVariable String uploadId) {
+        Long userId = SecurityContextUtil.getCurrentUserId(userRepo);
+        UploadSessionDto session = uploadSessionService.finalizeSession(uploadId, userId);
+
+        ApiSuccess<UploadSessionDto> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "UPLOAD_FINALIZED",
+                "Upload finalized successfully",
+                session
+        );
+
+        return ResponseEntity.ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ApiSuccess<Void>> abortUpload(@PathVariable String uploadId) {
+        Long userId = SecurityContextUtil.getCurrentUserId(userRepo);
+        uploadSessionService.abortSession(uploadId, userId);
+
+        ApiSuccess<Void> body = new ApiSuccess<>(
+                HttpStatus.OK,
+                "UPLOAD_ABORTED",
+                "Upload aborted successfully",
+                null
+        );
+
+        return ResponseEntity.ok(body);
+    }
+}
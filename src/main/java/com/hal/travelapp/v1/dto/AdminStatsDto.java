@@ -0,0 +1,15 @@
+package com.hal.travelapp.v1.dto;
+
+import java.util.Map;
+
+/**
+ * Dashboard figures read from the maintained counters; {@code likesToday} counts likes since
+ * midnight UTC that have not been withdrawn.
+ */
+public record AdminStatsDto(
+        Map<String, Long> blogsByStatus,
+        Map<String, Long> usersByRole,
+        long pendingCertifications,
+        long likesToday
+) {
+}
@@ -0,0 +1,19 @@
+package com.hal.travelapp.v1.dto;
+
+import java.time.Instant;
+
+/**
+ * A blog that a submitted blog likely duplicates
+ *
+ * @param status     of the earlier blog, DELETED if it has been deleted since
+ * @param similarity estimated share of content in common, from 0 to 1
+ */
+public record BlogDuplicateFlagDto(
+        Long duplicateOfId,
+        String title,
+        String status,
+        String kind,
+        double similarity,
+        Instant flaggedAt
+) {
+}
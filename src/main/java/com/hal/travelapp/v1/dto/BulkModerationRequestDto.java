@@ -0,0 +1,20 @@
+package com.hal.travelapp.v1.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkModerationRequestDto(
+        @NotEmpty(message = "At least one ID is required")
+        @Size(max = 500, message = "At most 500 IDs can be moderated at once")
+        List<@NotNull(message = "IDs must not be null") Long> ids,
+
+        @NotBlank(message = "Action is required (APPROVE or REJECT)")
+        String action,
+
+        String rejectionReason
+) {
+}
@@ -0,0 +1,16 @@
+package com.hal.travelapp.v1.dto;
+
+import java.util.List;
+
+public record BulkModerationResultDto(
+        String action,
+        int updatedCount,
+        List<Outcome> outcomes
+) {
+    /**
+     * @param result APPROVED or REJECTED when the item was updated, otherwise NOT_FOUND or
+     *               NOT_PENDING (already moderated)
+     */
+    public record Outcome(Long id, String result) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.hal.travelapp.v1.dto;
+
+import java.time.Instant;
+
+public record ModerationAuditEntryDto(
+        Long id,
+        Instant occurredAt,
+        Long actorId,
+        String targetType,
+        Long targetId,
+        String action,
+        String fromStatus,
+        String toStatus,
+        String reason
+) {
+}
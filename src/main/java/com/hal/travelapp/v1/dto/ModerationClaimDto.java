@@ -0,0 +1,14 @@
+package com.hal.travelapp.v1.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Items leased to the calling moderator. They are hidden from other moderators' claims until
+ * {@code leaseExpiresAt}; claiming again before then renews the lease.
+ */
+public record ModerationClaimDto<T>(
+        List<T> items,
+        Instant leaseExpiresAt
+) {
+}
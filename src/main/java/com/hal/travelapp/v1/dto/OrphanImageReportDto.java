@@ -0,0 +1,19 @@
+package com.hal.travelapp.v1.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record OrphanImageReportDto(
+        boolean dryRun,
+        int referencedImages,
+        long scannedImages,
+        long orphanedImages,
+        long deletedImages,
+        long failedDeletions,
+        long skippedRecent,
+        long skippedUnknownAge,
+        List<String> sampleOrphans,
+        Instant startedAt,
+        long durationMillis
+) {
+}
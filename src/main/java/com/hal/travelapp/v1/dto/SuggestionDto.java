@@ -0,0 +1,12 @@
+package com.hal.travelapp.v1.dto;
+
+/**
+ * One autocomplete entry; {@code id} refers to a city, a travel category or a blog depending on
+ * {@code type}
+ */
+public record SuggestionDto(Type type, Long id, String label) {
+
+    public enum Type {
+        CITY, CATEGORY, BLOG
+    }
+}
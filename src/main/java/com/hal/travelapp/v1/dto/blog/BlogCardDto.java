@@ -0,0 +1,21 @@
+package com.hal.travelapp.v1.dto.blog;
+
+import java.time.Instant;
+
+/**
+ * Blog summary for list views, without paragraphs or full-size photos.
+ */
+public record BlogCardDto(
+        Long id,
+        String title,
+        String mainPhotoThumbUrl,
+        String mainPhotoPlaceholder,
+        Long cityId,
+        String cityName,
+        Long authorId,
+        String authorName,
+        String status,
+        long likeCount,
+        Instant createdAt
+) {
+}
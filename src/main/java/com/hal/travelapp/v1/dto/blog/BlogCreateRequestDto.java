@@ -19,6 +19,8 @@ public class BlogCreateRequestDto {
 
     private MultipartFile mainPhoto;
 
+    private String mainPhotoUploadId;
+
     @NotBlank(message = "First paragraph is required")
     @Size(max = 1000, message = "Paragraph must not exceed 1000 characters")
     private String paragraph1;
@@ -33,12 +35,20 @@ public class BlogCreateRequestDto {
 
     private MultipartFile midPhoto1;
 
+    private String midPhoto1UploadId;
+
     private MultipartFile midPhoto2;
 
+    private String midPhoto2UploadId;
+
     private MultipartFile midPhoto3;
 
+    private String midPhoto3UploadId;
+
     private MultipartFile sidePhoto;
 
+    private String sidePhotoUploadId;
+
     @NotNull(message = "City ID is required")
     private Long cityId;
 
@@ -7,13 +7,20 @@ public record BlogDto(
         Long id,
         String title,
         String mainPhotoUrl,
+        String mainPhotoThumbUrl,
+        String mainPhotoCardUrl,
+        String mainPhotoPlaceholder,
         String paragraph1,
         String paragraph2,
         String paragraph3,
         String midPhoto1Url,
+        String midPhoto1Placeholder,
         String midPhoto2Url,
+        String midPhoto2Placeholder,
         String midPhoto3Url,
+        String midPhoto3Placeholder,
         String sidePhotoUrl,
+        String sidePhotoPlaceholder,
         Long cityId,
         String cityName,
         Long authorId,
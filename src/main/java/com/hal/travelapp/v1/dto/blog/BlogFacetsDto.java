@@ -0,0 +1,18 @@
+package com.hal.travelapp.v1.dto.blog;
+
+import java.util.List;
+
+/**
+ * Number of matching blogs per filter value, most common first. Each facet applies every filter
+ * except its own, so the counts tell what selecting another value would return; with
+ * {@code categoryMatch=all} the category facet keeps the category filter and counts what adding
+ * one more category would leave. Months are numbered 1 to 12.
+ */
+public record BlogFacetsDto(
+        List<Value> cities,
+        List<Value> categories,
+        List<Value> months
+) {
+    public record Value(Long id, String label, long count) {
+    }
+}
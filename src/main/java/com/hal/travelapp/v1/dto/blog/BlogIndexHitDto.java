@@ -0,0 +1,13 @@
+package com.hal.travelapp.v1.dto.blog;
+
+/**
+ * A hit from the in-memory search index, served without touching the database
+ */
+public record BlogIndexHitDto(
+        Long id,
+        String title,
+        String cityName,
+        String mainPhotoThumbUrl,
+        float score
+) {
+}
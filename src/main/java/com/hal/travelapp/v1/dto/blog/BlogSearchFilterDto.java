@@ -0,0 +1,21 @@
+package com.hal.travelapp.v1.dto.blog;
+
+import java.util.List;
+
+/**
+ * Optional filters of a blog search; a null or empty field does not filter.
+ *
+ * @param categoryMatch {@code any} (default) for blogs in at least one of the categories,
+ *                      {@code all} for blogs in every one of them
+ * @param month         1 to 12, blogs whose best time to visit includes the month
+ */
+public record BlogSearchFilterDto(
+        Long cityId,
+        List<Long> categoryIds,
+        String categoryMatch,
+        Integer month
+) {
+    public static BlogSearchFilterDto none() {
+        return new BlogSearchFilterDto(null, null, null, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.hal.travelapp.v1.dto.blog;
+
+/**
+ * A search result. {@code titleHighlight} and {@code snippet} are HTML-escaped text in which the
+ * matched terms are wrapped in {@code <mark>} tags; both are null when browsing without a query.
+ */
+public record BlogSearchHitDto(
+        BlogCardDto blog,
+        String titleHighlight,
+        String snippet
+) {
+}
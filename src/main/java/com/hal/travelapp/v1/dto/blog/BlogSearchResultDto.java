@@ -0,0 +1,12 @@
+package com.hal.travelapp.v1.dto.blog;
+
+import com.hal.travelapp.v1.dto.CursorPageResult;
+
+/**
+ * A page of search hits; {@code facets} is only computed for the first page
+ */
+public record BlogSearchResultDto(
+        CursorPageResult<BlogSearchHitDto> page,
+        BlogFacetsDto facets
+) {
+}
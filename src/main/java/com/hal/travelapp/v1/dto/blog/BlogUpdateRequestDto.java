@@ -16,6 +16,8 @@ public class BlogUpdateRequestDto {
 
     private MultipartFile mainPhoto;
 
+    private String mainPhotoUploadId;
+
     @Size(max = 1000, message = "Paragraph must not exceed 1000 characters")
     private String paragraph1;
 
@@ -27,12 +29,20 @@ public class BlogUpdateRequestDto {
 
     private MultipartFile midPhoto1;
 
+    private String midPhoto1UploadId;
+
     private MultipartFile midPhoto2;
 
+    private String midPhoto2UploadId;
+
     private MultipartFile midPhoto3;
 
+    private String midPhoto3UploadId;
+
     private MultipartFile sidePhoto;
 
+    private String sidePhotoUploadId;
+
     private Long cityId;
 
     private Long bestTimeStartMonth;
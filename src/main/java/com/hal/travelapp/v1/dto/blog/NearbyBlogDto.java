@@ -0,0 +1,10 @@
+package com.hal.travelapp.v1.dto.blog;
+
+/**
+ * A blog near the searched point; the distance is to the blog's city, in kilometres.
+ */
+public record NearbyBlogDto(
+        BlogCardDto blog,
+        double distanceKm
+) {
+}
@@ -0,0 +1,13 @@
+package com.hal.travelapp.v1.dto.upload;
+
+import java.time.Instant;
+
+public record UploadSessionDto(
+        String uploadId,
+        String fileName,
+        long totalSize,
+        long receivedBytes,
+        String status,
+        Instant expiresAt
+) {
+}
@@ -1,10 +1,12 @@
 package com.hal.travelapp.v1.entity.domain;
 
 import com.hal.travelapp.v1.entity.BaseEntity;
+import com.hal.travelapp.v1.utils.MonthMask;
 import jakarta.persistence.Entity;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -18,7 +20,27 @@ public class BestTimeToVisit extends BaseEntity
     @JoinColumn(name = "blog_id")
     private TravelBlog travelBlog;
 
+    @Setter(AccessLevel.NONE)
     private int startMonth;
 
+    @Setter(AccessLevel.NONE)
     private int endMonth;
+
+    /**
+     * {@link MonthMask} of the months from start to end, so a month lookup is one bit test.
+     * Nullable only so the column can be added to existing rows; DatabaseIndexInitializer
+     * backfills it.
+     */
+    @Setter(AccessLevel.NONE)
+    private Integer monthMask;
+
+    /**
+     * Sets the range and its mask together; the only way to write either
+     */
+    public void setMonths(int startMonth, int endMonth)
+    {
+        this.monthMask = MonthMask.of(startMonth, endMonth);
+        this.startMonth = startMonth;
+        this.endMonth = endMonth;
+    }
 }
@@ -0,0 +1,42 @@
+package com.hal.travelapp.v1.entity.domain;
+
+import com.hal.travelapp.v1.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A likely duplicate found when a blog was submitted, shown to moderators next to the pending
+ * blog. Flags are kept after moderation as a record of what the moderator was shown.
+ */
+@Entity
+@Table(name = "blog_duplicate_flag_tbl", indexes = {
+    @Index(name = "idx_blog_duplicate_flag_blog", columnList = "blog_id")
+})
+@Getter
+@Setter
+public class BlogDuplicateFlag extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blog_id", nullable = false)
+    private TravelBlog blog;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "duplicate_of_id", nullable = false)
+    private TravelBlog duplicateOf;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Kind kind;
+
+    /**
+     * Estimated share of content in common, from 0 to 1; for photos, the share of hash bits that agree
+     */
+    @Column(nullable = false)
+    private double similarity;
+
+    public enum Kind {
+        TEXT,
+        PHOTO
+    }
+}
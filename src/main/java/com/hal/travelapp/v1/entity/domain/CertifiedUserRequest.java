@@ -6,8 +6,12 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Entity
-@Table(name = "certified_user_request_tbl")
+@Table(name = "certified_user_request_tbl", indexes = {
+    @Index(name = "idx_certified_user_request_status", columnList = "status, deleted, created_at")
+})
 @Getter
 @Setter
 public class CertifiedUserRequest extends BaseEntity {
@@ -26,6 +30,15 @@ public class CertifiedUserRequest extends BaseEntity {
 
     private String rejectionReason;
 
+    /**
+     * Claim columns, handled like those of {@link TravelBlog#getClaimedBy() TravelBlog}
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "claimed_by_id")
+    private User claimedBy;
+
+    private Instant claimExpiresAt;
+
 
 }
 
@@ -13,4 +13,11 @@ import lombok.Setter;
 public class City extends BaseEntity
 {
     private String name;
+
+    /**
+     * Degrees, WGS 84. Cities without coordinates are left out of nearby searches.
+     */
+    private Double latitude;
+
+    private Double longitude;
 }
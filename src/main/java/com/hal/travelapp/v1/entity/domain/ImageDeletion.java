@@ -0,0 +1,41 @@
+package com.hal.travelapp.v1.entity.domain;
+
+import com.hal.travelapp.v1.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A stored image that is no longer referenced and still has to be removed from storage.
+ * Rows are deleted once the image is gone; rows that keep failing end up {@code DEAD}.
+ */
+@Entity
+@Table(name = "image_deletion_tbl", indexes = {
+    @Index(name = "idx_image_deletion_due", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+public class ImageDeletion extends BaseEntity {
+
+    @Column(length = 2000, nullable = false)
+    private String imageUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum Status {
+        PENDING,
+        DEAD
+    }
+}
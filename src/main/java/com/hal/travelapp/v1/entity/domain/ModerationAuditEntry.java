@@ -0,0 +1,57 @@
+package com.hal.travelapp.v1.entity.domain;
+
+import com.hal.travelapp.v1.entity.enums.AuditTargetType;
+import com.hal.travelapp.v1.entity.enums.ModerationAction;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * One moderation decision. Rows are only ever inserted, in batches by the audit writer, and
+ * reference actor and target by id so that the log survives changes to either.
+ */
+@Entity
+@Immutable
+@Table(name = "moderation_audit_tbl", indexes = {
+    @Index(name = "idx_moderation_audit_time", columnList = "occurred_at, id"),
+    @Index(name = "idx_moderation_audit_actor", columnList = "actor_id, occurred_at, id"),
+    @Index(name = "idx_moderation_audit_target", columnList = "target_type, target_id, occurred_at, id")
+})
+@Getter
+@Setter
+public class ModerationAuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false)
+    private Long id;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    @Column(nullable = false)
+    private Long actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private AuditTargetType targetType;
+
+    @Column(nullable = false)
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ModerationAction action;
+
+    @Column(length = 20)
+    private String fromStatus;
+
+    @Column(length = 20, nullable = false)
+    private String toStatus;
+
+    @Column(length = 1000)
+    private String reason;
+}
@@ -0,0 +1,46 @@
+package com.hal.travelapp.v1.entity.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * One precomputed "more like this" entry. The key is the blog and the entry's rank, so the list of
+ * a blog is a single primary key range scan in display order. Rows are rewritten wholesale by the
+ * related-blogs job and reference blogs by id only.
+ */
+@Entity
+@Table(name = "related_blog_tbl")
+@Getter
+@Setter
+public class RelatedBlog {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long relatedBlogId;
+
+    @Column(nullable = false)
+    private float score;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(nullable = false)
+        private long blogId;
+
+        @Column(nullable = false)
+        private int rank;
+    }
+}
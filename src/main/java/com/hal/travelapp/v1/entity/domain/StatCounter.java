@@ -0,0 +1,42 @@
+package com.hal.travelapp.v1.entity.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * One stripe of a named counter. A counter's value is the sum of its stripes; writers add to a
+ * random stripe so that concurrent transactions rarely update the same row.
+ */
+@Entity
+@Table(name = "stat_counter_tbl")
+@Getter
+@Setter
+public class StatCounter {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(length = 100, nullable = false)
+        private String name;
+
+        @Column(nullable = false)
+        private int stripe;
+    }
+}
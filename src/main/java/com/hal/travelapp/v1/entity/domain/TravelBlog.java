@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.util.Set;
 
 @Entity
@@ -19,6 +20,20 @@ public class TravelBlog extends BaseEntity
     @Column(length = 2000)
     private String mainPhotoUrl;
 
+    @Column(length = 2000)
+    private String mainPhotoThumbUrl;
+
+    @Column(length = 2000)
+    private String mainPhotoCardUrl;
+
+    @Column(length = 2000)
+    private String mainPhotoPlaceholder;
+
+    /**
+     * Perceptual hash of the photo; null for photos uploaded before hashing was added
+     */
+    private Long mainPhotoHash;
+
     @Column(length = 1000)
     private String paragraph1;
 
@@ -31,15 +46,35 @@ public class TravelBlog extends BaseEntity
     @Column(length = 2000)
     private String midPhoto1Url;
 
+    @Column(length = 2000)
+    private String midPhoto1Placeholder;
+
+    private Long midPhoto1Hash;
+
     @Column(length = 2000)
     private String midPhoto2Url;
 
+    @Column(length = 2000)
+    private String midPhoto2Placeholder;
+
+    private Long midPhoto2Hash;
+
     @Column(length = 2000)
     private String midPhoto3Url;
 
+    @Column(length = 2000)
+    private String midPhoto3Placeholder;
+
+    private Long midPhoto3Hash;
+
     @Column(length = 2000)
     private String sidePhotoUrl;
 
+    @Column(length = 2000)
+    private String sidePhotoPlaceholder;
+
+    private Long sidePhotoHash;
+
     @ManyToOne
     private City city;
 
@@ -49,6 +84,17 @@ public class TravelBlog extends BaseEntity
     @Enumerated(EnumType.STRING)
     private BlogStatus status = BlogStatus.PENDING;
 
+    /**
+     * Moderator holding this blog in the moderation queue until {@link #claimExpiresAt}. An expired
+     * claim is ignored rather than cleared, so it needs no cleanup job. Certification requests
+     * carry the same pair of columns.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "claimed_by_id")
+    private User claimedBy;
+
+    private Instant claimExpiresAt;
+
     @OneToOne(mappedBy = "travelBlog", cascade = CascadeType.ALL)
     private BestTimeToVisit bestTimeToVisit;
 
@@ -0,0 +1,20 @@
+package com.hal.travelapp.v1.entity.enums;
+
+import com.hal.travelapp.v1.exception.InvalidActionException;
+
+public enum AuditTargetType {
+        BLOG,
+        CERTIFICATION_REQUEST;
+
+        /**
+         * @throws InvalidActionException if the value names no target type
+         */
+        public static AuditTargetType parse(String targetType) {
+                for (AuditTargetType type : values()) {
+                        if (type.name().equalsIgnoreCase(targetType)) {
+                                return type;
+                        }
+                }
+                throw new InvalidActionException("Invalid target type. Must be BLOG or CERTIFICATION_REQUEST");
+        }
+}
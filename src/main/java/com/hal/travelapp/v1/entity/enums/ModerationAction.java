@@ -0,0 +1,21 @@
+package com.hal.travelapp.v1.entity.enums;
+
+import com.hal.travelapp.v1.exception.InvalidActionException;
+
+public enum ModerationAction {
+        APPROVE,
+        REJECT;
+
+        /**
+         * @throws InvalidActionException if the action is neither APPROVE nor REJECT
+         */
+        public static ModerationAction parse(String action) {
+                if ("APPROVE".equalsIgnoreCase(action)) {
+                        return APPROVE;
+                }
+                if ("REJECT".equalsIgnoreCase(action)) {
+                        return REJECT;
+                }
+                throw new InvalidActionException("Invalid action. Must be APPROVE or REJECT");
+        }
+}
@@ -0,0 +1,15 @@
+package com.hal.travelapp.v1.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when blogs are created, edited, moderated or deleted. Listeners reload what they need
+ * by id, so the event carries nothing else.
+ */
+public record BlogChangedEvent(Collection<Long> blogIds) {
+
+    public static BlogChangedEvent of(Long blogId) {
+        return new BlogChangedEvent(List.of(blogId));
+    }
+}
@@ -0,0 +1,8 @@
+package com.hal.travelapp.v1.event;
+
+/**
+ * Published when a blog is liked or unliked. Kept apart from {@link BlogChangedEvent} so that
+ * listeners which ignore like counts are not woken up by every like.
+ */
+public record BlogLikesChangedEvent(Long blogId) {
+}
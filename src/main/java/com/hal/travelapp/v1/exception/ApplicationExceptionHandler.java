@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartException;
 
 import java.util.stream.Collectors;
@@ -35,6 +36,39 @@ public class ApplicationExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ApiError> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
+        ApiError error = new ApiError(
+                HttpStatus.CONTENT_TOO_LARGE,
+                "UPLOAD_TOO_LARGE",
+                "Upload exceeds the maximum allowed size",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body(error);
+    }
+
+    @ExceptionHandler(ImageTooLargeException.class)
+    public ResponseEntity<ApiError> handleImageTooLargeException(ImageTooLargeException ex) {
+        ApiError error = new ApiError(
+                HttpStatus.CONTENT_TOO_LARGE,
+                "IMAGE_TOO_LARGE",
+                ex.getMessage(),
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body(error);
+    }
+
+    @ExceptionHandler(InvalidImageException.class)
+    public ResponseEntity<ApiError> handleInvalidImageException(InvalidImageException ex) {
+        ApiError error = new ApiError(
+                HttpStatus.BAD_REQUEST,
+                "INVALID_IMAGE",
+                ex.getMessage(),
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<ApiError> handleInvalidCredentialsException(InvalidCredentialsException ex) {
         ApiError error = new ApiError(
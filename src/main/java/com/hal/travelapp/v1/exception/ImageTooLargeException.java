@@ -0,0 +1,7 @@
+package com.hal.travelapp.v1.exception;
+
+public class ImageTooLargeException extends RuntimeException {
+    public ImageTooLargeException(String message) {
+        super(message);
+    }
+}
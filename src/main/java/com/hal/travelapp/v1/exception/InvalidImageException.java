@@ -0,0 +1,7 @@
+package com.hal.travelapp.v1.exception;
+
+public class InvalidImageException extends RuntimeException {
+    public InvalidImageException(String message) {
+        super(message);
+    }
+}
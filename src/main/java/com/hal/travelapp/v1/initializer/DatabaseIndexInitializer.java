@@ -0,0 +1,142 @@
+package com.hal.travelapp.v1.initializer;
+
+import com.hal.travelapp.v1.utils.MonthMask;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Creates PostgreSQL indexes that JPA annotations cannot express, such as partial indexes, and
+ * the triggers that maintain the blog search vector. Every statement is idempotent; a failure
+ * is logged and does not stop startup, since the other queries still work without it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Order(0)
+public class DatabaseIndexInitializer implements CommandLineRunner {
+
+    private static final List<String> STATEMENTS = List.of(
+            // Admin moderation queue and claims: oldest pending blogs first
+            """
+            CREATE INDEX IF NOT EXISTS idx_travel_blog_pending
+            ON travel_blog_tbl (created_at, id)
+            WHERE status = 'PENDING' AND deleted = false
+            """,
+            // Certification moderation queue and claims
+            """
+            CREATE INDEX IF NOT EXISTS idx_certified_user_request_pending
+            ON certified_user_request_tbl (created_at, id)
+            WHERE status = 'PENDING' AND deleted = false
+            """,
+            // Full-text search: weighted title, city name and paragraphs. A generated column
+            // cannot read the city name, so a trigger fills the vector on every write instead.
+            """
+            ALTER TABLE travel_blog_tbl ADD COLUMN IF NOT EXISTS search_vector tsvector
+            """,
+            """
+            CREATE OR REPLACE FUNCTION travel_blog_search_vector() RETURNS trigger AS $$
+            BEGIN
+                NEW.search_vector :=
+                    setweight(to_tsvector('english', coalesce(NEW.title, '')), 'A') ||
+                    setweight(to_tsvector('english',
+                        coalesce((SELECT c.name FROM city_tbl c WHERE c.id = NEW.city_id), '')), 'B') ||
+                    setweight(to_tsvector('english',
+                        concat_ws(' ', NEW.paragraph1, NEW.paragraph2, NEW.paragraph3)), 'C');
+                RETURN NEW;
+            END
+            $$ LANGUAGE plpgsql
+            """,
+            """
+            CREATE OR REPLACE TRIGGER trg_travel_blog_search_vector
+            BEFORE INSERT OR UPDATE OF title, paragraph1, paragraph2, paragraph3, city_id ON travel_blog_tbl
+            FOR EACH ROW EXECUTE FUNCTION travel_blog_search_vector()
+            """,
+            // Renaming a city refreshes the vectors of its blogs
+            """
+            CREATE OR REPLACE FUNCTION city_refresh_blog_search_vector() RETURNS trigger AS $$
+            BEGIN
+                UPDATE travel_blog_tbl SET city_id = city_id WHERE city_id = NEW.id;
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql
+            """,
+            """
+            CREATE OR REPLACE TRIGGER trg_city_refresh_blog_search_vector
+            AFTER UPDATE OF name ON city_tbl
+            FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+            EXECUTE FUNCTION city_refresh_blog_search_vector()
+            """,
+            // Backfills rows written before the trigger existed
+            """
+            UPDATE travel_blog_tbl SET title = title WHERE search_vector IS NULL
+            """,
+            """
+            CREATE INDEX IF NOT EXISTS idx_travel_blog_search
+            ON travel_blog_tbl USING GIN (search_vector)
+            """,
+            // Filtered search (TravelBlogSpecifications): approved blogs newest first, overall
+            // and per city, then the category and best-month lookups of the EXISTS filters
+            """
+            CREATE INDEX IF NOT EXISTS idx_travel_blog_approved
+            ON travel_blog_tbl (id)
+            WHERE status = 'APPROVED' AND deleted = false
+            """,
+            """
+            CREATE INDEX IF NOT EXISTS idx_travel_blog_approved_city
+            ON travel_blog_tbl (city_id, id)
+            WHERE status = 'APPROVED' AND deleted = false
+            """,
+            """
+            CREATE INDEX IF NOT EXISTS idx_blog_category_category
+            ON blog_category_tbl (category_id, blog_id)
+            """,
+            """
+            CREATE INDEX IF NOT EXISTS idx_best_time_to_visit_blog
+            ON best_time_to_visit_tbl (blog_id, start_month, end_month)
+            WHERE deleted = false
+            """,
+            // Month masks of windows saved before the column existed; see MonthMask
+            """
+            UPDATE best_time_to_visit_tbl SET month_mask = CASE
+                WHEN start_month <= end_month THEN (1 << end_month) - (1 << (start_month - 1))
+                ELSE 4095 & ~((1 << (start_month - 1)) - (1 << end_month))
+            END
+            WHERE month_mask IS NULL AND start_month BETWEEN 1 AND 12 AND end_month BETWEEN 1 AND 12
+            """
+    );
+
+    /**
+     * One partial index per month: a bit test cannot use a B-tree, but a predicate that repeats an
+     * index's condition can. TravelBlogSpecifications.bestVisitedIn renders exactly this condition.
+     */
+    private static final List<String> MONTH_INDEXES = IntStream.rangeClosed(1, 12)
+            .mapToObj(month -> """
+                    CREATE INDEX IF NOT EXISTS idx_best_time_to_visit_month_%d
+                    ON best_time_to_visit_tbl (blog_id)
+                    WHERE deleted = false AND (month_mask & %d) <> 0
+                    """.formatted(month, MonthMask.bit(month)))
+            .toList();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(@Nullable String... args) {
+        for (String statement : Stream.concat(STATEMENTS.stream(), MONTH_INDEXES.stream()).toList()) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                log.warn("Failed to apply schema statement: {}", statement.strip(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.hal.travelapp.v1.repository;
+
+import com.hal.travelapp.v1.entity.domain.BlogDuplicateFlag;
+import com.hal.travelapp.v1.entity.domain.TravelBlog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface BlogDuplicateFlagRepo extends JpaRepository<BlogDuplicateFlag, Long> {
+
+    @Query("""
+        SELECT d.id AS duplicateOfId, d.title AS title, d.status AS status, d.deleted AS deleted,
+               f.kind AS kind, f.similarity AS similarity, f.createdAt AS flaggedAt
+        FROM BlogDuplicateFlag f JOIN f.duplicateOf d
+        WHERE f.blog.id = :blogId AND f.deleted = false
+        ORDER BY f.similarity DESC, d.id DESC
+    """)
+    List<FlagView> findFlagsByBlogId(@Param("blogId") Long blogId);
+
+    interface FlagView {
+        Long getDuplicateOfId();
+        String getTitle();
+        TravelBlog.BlogStatus getStatus();
+        boolean isDeleted();
+        BlogDuplicateFlag.Kind getKind();
+        double getSimilarity();
+        Instant getFlaggedAt();
+    }
+}
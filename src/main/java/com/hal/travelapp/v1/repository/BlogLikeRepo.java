@@ -1,12 +1,18 @@
 package com.hal.travelapp.v1.repository;
 
 import com.hal.travelapp.v1.entity.domain.BlogLike;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BlogLikeRepo extends JpaRepository<BlogLike, Long> {
@@ -19,5 +25,27 @@ public interface BlogLikeRepo extends JpaRepository<BlogLike, Long> {
     
     @Query("SELECT COUNT(bl) FROM BlogLike bl WHERE bl.blog.id = :blogId AND bl.deleted = false")
     long countLikesByBlogId(@Param("blogId") Long blogId);
-}
 
+    @Query("""
+        SELECT bl.blog.id AS blogId, COUNT(bl) AS likeCount FROM BlogLike bl
+        WHERE bl.blog.id IN :blogIds AND bl.deleted = false
+        GROUP BY bl.blog.id
+    """)
+    List<LikeCount> countLikesByBlogIds(@Param("blogIds") Collection<Long> blogIds);
+
+    /**
+     * {@code (userId, blogId)} of every like, grouped by user and newest first within a user
+     */
+    @Query("""
+        SELECT bl.user.id, bl.blog.id FROM BlogLike bl
+        WHERE bl.deleted = false
+        ORDER BY bl.user.id ASC, bl.createdAt DESC
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamLikesByUser();
+
+    interface LikeCount {
+        Long getBlogId();
+        long getLikeCount();
+    }
+}
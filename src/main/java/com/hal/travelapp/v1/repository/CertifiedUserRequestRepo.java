@@ -1,10 +1,18 @@
 package com.hal.travelapp.v1.repository;
 
+import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
 import com.hal.travelapp.v1.entity.domain.CertifiedUserRequest;
 import com.hal.travelapp.v1.entity.enums.RequestStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +26,81 @@ public interface CertifiedUserRequestRepo extends JpaRepository<CertifiedUserReq
     List<CertifiedUserRequest> findByStatusAndDeletedFalse(RequestStatus status);
     
     List<CertifiedUserRequest> findByUserIdAndDeletedFalseOrderByCreatedAtDesc(Long userId);
-}
 
+    /**
+     * Newest requests first, read straight into DTOs with both users joined in the same query
+     */
+    @Query(value = """
+        SELECT new com.hal.travelapp.v1.dto.CertifiedUserRequestDto(
+            r.id, u.id, u.name, u.email, CAST(r.status AS String), rb.id, rb.name,
+            r.rejectionReason, r.createdAt, r.updatedAt)
+        FROM CertifiedUserRequest r JOIN r.user u LEFT JOIN r.reviewedBy rb
+        WHERE r.deleted = false
+        ORDER BY r.createdAt DESC, r.id DESC
+    """, countQuery = "SELECT COUNT(r) FROM CertifiedUserRequest r WHERE r.deleted = false")
+    Page<CertifiedUserRequestDto> findRequestDtos(Pageable pageable);
+
+    @Query(value = """
+        SELECT new com.hal.travelapp.v1.dto.CertifiedUserRequestDto(
+            r.id, u.id, u.name, u.email, CAST(r.status AS String), rb.id, rb.name,
+            r.rejectionReason, r.createdAt, r.updatedAt)
+        FROM CertifiedUserRequest r JOIN r.user u LEFT JOIN r.reviewedBy rb
+        WHERE r.status = :status AND r.deleted = false
+        ORDER BY r.createdAt DESC, r.id DESC
+    """, countQuery = "SELECT COUNT(r) FROM CertifiedUserRequest r WHERE r.status = :status AND r.deleted = false")
+    Page<CertifiedUserRequestDto> findRequestDtosByStatus(@Param("status") RequestStatus status, Pageable pageable);
+
+    /**
+     * Moves the given requests out of PENDING in one statement, recording the reviewer.
+     * @return one {@code [requestId, userId]} row per updated request
+     */
+    @Query(value = """
+        UPDATE certified_user_request_tbl
+        SET status = :status, reviewed_by_id = :reviewerId, rejection_reason = :rejectionReason,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE id IN (:ids) AND status = 'PENDING' AND deleted = false
+        RETURNING id, user_id
+    """, nativeQuery = true)
+    List<Object[]> moderatePending(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") String status,
+        @Param("reviewerId") Long reviewerId,
+        @Param("rejectionReason") String rejectionReason
+    );
 
+    @Query("SELECT r.id FROM CertifiedUserRequest r WHERE r.id IN :ids AND r.deleted = false")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Leases up to {@code limit} pending items, oldest first, to the moderator. Items leased to
+     * someone else with an unexpired lease are skipped, as are rows another transaction is
+     * claiming right now, so concurrent claims never wait on each other or overlap. Items the
+     * moderator already holds are included and their lease is renewed.
+     * @return ids of the claimed items
+     */
+    @Query(value = """
+        UPDATE certified_user_request_tbl SET claimed_by_id = :moderatorId, claim_expires_at = :leaseUntil
+        WHERE id IN (
+            SELECT id FROM certified_user_request_tbl
+            WHERE status = 'PENDING' AND deleted = false
+            AND (claim_expires_at IS NULL OR claim_expires_at <= :now OR claimed_by_id = :moderatorId)
+            ORDER BY created_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id
+    """, nativeQuery = true)
+    List<Long> claimPending(
+        @Param("moderatorId") Long moderatorId,
+        @Param("now") Instant now,
+        @Param("leaseUntil") Instant leaseUntil,
+        @Param("limit") int limit
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE CertifiedUserRequest r SET r.claimedBy = null, r.claimExpiresAt = null
+        WHERE r.id IN :ids AND r.claimedBy.id = :moderatorId
+    """)
+    int releaseClaims(@Param("moderatorId") Long moderatorId, @Param("ids") Collection<Long> ids);
+}
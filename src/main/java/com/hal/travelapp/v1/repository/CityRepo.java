@@ -2,15 +2,46 @@ package com.hal.travelapp.v1.repository;
 
 import com.hal.travelapp.v1.entity.domain.City;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CityRepo extends JpaRepository<City, Long> {
     Optional<City> findById(Long id);
-}
 
+    /**
+     * Every city with its number of approved blogs, for autocomplete
+     */
+    @Query("""
+        SELECT c.id AS id, c.name AS name,
+               (SELECT COUNT(b) FROM TravelBlog b
+                WHERE b.city = c AND b.status = APPROVED AND b.deleted = false) AS weight
+        FROM City c WHERE c.deleted = false
+    """)
+    List<SuggestionView> findSuggestions();
 
+    /**
+     * Every city that has coordinates, for the nearby-city index
+     */
+    @Query("""
+        SELECT c.id AS id, c.latitude AS latitude, c.longitude AS longitude
+        FROM City c
+        WHERE c.deleted = false AND c.latitude IS NOT NULL AND c.longitude IS NOT NULL
+    """)
+    List<CoordinateView> findCoordinates();
 
+    interface SuggestionView {
+        Long getId();
+        String getName();
+        long getWeight();
+    }
 
+    interface CoordinateView {
+        Long getId();
+        double getLatitude();
+        double getLongitude();
+    }
+}
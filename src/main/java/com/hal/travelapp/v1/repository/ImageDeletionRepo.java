@@ -0,0 +1,39 @@
+package com.hal.travelapp.v1.repository;
+
+import com.hal.travelapp.v1.entity.domain.ImageDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ImageDeletionRepo extends JpaRepository<ImageDeletion, Long> {
+
+    long countByStatus(ImageDeletion.Status status);
+
+    /**
+     * Claims due deletions by pushing their next attempt past the lease, so that concurrent
+     * workers skip them and a crashed worker's batch becomes due again once the lease expires.
+     */
+    @Transactional
+    @Query(value = """
+        UPDATE image_deletion_tbl SET next_attempt_at = :leaseUntil
+        WHERE id IN (
+            SELECT id FROM image_deletion_tbl
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING *
+    """, nativeQuery = true)
+    List<ImageDeletion> claimDue(
+        @Param("now") Instant now,
+        @Param("leaseUntil") Instant leaseUntil,
+        @Param("limit") int limit
+    );
+}
@@ -0,0 +1,11 @@
+package com.hal.travelapp.v1.repository;
+
+import com.hal.travelapp.v1.entity.domain.ModerationAuditEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ModerationAuditRepo extends JpaRepository<ModerationAuditEntry, Long>,
+        JpaSpecificationExecutor<ModerationAuditEntry> {
+}
@@ -0,0 +1,35 @@
+package com.hal.travelapp.v1.repository;
+
+import com.hal.travelapp.v1.entity.domain.RelatedBlog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RelatedBlogRepo extends JpaRepository<RelatedBlog, RelatedBlog.Key> {
+
+    @Query("SELECT r.relatedBlogId FROM RelatedBlog r WHERE r.id.blogId = :blogId ORDER BY r.id.rank ASC")
+    List<Long> findRelatedBlogIds(@Param("blogId") Long blogId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RelatedBlog r WHERE r.id.blogId IN :blogIds")
+    int deleteByBlogIds(@Param("blogIds") Collection<Long> blogIds);
+
+    /**
+     * Rows of blogs that are no longer approved, which the job does not rewrite
+     */
+    @Modifying
+    @Query("""
+        DELETE FROM RelatedBlog r WHERE NOT EXISTS (
+            SELECT 1 FROM TravelBlog b
+            WHERE b.id = r.id.blogId AND b.status = APPROVED AND b.deleted = false
+        )
+    """)
+    int deleteOfUnapprovedBlogs();
+}
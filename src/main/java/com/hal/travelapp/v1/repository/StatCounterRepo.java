@@ -0,0 +1,58 @@
+package com.hal.travelapp.v1.repository;
+
+import com.hal.travelapp.v1.entity.domain.StatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StatCounterRepo extends JpaRepository<StatCounter, StatCounter.Key> {
+
+    /**
+     * Adds {@code delta} to one stripe of a counter, creating the stripe on first use
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO stat_counter_tbl (name, stripe, total) VALUES (:name, :stripe, :delta)
+        ON CONFLICT (name, stripe) DO UPDATE SET total = stat_counter_tbl.total + EXCLUDED.total
+    """, nativeQuery = true)
+    void add(@Param("name") String name, @Param("stripe") int stripe, @Param("delta") long delta);
+
+    @Query("SELECT c.id.name AS name, SUM(c.total) AS total FROM StatCounter c GROUP BY c.id.name")
+    List<CounterTotal> sumByName();
+
+    @Modifying
+    @Query("DELETE FROM StatCounter c WHERE c.id.name LIKE :prefix AND c.id.name <> :keep")
+    int deleteByPrefixExcept(@Param("prefix") String prefix, @Param("keep") String keep);
+
+    // Actual values, used to reconcile the counters
+
+    @Query("SELECT b.status, COUNT(b) FROM TravelBlog b WHERE b.deleted = false GROUP BY b.status")
+    List<Object[]> countBlogsByStatus();
+
+    @Query("SELECT r.name, COUNT(u) FROM User u JOIN u.role r WHERE u.deleted = false GROUP BY r.name")
+    List<Object[]> countUsersByRole();
+
+    @Query("""
+        SELECT COUNT(r) FROM CertifiedUserRequest r
+        WHERE r.status = PENDING AND r.deleted = false
+    """)
+    long countPendingCertifications();
+
+    @Query("SELECT COUNT(bl) FROM BlogLike bl WHERE bl.deleted = false AND bl.createdAt >= :since")
+    long countLikesSince(@Param("since") Instant since);
+
+    @Query("SELECT r.name, COUNT(u) FROM User u JOIN u.role r WHERE u.id IN :userIds GROUP BY r.name")
+    List<Object[]> countRolesOfUsers(@Param("userIds") Collection<Long> userIds);
+
+    interface CounterTotal {
+        String getName();
+        long getTotal();
+    }
+}
@@ -0,0 +1,41 @@
+package com.hal.travelapp.v1.repository;
+
+import com.hal.travelapp.v1.entity.domain.TravelBlog;
+import com.hal.travelapp.v1.utils.SearchCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Criteria queries over {@link com.hal.travelapp.v1.repository.specification.TravelBlogSpecifications}
+ * that a plain {@code JpaSpecificationExecutor} cannot express: id-only keyset pages and grouped
+ * facet counts.
+ */
+public interface TravelBlogFilterRepo {
+
+    /**
+     * Ids of matching blogs after the cursor. With a text query the order is
+     * {@code (ts_rank DESC, id DESC)} and the filter must include {@code matchesText} for the same
+     * text; without one it is newest first and every rank is 0.
+     */
+    List<RankedId> findRankedIds(Specification<TravelBlog> filter, String text, SearchCursor after, int limit);
+
+    List<FacetCount> countByCity(Specification<TravelBlog> filter);
+
+    List<FacetCount> countByCategory(Specification<TravelBlog> filter);
+
+    /**
+     * Matching blogs per distinct best-time-to-visit {@link com.hal.travelapp.v1.utils.MonthMask};
+     * a blog counts for every month in its mask
+     */
+    List<WindowCount> countByVisitWindow(Specification<TravelBlog> filter);
+
+    record RankedId(long id, float rank) {
+    }
+
+    record FacetCount(Long id, String name, long count) {
+    }
+
+    record WindowCount(int monthMask, long count) {
+    }
+}
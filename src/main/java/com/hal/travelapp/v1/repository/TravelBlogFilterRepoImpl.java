@@ -0,0 +1,107 @@
+package com.hal.travelapp.v1.repository;
+
+import com.hal.travelapp.v1.entity.domain.BestTimeToVisit;
+import com.hal.travelapp.v1.entity.domain.TravelBlog;
+import com.hal.travelapp.v1.repository.specification.TravelBlogSpecifications;
+import com.hal.travelapp.v1.utils.SearchCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class TravelBlogFilterRepoImpl implements TravelBlogFilterRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RankedId> findRankedIds(Specification<TravelBlog> filter, String text, SearchCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TravelBlog> root = query.from(TravelBlog.class);
+        Path<Long> id = root.get("id");
+        List<Predicate> where = new ArrayList<>(List.of(filter.toPredicate(root, query, cb)));
+
+        if (text == null) {
+            if (!SearchCursor.FIRST.equals(after)) {
+                where.add(cb.lessThan(id, after.id()));
+            }
+            query.select(cb.tuple(id)).where(where.toArray(Predicate[]::new)).orderBy(cb.desc(id));
+            return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+                    .map(row -> new RankedId(row.get(0, Long.class), 0f))
+                    .toList();
+        }
+
+        // The rank is a correlated subquery, so it is left out of the first page's predicate
+        Expression<Float> rank = TravelBlogSpecifications.textRank(root, cb, text);
+        if (!SearchCursor.FIRST.equals(after)) {
+            where.add(cb.or(
+                    cb.lessThan(rank, after.rank()),
+                    cb.and(cb.equal(rank, after.rank()), cb.lessThan(id, after.id()))
+            ));
+        }
+        query.select(cb.tuple(id, rank)).where(where.toArray(Predicate[]::new)).orderBy(cb.desc(rank), cb.desc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+                .map(row -> new RankedId(row.get(0, Long.class), row.get(1, Float.class)))
+                .toList();
+    }
+
+    @Override
+    public List<FacetCount> countByCity(Specification<TravelBlog> filter) {
+        return countGroupedBy(filter, root -> {
+            Join<Object, Object> city = root.join("city");
+            return List.of(city.get("id"), city.get("name"));
+        }).stream()
+                .map(row -> new FacetCount(row.get(0, Long.class), row.get(1, String.class), row.get(2, Long.class)))
+                .toList();
+    }
+
+    @Override
+    public List<FacetCount> countByCategory(Specification<TravelBlog> filter) {
+        return countGroupedBy(filter, root -> {
+            Join<Object, Object> category = root.join("travelCategory");
+            return List.of(category.get("id"), category.get("name"));
+        }).stream()
+                .map(row -> new FacetCount(row.get(0, Long.class), row.get(1, String.class), row.get(2, Long.class)))
+                .toList();
+    }
+
+    @Override
+    public List<WindowCount> countByVisitWindow(Specification<TravelBlog> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        return countGroupedBy(filter, root -> {
+            Join<TravelBlog, BestTimeToVisit> window = root.join("bestTimeToVisit");
+            window.on(cb.isFalse(window.get("deleted")), cb.isNotNull(window.get("monthMask")));
+            return List.of(window.get("monthMask"));
+        }).stream()
+                .map(row -> new WindowCount(row.get(0, Integer.class), row.get(1, Long.class)))
+                .toList();
+    }
+
+    /**
+     * {@code SELECT keys..., COUNT(blog) ... GROUP BY keys...}; the keys may add joins to the root
+     */
+    private List<Tuple> countGroupedBy(Specification<TravelBlog> filter,
+                                       Function<Root<TravelBlog>, List<Expression<?>>> keys) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TravelBlog> root = query.from(TravelBlog.class);
+        List<Expression<?>> groups = keys.apply(root);
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(cb.count(root));
+        query.select(cb.tuple(selections)).where(filter.toPredicate(root, query, cb)).groupBy(groups);
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -4,15 +4,22 @@ import com.hal.travelapp.v1.entity.domain.TravelBlog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TravelBlogRepo extends JpaRepository<TravelBlog, Long> {
+public interface TravelBlogRepo extends JpaRepository<TravelBlog, Long>, TravelBlogFilterRepo {
     
     List<TravelBlog> findByDeletedFalse();
     
@@ -39,8 +46,295 @@ public interface TravelBlogRepo extends JpaRepository<TravelBlog, Long> {
         @Param("cursorId") Long cursorId,
         org.springframework.data.domain.Pageable pageable
     );
-}
 
+    /**
+     * Every stored photo URL of blogs that are not deleted, one row per blog. Must be consumed
+     * inside a transaction and closed.
+     */
+    @Query("""
+        SELECT b.mainPhotoUrl, b.mainPhotoThumbUrl, b.mainPhotoCardUrl,
+               b.midPhoto1Url, b.midPhoto2Url, b.midPhoto3Url, b.sidePhotoUrl
+        FROM TravelBlog b WHERE b.deleted = false
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamPhotoUrls();
+
+    /**
+     * Oldest pending blogs first, as card rows. The predicate matches the partial index
+     * {@code idx_travel_blog_pending}, so both queries are index range scans.
+     */
+    @Query("""
+        SELECT b.id AS id, b.title AS title, b.mainPhotoThumbUrl AS mainPhotoThumbUrl,
+               b.mainPhotoPlaceholder AS mainPhotoPlaceholder, c.id AS cityId, c.name AS cityName,
+               a.id AS authorId, a.name AS authorName, b.status AS status, b.createdAt AS createdAt
+        FROM TravelBlog b LEFT JOIN b.city c LEFT JOIN b.author a
+        WHERE b.status = PENDING AND b.deleted = false
+        ORDER BY b.createdAt ASC, b.id ASC
+    """)
+    List<BlogCardView> findPendingCards(Pageable pageable);
+
+    @Query("""
+        SELECT b.id AS id, b.title AS title, b.mainPhotoThumbUrl AS mainPhotoThumbUrl,
+               b.mainPhotoPlaceholder AS mainPhotoPlaceholder, c.id AS cityId, c.name AS cityName,
+               a.id AS authorId, a.name AS authorName, b.status AS status, b.createdAt AS createdAt
+        FROM TravelBlog b LEFT JOIN b.city c LEFT JOIN b.author a
+        WHERE b.status = PENDING AND b.deleted = false
+        AND (b.createdAt > :createdAt OR (b.createdAt = :createdAt AND b.id > :id))
+        ORDER BY b.createdAt ASC, b.id ASC
+    """)
+    List<BlogCardView> findPendingCardsAfter(
+        @Param("createdAt") Instant createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Moves the given blogs out of PENDING in one statement. Blogs that are missing, deleted or
+     * no longer pending are left alone.
+     * @return ids of the blogs that were updated
+     */
+    @Query(value = """
+        UPDATE travel_blog_tbl SET status = :status, updated_at = CURRENT_TIMESTAMP
+        WHERE id IN (:ids) AND status = 'PENDING' AND deleted = false
+        RETURNING id
+    """, nativeQuery = true)
+    List<Long> moderatePending(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    @Query("SELECT b.id FROM TravelBlog b WHERE b.id IN :ids AND b.deleted = false")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Leases up to {@code limit} pending items, oldest first, to the moderator. Items leased to
+     * someone else with an unexpired lease are skipped, as are rows another transaction is
+     * claiming right now, so concurrent claims never wait on each other or overlap. Items the
+     * moderator already holds are included and their lease is renewed.
+     * @return ids of the claimed items
+     */
+    @Query(value = """
+        UPDATE travel_blog_tbl SET claimed_by_id = :moderatorId, claim_expires_at = :leaseUntil
+        WHERE id IN (
+            SELECT id FROM travel_blog_tbl
+            WHERE status = 'PENDING' AND deleted = false
+            AND (claim_expires_at IS NULL OR claim_expires_at <= :now OR claimed_by_id = :moderatorId)
+            ORDER BY created_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id
+    """, nativeQuery = true)
+    List<Long> claimPending(
+        @Param("moderatorId") Long moderatorId,
+        @Param("now") Instant now,
+        @Param("leaseUntil") Instant leaseUntil,
+        @Param("limit") int limit
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE TravelBlog b SET b.claimedBy = null, b.claimExpiresAt = null
+        WHERE b.id IN :ids AND b.claimedBy.id = :moderatorId
+    """)
+    int releaseClaims(@Param("moderatorId") Long moderatorId, @Param("ids") Collection<Long> ids);
+
+    @Query("""
+        SELECT b.id AS id, b.title AS title, b.mainPhotoThumbUrl AS mainPhotoThumbUrl,
+               b.mainPhotoPlaceholder AS mainPhotoPlaceholder, c.id AS cityId, c.name AS cityName,
+               a.id AS authorId, a.name AS authorName, b.status AS status, b.createdAt AS createdAt
+        FROM TravelBlog b LEFT JOIN b.city c LEFT JOIN b.author a
+        WHERE b.id IN :ids
+        ORDER BY b.createdAt ASC, b.id ASC
+    """)
+    List<BlogCardView> findCardsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Highlighted title and snippet of the given blogs for a full-text query. Computed for one
+     * page of hits only, over HTML-escaped text, so they are safe to render with their mark tags.
+     */
+    @Query(value = """
+        WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query)
+        SELECT b.id AS "id",
+               ts_headline('english',
+                   replace(replace(replace(b.title, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'),
+                   q.query, 'HighlightAll=true, StartSel=<mark>, StopSel=</mark>') AS "titleHighlight",
+               ts_headline('english',
+                   replace(replace(replace(concat_ws(' ', b.paragraph1, b.paragraph2, b.paragraph3),
+                       '&', '&amp;'), '<', '&lt;'), '>', '&gt;'),
+                   q.query, 'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MinWords=10, MaxWords=30') AS "snippet"
+        FROM travel_blog_tbl b, q
+        WHERE b.id IN (:ids)
+    """, nativeQuery = true)
+    List<SearchHighlightView> findSearchHighlights(@Param("ids") Collection<Long> ids, @Param("query") String query);
+
+    /**
+     * The newest {@code perCity} approved blogs of each city, all cities in one query served by
+     * the partial index on {@code (city_id, id)}
+     */
+    @Query(value = """
+        SELECT ranked.id AS "id", ranked.city_id AS "cityId"
+        FROM (
+            SELECT b.id, b.city_id, row_number() OVER (PARTITION BY b.city_id ORDER BY b.id DESC) AS position
+            FROM travel_blog_tbl b
+            WHERE b.city_id IN (:cityIds) AND b.status = 'APPROVED' AND b.deleted = false
+        ) ranked
+        WHERE ranked.position <= :perCity
+    """, nativeQuery = true)
+    List<CityBlogView> findNewestApprovedIdsByCities(@Param("cityIds") Collection<Long> cityIds,
+                                                     @Param("perCity") int perCity);
+
+    /**
+     * Approved blogs in id order with the attributes list views filter and sort on, for building
+     * the in-memory listing index page by page
+     */
+    @Query("""
+        SELECT b.id AS id, c.id AS cityId, b.createdAt AS createdAt, w.monthMask AS monthMask,
+               (SELECT COUNT(l) FROM BlogLike l WHERE l.blog = b AND l.deleted = false) AS likeCount
+        FROM TravelBlog b LEFT JOIN b.city c LEFT JOIN b.bestTimeToVisit w ON w.deleted = false
+        WHERE b.status = APPROVED AND b.deleted = false AND b.id > :afterId
+        ORDER BY b.id ASC
+    """)
+    List<ListingRowView> findListingRows(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * The approved ones among {@code ids}
+     */
+    @Query("""
+        SELECT b.id AS id, c.id AS cityId, b.createdAt AS createdAt, w.monthMask AS monthMask,
+               (SELECT COUNT(l) FROM BlogLike l WHERE l.blog = b AND l.deleted = false) AS likeCount
+        FROM TravelBlog b LEFT JOIN b.city c LEFT JOIN b.bestTimeToVisit w ON w.deleted = false
+        WHERE b.status = APPROVED AND b.deleted = false AND b.id IN :ids
+    """)
+    List<ListingRowView> findListingRowsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        SELECT b.id AS blogId, c.id AS categoryId
+        FROM TravelBlog b JOIN b.travelCategory c
+        WHERE b.id IN :ids
+    """)
+    List<BlogCategoryView> findCategoryIdsByBlogIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Approved blogs in id order, for building the in-memory search index page by page
+     */
+    @Query("""
+        SELECT b.id AS id, b.title AS title, c.name AS cityName, b.paragraph1 AS paragraph1,
+               b.paragraph2 AS paragraph2, b.paragraph3 AS paragraph3, b.mainPhotoThumbUrl AS mainPhotoThumbUrl
+        FROM TravelBlog b LEFT JOIN b.city c
+        WHERE b.status = APPROVED AND b.deleted = false AND b.id > :afterId
+        ORDER BY b.id ASC
+    """)
+    List<SearchDocumentView> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * The approved ones among {@code ids}
+     */
+    @Query("""
+        SELECT b.id AS id, b.title AS title, c.name AS cityName, b.paragraph1 AS paragraph1,
+               b.paragraph2 AS paragraph2, b.paragraph3 AS paragraph3, b.mainPhotoThumbUrl AS mainPhotoThumbUrl
+        FROM TravelBlog b LEFT JOIN b.city c
+        WHERE b.status = APPROVED AND b.deleted = false AND b.id IN :ids
+    """)
+    List<SearchDocumentView> findSearchDocumentsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Approved blog titles with their like counts, for autocomplete
+     */
+    @Query("""
+        SELECT b.id AS id, b.title AS name,
+               (SELECT COUNT(l) FROM BlogLike l WHERE l.blog = b AND l.deleted = false) AS weight
+        FROM TravelBlog b
+        WHERE b.status = APPROVED AND b.deleted = false
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    List<SuggestionView> findTitleSuggestions();
 
+    interface SuggestionView {
+        Long getId();
+        String getName();
+        long getWeight();
+    }
 
+    /**
+     * Paragraphs and photo hashes of every blog that is not deleted, in id order, for building the
+     * duplicate index
+     */
+    @Query("""
+        SELECT b.id AS id, b.paragraph1 AS paragraph1, b.paragraph2 AS paragraph2, b.paragraph3 AS paragraph3,
+               b.mainPhotoHash AS mainPhotoHash, b.midPhoto1Hash AS midPhoto1Hash, b.midPhoto2Hash AS midPhoto2Hash,
+               b.midPhoto3Hash AS midPhoto3Hash, b.sidePhotoHash AS sidePhotoHash
+        FROM TravelBlog b
+        WHERE b.deleted = false AND b.id > :afterId
+        ORDER BY b.id ASC
+    """)
+    List<DuplicateSourceView> findDuplicateSources(@Param("afterId") Long afterId, Pageable pageable);
 
+    /**
+     * The ones among {@code ids} that are not deleted
+     */
+    @Query("""
+        SELECT b.id AS id, b.paragraph1 AS paragraph1, b.paragraph2 AS paragraph2, b.paragraph3 AS paragraph3,
+               b.mainPhotoHash AS mainPhotoHash, b.midPhoto1Hash AS midPhoto1Hash, b.midPhoto2Hash AS midPhoto2Hash,
+               b.midPhoto3Hash AS midPhoto3Hash, b.sidePhotoHash AS sidePhotoHash
+        FROM TravelBlog b
+        WHERE b.deleted = false AND b.id IN :ids
+    """)
+    List<DuplicateSourceView> findDuplicateSourcesByIds(@Param("ids") Collection<Long> ids);
+
+    interface DuplicateSourceView {
+        Long getId();
+        String getParagraph1();
+        String getParagraph2();
+        String getParagraph3();
+        Long getMainPhotoHash();
+        Long getMidPhoto1Hash();
+        Long getMidPhoto2Hash();
+        Long getMidPhoto3Hash();
+        Long getSidePhotoHash();
+    }
+
+    interface SearchDocumentView {
+        Long getId();
+        String getTitle();
+        String getCityName();
+        String getParagraph1();
+        String getParagraph2();
+        String getParagraph3();
+        String getMainPhotoThumbUrl();
+    }
+
+    interface SearchHighlightView {
+        Long getId();
+        String getTitleHighlight();
+        String getSnippet();
+    }
+
+    interface ListingRowView {
+        Long getId();
+        Long getCityId();
+        Instant getCreatedAt();
+        Integer getMonthMask();
+        long getLikeCount();
+    }
+
+    interface BlogCategoryView {
+        Long getBlogId();
+        Long getCategoryId();
+    }
+
+    interface CityBlogView {
+        Long getId();
+        Long getCityId();
+    }
+
+    interface BlogCardView {
+        Long getId();
+        String getTitle();
+        String getMainPhotoThumbUrl();
+        String getMainPhotoPlaceholder();
+        Long getCityId();
+        String getCityName();
+        Long getAuthorId();
+        String getAuthorName();
+        TravelBlog.BlogStatus getStatus();
+        Instant getCreatedAt();
+    }
+}
@@ -2,6 +2,7 @@ package com.hal.travelapp.v1.repository;
 
 import com.hal.travelapp.v1.entity.domain.TravelCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,8 +11,21 @@ import java.util.Set;
 @Repository
 public interface TravelCategoryRepo extends JpaRepository<TravelCategory, Long> {
     List<TravelCategory> findByIdIn(Set<Long> ids);
-}
-
-
 
+    /**
+     * Every category with its number of approved blogs, for autocomplete
+     */
+    @Query("""
+        SELECT c.id AS id, c.name AS name,
+               (SELECT COUNT(b) FROM TravelBlog b JOIN b.travelCategory bc
+                WHERE bc = c AND b.status = APPROVED AND b.deleted = false) AS weight
+        FROM TravelCategory c WHERE c.deleted = false
+    """)
+    List<SuggestionView> findSuggestions();
 
+    interface SuggestionView {
+        Long getId();
+        String getName();
+        long getWeight();
+    }
+}
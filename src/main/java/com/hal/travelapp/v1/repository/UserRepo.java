@@ -1,9 +1,14 @@
 package com.hal.travelapp.v1.repository;
 
+import com.hal.travelapp.v1.entity.domain.Role;
 import com.hal.travelapp.v1.entity.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,8 @@ public interface UserRepo extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Modifying
+    @Query("UPDATE User u SET u.role = :role WHERE u.id IN :ids")
+    int updateRole(@Param("ids") Collection<Long> ids, @Param("role") Role role);
 }
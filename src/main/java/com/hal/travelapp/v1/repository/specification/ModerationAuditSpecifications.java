@@ -0,0 +1,49 @@
+package com.hal.travelapp.v1.repository.specification;
+
+import com.hal.travelapp.v1.entity.domain.ModerationAuditEntry;
+import com.hal.travelapp.v1.entity.enums.AuditTargetType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+
+/**
+ * Building blocks for searching the moderation audit log. Callers combine only the filters they
+ * were given, so an actor or target filter reaches the database as a plain equality that the
+ * {@code (actor_id, occurred_at, id)} or {@code (target_type, target_id, occurred_at, id)} index
+ * can serve, instead of an {@code IS NULL OR} that no single plan fits.
+ */
+public final class ModerationAuditSpecifications {
+
+    private ModerationAuditSpecifications() {
+    }
+
+    public static Specification<ModerationAuditEntry> byActor(Long actorId) {
+        return (root, query, cb) -> cb.equal(root.get("actorId"), actorId);
+    }
+
+    public static Specification<ModerationAuditEntry> onTargetType(AuditTargetType targetType) {
+        return (root, query, cb) -> cb.equal(root.get("targetType"), targetType);
+    }
+
+    public static Specification<ModerationAuditEntry> onTarget(Long targetId) {
+        return (root, query, cb) -> cb.equal(root.get("targetId"), targetId);
+    }
+
+    public static Specification<ModerationAuditEntry> occurredFrom(Instant from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("occurredAt"), from);
+    }
+
+    public static Specification<ModerationAuditEntry> occurredBefore(Instant to) {
+        return (root, query, cb) -> cb.lessThan(root.get("occurredAt"), to);
+    }
+
+    /**
+     * Entries after the given one in newest-first order, for keyset paging
+     */
+    public static Specification<ModerationAuditEntry> olderThan(Instant occurredAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("occurredAt"), occurredAt),
+                cb.and(cb.equal(root.get("occurredAt"), occurredAt), cb.lessThan(root.get("id"), id))
+        );
+    }
+}
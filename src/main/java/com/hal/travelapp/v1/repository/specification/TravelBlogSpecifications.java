@@ -0,0 +1,96 @@
+package com.hal.travelapp.v1.repository.specification;
+
+import com.hal.travelapp.v1.entity.domain.BestTimeToVisit;
+import com.hal.travelapp.v1.entity.domain.TravelBlog;
+import com.hal.travelapp.v1.entity.domain.TravelCategory;
+import com.hal.travelapp.v1.utils.MonthMask;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Building blocks for filtering blogs. Each one matches an index created by
+ * DatabaseIndexInitializer: {@link #approved()} the partial indexes on {@code travel_blog_tbl},
+ * category filters {@code blog_category_tbl (category_id, blog_id)} and the month filter
+ * the per-month partial indexes on {@code best_time_to_visit_tbl}. Filters on other tables are
+ * {@code EXISTS} subqueries, so combining them never duplicates a blog.
+ */
+public final class TravelBlogSpecifications {
+
+    private static final String TEXT_QUERY = "websearch_to_tsquery('english', ?)";
+
+    private TravelBlogSpecifications() {
+    }
+
+    /**
+     * Status and deletion flag are rendered as literals, so the partial indexes still apply to
+     * cached generic plans
+     */
+    public static Specification<TravelBlog> approved() {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("status"), cb.literal(TravelBlog.BlogStatus.APPROVED)),
+                cb.isFalse(root.get("deleted"))
+        );
+    }
+
+    public static Specification<TravelBlog> inCity(Long cityId) {
+        return (root, query, cb) -> cb.equal(root.get("city").get("id"), cityId);
+    }
+
+    public static Specification<TravelBlog> inAnyCategory(Collection<Long> categoryIds) {
+        return (root, query, cb) -> {
+            Subquery<Integer> categories = query.subquery(Integer.class);
+            Join<TravelBlog, TravelCategory> category = categories.correlate(root).join("travelCategory");
+            return cb.exists(categories.select(cb.literal(1)).where(category.get("id").in(categoryIds)));
+        };
+    }
+
+    public static Specification<TravelBlog> inAllCategories(Collection<Long> categoryIds) {
+        return Specification.allOf(categoryIds.stream()
+                .map(categoryId -> inAnyCategory(List.of(categoryId)))
+                .toList());
+    }
+
+    /**
+     * Blogs whose best time to visit includes the month. The bit is rendered as a literal so the
+     * per-month partial index on {@code best_time_to_visit_tbl} matches the predicate.
+     */
+    public static Specification<TravelBlog> bestVisitedIn(int month) {
+        int bit = MonthMask.bit(month);
+        return (root, query, cb) -> {
+            Subquery<Integer> windows = query.subquery(Integer.class);
+            Root<BestTimeToVisit> window = windows.from(BestTimeToVisit.class);
+            return cb.exists(windows.select(cb.literal(1)).where(
+                    cb.equal(window.get("travelBlog"), root),
+                    cb.isFalse(window.get("deleted")),
+                    cb.notEqual(cb.function("bitand", Integer.class, window.get("monthMask"), cb.literal(bit)), cb.literal(0))
+            ));
+        };
+    }
+
+    /**
+     * Full-text match on the trigger-maintained {@code search_vector} column, which is not mapped
+     * on the entity; the subquery on the primary key lets the GIN index drive the search
+     */
+    public static Specification<TravelBlog> matchesText(String text) {
+        return (root, query, cb) -> cb.isTrue(((HibernateCriteriaBuilder) cb).sql(
+                "? in (select s.id from travel_blog_tbl s where s.search_vector @@ " + TEXT_QUERY + ")",
+                Boolean.class, root.get("id"), ((HibernateCriteriaBuilder) cb).value(text)));
+    }
+
+    /**
+     * The {@code ts_rank} of a blog for the query, the ordering used with {@link #matchesText}
+     */
+    public static Expression<Float> textRank(Root<TravelBlog> root, CriteriaBuilder cb, String text) {
+        return ((HibernateCriteriaBuilder) cb).sql(
+                "(select ts_rank(s.search_vector, " + TEXT_QUERY + ") from travel_blog_tbl s where s.id = ?)",
+                Float.class, ((HibernateCriteriaBuilder) cb).value(text), root.get("id"));
+    }
+}
@@ -2,8 +2,15 @@ package com.hal.travelapp.v1.service;
 
 import com.hal.travelapp.v1.dto.AdminApprovalRequestDto;
 import com.hal.travelapp.v1.dto.BlogApprovalRequestDto;
+import com.hal.travelapp.v1.dto.BlogDuplicateFlagDto;
+import com.hal.travelapp.v1.dto.BulkModerationRequestDto;
+import com.hal.travelapp.v1.dto.BulkModerationResultDto;
 import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
+import com.hal.travelapp.v1.dto.CursorPageResult;
+import com.hal.travelapp.v1.dto.PageResult;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
 import com.hal.travelapp.v1.dto.blog.BlogDto;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -12,10 +19,32 @@ public interface AdminService {
     
     BlogDto approveOrRejectBlog(BlogApprovalRequestDto request, Long adminId);
     
-    List<CertifiedUserRequestDto> getAllCertificationRequests();
-    
-    List<BlogDto> getAllPendingBlogs();
-}
+    /**
+     * Approves or rejects many pending blogs with one update; ids that are missing or no longer
+     * pending are reported per id instead of failing the batch
+     */
+    BulkModerationResultDto moderateBlogs(BulkModerationRequestDto request, Long adminId);
 
+    /**
+     * Approves or rejects many pending certification requests with one update, and promotes
+     * the users of approved requests with one more
+     */
+    BulkModerationResultDto moderateCertificationRequests(BulkModerationRequestDto request, Long adminId);
 
+    /**
+     * Certification requests, newest first
+     * @param status PENDING, APPROVED or REJECTED, or null for every status
+     */
+    PageResult<CertifiedUserRequestDto> getAllCertificationRequests(String status, Pageable pageable);
+    
+    /**
+     * Pending blogs, oldest first, one keyset page at a time
+     * @param cursor the nextCursor of the previous page, or null for the first page
+     */
+    CursorPageResult<BlogCardDto> getPendingBlogs(String cursor, int pageSize);
 
+    /**
+     * Earlier blogs that the blog likely duplicates, found when it was submitted
+     */
+    List<BlogDuplicateFlagDto> getDuplicateFlags(Long blogId);
+}
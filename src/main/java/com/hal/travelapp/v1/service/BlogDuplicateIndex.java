@@ -0,0 +1,40 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.service.search.MinHashIndex;
+import com.hal.travelapp.v1.service.search.PhotoHashIndex;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-memory near-duplicate index over the paragraphs and photos of every blog that is not deleted,
+ * whatever its status, so that reposts of rejected blogs are caught too.
+ */
+public interface BlogDuplicateIndex {
+
+    /**
+     * Indexed blogs whose paragraphs likely overlap with the given ones, most similar first
+     */
+    List<MinHashIndex.Match> findTextDuplicates(String paragraph1, String paragraph2, String paragraph3);
+
+    /**
+     * Indexed blogs with a photo close to one of the given perceptual hashes, closest first. Hashes
+     * of flat photos are ignored.
+     */
+    List<PhotoHashIndex.Match> findPhotoDuplicates(Collection<Long> photoHashes);
+
+    /**
+     * Builds a fresh index from the database and swaps it in
+     */
+    void rebuild();
+
+    /**
+     * @return how many blogs have indexed paragraphs
+     */
+    int size();
+
+    /**
+     * @return how many photos are indexed
+     */
+    int photoCount();
+}
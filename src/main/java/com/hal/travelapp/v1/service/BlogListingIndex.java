@@ -0,0 +1,26 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.service.search.BlogColumnStore;
+
+import java.util.List;
+
+/**
+ * In-memory column store of approved blogs for filtered and sorted list views. It answers with
+ * ids only; callers load the page's cards. Built at startup and kept current from
+ * {@code BlogChangedEvent}s and {@code BlogLikesChangedEvent}s.
+ */
+public interface BlogListingIndex {
+
+    /**
+     * Ids of matching approved blogs after the query's position, in sort order
+     */
+    List<BlogColumnStore.Hit> find(BlogColumnStore.Query query);
+
+    /**
+     * Builds a fresh store from the database and swaps it in; queries keep using the old one
+     * until then
+     */
+    void rebuild();
+
+    int size();
+}
@@ -0,0 +1,23 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.service.image.PhotoSlot;
+import com.hal.travelapp.v1.service.image.PhotoSource;
+import com.hal.travelapp.v1.service.image.StoredPhoto;
+
+import java.util.Map;
+
+public interface BlogPhotoService {
+    /**
+     * Decodes each photo once, renders the variants its slot needs and uploads them, and
+     * computes its placeholder and perceptual hash.
+     * Photos and variants are rendered in parallel on the image worker pool, then all
+     * variants are stored in a single batch.
+     * @param photos The photos keyed by the slot they fill
+     * @return The stored variant URLs keyed by slot
+     * @throws com.hal.travelapp.v1.exception.InvalidImageException if a photo is not a supported image
+     * @throws com.hal.travelapp.v1.exception.ImageTooLargeException if a photo exceeds the upload limits
+     * @throws IllegalArgumentException if a photo cannot be decoded
+     * @throws RuntimeException if an upload fails
+     */
+    Map<PhotoSlot, StoredPhoto> storePhotos(Map<PhotoSlot, PhotoSource> photos);
+}
@@ -0,0 +1,25 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.blog.BlogIndexHitDto;
+
+import java.util.List;
+
+/**
+ * In-memory full-text index over approved blogs, for nodes that serve search without a
+ * database round trip. Built at startup and kept current from {@code BlogChangedEvent}s.
+ */
+public interface BlogSearchIndex {
+
+    /**
+     * Blogs matching any word of the query, best BM25 score first
+     */
+    List<BlogIndexHitDto> search(String query, int limit);
+
+    /**
+     * Builds a fresh index from the database and swaps it in; searches keep using the old one
+     * until then
+     */
+    void rebuild();
+
+    int size();
+}
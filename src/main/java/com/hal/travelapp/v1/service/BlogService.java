@@ -2,9 +2,13 @@ package com.hal.travelapp.v1.service;
 
 import com.hal.travelapp.v1.dto.CursorPageResult;
 import com.hal.travelapp.v1.dto.PageResult;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
 import com.hal.travelapp.v1.dto.blog.BlogCreateRequestDto;
 import com.hal.travelapp.v1.dto.blog.BlogDto;
+import com.hal.travelapp.v1.dto.blog.BlogSearchFilterDto;
+import com.hal.travelapp.v1.dto.blog.BlogSearchResultDto;
 import com.hal.travelapp.v1.dto.blog.BlogUpdateRequestDto;
+import com.hal.travelapp.v1.dto.blog.NearbyBlogDto;
 import com.hal.travelapp.v1.entity.domain.TravelBlog;
 import org.springframework.data.domain.Pageable;
 
@@ -28,6 +32,40 @@ public interface BlogService {
     PageResult<BlogDto> getApprovedBlogs(Pageable pageable);
     
     CursorPageResult<BlogDto> getFeaturedBlogs(String cursor, int pageSize, Long userId);
+
+    /**
+     * Full-text search over approved blogs, best match first, narrowed by the filters. Without a
+     * query it lists the filtered blogs newest first.
+     * @param query web search syntax: words, "quoted phrases", OR and -excluded words; optional
+     */
+    BlogSearchResultDto searchBlogs(String query, BlogSearchFilterDto filter, String cursor, int pageSize);
+
+    /**
+     * Approved blogs narrowed by the filters, newest or most liked first, served from the
+     * in-memory listing index
+     * @param sort {@code recent} or {@code likes}
+     */
+    CursorPageResult<BlogCardDto> browseBlogs(BlogSearchFilterDto filter, String sort, String cursor, int pageSize);
+
+    /**
+     * Approved blogs whose best time to visit includes the month, newest first
+     * @param month 1 for January to 12 for December
+     */
+    CursorPageResult<BlogCardDto> getBestForMonth(int month, String cursor, int pageSize);
+
+    /**
+     * Approved blogs in the cities nearest to an approved blog's city or to a point: by distance
+     * of the city, then newest first
+     * @param blogId   the blog to find neighbours of, itself excluded; or null to use the point
+     * @param radiusKm cities within this distance; the few nearest cities when null
+     */
+    List<NearbyBlogDto> getNearbyBlogs(Long blogId, Double latitude, Double longitude, Double radiusKm, int limit);
+
+    /**
+     * The precomputed "more like this" blogs of a blog, best first; empty until the related-blogs
+     * job has run for it
+     */
+    List<BlogCardDto> getRelatedBlogs(Long blogId, int limit);
     
     BlogDto mapToDto(TravelBlog blog);
     
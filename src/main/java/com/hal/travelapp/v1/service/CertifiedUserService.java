@@ -2,15 +2,15 @@ package com.hal.travelapp.v1.service;
 
 import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
 import com.hal.travelapp.v1.dto.CertifiedUserRequestResponseDto;
-
-import java.util.List;
+import com.hal.travelapp.v1.dto.PageResult;
+import org.springframework.data.domain.Pageable;
 
 public interface CertifiedUserService {
     CertifiedUserRequestResponseDto requestCertification(Long userId);
     
     CertifiedUserRequestDto getRequestByUserId(Long userId);
     
-    List<CertifiedUserRequestDto> getAllPendingRequests();
+    PageResult<CertifiedUserRequestDto> getAllPendingRequests(Pageable pageable);
 }
 
 
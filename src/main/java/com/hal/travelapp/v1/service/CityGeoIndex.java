@@ -0,0 +1,29 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.service.search.KdTree;
+
+import java.util.List;
+
+/**
+ * In-memory spatial index over the cities that have coordinates, served without a database
+ * round trip.
+ */
+public interface CityGeoIndex {
+
+    /**
+     * The {@code k} cities closest to the point, nearest first
+     */
+    List<KdTree.Hit> nearest(double latitude, double longitude, int k);
+
+    /**
+     * Cities within the radius of the point, nearest first
+     */
+    List<KdTree.Hit> within(double latitude, double longitude, double radiusKm);
+
+    /**
+     * Builds a fresh index from the database and swaps it in
+     */
+    void rebuild();
+
+    int size();
+}
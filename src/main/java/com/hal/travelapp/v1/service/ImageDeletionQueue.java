@@ -0,0 +1,17 @@
+package com.hal.travelapp.v1.service;
+
+import java.util.Collection;
+
+public interface ImageDeletionQueue {
+
+    /**
+     * Records images to delete from storage. Runs in the caller's transaction, so the images
+     * are only queued if the change that orphaned them commits.
+     */
+    void enqueue(Collection<String> imageUrls);
+
+    /**
+     * Deletes the due images. Returns the number of queue entries processed.
+     */
+    int drain();
+}
@@ -0,0 +1,12 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.OrphanImageReportDto;
+
+public interface ImageGarbageCollector {
+
+    /**
+     * Finds stored images that no blog references and that are older than the grace period,
+     * and deletes them unless {@code dryRun} is set.
+     */
+    OrphanImageReportDto collect(boolean dryRun);
+}
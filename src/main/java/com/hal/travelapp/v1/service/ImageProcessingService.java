@@ -0,0 +1,39 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.service.image.DecodedImage;
+import com.hal.travelapp.v1.service.image.ImageVariant;
+import com.hal.travelapp.v1.service.image.ProcessedImage;
+
+public interface ImageProcessingService {
+    /**
+     * Decodes an uploaded photo and rotates it upright according to its EXIF orientation
+     * @param content The raw bytes of the upload
+     * @return The decoded image
+     * @throws IllegalArgumentException if the content is not a readable image
+     */
+    DecodedImage decode(byte[] content);
+
+    /**
+     * Renders a bounded-size variant of a decoded image. Opaque images are written as JPEG,
+     * images with transparency as PNG. No source metadata is carried over.
+     * @param image The decoded image
+     * @param variant The variant to render
+     * @return The encoded variant
+     */
+    ProcessedImage render(DecodedImage image, ImageVariant variant);
+
+    /**
+     * Renders a tiny, heavily compressed JPEG of a decoded image for clients to show, blurred,
+     * while the real photo loads. Transparent areas are flattened onto white.
+     * @param image The decoded image
+     * @return The placeholder as a base64 {@code data:} URI
+     */
+    String placeholder(DecodedImage image);
+
+    /**
+     * Computes the difference hash used to spot copies of photos already on the site
+     * @param image The decoded image
+     * @return The 64-bit hash; see {@link com.hal.travelapp.v1.service.image.PerceptualHash}
+     */
+    long perceptualHash(DecodedImage image);
+}
@@ -1,7 +1,11 @@
 package com.hal.travelapp.v1.service;
 
+import com.hal.travelapp.v1.service.image.StoredImagePage;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface ImageUploadService {
     /**
      * Uploads an image file to GitHub repository and returns the public URL
@@ -11,6 +15,15 @@ public interface ImageUploadService {
      * @throws RuntimeException if upload fails
      */
     String uploadImage(MultipartFile file, String fileName);
+
+    /**
+     * Uploads already encoded image content to GitHub repository and returns the public URL
+     * @param content The encoded image bytes
+     * @param fileName The file name, including extension
+     * @return The public URL of the uploaded image
+     * @throws RuntimeException if upload fails
+     */
+    String uploadImage(byte[] content, String fileName);
     
     /**
      * Deletes an image from GitHub repository
@@ -18,5 +31,28 @@ public interface ImageUploadService {
      * @throws RuntimeException if deletion fails
      */
     void deleteImage(String imageUrl);
-}
 
+    /**
+     * Uploads several encoded images to GitHub repository in a single commit
+     * @param images The encoded image bytes keyed by file name, including extension
+     * @return The public URLs keyed by file name
+     * @throws RuntimeException if upload fails
+     */
+    Map<String, String> uploadImages(Map<String, byte[]> images);
+
+    /**
+     * Deletes several images from GitHub repository in a single commit
+     * @param imageUrls The URLs of the images to delete
+     * @throws RuntimeException if deletion fails
+     */
+    void deleteImages(Collection<String> imageUrls);
+
+    /**
+     * Lists the images in the upload directory, one page at a time
+     * @param pageToken The token of the previous page, or null for the first page
+     * @param pageSize The maximum number of images to return
+     * @return The public URLs of one page of images
+     * @throws RuntimeException if listing fails
+     */
+    StoredImagePage listImages(String pageToken, int pageSize);
+}
@@ -0,0 +1,38 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.CursorPageResult;
+import com.hal.travelapp.v1.dto.ModerationAuditEntryDto;
+import com.hal.travelapp.v1.entity.enums.AuditTargetType;
+import com.hal.travelapp.v1.entity.enums.ModerationAction;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ModerationAuditLog {
+
+    /**
+     * Queues an entry for the background writer. Inside a transaction the entry is queued only
+     * once that transaction commits, so rolled back decisions are never logged.
+     */
+    void record(Event event);
+
+    void recordAll(List<Event> events);
+
+    /**
+     * Entries newest first. Every filter is optional.
+     */
+    CursorPageResult<ModerationAuditEntryDto> search(Long actorId, String targetType, Long targetId,
+                                                     Instant from, Instant to, String cursor, int pageSize);
+
+    record Event(
+            Instant occurredAt,
+            Long actorId,
+            AuditTargetType targetType,
+            Long targetId,
+            ModerationAction action,
+            String fromStatus,
+            String toStatus,
+            String reason
+    ) {
+    }
+}
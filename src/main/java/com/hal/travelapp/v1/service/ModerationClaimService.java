@@ -0,0 +1,27 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
+import com.hal.travelapp.v1.dto.ModerationClaimDto;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
+
+import java.util.Collection;
+
+public interface ModerationClaimService {
+    /**
+     * Leases the next pending blogs, oldest first, to the moderator
+     */
+    ModerationClaimDto<BlogCardDto> claimBlogs(Long moderatorId, int count);
+
+    /**
+     * Leases the next pending certification requests, oldest first, to the moderator
+     */
+    ModerationClaimDto<CertifiedUserRequestDto> claimCertificationRequests(Long moderatorId, int count);
+
+    /**
+     * Hands blogs back to the queue before their lease expires
+     * @return number of claims released; ids not held by the moderator are ignored
+     */
+    int releaseBlogs(Long moderatorId, Collection<Long> blogIds);
+
+    int releaseCertificationRequests(Long moderatorId, Collection<Long> requestIds);
+}
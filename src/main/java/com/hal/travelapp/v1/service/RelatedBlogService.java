@@ -0,0 +1,16 @@
+package com.hal.travelapp.v1.service;
+
+/**
+ * Precomputes the "more like this" list of every approved blog, so that a blog page reads it
+ * with one indexed lookup instead of joining likes and categories per request.
+ */
+public interface RelatedBlogService {
+
+    /**
+     * Scores every approved blog against the others by co-likes, city and categories and replaces
+     * the stored lists
+     *
+     * @return how many blogs were processed
+     */
+    int recompute();
+}
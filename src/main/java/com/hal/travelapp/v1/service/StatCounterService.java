@@ -0,0 +1,42 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.AdminStatsDto;
+import com.hal.travelapp.v1.entity.domain.TravelBlog;
+import com.hal.travelapp.v1.entity.enums.RoleEnum;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+public interface StatCounterService {
+
+    String PENDING_CERTIFICATIONS = "certifications.pending";
+    String LIKES_DAY_PREFIX = "likes.day.";
+
+    static String blogStatus(TravelBlog.BlogStatus status) {
+        return "blogs.status." + status.name();
+    }
+
+    static String userRole(RoleEnum role) {
+        return "users.role." + role.name();
+    }
+
+    /**
+     * Counter of likes given on the UTC day of {@code instant}
+     */
+    static String likesOn(Instant instant) {
+        return LIKES_DAY_PREFIX + instant.atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+
+    /**
+     * Adds {@code delta} to a counter. Runs in the caller's transaction, so the counter only
+     * moves if the change it counts commits.
+     */
+    void add(String counter, long delta);
+
+    AdminStatsDto getStats();
+
+    /**
+     * Recomputes every counter from the tables it summarizes and corrects any drift
+     */
+    void reconcile();
+}
@@ -0,0 +1,26 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.SuggestionDto;
+
+import java.util.List;
+
+/**
+ * Autocomplete over city names, category names and approved blog titles, served from memory.
+ */
+public interface SuggestionService {
+
+    /**
+     * Entries starting with the prefix, most popular first, followed by entries one typo away
+     */
+    List<SuggestionDto> suggest(String prefix, int limit);
+
+    /**
+     * Schedules a rebuild on the background thread; requests made while one is queued are merged
+     */
+    void requestRebuild();
+
+    /**
+     * Builds a fresh index on the calling thread and swaps it in
+     */
+    void rebuild();
+}
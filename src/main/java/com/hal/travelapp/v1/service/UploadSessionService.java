@@ -0,0 +1,45 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.upload.UploadSessionDto;
+import com.hal.travelapp.v1.service.image.PhotoSource;
+
+import java.io.InputStream;
+import java.util.Collection;
+
+public interface UploadSessionService {
+    /**
+     * Opens a session for a photo of the given size, to be sent in chunks
+     * @throws com.hal.travelapp.v1.exception.ImageTooLargeException if the size exceeds the upload limit
+     */
+    UploadSessionDto createSession(String fileName, long totalSize, Long ownerId);
+
+    UploadSessionDto getSession(String uploadId, Long ownerId);
+
+    /**
+     * Writes a chunk at the given offset. The offset may not be past the bytes received so
+     * far, so a chunk whose response was lost can simply be sent again.
+     * @throws com.hal.travelapp.v1.exception.InvalidActionException if the offset leaves a gap or
+     *         the chunk runs past the declared size
+     */
+    UploadSessionDto writeChunk(String uploadId, long offset, InputStream chunk, Long ownerId);
+
+    /**
+     * Checks that every byte arrived and that the file is a supported image. A finalized
+     * session can be referenced by its upload id when creating or updating a blog.
+     */
+    UploadSessionDto finalizeSession(String uploadId, Long ownerId);
+
+    void abortSession(String uploadId, Long ownerId);
+
+    /**
+     * Returns the staged photo of a finalized session
+     * @throws com.hal.travelapp.v1.exception.ResourceNotFoundException if there is no such
+     *         finalized session for the owner
+     */
+    PhotoSource stagedPhoto(String uploadId, Long ownerId);
+
+    /**
+     * Removes sessions whose photos have been stored.
+     */
+    void discard(Collection<String> uploadIds);
+}
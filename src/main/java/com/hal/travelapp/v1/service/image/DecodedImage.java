@@ -0,0 +1,19 @@
+package com.hal.travelapp.v1.service.image;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A photo decoded once and already rotated upright, ready to be rendered into variants.
+ */
+public record DecodedImage(
+        BufferedImage image,
+        boolean hasAlpha
+) {
+    public int width() {
+        return image.getWidth();
+    }
+
+    public int height() {
+        return image.getHeight();
+    }
+}
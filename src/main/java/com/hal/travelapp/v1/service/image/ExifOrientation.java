@@ -0,0 +1,90 @@
+package com.hal.travelapp.v1.service.image;
+
+/**
+ * Minimal reader for the EXIF orientation tag of a JPEG.
+ * <p>
+ * ImageIO ignores EXIF, and the re-encoded variants carry no metadata, so the rotation
+ * has to be applied to the pixels before the tag is dropped.
+ */
+public final class ExifOrientation {
+
+    public static final int NORMAL = 1;
+
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private ExifOrientation() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Returns the orientation (1-8) found in the first APP1 segment, or {@link #NORMAL}
+     * if the data is not a JPEG or carries no orientation.
+     */
+    public static int read(byte[] data) {
+        if (data.length < 4 || (data[0] & 0xFF) != 0xFF || (data[1] & 0xFF) != 0xD8) {
+            return NORMAL;
+        }
+        int pos = 2;
+        while (pos + 4 <= data.length) {
+            if ((data[pos] & 0xFF) != 0xFF) {
+                return NORMAL;
+            }
+            int marker = data[pos + 1] & 0xFF;
+            if (marker == 0xDA || marker == 0xD9) {
+                // Start of scan / end of image: no more metadata segments
+                return NORMAL;
+            }
+            int length = ((data[pos + 2] & 0xFF) << 8) | (data[pos + 3] & 0xFF);
+            int segmentStart = pos + 4;
+            if (marker == 0xE1 && isExifHeader(data, segmentStart)) {
+                return readTiffOrientation(data, segmentStart + 6, pos + 2 + length);
+            }
+            pos += 2 + length;
+        }
+        return NORMAL;
+    }
+
+    private static boolean isExifHeader(byte[] data, int offset) {
+        return offset + 6 <= data.length
+                && data[offset] == 'E' && data[offset + 1] == 'x'
+                && data[offset + 2] == 'i' && data[offset + 3] == 'f'
+                && data[offset + 4] == 0 && data[offset + 5] == 0;
+    }
+
+    private static int readTiffOrientation(byte[] data, int tiffStart, int segmentEnd) {
+        int end = Math.min(segmentEnd, data.length);
+        if (tiffStart + 8 > end) {
+            return NORMAL;
+        }
+        boolean littleEndian = data[tiffStart] == 'I' && data[tiffStart + 1] == 'I';
+        int ifdOffset = readInt(data, tiffStart + 4, littleEndian);
+        int ifdStart = tiffStart + ifdOffset;
+        if (ifdOffset < 8 || ifdStart + 2 > end) {
+            return NORMAL;
+        }
+        int entries = readShort(data, ifdStart, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifdStart + 2 + i * 12;
+            if (entry + 12 > end) {
+                return NORMAL;
+            }
+            if (readShort(data, entry, littleEndian) == ORIENTATION_TAG) {
+                int value = readShort(data, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : NORMAL;
+            }
+        }
+        return NORMAL;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int b0 = data[offset] & 0xFF;
+        int b1 = data[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean littleEndian) {
+        int high = readShort(data, littleEndian ? offset + 2 : offset, littleEndian);
+        int low = readShort(data, littleEndian ? offset : offset + 2, littleEndian);
+        return (high << 16) | low;
+    }
+}
@@ -0,0 +1,11 @@
+package com.hal.travelapp.v1.service.image;
+
+/**
+ * Format and pixel dimensions read from the first bytes of an image, without decoding it.
+ */
+public record ImageHeader(ImageFormat format, int width, int height) {
+
+    public long pixels() {
+        return (long) width * height;
+    }
+}
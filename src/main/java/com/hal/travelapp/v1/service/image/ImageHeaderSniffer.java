@@ -0,0 +1,165 @@
+package com.hal.travelapp.v1.service.image;
+
+import com.hal.travelapp.v1.exception.InvalidImageException;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Identifies JPEG, PNG, GIF and WebP images by their signature and reads their dimensions
+ * from the header. Only the header is consumed: at most 30 bytes, except for JPEG, where
+ * metadata segments before the frame header are skipped rather than read.
+ */
+public final class ImageHeaderSniffer {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int PREFIX_LENGTH = 30;
+    private static final long MAX_JPEG_HEADER_BYTES = 1024 * 1024;
+
+    private ImageHeaderSniffer() {
+    }
+
+    /**
+     * @throws InvalidImageException if the bytes are not one of the supported formats or the
+     *                               header is truncated or malformed
+     */
+    public static ImageHeader sniff(InputStream input) throws IOException {
+        InputStream in = input.markSupported() ? input : new BufferedInputStream(input, PREFIX_LENGTH);
+        byte[] prefix = readPrefix(in);
+        try {
+            if (startsWith(prefix, PNG_SIGNATURE)) {
+                return png(prefix);
+            }
+            if (startsWith(prefix, "GIF87a") || startsWith(prefix, "GIF89a")) {
+                return gif(prefix);
+            }
+            if (startsWith(prefix, "RIFF") && ascii(prefix, 8, 4).equals("WEBP")) {
+                return webp(prefix);
+            }
+            if (prefix.length >= 3 && u8(prefix, 0) == 0xFF && u8(prefix, 1) == 0xD8 && u8(prefix, 2) == 0xFF) {
+                in.reset();
+                in.skipNBytes(2);
+                return jpeg(in);
+            }
+        } catch (EOFException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidImageException("Image header is truncated");
+        }
+        throw new InvalidImageException("File must be a JPEG, PNG, GIF or WebP image");
+    }
+
+    private static byte[] readPrefix(InputStream in) throws IOException {
+        in.mark(PREFIX_LENGTH);
+        return in.readNBytes(PREFIX_LENGTH);
+    }
+
+    private static ImageHeader png(byte[] b) {
+        if (!ascii(b, 12, 4).equals("IHDR")) {
+            throw new InvalidImageException("PNG image has no header chunk");
+        }
+        return header(ImageFormat.PNG, be32(b, 16), be32(b, 20));
+    }
+
+    private static ImageHeader gif(byte[] b) {
+        return header(ImageFormat.GIF, le16(b, 6), le16(b, 8));
+    }
+
+    private static ImageHeader webp(byte[] b) {
+        return switch (ascii(b, 12, 4)) {
+            case "VP8 " -> header(ImageFormat.WEBP, le16(b, 26) & 0x3FFF, le16(b, 28) & 0x3FFF);
+            case "VP8L" -> {
+                int bits = le16(b, 21) | le16(b, 23) << 16;
+                yield header(ImageFormat.WEBP, (bits & 0x3FFF) + 1, ((bits >>> 14) & 0x3FFF) + 1);
+            }
+            case "VP8X" -> header(ImageFormat.WEBP, le24(b, 24) + 1, le24(b, 27) + 1);
+            default -> throw new InvalidImageException("Unsupported WebP encoding");
+        };
+    }
+
+    /**
+     * Walks the marker segments after SOI up to the first start-of-frame marker.
+     */
+    private static ImageHeader jpeg(InputStream in) throws IOException {
+        long consumed = 2;
+        while (consumed < MAX_JPEG_HEADER_BYTES) {
+            int marker = readByte(in);
+            consumed++;
+            if (marker != 0xFF) {
+                throw new InvalidImageException("JPEG image has a malformed header");
+            }
+            // Any number of 0xFF fill bytes may precede the marker code
+            do {
+                marker = readByte(in);
+                consumed++;
+            } while (marker == 0xFF);
+
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD8)) {
+                continue;
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                break;
+            }
+            int length = readByte(in) << 8 | readByte(in);
+            if (length < 2) {
+                throw new InvalidImageException("JPEG image has a malformed header");
+            }
+            boolean startOfFrame = marker >= 0xC0 && marker <= 0xCF
+                    && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+            if (startOfFrame) {
+                readByte(in); // sample precision
+                int height = readByte(in) << 8 | readByte(in);
+                int width = readByte(in) << 8 | readByte(in);
+                return header(ImageFormat.JPEG, width, height);
+            }
+            in.skipNBytes(length - 2);
+            consumed += length;
+        }
+        throw new InvalidImageException("JPEG image has no frame header");
+    }
+
+    private static ImageHeader header(ImageFormat format, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new InvalidImageException("Image has invalid dimensions " + width + "x" + height);
+        }
+        return new ImageHeader(format, width, height);
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int value = in.read();
+        if (value < 0) {
+            throw new EOFException();
+        }
+        return value;
+    }
+
+    private static boolean startsWith(byte[] b, byte[] signature) {
+        return b.length >= signature.length && Arrays.equals(b, 0, signature.length, signature, 0, signature.length);
+    }
+
+    private static boolean startsWith(byte[] b, String signature) {
+        return startsWith(b, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String ascii(byte[] b, int offset, int length) {
+        return new String(b, offset, length, StandardCharsets.US_ASCII);
+    }
+
+    private static int u8(byte[] b, int offset) {
+        return b[offset] & 0xFF;
+    }
+
+    private static int le16(byte[] b, int offset) {
+        return u8(b, offset) | u8(b, offset + 1) << 8;
+    }
+
+    private static int le24(byte[] b, int offset) {
+        return le16(b, offset) | u8(b, offset + 2) << 16;
+    }
+
+    private static int be32(byte[] b, int offset) {
+        return u8(b, offset) << 24 | u8(b, offset + 1) << 16 | u8(b, offset + 2) << 8 | u8(b, offset + 3);
+    }
+}
@@ -0,0 +1,102 @@
+package com.hal.travelapp.v1.service.image;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Resize kernel shared by all image variants.
+ * <p>
+ * Large downscales are done by repeated halving followed by one bilinear step. This keeps
+ * the quality close to area averaging while touching far fewer pixels than
+ * {@link Image#SCALE_AREA_AVERAGING}.
+ */
+public final class ImageResizer {
+
+    private ImageResizer() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Scales the image down so that its longest edge is at most {@code maxEdge}.
+     * Images that already fit are only converted to a packed-int raster.
+     */
+    public static BufferedImage resizeToFit(BufferedImage source, int maxEdge) {
+        int type = targetType(source);
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int longest = Math.max(width, height);
+
+        if (longest <= maxEdge) {
+            return source.getType() == type ? source : draw(source, width, height, type);
+        }
+
+        double scale = (double) maxEdge / longest;
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        while (currentWidth / 2 >= targetWidth && currentHeight / 2 >= targetHeight) {
+            currentWidth /= 2;
+            currentHeight /= 2;
+            current = draw(current, currentWidth, currentHeight, type);
+        }
+        if (currentWidth != targetWidth || currentHeight != targetHeight) {
+            current = draw(current, targetWidth, targetHeight, type);
+        }
+        return current;
+    }
+
+    /**
+     * Rotates or mirrors the image according to an EXIF orientation value (1-8),
+     * so that the pixels are upright once the metadata is dropped.
+     */
+    public static BufferedImage applyOrientation(BufferedImage source, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return source;
+        }
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);
+        };
+        boolean swapsAxes = orientation >= 5;
+        BufferedImage result = new BufferedImage(
+                swapsAxes ? h : w,
+                swapsAxes ? w : h,
+                targetType(source)
+        );
+        Graphics2D g = result.createGraphics();
+        try {
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, int type) {
+        BufferedImage result = new BufferedImage(width, height, type);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    private static int targetType(BufferedImage source) {
+        return source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+    }
+}
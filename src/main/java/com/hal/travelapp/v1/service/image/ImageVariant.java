@@ -0,0 +1,27 @@
+package com.hal.travelapp.v1.service.image;
+
+/**
+ * Bounded-size renditions produced for every uploaded photo.
+ * The longest edge of the stored image never exceeds {@link #maxEdge()}.
+ */
+public enum ImageVariant {
+    THUMB("thumb", 320),
+    CARD("card", 800),
+    FULL("full", 1920);
+
+    private final String suffix;
+    private final int maxEdge;
+
+    ImageVariant(String suffix, int maxEdge) {
+        this.suffix = suffix;
+        this.maxEdge = maxEdge;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    public int maxEdge() {
+        return maxEdge;
+    }
+}
@@ -0,0 +1,73 @@
+package com.hal.travelapp.v1.service.image;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * 64-bit difference hash (dHash) of a photo. The photo is shrunk to 9x8 grey cells and each bit
+ * records whether a cell is brighter than its right neighbour, so re-encoding, resizing and mild
+ * colour edits flip only a few bits and copies end up a small Hamming distance apart.
+ */
+public final class PerceptualHash {
+
+    private static final int COLUMNS = 9;
+    private static final int ROWS = 8;
+    /**
+     * Side of the block of canvas pixels averaged into one cell
+     */
+    private static final int CELL = 8;
+    /**
+     * Hashes with fewer set or unset bits than this come from flat or plain gradient photos
+     */
+    private static final int MIN_DETAIL_BITS = 4;
+
+    private PerceptualHash() {
+        // Utility class - prevent instantiation
+    }
+
+    public static long of(BufferedImage source) {
+        // Halve down first, then average whole blocks, so that every source pixel counts
+        BufferedImage small = ImageResizer.resizeToFit(source, COLUMNS * CELL);
+        BufferedImage canvas = new BufferedImage(COLUMNS * CELL, ROWS * CELL, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = canvas.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            g.drawImage(small, 0, 0, canvas.getWidth(), canvas.getHeight(), null);
+        } finally {
+            g.dispose();
+        }
+
+        int[] pixels = canvas.getRGB(0, 0, canvas.getWidth(), canvas.getHeight(), null, 0, canvas.getWidth());
+        int[] cells = new int[COLUMNS * ROWS];
+        for (int y = 0; y < canvas.getHeight(); y++) {
+            for (int x = 0; x < canvas.getWidth(); x++) {
+                int rgb = pixels[y * canvas.getWidth() + x];
+                cells[(y / CELL) * COLUMNS + x / CELL] += 299 * (rgb >> 16 & 0xFF) + 587 * (rgb >> 8 & 0xFF) + 114 * (rgb & 0xFF);
+            }
+        }
+
+        long hash = 0;
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS - 1; column++) {
+                int cell = row * COLUMNS + column;
+                hash = hash << 1 | (cells[cell] > cells[cell + 1] ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * Whether the hash says enough about the photo to compare it; blank skies and plain walls
+     * would otherwise all match each other
+     */
+    public static boolean hasDetail(long hash) {
+        int bits = Long.bitCount(hash);
+        return bits >= MIN_DETAIL_BITS && bits <= Long.SIZE - MIN_DETAIL_BITS;
+    }
+}
@@ -0,0 +1,112 @@
+package com.hal.travelapp.v1.service.image;
+
+import com.hal.travelapp.v1.entity.domain.TravelBlog;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The photo positions of a {@link TravelBlog} and the variants each of them needs.
+ * Only the main photo is shown on cards, so it is the only one with thumb and card renditions.
+ */
+public enum PhotoSlot {
+    MAIN(EnumSet.of(ImageVariant.THUMB, ImageVariant.CARD, ImageVariant.FULL)) {
+        @Override
+        public void assign(TravelBlog blog, StoredPhoto photo) {
+            blog.setMainPhotoUrl(photo.url(ImageVariant.FULL));
+            blog.setMainPhotoThumbUrl(photo.url(ImageVariant.THUMB));
+            blog.setMainPhotoCardUrl(photo.url(ImageVariant.CARD));
+            blog.setMainPhotoPlaceholder(photo.placeholder());
+            blog.setMainPhotoHash(photo.perceptualHash());
+        }
+
+        @Override
+        public List<String> storedUrls(TravelBlog blog) {
+            return nonNull(blog.getMainPhotoUrl(), blog.getMainPhotoThumbUrl(), blog.getMainPhotoCardUrl());
+        }
+    },
+    MID1(EnumSet.of(ImageVariant.FULL)) {
+        @Override
+        public void assign(TravelBlog blog, StoredPhoto photo) {
+            blog.setMidPhoto1Url(photo.url(ImageVariant.FULL));
+            blog.setMidPhoto1Placeholder(photo.placeholder());
+            blog.setMidPhoto1Hash(photo.perceptualHash());
+        }
+
+        @Override
+        public List<String> storedUrls(TravelBlog blog) {
+            return nonNull(blog.getMidPhoto1Url());
+        }
+    },
+    MID2(EnumSet.of(ImageVariant.FULL)) {
+        @Override
+        public void assign(TravelBlog blog, StoredPhoto photo) {
+            blog.setMidPhoto2Url(photo.url(ImageVariant.FULL));
+            blog.setMidPhoto2Placeholder(photo.placeholder());
+            blog.setMidPhoto2Hash(photo.perceptualHash());
+        }
+
+        @Override
+        public List<String> storedUrls(TravelBlog blog) {
+            return nonNull(blog.getMidPhoto2Url());
+        }
+    },
+    MID3(EnumSet.of(ImageVariant.FULL)) {
+        @Override
+        public void assign(TravelBlog blog, StoredPhoto photo) {
+            blog.setMidPhoto3Url(photo.url(ImageVariant.FULL));
+            blog.setMidPhoto3Placeholder(photo.placeholder());
+            blog.setMidPhoto3Hash(photo.perceptualHash());
+        }
+
+        @Override
+        public List<String> storedUrls(TravelBlog blog) {
+            return nonNull(blog.getMidPhoto3Url());
+        }
+    },
+    SIDE(EnumSet.of(ImageVariant.FULL)) {
+        @Override
+        public void assign(TravelBlog blog, StoredPhoto photo) {
+            blog.setSidePhotoUrl(photo.url(ImageVariant.FULL));
+            blog.setSidePhotoPlaceholder(photo.placeholder());
+            blog.setSidePhotoHash(photo.perceptualHash());
+        }
+
+        @Override
+        public List<String> storedUrls(TravelBlog blog) {
+            return nonNull(blog.getSidePhotoUrl());
+        }
+    };
+
+    private final Set<ImageVariant> variants;
+
+    PhotoSlot(Set<ImageVariant> variants) {
+        this.variants = variants;
+    }
+
+    public Set<ImageVariant> variants() {
+        return variants;
+    }
+
+    /**
+     * Copies the stored variant URLs, the placeholder and the perceptual hash onto the matching blog columns.
+     */
+    public abstract void assign(TravelBlog blog, StoredPhoto photo);
+
+    /**
+     * Every URL currently stored on the blog for this slot, variants included.
+     */
+    public abstract List<String> storedUrls(TravelBlog blog);
+
+    private static List<String> nonNull(String... urls) {
+        List<String> result = new ArrayList<>(urls.length);
+        for (String url : urls) {
+            if (url != null && !url.isEmpty()) {
+                result.add(url);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package com.hal.travelapp.v1.service.image;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The bytes of one photo to store, whether they arrived as a multipart part or were staged
+ * through an upload session.
+ */
+public interface PhotoSource {
+
+    /**
+     * Client-side file name, used in error messages.
+     */
+    String name();
+
+    long size();
+
+    InputStream openStream() throws IOException;
+
+    default byte[] readAllBytes() throws IOException {
+        try (InputStream in = openStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    static PhotoSource of(MultipartFile file) {
+        return new PhotoSource() {
+            @Override
+            public String name() {
+                return file.getOriginalFilename() != null ? file.getOriginalFilename() : file.getName();
+            }
+
+            @Override
+            public long size() {
+                return file.getSize();
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                return file.getInputStream();
+            }
+
+            @Override
+            public byte[] readAllBytes() throws IOException {
+                return file.getBytes();
+            }
+        };
+    }
+
+    static PhotoSource of(Path path, String name, long size) {
+        return new PhotoSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public long size() {
+                return size;
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                return Files.newInputStream(path);
+            }
+        };
+    }
+}
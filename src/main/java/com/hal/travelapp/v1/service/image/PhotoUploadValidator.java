@@ -0,0 +1,106 @@
+package com.hal.travelapp.v1.service.image;
+
+import com.hal.travelapp.v1.exception.ImageTooLargeException;
+import com.hal.travelapp.v1.exception.InvalidImageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Checks uploaded photos before any of them is decoded or stored. Byte sizes come from the
+ * part metadata and dimensions from the header bytes, so a rejected part is never read in
+ * full. The pixel limits bound the memory a decode can take.
+ */
+@Component
+public class PhotoUploadValidator {
+
+    private final DataSize maxPartSize;
+    private final DataSize maxRequestSize;
+    private final long maxPartPixels;
+    private final long maxRequestPixels;
+    private final Set<ImageFormat> decodableFormats = EnumSet.noneOf(ImageFormat.class);
+
+    public PhotoUploadValidator(@Value("${image.upload.max-part-size:15MB}") DataSize maxPartSize,
+                                @Value("${image.upload.max-request-size:50MB}") DataSize maxRequestSize,
+                                @Value("${image.upload.max-part-pixels:40000000}") long maxPartPixels,
+                                @Value("${image.upload.max-request-pixels:120000000}") long maxRequestPixels) {
+        this.maxPartSize = maxPartSize;
+        this.maxRequestSize = maxRequestSize;
+        this.maxPartPixels = maxPartPixels;
+        this.maxRequestPixels = maxRequestPixels;
+        // WebP is recognised, but only accepted when an ImageIO plugin can decode it
+        for (ImageFormat format : ImageFormat.values()) {
+            if (ImageIO.getImageReadersByMIMEType(format.contentType()).hasNext()) {
+                decodableFormats.add(format);
+            }
+        }
+    }
+
+    /**
+     * Validates every part and the request totals.
+     * @throws InvalidImageException if a part is not a supported image
+     * @throws ImageTooLargeException if a part or the request exceeds a limit
+     */
+    public void validate(Collection<PhotoSource> parts) {
+        long totalBytes = 0;
+        for (PhotoSource part : parts) {
+            totalBytes += part.size();
+        }
+        if (totalBytes > maxRequestSize.toBytes()) {
+            throw new ImageTooLargeException("Photos exceed the total limit of " + maxRequestSize.toMegabytes() + " MB");
+        }
+
+        long totalPixels = 0;
+        for (PhotoSource part : parts) {
+            totalPixels += inspect(part).pixels();
+        }
+        if (totalPixels > maxRequestPixels) {
+            throw new ImageTooLargeException("Photos exceed the total limit of " + maxRequestPixels + " pixels");
+        }
+    }
+
+    /**
+     * Validates one part and returns its header.
+     */
+    public ImageHeader inspect(PhotoSource part) {
+        checkSize(part.name(), part.size());
+
+        ImageHeader header;
+        try (InputStream in = part.openStream()) {
+            header = ImageHeaderSniffer.sniff(in);
+        } catch (InvalidImageException e) {
+            throw new InvalidImageException("Photo " + part.name() + ": " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read photo " + part.name(), e);
+        }
+
+        if (!decodableFormats.contains(header.format())) {
+            throw new InvalidImageException("Photo " + part.name() + ": " + header.format() + " images are not supported");
+        }
+        if (header.pixels() > maxPartPixels) {
+            throw new ImageTooLargeException("Photo " + part.name() + " is " + header.width() + "x" + header.height()
+                    + ", which exceeds the limit of " + maxPartPixels + " pixels");
+        }
+        return header;
+    }
+
+    /**
+     * Checks a declared byte size against the per-part limit, before any byte is received.
+     */
+    public void checkSize(String name, long size) {
+        if (size <= 0) {
+            throw new InvalidImageException("Photo " + name + " is empty");
+        }
+        if (size > maxPartSize.toBytes()) {
+            throw new ImageTooLargeException("Photo " + name + " exceeds the limit of " + maxPartSize.toMegabytes() + " MB");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.hal.travelapp.v1.service.image;
+
+/**
+ * An encoded variant ready for upload. Re-encoding drops all source metadata, EXIF included.
+ */
+public record ProcessedImage(
+        byte[] content,
+        String contentType,
+        String extension,
+        int width,
+        int height
+) {
+}
@@ -0,0 +1,9 @@
+package com.hal.travelapp.v1.service.image;
+
+import java.util.List;
+
+/**
+ * One page of a storage listing. {@code nextPageToken} is null on the last page.
+ */
+public record StoredImagePage(List<String> imageUrls, String nextPageToken) {
+}
@@ -0,0 +1,17 @@
+package com.hal.travelapp.v1.service.image;
+
+import java.util.Map;
+
+/**
+ * Public URLs of the variants stored for a single uploaded photo, plus its inline placeholder
+ * and its {@link PerceptualHash}.
+ */
+public record StoredPhoto(
+        Map<ImageVariant, String> urls,
+        String placeholder,
+        long perceptualHash
+) {
+    public String url(ImageVariant variant) {
+        return urls.get(variant);
+    }
+}
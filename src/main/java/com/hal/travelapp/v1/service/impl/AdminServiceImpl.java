@@ -2,34 +2,66 @@ package com.hal.travelapp.v1.service.impl;
 
 import com.hal.travelapp.v1.dto.AdminApprovalRequestDto;
 import com.hal.travelapp.v1.dto.BlogApprovalRequestDto;
+import com.hal.travelapp.v1.dto.BlogDuplicateFlagDto;
+import com.hal.travelapp.v1.dto.BulkModerationRequestDto;
+import com.hal.travelapp.v1.dto.BulkModerationResultDto;
 import com.hal.travelapp.v1.dto.blog.BlogDto;
 import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
+import com.hal.travelapp.v1.dto.CursorPageResult;
+import com.hal.travelapp.v1.dto.PageResult;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
 import com.hal.travelapp.v1.entity.domain.*;
+import com.hal.travelapp.v1.entity.enums.AuditTargetType;
+import com.hal.travelapp.v1.entity.enums.ModerationAction;
 import com.hal.travelapp.v1.entity.enums.RequestStatus;
 import com.hal.travelapp.v1.entity.enums.RoleEnum;
+import com.hal.travelapp.v1.event.BlogChangedEvent;
 import com.hal.travelapp.v1.exception.ResourceNotFoundException;
 import com.hal.travelapp.v1.repository.*;
 import com.hal.travelapp.v1.exception.InvalidActionException;
 import com.hal.travelapp.v1.service.AdminService;
 import com.hal.travelapp.v1.service.BlogService;
+import com.hal.travelapp.v1.service.ModerationAuditLog;
+import com.hal.travelapp.v1.service.StatCounterService;
+import com.hal.travelapp.v1.service.mapper.BlogMapper;
+import com.hal.travelapp.v1.service.mapper.CertifiedUserRequestMapper;
+import com.hal.travelapp.v1.utils.KeysetCursor;
 import com.hal.travelapp.v1.utils.UserRoleUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class AdminServiceImpl implements AdminService {
 
+    private static final int MAX_PENDING_PAGE_SIZE = 100;
+
     private final CertifiedUserRequestRepo certifiedUserRequestRepo;
     private final TravelBlogRepo travelBlogRepo;
     private final UserRepo userRepo;
     private final RoleRepo roleRepo;
     private final BlogService blogService;
+    private final BlogLikeRepo blogLikeRepo;
+    private final BlogDuplicateFlagRepo blogDuplicateFlagRepo;
+    private final StatCounterRepo statCounterRepo;
+    private final StatCounterService statCounterService;
+    private final ModerationAuditLog moderationAuditLog;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -42,6 +74,8 @@ public class AdminServiceImpl implements AdminService {
         User admin = userRepo.findById(adminId)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin user not found"));
 
+        RequestStatus previousStatus = certificationRequest.getStatus();
+
         // Update request status
         if ("APPROVE".equalsIgnoreCase(request.action())) {
             certificationRequest.setStatus(RequestStatus.APPROVED);
@@ -49,9 +83,16 @@ public class AdminServiceImpl implements AdminService {
 
             // Update user role to CERTIFIED_USER
             User user = certificationRequest.getUser();
+            Role previousRole = user.getRole();
             Role certifiedRole = UserRoleUtil.getOrCreateRole(roleRepo, RoleEnum.ROLE_CERTIFIED_USER);
             user.setRole(certifiedRole);
             userRepo.save(user);
+            if (previousRole == null || previousRole.getName() != RoleEnum.ROLE_CERTIFIED_USER) {
+                if (previousRole != null) {
+                    statCounterService.add(StatCounterService.userRole(previousRole.getName()), -1);
+                }
+                statCounterService.add(StatCounterService.userRole(RoleEnum.ROLE_CERTIFIED_USER), 1);
+            }
         } else if ("REJECT".equalsIgnoreCase(request.action())) {
             certificationRequest.setStatus(RequestStatus.REJECTED);
             certificationRequest.setReviewedBy(admin);
@@ -61,7 +102,14 @@ public class AdminServiceImpl implements AdminService {
         }
 
         CertifiedUserRequest savedRequest = certifiedUserRequestRepo.save(certificationRequest);
-        return mapCertificationRequestToDto(savedRequest);
+        if (previousStatus == RequestStatus.PENDING && !savedRequest.isDeleted()) {
+            statCounterService.add(StatCounterService.PENDING_CERTIFICATIONS, -1);
+        }
+        moderationAuditLog.record(auditEvent(adminId, AuditTargetType.CERTIFICATION_REQUEST, savedRequest.getId(),
+                ModerationAction.parse(request.action()), previousStatus != null ? previousStatus.name() : null,
+                savedRequest.getStatus().name(),
+                savedRequest.getRejectionReason()));
+        return CertifiedUserRequestMapper.toDto(savedRequest);
     }
 
     @Override
@@ -74,6 +122,8 @@ public class AdminServiceImpl implements AdminService {
         User admin = userRepo.findById(adminId)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin user not found"));
 
+        TravelBlog.BlogStatus previousStatus = blog.getStatus();
+
         // Update blog status
         if ("APPROVE".equalsIgnoreCase(request.action())) {
             blog.setStatus(TravelBlog.BlogStatus.APPROVED);
@@ -84,39 +134,167 @@ public class AdminServiceImpl implements AdminService {
         }
 
         TravelBlog savedBlog = travelBlogRepo.save(blog);
+        if (previousStatus != savedBlog.getStatus() && !savedBlog.isDeleted()) {
+            statCounterService.add(StatCounterService.blogStatus(previousStatus), -1);
+            statCounterService.add(StatCounterService.blogStatus(savedBlog.getStatus()), 1);
+        }
+        eventPublisher.publishEvent(BlogChangedEvent.of(savedBlog.getId()));
+        ModerationAction action = ModerationAction.parse(request.action());
+        moderationAuditLog.record(auditEvent(adminId, AuditTargetType.BLOG, savedBlog.getId(), action,
+                previousStatus != null ? previousStatus.name() : null, savedBlog.getStatus().name(),
+                action == ModerationAction.REJECT ? request.rejectionReason() : null));
         return blogService.mapToDto(savedBlog);
     }
 
     @Override
-    public List<CertifiedUserRequestDto> getAllCertificationRequests() {
-        return certifiedUserRequestRepo.findAll()
-                .stream()
-                .filter(request -> !request.isDeleted())
-                .map(this::mapCertificationRequestToDto)
-                .collect(Collectors.toList());
+    public BulkModerationResultDto moderateBlogs(BulkModerationRequestDto request, Long adminId) {
+        ModerationAction action = ModerationAction.parse(request.action());
+        TravelBlog.BlogStatus status = action == ModerationAction.APPROVE
+                ? TravelBlog.BlogStatus.APPROVED
+                : TravelBlog.BlogStatus.REJECTED;
+
+        Set<Long> ids = new LinkedHashSet<>(request.ids());
+        Set<Long> updated = new HashSet<>(travelBlogRepo.moderatePending(ids, status.name()));
+        statCounterService.add(StatCounterService.blogStatus(TravelBlog.BlogStatus.PENDING), -updated.size());
+        statCounterService.add(StatCounterService.blogStatus(status), updated.size());
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(new BlogChangedEvent(updated));
+        }
+        String rejectionReason = action == ModerationAction.REJECT ? request.rejectionReason() : null;
+        moderationAuditLog.recordAll(updated.stream()
+                .map(id -> auditEvent(adminId, AuditTargetType.BLOG, id, action,
+                        TravelBlog.BlogStatus.PENDING.name(), status.name(), rejectionReason))
+                .toList());
+
+        return toBulkResult(action, ids, updated, status.name(), travelBlogRepo::findExistingIds);
+    }
+
+    @Override
+    public BulkModerationResultDto moderateCertificationRequests(BulkModerationRequestDto request, Long adminId) {
+        ModerationAction action = ModerationAction.parse(request.action());
+        RequestStatus status = action == ModerationAction.APPROVE ? RequestStatus.APPROVED : RequestStatus.REJECTED;
+        String rejectionReason = action == ModerationAction.REJECT ? request.rejectionReason() : null;
+
+        Set<Long> ids = new LinkedHashSet<>(request.ids());
+        Set<Long> updated = new HashSet<>();
+        // A user may have more than one pending request, since only the service checks for one
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (Object[] row : certifiedUserRequestRepo.moderatePending(ids, status.name(), adminId, rejectionReason)) {
+            updated.add(((Number) row[0]).longValue());
+            userIds.add(((Number) row[1]).longValue());
+        }
+
+        statCounterService.add(StatCounterService.PENDING_CERTIFICATIONS, -updated.size());
+        moderationAuditLog.recordAll(updated.stream()
+                .map(id -> auditEvent(adminId, AuditTargetType.CERTIFICATION_REQUEST, id, action,
+                        RequestStatus.PENDING.name(), status.name(), rejectionReason))
+                .toList());
+
+        // Promote every approved user with a single update
+        if (action == ModerationAction.APPROVE && !userIds.isEmpty()) {
+            for (Object[] row : statCounterRepo.countRolesOfUsers(userIds)) {
+                statCounterService.add(StatCounterService.userRole((RoleEnum) row[0]), -((Long) row[1]));
+            }
+            Role certifiedRole = UserRoleUtil.getOrCreateRole(roleRepo, RoleEnum.ROLE_CERTIFIED_USER);
+            userRepo.updateRole(userIds, certifiedRole);
+            statCounterService.add(StatCounterService.userRole(RoleEnum.ROLE_CERTIFIED_USER), userIds.size());
+        }
+
+        return toBulkResult(action, ids, updated, status.name(), certifiedUserRequestRepo::findExistingIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResult<CertifiedUserRequestDto> getAllCertificationRequests(String status, Pageable pageable) {
+        Page<CertifiedUserRequestDto> requests = status == null || status.isBlank()
+                ? certifiedUserRequestRepo.findRequestDtos(pageable)
+                : certifiedUserRequestRepo.findRequestDtosByStatus(parseRequestStatus(status), pageable);
+        return PageResult.of(requests);
     }
 
     @Override
-    public List<BlogDto> getAllPendingBlogs() {
-        return travelBlogRepo.findByStatusAndDeletedFalse(TravelBlog.BlogStatus.PENDING)
-                .stream()
-                .map(blogService::mapToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResult<BlogCardDto> getPendingBlogs(String cursor, int pageSize) {
+        int size = Math.clamp(pageSize, 1, MAX_PENDING_PAGE_SIZE);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        Pageable pageable = PageRequest.of(0, size + 1); // Fetch one extra to check if there's more
+        List<TravelBlogRepo.BlogCardView> rows = after == null
+                ? travelBlogRepo.findPendingCards(pageable)
+                : travelBlogRepo.findPendingCardsAfter(after.createdAt(), after.id(), pageable);
+
+        boolean hasNext = rows.size() > size;
+        List<TravelBlogRepo.BlogCardView> page = hasNext ? rows.subList(0, size) : rows;
+
+        // One grouped count for the whole page instead of one query per blog
+        List<BlogCardDto> cards = page.isEmpty() ? List.of() : BlogMapper.toCardDtos(page,
+                blogLikeRepo.countLikesByBlogIds(page.stream().map(TravelBlogRepo.BlogCardView::getId).toList()));
+
+        String nextCursor = null;
+        if (hasNext) {
+            TravelBlogRepo.BlogCardView last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResult.of(cards, nextCursor, hasNext, size);
     }
 
-    private CertifiedUserRequestDto mapCertificationRequestToDto(CertifiedUserRequest request) {
-        return new CertifiedUserRequestDto(
-                request.getId(),
-                request.getUser().getId(),
-                request.getUser().getName(),
-                request.getUser().getEmail(),
-                request.getStatus().name(),
-                request.getReviewedBy() != null ? request.getReviewedBy().getId() : null,
-                request.getReviewedBy() != null ? request.getReviewedBy().getName() : null,
-                request.getRejectionReason(),
-                request.getCreatedAt(),
-                request.getUpdatedAt()
-        );
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlogDuplicateFlagDto> getDuplicateFlags(Long blogId) {
+        List<BlogDuplicateFlagRepo.FlagView> flags = blogDuplicateFlagRepo.findFlagsByBlogId(blogId);
+        if (flags.isEmpty() && !travelBlogRepo.existsById(blogId)) {
+            throw new ResourceNotFoundException("Blog not found with id: " + blogId);
+        }
+        return flags.stream()
+                .map(flag -> new BlogDuplicateFlagDto(
+                        flag.getDuplicateOfId(),
+                        flag.getTitle(),
+                        flag.isDeleted() ? "DELETED" : flag.getStatus().name(),
+                        flag.getKind().name(),
+                        flag.getSimilarity(),
+                        flag.getFlaggedAt()))
+                .toList();
+    }
+
+    /**
+     * Helper method to report an outcome per requested id, in request order. Only ids that were
+     * not updated are looked up again, to tell missing ones from already moderated ones.
+     */
+    private BulkModerationResultDto toBulkResult(ModerationAction action, Set<Long> ids, Set<Long> updated,
+                                                 String updatedResult,
+                                                 Function<Collection<Long>, List<Long>> findExistingIds) {
+        List<Long> notUpdated = ids.stream().filter(id -> !updated.contains(id)).toList();
+        Set<Long> existing = notUpdated.isEmpty() ? Set.of() : new HashSet<>(findExistingIds.apply(notUpdated));
+
+        List<BulkModerationResultDto.Outcome> outcomes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            String result;
+            if (updated.contains(id)) {
+                result = updatedResult;
+            } else if (existing.contains(id)) {
+                result = "NOT_PENDING";
+            } else {
+                result = "NOT_FOUND";
+            }
+            outcomes.add(new BulkModerationResultDto.Outcome(id, result));
+        }
+        return new BulkModerationResultDto(action.name(), updated.size(), outcomes);
+    }
+
+    private ModerationAuditLog.Event auditEvent(Long adminId, AuditTargetType targetType, Long targetId,
+                                                ModerationAction action, String fromStatus, String toStatus,
+                                                String reason) {
+        return new ModerationAuditLog.Event(Instant.now(), adminId, targetType, targetId, action,
+                fromStatus, toStatus, reason);
+    }
+
+    private RequestStatus parseRequestStatus(String status) {
+        try {
+            return RequestStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidActionException("Invalid status. Must be PENDING, APPROVED or REJECTED");
+        }
     }
 }
 
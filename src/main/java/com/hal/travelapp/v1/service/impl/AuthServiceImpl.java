@@ -14,6 +14,7 @@ import com.hal.travelapp.v1.repository.RoleRepo;
 import com.hal.travelapp.v1.repository.UserRepo;
 import com.hal.travelapp.v1.security.JwtTokenProvider;
 import com.hal.travelapp.v1.service.AuthService;
+import com.hal.travelapp.v1.service.StatCounterService;
 import jakarta.transaction.Transactional;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -28,13 +29,15 @@ public class AuthServiceImpl implements AuthService {
     private final RoleRepo roleRepo;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final StatCounterService statCounterService;
 
     public AuthServiceImpl(UserRepo userRepo, RoleRepo roleRepo, PasswordEncoder passwordEncoder,
-                        JwtTokenProvider jwtTokenProvider) {
+                        JwtTokenProvider jwtTokenProvider, StatCounterService statCounterService) {
         this.userRepo = userRepo;
         this.roleRepo = roleRepo;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.statCounterService = statCounterService;
     }
 
     @Override
@@ -59,6 +62,7 @@ public class AuthServiceImpl implements AuthService {
         user.setRole(userRole);
 
         User savedUser = userRepo.save(user);
+        statCounterService.add(StatCounterService.userRole(RoleEnum.ROLE_USER), 1);
 
         // Generate JWT token
         String token = jwtTokenProvider.generateToken(savedUser);
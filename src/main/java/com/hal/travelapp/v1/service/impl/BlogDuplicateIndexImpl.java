@@ -0,0 +1,226 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.event.BlogChangedEvent;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.BlogDuplicateIndex;
+import com.hal.travelapp.v1.service.image.PerceptualHash;
+import com.hal.travelapp.v1.service.search.MinHashIndex;
+import com.hal.travelapp.v1.service.search.PhotoHashIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a MinHash index of the paragraphs and a multi-index hash of the photo hashes, swapped and
+ * updated together under one lock. Changes are applied after their transaction commits by
+ * reloading the changed blogs, the same way as the search index. A new blog is therefore checked
+ * before it is indexed, and two copies submitted within the same moment do not flag each other.
+ */
+@Service
+@Slf4j
+public class BlogDuplicateIndexImpl implements BlogDuplicateIndex {
+
+    private final TravelBlogRepo travelBlogRepo;
+    private final int buildPageSize;
+    private final double threshold;
+    private final int maxPhotoDistance;
+    private final int maxMatches;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private MinHashIndex index = new MinHashIndex();
+    private PhotoHashIndex photoIndex = new PhotoHashIndex();
+
+    public BlogDuplicateIndexImpl(TravelBlogRepo travelBlogRepo,
+                                  @Value("${duplicates.index.build-page-size:1000}") int buildPageSize,
+                                  @Value("${duplicates.text.threshold:0.5}") double threshold,
+                                  @Value("${duplicates.photo.max-distance:6}") int maxPhotoDistance,
+                                  @Value("${duplicates.max-matches:5}") int maxMatches) {
+        if (maxPhotoDistance < 0 || maxPhotoDistance > PhotoHashIndex.MAX_DISTANCE) {
+            throw new IllegalArgumentException("duplicates.photo.max-distance must be between 0 and " + PhotoHashIndex.MAX_DISTANCE);
+        }
+        this.travelBlogRepo = travelBlogRepo;
+        this.buildPageSize = buildPageSize;
+        this.threshold = threshold;
+        this.maxPhotoDistance = maxPhotoDistance;
+        this.maxMatches = maxMatches;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Failed to build the blog duplicate index", e);
+        }
+    }
+
+    @Override
+    public List<MinHashIndex.Match> findTextDuplicates(String paragraph1, String paragraph2, String paragraph3) {
+        int[] signature = MinHashIndex.signature(paragraph1, paragraph2, paragraph3);
+        if (signature == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return index.similar(signature, threshold, maxMatches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<PhotoHashIndex.Match> findPhotoDuplicates(Collection<Long> photoHashes) {
+        long[] hashes = comparable(photoHashes.stream());
+        if (hashes.length == 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return photoIndex.within(hashes, maxPhotoDistance, maxMatches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        long started = System.nanoTime();
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            MinHashIndex fresh = new MinHashIndex();
+            PhotoHashIndex freshPhotos = new PhotoHashIndex();
+            long afterId = 0;
+            List<TravelBlogRepo.DuplicateSourceView> page;
+            do {
+                page = travelBlogRepo.findDuplicateSources(afterId, PageRequest.of(0, buildPageSize));
+                page.forEach(blog -> put(fresh, freshPhotos, sign(blog)));
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == buildPageSize);
+
+            lock.writeLock().lock();
+            try {
+                index = fresh;
+                photoIndex = freshPhotos;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+        }
+
+        // Pages read before a concurrent change may hold the old version of the blog
+        if (!changedDuringRebuild.isEmpty()) {
+            refresh(new ArrayList<>(changedDuringRebuild));
+        }
+        log.info("Built blog duplicate index with {} blogs and {} photos in {} ms",
+                size(), photoCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int photoCount() {
+        lock.readLock().lock();
+        try {
+            return photoIndex.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.blogIds());
+        }
+        try {
+            refresh(event.blogIds());
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the duplicate index for blogs {}", event.blogIds(), e);
+        }
+    }
+
+    /**
+     * Replaces the given blogs with their current paragraphs and photos, or drops the deleted ones
+     */
+    private void refresh(Collection<Long> blogIds) {
+        if (blogIds.isEmpty()) {
+            return;
+        }
+        List<SignedBlog> blogs = travelBlogRepo.findDuplicateSourcesByIds(blogIds).stream()
+                .map(BlogDuplicateIndexImpl::sign)
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            blogIds.forEach(id -> {
+                index.remove(id);
+                photoIndex.remove(id);
+            });
+            blogs.forEach(blog -> put(index, photoIndex, blog));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void put(MinHashIndex texts, PhotoHashIndex photos, SignedBlog blog) {
+        if (blog.signature() != null) {
+            texts.put(blog.id(), blog.signature());
+        }
+        if (blog.photoHashes().length > 0) {
+            photos.put(blog.id(), blog.photoHashes());
+        }
+    }
+
+    private static SignedBlog sign(TravelBlogRepo.DuplicateSourceView blog) {
+        return new SignedBlog(blog.getId(),
+                MinHashIndex.signature(blog.getParagraph1(), blog.getParagraph2(), blog.getParagraph3()),
+                comparable(Stream.of(blog.getMainPhotoHash(), blog.getMidPhoto1Hash(), blog.getMidPhoto2Hash(),
+                        blog.getMidPhoto3Hash(), blog.getSidePhotoHash())));
+    }
+
+    /**
+     * The hashes that are set and detailed enough to compare, without repeats
+     */
+    private static long[] comparable(Stream<Long> photoHashes) {
+        return photoHashes.filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .filter(PerceptualHash::hasDetail)
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * @param signature   null for a blog without words
+     * @param photoHashes empty for a blog without hashed photos
+     */
+    private record SignedBlog(long id, int[] signature, long[] photoHashes) {
+    }
+}
@@ -4,15 +4,20 @@ import com.hal.travelapp.v1.dto.blog.BlogLikeResponseDto;
 import com.hal.travelapp.v1.entity.domain.BlogLike;
 import com.hal.travelapp.v1.entity.domain.TravelBlog;
 import com.hal.travelapp.v1.entity.domain.User;
+import com.hal.travelapp.v1.event.BlogLikesChangedEvent;
 import com.hal.travelapp.v1.exception.ResourceNotFoundException;
 import com.hal.travelapp.v1.repository.BlogLikeRepo;
 import com.hal.travelapp.v1.repository.TravelBlogRepo;
 import com.hal.travelapp.v1.repository.UserRepo;
 import com.hal.travelapp.v1.service.BlogLikeService;
+import com.hal.travelapp.v1.service.StatCounterService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -21,6 +26,8 @@ public class BlogLikeServiceImpl implements BlogLikeService {
     private final BlogLikeRepo blogLikeRepo;
     private final TravelBlogRepo travelBlogRepo;
     private final UserRepo userRepo;
+    private final StatCounterService statCounterService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public BlogLikeResponseDto likeBlog(Long blogId, Long userId) {
@@ -39,6 +46,8 @@ public class BlogLikeServiceImpl implements BlogLikeService {
         blogLike.setUser(user);
         blogLike.setBlog(blog);
         blogLikeRepo.save(blogLike);
+        statCounterService.add(StatCounterService.likesOn(Instant.now()), 1);
+        eventPublisher.publishEvent(new BlogLikesChangedEvent(blogId));
 
         long likeCount = blogLikeRepo.countLikesByBlogId(blogId);
         return new BlogLikeResponseDto(blogId, true, likeCount);
@@ -55,6 +64,11 @@ public class BlogLikeServiceImpl implements BlogLikeService {
         if (blogLike != null && !blogLike.isDeleted()) {
             blogLike.setDeleted(true);
             blogLikeRepo.save(blogLike);
+            // Withdraws the like from the day it was given
+            if (blogLike.getCreatedAt() != null) {
+                statCounterService.add(StatCounterService.likesOn(blogLike.getCreatedAt()), -1);
+            }
+            eventPublisher.publishEvent(new BlogLikesChangedEvent(blogId));
         }
 
         long likeCount = blogLikeRepo.countLikesByBlogId(blogId);
@@ -0,0 +1,178 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.event.BlogChangedEvent;
+import com.hal.travelapp.v1.event.BlogLikesChangedEvent;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.BlogListingIndex;
+import com.hal.travelapp.v1.service.search.BlogColumnStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Changes are applied after their transaction commits by reloading the changed blogs, the same
+ * way as the search index, so a rolled-back approval never shows up in a list.
+ */
+@Service
+@Slf4j
+public class BlogListingIndexImpl implements BlogListingIndex {
+
+    private final TravelBlogRepo travelBlogRepo;
+    private final int buildPageSize;
+    private final int parallelThreshold;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private BlogColumnStore store = new BlogColumnStore();
+
+    public BlogListingIndexImpl(TravelBlogRepo travelBlogRepo,
+                                @Value("${listing.index.build-page-size:1000}") int buildPageSize,
+                                @Value("${listing.index.parallel-threshold:200000}") int parallelThreshold) {
+        this.travelBlogRepo = travelBlogRepo;
+        this.buildPageSize = buildPageSize;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Failed to build the blog listing index", e);
+        }
+    }
+
+    @Override
+    public List<BlogColumnStore.Hit> find(BlogColumnStore.Query query) {
+        lock.readLock().lock();
+        try {
+            return store.find(query, parallelThreshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        long started = System.nanoTime();
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            BlogColumnStore fresh = new BlogColumnStore();
+            long afterId = 0;
+            List<TravelBlogRepo.ListingRowView> page;
+            do {
+                page = travelBlogRepo.findListingRows(afterId, PageRequest.of(0, buildPageSize));
+                putAll(fresh, page);
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == buildPageSize);
+
+            lock.writeLock().lock();
+            try {
+                store = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+        }
+
+        // Pages read before a concurrent change may hold the old version of the blog
+        if (!changedDuringRebuild.isEmpty()) {
+            refresh(new ArrayList<>(changedDuringRebuild));
+        }
+        log.info("Built blog listing index with {} blogs in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        onChanged(event.blogIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogLikesChanged(BlogLikesChangedEvent event) {
+        onChanged(List.of(event.blogId()));
+    }
+
+    private void onChanged(Collection<Long> blogIds) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(blogIds);
+        }
+        try {
+            refresh(blogIds);
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the listing index for blogs {}", blogIds, e);
+        }
+    }
+
+    /**
+     * Replaces the given blogs with their current approved version, or drops them
+     */
+    private void refresh(Collection<Long> blogIds) {
+        if (blogIds.isEmpty()) {
+            return;
+        }
+        List<TravelBlogRepo.ListingRowView> rows = travelBlogRepo.findListingRowsByIds(blogIds);
+        Map<Long, List<Long>> categories = loadCategories(rows);
+
+        lock.writeLock().lock();
+        try {
+            blogIds.forEach(store::remove);
+            rows.forEach(row -> put(store, row, categories));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putAll(BlogColumnStore target, List<TravelBlogRepo.ListingRowView> rows) {
+        Map<Long, List<Long>> categories = loadCategories(rows);
+        rows.forEach(row -> put(target, row, categories));
+    }
+
+    private Map<Long, List<Long>> loadCategories(List<TravelBlogRepo.ListingRowView> rows) {
+        Map<Long, List<Long>> categories = new HashMap<>();
+        if (rows.isEmpty()) {
+            return categories;
+        }
+        List<Long> blogIds = rows.stream().map(TravelBlogRepo.ListingRowView::getId).toList();
+        travelBlogRepo.findCategoryIdsByBlogIds(blogIds).forEach(link ->
+                categories.computeIfAbsent(link.getBlogId(), id -> new ArrayList<>()).add(link.getCategoryId()));
+        return categories;
+    }
+
+    private static void put(BlogColumnStore target, TravelBlogRepo.ListingRowView row, Map<Long, List<Long>> categories) {
+        target.put(row.getId(),
+                row.getCityId() != null ? row.getCityId() : 0L,
+                categories.getOrDefault(row.getId(), List.of()),
+                row.getMonthMask() != null ? row.getMonthMask() : 0,
+                row.getLikeCount(),
+                row.getCreatedAt() != null ? row.getCreatedAt().toEpochMilli() : 0L);
+    }
+}
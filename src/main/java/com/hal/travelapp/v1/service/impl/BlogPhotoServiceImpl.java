@@ -0,0 +1,123 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.config.ImageProcessingConfig;
+import com.hal.travelapp.v1.service.BlogPhotoService;
+import com.hal.travelapp.v1.service.ImageProcessingService;
+import com.hal.travelapp.v1.service.ImageUploadService;
+import com.hal.travelapp.v1.service.image.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+@Service
+@Slf4j
+public class BlogPhotoServiceImpl implements BlogPhotoService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final ImageProcessingService imageProcessingService;
+    private final ImageUploadService imageUploadService;
+    private final Executor imageWorkerPool;
+    private final PhotoUploadValidator photoUploadValidator;
+
+    public BlogPhotoServiceImpl(ImageProcessingService imageProcessingService,
+                                ImageUploadService imageUploadService,
+                                @Qualifier(ImageProcessingConfig.IMAGE_WORKER_POOL) Executor imageWorkerPool,
+                                PhotoUploadValidator photoUploadValidator) {
+        this.imageProcessingService = imageProcessingService;
+        this.imageUploadService = imageUploadService;
+        this.imageWorkerPool = imageWorkerPool;
+        this.photoUploadValidator = photoUploadValidator;
+    }
+
+    @Override
+    public Map<PhotoSlot, StoredPhoto> storePhotos(Map<PhotoSlot, PhotoSource> photos) {
+        if (photos.isEmpty()) {
+            return Map.of();
+        }
+
+        // Reject oversized or non-image parts from their headers, before any part is read in full
+        photoUploadValidator.validate(photos.values());
+
+        // Every task is joined from the calling thread, never from a pool thread, so the
+        // bounded pool cannot deadlock on its own subtasks.
+        Map<PhotoSlot, Map<ImageVariant, CompletableFuture<ProcessedImage>>> renders = new EnumMap<>(PhotoSlot.class);
+        Map<PhotoSlot, CompletableFuture<String>> placeholders = new EnumMap<>(PhotoSlot.class);
+        Map<PhotoSlot, CompletableFuture<Long>> perceptualHashes = new EnumMap<>(PhotoSlot.class);
+        photos.forEach((slot, photo) -> {
+            CompletableFuture<DecodedImage> decoded = CompletableFuture.supplyAsync(
+                    () -> imageProcessingService.decode(readBytes(photo)), imageWorkerPool);
+
+            Map<ImageVariant, CompletableFuture<ProcessedImage>> variantRenders = new EnumMap<>(ImageVariant.class);
+            for (ImageVariant variant : slot.variants()) {
+                variantRenders.put(variant, decoded.thenApplyAsync(
+                        image -> imageProcessingService.render(image, variant), imageWorkerPool));
+            }
+            renders.put(slot, variantRenders);
+            placeholders.put(slot, decoded.thenApplyAsync(imageProcessingService::placeholder, imageWorkerPool));
+            perceptualHashes.put(slot, decoded.thenApplyAsync(imageProcessingService::perceptualHash, imageWorkerPool));
+        });
+
+        // All variants of all photos go to storage in one batch (a single commit)
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        Map<PhotoSlot, Map<ImageVariant, String>> fileNames = new EnumMap<>(PhotoSlot.class);
+        renders.forEach((slot, variantRenders) -> {
+            String baseName = generateBaseName();
+            Map<ImageVariant, String> names = new EnumMap<>(ImageVariant.class);
+            variantRenders.forEach((variant, future) -> {
+                ProcessedImage processed = join(future);
+                String fileName = baseName + "_" + variant.suffix() + processed.extension();
+                files.put(fileName, processed.content());
+                names.put(variant, fileName);
+            });
+            fileNames.put(slot, names);
+        });
+
+        Map<String, String> urls = imageUploadService.uploadImages(files);
+
+        Map<PhotoSlot, StoredPhoto> stored = new EnumMap<>(PhotoSlot.class);
+        fileNames.forEach((slot, names) -> {
+            Map<ImageVariant, String> variantUrls = new EnumMap<>(ImageVariant.class);
+            names.forEach((variant, fileName) -> variantUrls.put(variant, urls.get(fileName)));
+            stored.put(slot, new StoredPhoto(variantUrls, join(placeholders.get(slot)), join(perceptualHashes.get(slot))));
+        });
+        return stored;
+    }
+
+    private byte[] readBytes(PhotoSource photo) {
+        try {
+            return photo.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file content", e);
+        }
+    }
+
+    private String generateBaseName() {
+        String timestamp = LocalDateTime.now().format(FILE_TIMESTAMP);
+        String uuid = UUID.randomUUID().toString().substring(0, 8);
+        return timestamp + "_" + uuid;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.dto.blog.BlogIndexHitDto;
+import com.hal.travelapp.v1.event.BlogChangedEvent;
+import com.hal.travelapp.v1.exception.InvalidActionException;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.BlogSearchIndex;
+import com.hal.travelapp.v1.service.search.InvertedIndex;
+import com.hal.travelapp.v1.service.search.TextAnalyzer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Title terms count three times and city terms twice, a cheap approximation of per-field BM25.
+ * Changes are applied after their transaction commits by reloading the changed blogs, so the
+ * index never shows a blog whose approval was rolled back.
+ */
+@Service
+@Slf4j
+public class BlogSearchIndexImpl implements BlogSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CITY_WEIGHT = 2;
+    private static final int MAX_LIMIT = 50;
+
+    private final TravelBlogRepo travelBlogRepo;
+    private final int buildPageSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private InvertedIndex<IndexedBlog> index = new InvertedIndex<>();
+
+    public BlogSearchIndexImpl(TravelBlogRepo travelBlogRepo,
+                               @Value("${search.index.build-page-size:1000}") int buildPageSize) {
+        this.travelBlogRepo = travelBlogRepo;
+        this.buildPageSize = buildPageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Failed to build the blog search index", e);
+        }
+    }
+
+    @Override
+    public List<BlogIndexHitDto> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidActionException("Search query is required");
+        }
+        List<String> terms = TextAnalyzer.tokenize(query);
+        int size = Math.clamp(limit, 1, MAX_LIMIT);
+
+        List<InvertedIndex.Hit<IndexedBlog>> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(terms, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return hits.stream()
+                .map(hit -> new BlogIndexHitDto(hit.id(), hit.payload().title(), hit.payload().cityName(),
+                        hit.payload().mainPhotoThumbUrl(), hit.score()))
+                .toList();
+    }
+
+    @Override
+    public void rebuild() {
+        long started = System.nanoTime();
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            InvertedIndex<IndexedBlog> fresh = new InvertedIndex<>();
+            long afterId = 0;
+            List<TravelBlogRepo.SearchDocumentView> page;
+            do {
+                page = travelBlogRepo.findSearchDocuments(afterId, PageRequest.of(0, buildPageSize));
+                for (TravelBlogRepo.SearchDocumentView document : page) {
+                    AnalyzedBlog blog = analyze(document);
+                    fresh.put(blog.id(), blog.termFrequencies(), blog.length(), blog.payload());
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == buildPageSize);
+
+            lock.writeLock().lock();
+            try {
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+        }
+
+        // Pages read before a concurrent change may hold the old version of the blog
+        if (!changedDuringRebuild.isEmpty()) {
+            refresh(new ArrayList<>(changedDuringRebuild));
+        }
+        log.info("Built blog search index with {} blogs in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.blogIds());
+        }
+        try {
+            refresh(event.blogIds());
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the search index for blogs {}", event.blogIds(), e);
+        }
+    }
+
+    /**
+     * Replaces the given blogs with their current approved version, or drops them
+     */
+    private void refresh(Collection<Long> blogIds) {
+        if (blogIds.isEmpty()) {
+            return;
+        }
+        List<AnalyzedBlog> blogs = travelBlogRepo.findSearchDocumentsByIds(blogIds).stream()
+                .map(BlogSearchIndexImpl::analyze)
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            blogIds.forEach(index::remove);
+            blogs.forEach(blog -> index.put(blog.id(), blog.termFrequencies(), blog.length(), blog.payload()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static AnalyzedBlog analyze(TravelBlogRepo.SearchDocumentView document) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = addTerms(termFrequencies, document.getTitle(), TITLE_WEIGHT)
+                + addTerms(termFrequencies, document.getCityName(), CITY_WEIGHT)
+                + addTerms(termFrequencies, document.getParagraph1(), 1)
+                + addTerms(termFrequencies, document.getParagraph2(), 1)
+                + addTerms(termFrequencies, document.getParagraph3(), 1);
+        IndexedBlog payload = new IndexedBlog(document.getTitle(), document.getCityName(), document.getMainPhotoThumbUrl());
+        return new AnalyzedBlog(document.getId(), termFrequencies, length, payload);
+    }
+
+    private static int addTerms(Map<String, Integer> termFrequencies, String text, int weight) {
+        List<String> terms = TextAnalyzer.tokenize(text);
+        for (String term : terms) {
+            termFrequencies.merge(term, weight, Integer::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    private record IndexedBlog(String title, String cityName, String mainPhotoThumbUrl) {
+    }
+
+    private record AnalyzedBlog(long id, Map<String, Integer> termFrequencies, int length, IndexedBlog payload) {
+    }
+}
@@ -3,24 +3,59 @@ package com.hal.travelapp.v1.service.impl;
 import com.hal.travelapp.v1.dto.CursorPageResult;
 import com.hal.travelapp.v1.dto.PageResult;
 import com.hal.travelapp.v1.dto.blog.BlogCreateRequestDto;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
 import com.hal.travelapp.v1.dto.blog.BlogDto;
+import com.hal.travelapp.v1.dto.blog.BlogFacetsDto;
+import com.hal.travelapp.v1.dto.blog.BlogSearchFilterDto;
+import com.hal.travelapp.v1.dto.blog.BlogSearchHitDto;
+import com.hal.travelapp.v1.dto.blog.BlogSearchResultDto;
 import com.hal.travelapp.v1.dto.blog.BlogUpdateRequestDto;
+import com.hal.travelapp.v1.dto.blog.NearbyBlogDto;
 import com.hal.travelapp.v1.entity.domain.*;
+import com.hal.travelapp.v1.event.BlogChangedEvent;
+import com.hal.travelapp.v1.exception.InvalidActionException;
 import com.hal.travelapp.v1.exception.ResourceNotFoundException;
 import com.hal.travelapp.v1.repository.*;
+import com.hal.travelapp.v1.repository.specification.TravelBlogSpecifications;
+import com.hal.travelapp.v1.service.BlogDuplicateIndex;
+import com.hal.travelapp.v1.service.BlogListingIndex;
+import com.hal.travelapp.v1.service.BlogPhotoService;
 import com.hal.travelapp.v1.service.BlogService;
-import com.hal.travelapp.v1.service.ImageUploadService;
+import com.hal.travelapp.v1.service.CityGeoIndex;
+import com.hal.travelapp.v1.service.ImageDeletionQueue;
+import com.hal.travelapp.v1.service.StatCounterService;
+import com.hal.travelapp.v1.service.UploadSessionService;
+import com.hal.travelapp.v1.service.image.PhotoSlot;
+import com.hal.travelapp.v1.service.image.PhotoSource;
+import com.hal.travelapp.v1.service.image.StoredPhoto;
 import com.hal.travelapp.v1.service.mapper.BlogMapper;
+import com.hal.travelapp.v1.service.search.BlogColumnStore;
+import com.hal.travelapp.v1.service.search.KdTree;
+import com.hal.travelapp.v1.utils.ListingCursor;
+import com.hal.travelapp.v1.utils.MonthMask;
+import com.hal.travelapp.v1.utils.SearchCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -29,33 +64,64 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BlogServiceImpl implements BlogService {
 
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_FILTER_CATEGORIES = 10;
+    private static final int NEAREST_CITIES = 5;
+    private static final int MAX_NEARBY_CITIES = 20;
+    private static final double MAX_NEARBY_RADIUS_KM = 2000;
+    private static final int MAX_RELATED_BLOGS = 12;
+    private static final Comparator<BlogFacetsDto.Value> FACET_ORDER = Comparator
+            .comparingLong(BlogFacetsDto.Value::count).reversed()
+            .thenComparing(BlogFacetsDto.Value::id);
+
     private final TravelBlogRepo travelBlogRepo;
     private final CityRepo cityRepo;
     private final TravelCategoryRepo travelCategoryRepo;
     private final UserRepo userRepo;
     private final BlogLikeRepo blogLikeRepo;
     private final FavoriteBlogRepo favoriteBlogRepo;
-    private final ImageUploadService imageUploadService;
+    private final ImageDeletionQueue imageDeletionQueue;
+    private final BlogPhotoService blogPhotoService;
+    private final UploadSessionService uploadSessionService;
+    private final StatCounterService statCounterService;
+    private final CityGeoIndex cityGeoIndex;
+    private final BlogListingIndex blogListingIndex;
+    private final RelatedBlogRepo relatedBlogRepo;
+    private final BlogDuplicateIndex blogDuplicateIndex;
+    private final BlogDuplicateFlagRepo blogDuplicateFlagRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
     public BlogDto createBlog(BlogCreateRequestDto createRequest, Long authorId) {
+        // Photos come either as multipart files or as finalized upload sessions
+        List<String> usedUploadIds = new ArrayList<>();
+        Map<PhotoSlot, PhotoSource> photos = collectPhotos(authorId, usedUploadIds,
+                createRequest.getMainPhoto(), createRequest.getMainPhotoUploadId(),
+                createRequest.getMidPhoto1(), createRequest.getMidPhoto1UploadId(),
+                createRequest.getMidPhoto2(), createRequest.getMidPhoto2UploadId(),
+                createRequest.getMidPhoto3(), createRequest.getMidPhoto3UploadId(),
+                createRequest.getSidePhoto(), createRequest.getSidePhotoUploadId()
+        );
+
         // Validate required photos
-        if (createRequest.getMainPhoto() == null || createRequest.getMainPhoto().isEmpty()) {
+        if (!photos.containsKey(PhotoSlot.MAIN)) {
             throw new IllegalArgumentException("Main photo is required");
         }
-        if (createRequest.getMidPhoto1() == null || createRequest.getMidPhoto1().isEmpty()) {
+        if (!photos.containsKey(PhotoSlot.MID1)) {
             throw new IllegalArgumentException("First mid photo is required");
         }
-        if (createRequest.getMidPhoto2() == null || createRequest.getMidPhoto2().isEmpty()) {
+        if (!photos.containsKey(PhotoSlot.MID2)) {
             throw new IllegalArgumentException("Second mid photo is required");
         }
-        if (createRequest.getMidPhoto3() == null || createRequest.getMidPhoto3().isEmpty()) {
+        if (!photos.containsKey(PhotoSlot.MID3)) {
             throw new IllegalArgumentException("Third mid photo is required");
         }
-        if (createRequest.getSidePhoto() == null || createRequest.getSidePhoto().isEmpty()) {
+        if (!photos.containsKey(PhotoSlot.SIDE)) {
             throw new IllegalArgumentException("Side photo is required");
         }
+        validateBestTime(createRequest.getBestTimeStartMonth(), createRequest.getBestTimeEndMonth());
         
         // Validate city exists
         City city = cityRepo.findById(createRequest.getCityId())
@@ -71,24 +137,16 @@ public class BlogServiceImpl implements BlogService {
             categories = new HashSet<>(travelCategoryRepo.findByIdIn(createRequest.getCategoryIds()));
         }
 
-        // Upload images and get URLs
-        String mainPhotoUrl = uploadImageIfPresent(createRequest.getMainPhoto(), "main");
-        String midPhoto1Url = uploadImageIfPresent(createRequest.getMidPhoto1(), "mid1");
-        String midPhoto2Url = uploadImageIfPresent(createRequest.getMidPhoto2(), "mid2");
-        String midPhoto3Url = uploadImageIfPresent(createRequest.getMidPhoto3(), "mid3");
-        String sidePhotoUrl = uploadImageIfPresent(createRequest.getSidePhoto(), "side");
+        // Resize, re-encode and upload all photos in parallel
+        Map<PhotoSlot, StoredPhoto> storedPhotos = blogPhotoService.storePhotos(photos);
 
         // Create blog entity
         TravelBlog blog = new TravelBlog();
         blog.setTitle(createRequest.getTitle());
-        blog.setMainPhotoUrl(mainPhotoUrl);
         blog.setParagraph1(createRequest.getParagraph1());
         blog.setParagraph2(createRequest.getParagraph2());
         blog.setParagraph3(createRequest.getParagraph3());
-        blog.setMidPhoto1Url(midPhoto1Url);
-        blog.setMidPhoto2Url(midPhoto2Url);
-        blog.setMidPhoto3Url(midPhoto3Url);
-        blog.setSidePhotoUrl(sidePhotoUrl);
+        storedPhotos.forEach((slot, photo) -> slot.assign(blog, photo));
         blog.setCity(city);
         blog.setAuthor(author);
         blog.setStatus(TravelBlog.BlogStatus.PENDING);
@@ -97,13 +155,16 @@ public class BlogServiceImpl implements BlogService {
         // Create BestTimeToVisit if provided
         if (createRequest.getBestTimeStartMonth() != null && createRequest.getBestTimeEndMonth() != null) {
             BestTimeToVisit bestTime = new BestTimeToVisit();
-            bestTime.setStartMonth(createRequest.getBestTimeStartMonth().intValue());
-            bestTime.setEndMonth(createRequest.getBestTimeEndMonth().intValue());
+            bestTime.setMonths(createRequest.getBestTimeStartMonth().intValue(), createRequest.getBestTimeEndMonth().intValue());
             bestTime.setTravelBlog(blog);
             blog.setBestTimeToVisit(bestTime);
         }
 
         TravelBlog savedBlog = travelBlogRepo.save(blog);
+        statCounterService.add(StatCounterService.blogStatus(TravelBlog.BlogStatus.PENDING), 1);
+        flagDuplicates(savedBlog, storedPhotos.values());
+        discardAfterCommit(usedUploadIds);
+        eventPublisher.publishEvent(BlogChangedEvent.of(savedBlog.getId()));
 
         return mapToDto(savedBlog);
     }
@@ -156,17 +217,6 @@ public class BlogServiceImpl implements BlogService {
         if (updateRequest.getTitle() != null) {
             blog.setTitle(updateRequest.getTitle());
         }
-        if (updateRequest.getMainPhoto() != null && !updateRequest.getMainPhoto().isEmpty()) {
-            // Delete old image if exists
-            if (blog.getMainPhotoUrl() != null) {
-                try {
-                    imageUploadService.deleteImage(blog.getMainPhotoUrl());
-                } catch (Exception e) {
-                    // Log error but continue with upload
-                }
-            }
-            blog.setMainPhotoUrl(uploadImageIfPresent(updateRequest.getMainPhoto(), "main"));
-        }
         if (updateRequest.getParagraph1() != null) {
             blog.setParagraph1(updateRequest.getParagraph1());
         }
@@ -176,50 +226,27 @@ public class BlogServiceImpl implements BlogService {
         if (updateRequest.getParagraph3() != null) {
             blog.setParagraph3(updateRequest.getParagraph3());
         }
-        if (updateRequest.getMidPhoto1() != null && !updateRequest.getMidPhoto1().isEmpty()) {
-            // Delete old image if exists
-            if (blog.getMidPhoto1Url() != null) {
-                try {
-                    imageUploadService.deleteImage(blog.getMidPhoto1Url());
-                } catch (Exception e) {
-                    // Log error but continue with upload
-                }
-            }
-            blog.setMidPhoto1Url(uploadImageIfPresent(updateRequest.getMidPhoto1(), "mid1"));
-        }
-        if (updateRequest.getMidPhoto2() != null && !updateRequest.getMidPhoto2().isEmpty()) {
-            // Delete old image if exists
-            if (blog.getMidPhoto2Url() != null) {
-                try {
-                    imageUploadService.deleteImage(blog.getMidPhoto2Url());
-                } catch (Exception e) {
-                    // Log error but continue with upload
-                }
-            }
-            blog.setMidPhoto2Url(uploadImageIfPresent(updateRequest.getMidPhoto2(), "mid2"));
-        }
-        if (updateRequest.getMidPhoto3() != null && !updateRequest.getMidPhoto3().isEmpty()) {
-            // Delete old image if exists
-            if (blog.getMidPhoto3Url() != null) {
-                try {
-                    imageUploadService.deleteImage(blog.getMidPhoto3Url());
-                } catch (Exception e) {
-                    // Log error but continue with upload
-                }
-            }
-            blog.setMidPhoto3Url(uploadImageIfPresent(updateRequest.getMidPhoto3(), "mid3"));
-        }
-        if (updateRequest.getSidePhoto() != null && !updateRequest.getSidePhoto().isEmpty()) {
-            // Delete old image if exists
-            if (blog.getSidePhotoUrl() != null) {
-                try {
-                    imageUploadService.deleteImage(blog.getSidePhotoUrl());
-                } catch (Exception e) {
-                    // Log error but continue with upload
-                }
-            }
-            blog.setSidePhotoUrl(uploadImageIfPresent(updateRequest.getSidePhoto(), "side"));
-        }
+
+        validateBestTime(updateRequest.getBestTimeStartMonth(), updateRequest.getBestTimeEndMonth());
+
+        // Replace photos: upload the new variants first, then queue the old ones for deletion
+        // Staged uploads belong to the blog's author
+        List<String> usedUploadIds = new ArrayList<>();
+        Map<PhotoSlot, PhotoSource> photos = collectPhotos(blog.getAuthor().getId(), usedUploadIds,
+                updateRequest.getMainPhoto(), updateRequest.getMainPhotoUploadId(),
+                updateRequest.getMidPhoto1(), updateRequest.getMidPhoto1UploadId(),
+                updateRequest.getMidPhoto2(), updateRequest.getMidPhoto2UploadId(),
+                updateRequest.getMidPhoto3(), updateRequest.getMidPhoto3UploadId(),
+                updateRequest.getSidePhoto(), updateRequest.getSidePhotoUploadId()
+        );
+        Map<PhotoSlot, StoredPhoto> storedPhotos = blogPhotoService.storePhotos(photos);
+        List<String> replacedUrls = new ArrayList<>();
+        storedPhotos.forEach((slot, photo) -> {
+            replacedUrls.addAll(slot.storedUrls(blog));
+            slot.assign(blog, photo);
+        });
+        imageDeletionQueue.enqueue(replacedUrls);
+
         if (updateRequest.getCityId() != null) {
             City city = cityRepo.findById(updateRequest.getCityId())
                     .orElseThrow(() -> new ResourceNotFoundException("City not found with id: " + updateRequest.getCityId()));
@@ -235,12 +262,13 @@ public class BlogServiceImpl implements BlogService {
                 bestTime = new BestTimeToVisit();
                 bestTime.setTravelBlog(blog);
             }
-            bestTime.setStartMonth(updateRequest.getBestTimeStartMonth().intValue());
-            bestTime.setEndMonth(updateRequest.getBestTimeEndMonth().intValue());
+            bestTime.setMonths(updateRequest.getBestTimeStartMonth().intValue(), updateRequest.getBestTimeEndMonth().intValue());
             blog.setBestTimeToVisit(bestTime);
         }
 
         TravelBlog updatedBlog = travelBlogRepo.save(blog);
+        discardAfterCommit(usedUploadIds);
+        eventPublisher.publishEvent(BlogChangedEvent.of(updatedBlog.getId()));
         return mapToDto(updatedBlog);
     }
 
@@ -249,15 +277,17 @@ public class BlogServiceImpl implements BlogService {
         TravelBlog blog = travelBlogRepo.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Blog not found with id: " + id));
         
-        // Delete images from GitHub
-        deleteImageIfPresent(blog.getMainPhotoUrl());
-        deleteImageIfPresent(blog.getMidPhoto1Url());
-        deleteImageIfPresent(blog.getMidPhoto2Url());
-        deleteImageIfPresent(blog.getMidPhoto3Url());
-        deleteImageIfPresent(blog.getSidePhotoUrl());
+        // Images, variants included, are removed from GitHub by the deletion queue
+        List<String> imageUrls = new ArrayList<>();
+        for (PhotoSlot slot : PhotoSlot.values()) {
+            imageUrls.addAll(slot.storedUrls(blog));
+        }
+        imageDeletionQueue.enqueue(imageUrls);
         
         blog.setDeleted(true);
         travelBlogRepo.save(blog);
+        statCounterService.add(StatCounterService.blogStatus(blog.getStatus()), -1);
+        eventPublisher.publishEvent(BlogChangedEvent.of(blog.getId()));
     }
 
     @Override
@@ -311,6 +341,372 @@ public class BlogServiceImpl implements BlogService {
         return CursorPageResult.of(blogDtos, nextCursor, hasNext, pageSize);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BlogSearchResultDto searchBlogs(String query, BlogSearchFilterDto filter, String cursor, int pageSize) {
+        String text = query == null || query.isBlank() ? null : query.strip();
+        if (text != null && text.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidActionException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        BlogSearchFilterDto criteria = filter != null ? filter : BlogSearchFilterDto.none();
+        boolean matchAllCategories = validateFilter(criteria);
+        int size = Math.clamp(pageSize, 1, MAX_SEARCH_PAGE_SIZE);
+        SearchCursor after = SearchCursor.decode(cursor);
+
+        // Fetch one extra to check if there's more
+        List<TravelBlogFilterRepo.RankedId> hits = travelBlogRepo.findRankedIds(
+                searchSpecification(text, criteria, matchAllCategories, null), text, after, size + 1);
+        boolean hasNext = hits.size() > size;
+        List<TravelBlogFilterRepo.RankedId> page = hasNext ? hits.subList(0, size) : hits;
+        BlogFacetsDto facets = cursor == null || cursor.isBlank() ? facets(text, criteria, matchAllCategories) : null;
+        if (page.isEmpty()) {
+            return new BlogSearchResultDto(CursorPageResult.of(List.of(), null, false, size), facets);
+        }
+
+        List<Long> blogIds = page.stream().map(TravelBlogFilterRepo.RankedId::id).toList();
+        Map<Long, BlogCardDto> cards = loadCards(blogIds);
+        Map<Long, TravelBlogRepo.SearchHighlightView> highlights = new HashMap<>();
+        if (text != null) {
+            travelBlogRepo.findSearchHighlights(blogIds, text).forEach(highlight -> highlights.put(highlight.getId(), highlight));
+        }
+
+        List<BlogSearchHitDto> results = new ArrayList<>(page.size());
+        for (TravelBlogFilterRepo.RankedId hit : page) {
+            BlogCardDto card = cards.get(hit.id());
+            if (card != null) {
+                TravelBlogRepo.SearchHighlightView highlight = highlights.get(hit.id());
+                results.add(new BlogSearchHitDto(card,
+                        highlight != null ? highlight.getTitleHighlight() : null,
+                        highlight != null ? highlight.getSnippet() : null));
+            }
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            TravelBlogFilterRepo.RankedId last = page.get(page.size() - 1);
+            nextCursor = new SearchCursor(last.rank(), last.id()).encode();
+        }
+
+        return new BlogSearchResultDto(CursorPageResult.of(results, nextCursor, hasNext, size), facets);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResult<BlogCardDto> browseBlogs(BlogSearchFilterDto filter, String sort, String cursor, int pageSize) {
+        BlogSearchFilterDto criteria = filter != null ? filter : BlogSearchFilterDto.none();
+        boolean matchAllCategories = validateFilter(criteria);
+        BlogColumnStore.Sort order = parseListingSort(sort);
+        int size = Math.clamp(pageSize, 1, MAX_SEARCH_PAGE_SIZE);
+        ListingCursor after = ListingCursor.decode(cursor);
+
+        // Fetch one extra to check if there's more
+        List<BlogColumnStore.Hit> hits = blogListingIndex.find(new BlogColumnStore.Query(
+                criteria.cityId() != null ? criteria.cityId() : 0L,
+                criteria.categoryIds() != null ? criteria.categoryIds() : List.of(),
+                matchAllCategories,
+                criteria.month() != null ? MonthMask.bit(criteria.month()) : 0,
+                order, after.key(), after.id(), size + 1));
+        boolean hasNext = hits.size() > size;
+        List<BlogColumnStore.Hit> page = hasNext ? hits.subList(0, size) : hits;
+        if (page.isEmpty()) {
+            return CursorPageResult.of(List.of(), null, false, size);
+        }
+
+        List<Long> blogIds = page.stream().map(BlogColumnStore.Hit::id).toList();
+        Map<Long, BlogCardDto> cards = loadCards(blogIds);
+        List<BlogCardDto> results = blogIds.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .toList();
+        String nextCursor = null;
+        if (hasNext) {
+            BlogColumnStore.Hit last = page.get(page.size() - 1);
+            nextCursor = new ListingCursor(last.key(), last.id()).encode();
+        }
+        return CursorPageResult.of(results, nextCursor, hasNext, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResult<BlogCardDto> getBestForMonth(int month, String cursor, int pageSize) {
+        Specification<TravelBlog> filter = TravelBlogSpecifications.approved()
+                .and(TravelBlogSpecifications.bestVisitedIn(month));
+        int size = Math.clamp(pageSize, 1, MAX_SEARCH_PAGE_SIZE);
+        SearchCursor after = SearchCursor.FIRST;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = new SearchCursor(0f, Long.parseLong(cursor));
+            } catch (NumberFormatException e) {
+                throw new InvalidActionException("Invalid cursor: " + cursor);
+            }
+        }
+
+        // Fetch one extra to check if there's more
+        List<TravelBlogFilterRepo.RankedId> hits = travelBlogRepo.findRankedIds(filter, null, after, size + 1);
+        boolean hasNext = hits.size() > size;
+        List<Long> blogIds = (hasNext ? hits.subList(0, size) : hits).stream()
+                .map(TravelBlogFilterRepo.RankedId::id)
+                .toList();
+        if (blogIds.isEmpty()) {
+            return CursorPageResult.of(List.of(), null, false, size);
+        }
+
+        Map<Long, BlogCardDto> cards = loadCards(blogIds);
+        List<BlogCardDto> results = blogIds.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .toList();
+        String nextCursor = hasNext ? String.valueOf(blogIds.getLast()) : null;
+        return CursorPageResult.of(results, nextCursor, hasNext, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyBlogDto> getNearbyBlogs(Long blogId, Double latitude, Double longitude, Double radiusKm, int limit) {
+        double originLatitude;
+        double originLongitude;
+        if (blogId != null) {
+            TravelBlog blog = travelBlogRepo.findByIdAndDeletedFalse(blogId)
+                    .filter(found -> found.getStatus() == TravelBlog.BlogStatus.APPROVED)
+                    .orElseThrow(() -> new ResourceNotFoundException("Blog not found with id: " + blogId));
+            City city = blog.getCity();
+            if (city == null || city.getLatitude() == null || city.getLongitude() == null) {
+                throw new InvalidActionException("The blog's city has no coordinates");
+            }
+            originLatitude = city.getLatitude();
+            originLongitude = city.getLongitude();
+        } else if (latitude != null && longitude != null) {
+            if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+                throw new InvalidActionException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+            }
+            originLatitude = latitude;
+            originLongitude = longitude;
+        } else {
+            throw new InvalidActionException("Either a blog id or a latitude and longitude are required");
+        }
+        if (radiusKm != null && (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM)) {
+            throw new InvalidActionException("Radius must be between 0 and " + MAX_NEARBY_RADIUS_KM + " km");
+        }
+        int size = Math.clamp(limit, 1, MAX_SEARCH_PAGE_SIZE);
+
+        List<KdTree.Hit> cities = radiusKm != null
+                ? cityGeoIndex.within(originLatitude, originLongitude, radiusKm)
+                : cityGeoIndex.nearest(originLatitude, originLongitude, NEAREST_CITIES);
+        if (cities.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> cityOrder = new HashMap<>();
+        Map<Long, Double> cityDistances = new HashMap<>();
+        for (KdTree.Hit city : cities.subList(0, Math.min(cities.size(), MAX_NEARBY_CITIES))) {
+            cityOrder.put(city.id(), cityOrder.size());
+            cityDistances.put(city.id(), city.distanceKm());
+        }
+
+        // The nearest city may hold the whole page, plus the blog itself
+        int perCity = blogId != null ? size + 1 : size;
+        List<Long> blogIds = travelBlogRepo.findNewestApprovedIdsByCities(cityOrder.keySet(), perCity).stream()
+                .filter(row -> !row.getId().equals(blogId))
+                .sorted(Comparator.<TravelBlogRepo.CityBlogView>comparingInt(row -> cityOrder.get(row.getCityId()))
+                        .thenComparing(TravelBlogRepo.CityBlogView::getId, Comparator.reverseOrder()))
+                .limit(size)
+                .map(TravelBlogRepo.CityBlogView::getId)
+                .toList();
+        if (blogIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, BlogCardDto> cards = loadCards(blogIds);
+        return blogIds.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .map(card -> new NearbyBlogDto(card, cityDistances.get(card.cityId())))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlogCardDto> getRelatedBlogs(Long blogId, int limit) {
+        int size = Math.clamp(limit, 1, MAX_RELATED_BLOGS);
+        List<Long> blogIds = relatedBlogRepo.findRelatedBlogIds(blogId, PageRequest.of(0, size));
+        if (blogIds.isEmpty()) {
+            return List.of();
+        }
+        // The lists are rebuilt periodically, so skip blogs unpublished since
+        Map<Long, BlogCardDto> cards = loadCards(blogIds);
+        return blogIds.stream()
+                .map(cards::get)
+                .filter(card -> card != null && TravelBlog.BlogStatus.APPROVED.name().equals(card.status()))
+                .toList();
+    }
+
+    /**
+     * Cards with like counts by blog id, two queries whatever the number of blogs
+     */
+    private Map<Long, BlogCardDto> loadCards(List<Long> blogIds) {
+        Map<Long, BlogCardDto> cards = new HashMap<>();
+        BlogMapper.toCardDtos(travelBlogRepo.findCardsByIds(blogIds), blogLikeRepo.countLikesByBlogIds(blogIds))
+                .forEach(card -> cards.put(card.id(), card));
+        return cards;
+    }
+
+    /**
+     * Approved blogs matching the text and every filter except the one of the excluded facet
+     */
+    private Specification<TravelBlog> searchSpecification(String text, BlogSearchFilterDto filter,
+                                                          boolean matchAllCategories, Facet excluded) {
+        List<Specification<TravelBlog>> parts = new ArrayList<>();
+        parts.add(TravelBlogSpecifications.approved());
+        if (text != null) {
+            parts.add(TravelBlogSpecifications.matchesText(text));
+        }
+        if (filter.cityId() != null && excluded != Facet.CITY) {
+            parts.add(TravelBlogSpecifications.inCity(filter.cityId()));
+        }
+        if (filter.categoryIds() != null && !filter.categoryIds().isEmpty()) {
+            if (matchAllCategories) {
+                parts.add(TravelBlogSpecifications.inAllCategories(filter.categoryIds()));
+            } else if (excluded != Facet.CATEGORY) {
+                parts.add(TravelBlogSpecifications.inAnyCategory(filter.categoryIds()));
+            }
+        }
+        if (filter.month() != null && excluded != Facet.MONTH) {
+            parts.add(TravelBlogSpecifications.bestVisitedIn(filter.month()));
+        }
+        return Specification.allOf(parts);
+    }
+
+    private BlogFacetsDto facets(String text, BlogSearchFilterDto filter, boolean matchAllCategories) {
+        List<BlogFacetsDto.Value> cities = travelBlogRepo.countByCity(searchSpecification(text, filter, matchAllCategories, Facet.CITY))
+                .stream()
+                .map(count -> new BlogFacetsDto.Value(count.id(), count.name(), count.count()))
+                .sorted(FACET_ORDER)
+                .toList();
+        List<BlogFacetsDto.Value> categories = travelBlogRepo.countByCategory(searchSpecification(text, filter, matchAllCategories, Facet.CATEGORY))
+                .stream()
+                .map(count -> new BlogFacetsDto.Value(count.id(), count.name(), count.count()))
+                .sorted(FACET_ORDER)
+                .toList();
+
+        long[] perMonth = new long[13];
+        for (TravelBlogFilterRepo.WindowCount window : travelBlogRepo.countByVisitWindow(searchSpecification(text, filter, matchAllCategories, Facet.MONTH))) {
+            for (int month = 1; month <= 12; month++) {
+                if (MonthMask.contains(window.monthMask(), month)) {
+                    perMonth[month] += window.count();
+                }
+            }
+        }
+        List<BlogFacetsDto.Value> months = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            if (perMonth[month] > 0) {
+                months.add(new BlogFacetsDto.Value((long) month, Month.of(month).name(), perMonth[month]));
+            }
+        }
+        months.sort(FACET_ORDER);
+
+        return new BlogFacetsDto(cities, categories, months);
+    }
+
+    /**
+     * Removes the staged uploads once the blog is committed; until then they stay finalized, so a
+     * request that fails or rolls back can be retried with the same upload ids
+     */
+    private void discardAfterCommit(List<String> usedUploadIds) {
+        if (usedUploadIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    uploadSessionService.discard(usedUploadIds);
+                }
+            });
+        } else {
+            uploadSessionService.discard(usedUploadIds);
+        }
+    }
+
+    /**
+     * Records the blogs whose paragraphs or photos the new blog likely copies, for the moderators
+     */
+    private void flagDuplicates(TravelBlog blog, Collection<StoredPhoto> photos) {
+        List<BlogDuplicateFlag> flags = new ArrayList<>();
+        blogDuplicateIndex.findTextDuplicates(blog.getParagraph1(), blog.getParagraph2(), blog.getParagraph3())
+                .forEach(match -> addFlag(flags, blog, match.id(), BlogDuplicateFlag.Kind.TEXT, match.similarity()));
+        blogDuplicateIndex.findPhotoDuplicates(photos.stream().map(StoredPhoto::perceptualHash).toList())
+                .forEach(match -> addFlag(flags, blog, match.id(), BlogDuplicateFlag.Kind.PHOTO,
+                        1 - (double) match.distance() / Long.SIZE));
+        if (!flags.isEmpty()) {
+            blogDuplicateFlagRepo.saveAll(flags);
+        }
+    }
+
+    private void addFlag(List<BlogDuplicateFlag> flags, TravelBlog blog, long duplicateOfId,
+                         BlogDuplicateFlag.Kind kind, double similarity) {
+        if (duplicateOfId == blog.getId()) {
+            return;
+        }
+        BlogDuplicateFlag flag = new BlogDuplicateFlag();
+        flag.setBlog(blog);
+        flag.setDuplicateOf(travelBlogRepo.getReferenceById(duplicateOfId));
+        flag.setKind(kind);
+        flag.setSimilarity(similarity);
+        flags.add(flag);
+    }
+
+    /**
+     * @return whether blogs must have all of the filtered categories rather than any
+     */
+    private static boolean validateFilter(BlogSearchFilterDto filter) {
+        boolean matchAllCategories = parseCategoryMatch(filter.categoryMatch());
+        if (filter.categoryIds() != null && filter.categoryIds().size() > MAX_FILTER_CATEGORIES) {
+            throw new InvalidActionException("At most " + MAX_FILTER_CATEGORIES + " categories can be filtered on");
+        }
+        if (filter.month() != null && (filter.month() < 1 || filter.month() > 12)) {
+            throw new InvalidActionException("Month must be between 1 and 12");
+        }
+        return matchAllCategories;
+    }
+
+    /**
+     * Rejects months outside 1-12 before any photo is uploaded
+     */
+    private static void validateBestTime(Long startMonth, Long endMonth) {
+        if (startMonth != null && endMonth != null) {
+            MonthMask.of(startMonth.intValue(), endMonth.intValue());
+        }
+    }
+
+    /**
+     * {@code any} unless {@code all} is asked for
+     */
+    private static boolean parseCategoryMatch(String categoryMatch) {
+        if (categoryMatch == null || categoryMatch.isBlank() || categoryMatch.equalsIgnoreCase("any")) {
+            return false;
+        }
+        if (categoryMatch.equalsIgnoreCase("all")) {
+            return true;
+        }
+        throw new InvalidActionException("Invalid category match. Must be any or all");
+    }
+
+    /**
+     * {@code recent} unless {@code likes} is asked for
+     */
+    private static BlogColumnStore.Sort parseListingSort(String sort) {
+        if (sort == null || sort.isBlank() || sort.equalsIgnoreCase("recent")) {
+            return BlogColumnStore.Sort.RECENT;
+        }
+        if (sort.equalsIgnoreCase("likes")) {
+            return BlogColumnStore.Sort.LIKES;
+        }
+        throw new InvalidActionException("Invalid sort. Must be recent or likes");
+    }
+
+    private enum Facet {
+        CITY, CATEGORY, MONTH
+    }
+
     @Override
     public BlogDto mapToDto(TravelBlog blog) {
         long likeCount = blogLikeRepo.countLikesByBlogId(blog.getId());
@@ -318,13 +714,20 @@ public class BlogServiceImpl implements BlogService {
                 blog.getId(),
                 blog.getTitle(),
                 blog.getMainPhotoUrl(),
+                blog.getMainPhotoThumbUrl(),
+                blog.getMainPhotoCardUrl(),
+                blog.getMainPhotoPlaceholder(),
                 blog.getParagraph1(),
                 blog.getParagraph2(),
                 blog.getParagraph3(),
                 blog.getMidPhoto1Url(),
+                blog.getMidPhoto1Placeholder(),
                 blog.getMidPhoto2Url(),
+                blog.getMidPhoto2Placeholder(),
                 blog.getMidPhoto3Url(),
+                blog.getMidPhoto3Placeholder(),
                 blog.getSidePhotoUrl(),
+                blog.getSidePhotoPlaceholder(),
                 blog.getCity() != null ? blog.getCity().getId() : null,
                 blog.getCity() != null ? blog.getCity().getName() : null,
                 blog.getAuthor() != null ? blog.getAuthor().getId() : null,
@@ -356,13 +759,20 @@ public class BlogServiceImpl implements BlogService {
                 blog.getId(),
                 blog.getTitle(),
                 blog.getMainPhotoUrl(),
+                blog.getMainPhotoThumbUrl(),
+                blog.getMainPhotoCardUrl(),
+                blog.getMainPhotoPlaceholder(),
                 blog.getParagraph1(),
                 blog.getParagraph2(),
                 blog.getParagraph3(),
                 blog.getMidPhoto1Url(),
+                blog.getMidPhoto1Placeholder(),
                 blog.getMidPhoto2Url(),
+                blog.getMidPhoto2Placeholder(),
                 blog.getMidPhoto3Url(),
+                blog.getMidPhoto3Placeholder(),
                 blog.getSidePhotoUrl(),
+                blog.getSidePhotoPlaceholder(),
                 blog.getCity() != null ? blog.getCity().getId() : null,
                 blog.getCity() != null ? blog.getCity().getName() : null,
                 blog.getAuthor() != null ? blog.getAuthor().getId() : null,
@@ -385,27 +795,31 @@ public class BlogServiceImpl implements BlogService {
     }
     
     /**
-     * Helper method to upload image if present, returns null if file is null or empty
+     * Helper method to map the photos of a request to their slots. A non-empty multipart file
+     * wins over an upload id; the upload ids actually used are added to {@code usedUploadIds}.
      */
-    private String uploadImageIfPresent(MultipartFile file, String prefix) {
-        if (file != null && !file.isEmpty()) {
-            return imageUploadService.uploadImage(file, null);
-        }
-        return null;
+    private Map<PhotoSlot, PhotoSource> collectPhotos(Long ownerId, List<String> usedUploadIds,
+                                                      MultipartFile mainPhoto, String mainPhotoUploadId,
+                                                      MultipartFile midPhoto1, String midPhoto1UploadId,
+                                                      MultipartFile midPhoto2, String midPhoto2UploadId,
+                                                      MultipartFile midPhoto3, String midPhoto3UploadId,
+                                                      MultipartFile sidePhoto, String sidePhotoUploadId) {
+        Map<PhotoSlot, PhotoSource> photos = new EnumMap<>(PhotoSlot.class);
+        putIfPresent(photos, PhotoSlot.MAIN, mainPhoto, mainPhotoUploadId, ownerId, usedUploadIds);
+        putIfPresent(photos, PhotoSlot.MID1, midPhoto1, midPhoto1UploadId, ownerId, usedUploadIds);
+        putIfPresent(photos, PhotoSlot.MID2, midPhoto2, midPhoto2UploadId, ownerId, usedUploadIds);
+        putIfPresent(photos, PhotoSlot.MID3, midPhoto3, midPhoto3UploadId, ownerId, usedUploadIds);
+        putIfPresent(photos, PhotoSlot.SIDE, sidePhoto, sidePhotoUploadId, ownerId, usedUploadIds);
+        return photos;
     }
-    
-    /**
-     * Helper method to delete image from GitHub if URL is present
-     */
-    private void deleteImageIfPresent(String imageUrl) {
-        if (imageUrl != null && !imageUrl.isEmpty()) {
-            try {
-                imageUploadService.deleteImage(imageUrl);
-            } catch (Exception e) {
-                // Log error but don't fail the deletion
-                // Image might already be deleted or URL might be invalid
-            }
+
+    private void putIfPresent(Map<PhotoSlot, PhotoSource> photos, PhotoSlot slot, MultipartFile file,
+                              String uploadId, Long ownerId, List<String> usedUploadIds) {
+        if (file != null && !file.isEmpty()) {
+            photos.put(slot, PhotoSource.of(file));
+        } else if (uploadId != null && !uploadId.isBlank()) {
+            photos.put(slot, uploadSessionService.stagedPhoto(uploadId, ownerId));
+            usedUploadIds.add(uploadId);
         }
     }
 }
-
@@ -2,6 +2,7 @@ package com.hal.travelapp.v1.service.impl;
 
 import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
 import com.hal.travelapp.v1.dto.CertifiedUserRequestResponseDto;
+import com.hal.travelapp.v1.dto.PageResult;
 import com.hal.travelapp.v1.entity.domain.CertifiedUserRequest;
 import com.hal.travelapp.v1.entity.domain.User;
 import com.hal.travelapp.v1.entity.enums.RequestStatus;
@@ -9,22 +10,25 @@ import com.hal.travelapp.v1.exception.ResourceNotFoundException;
 import com.hal.travelapp.v1.repository.CertifiedUserRequestRepo;
 import com.hal.travelapp.v1.repository.UserRepo;
 import com.hal.travelapp.v1.service.CertifiedUserService;
+import com.hal.travelapp.v1.service.StatCounterService;
+import com.hal.travelapp.v1.service.mapper.CertifiedUserRequestMapper;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Service
 @Transactional
 public class CertifiedUserServiceImpl implements CertifiedUserService {
 
     private final CertifiedUserRequestRepo certifiedUserRequestRepo;
     private final UserRepo userRepo;
+    private final StatCounterService statCounterService;
 
-    public CertifiedUserServiceImpl(CertifiedUserRequestRepo certifiedUserRequestRepo, UserRepo userRepo) {
+    public CertifiedUserServiceImpl(CertifiedUserRequestRepo certifiedUserRequestRepo, UserRepo userRepo,
+                                    StatCounterService statCounterService) {
         this.certifiedUserRequestRepo = certifiedUserRequestRepo;
         this.userRepo = userRepo;
+        this.statCounterService = statCounterService;
     }
 
     @Override
@@ -45,6 +49,7 @@ public class CertifiedUserServiceImpl implements CertifiedUserService {
         request.setStatus(RequestStatus.PENDING);
 
         CertifiedUserRequest savedRequest = certifiedUserRequestRepo.save(request);
+        statCounterService.add(StatCounterService.PENDING_CERTIFICATIONS, 1);
 
         return new CertifiedUserRequestResponseDto(
                 savedRequest.getId(),
@@ -58,30 +63,13 @@ public class CertifiedUserServiceImpl implements CertifiedUserService {
         CertifiedUserRequest request = certifiedUserRequestRepo.findByUserIdAndDeletedFalse(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Certification request not found for user id: " + userId));
 
-        return mapToDto(request);
+        return CertifiedUserRequestMapper.toDto(request);
     }
 
     @Override
-    public List<CertifiedUserRequestDto> getAllPendingRequests() {
-        return certifiedUserRequestRepo.findByStatusAndDeletedFalse(RequestStatus.PENDING)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
-    }
-
-    private CertifiedUserRequestDto mapToDto(CertifiedUserRequest request) {
-        return new CertifiedUserRequestDto(
-                request.getId(),
-                request.getUser().getId(),
-                request.getUser().getName(),
-                request.getUser().getEmail(),
-                request.getStatus().name(),
-                request.getReviewedBy() != null ? request.getReviewedBy().getId() : null,
-                request.getReviewedBy() != null ? request.getReviewedBy().getName() : null,
-                request.getRejectionReason(),
-                request.getCreatedAt(),
-                request.getUpdatedAt()
-        );
+    @Transactional(readOnly = true)
+    public PageResult<CertifiedUserRequestDto> getAllPendingRequests(Pageable pageable) {
+        return PageResult.of(certifiedUserRequestRepo.findRequestDtosByStatus(RequestStatus.PENDING, pageable));
     }
 }
 
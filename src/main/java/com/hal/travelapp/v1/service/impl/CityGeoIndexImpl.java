@@ -0,0 +1,73 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.repository.CityRepo;
+import com.hal.travelapp.v1.service.CityGeoIndex;
+import com.hal.travelapp.v1.service.search.KdTree;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Cities have no write path in this API, so the index is rebuilt at startup and then
+ * periodically to pick up reference data loaded into the database.
+ */
+@Service
+@Slf4j
+public class CityGeoIndexImpl implements CityGeoIndex {
+
+    private final CityRepo cityRepo;
+
+    private volatile KdTree tree = KdTree.empty();
+
+    public CityGeoIndexImpl(CityRepo cityRepo) {
+        this.cityRepo = cityRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        refreshPeriodically();
+    }
+
+    @Scheduled(fixedDelayString = "${geo.refresh-interval:10m}", initialDelayString = "${geo.refresh-interval:10m}")
+    public void refreshPeriodically() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Failed to build the city geo index", e);
+        }
+    }
+
+    @Override
+    public List<KdTree.Hit> nearest(double latitude, double longitude, int k) {
+        return tree.nearest(latitude, longitude, k);
+    }
+
+    @Override
+    public List<KdTree.Hit> within(double latitude, double longitude, double radiusKm) {
+        return tree.within(latitude, longitude, radiusKm);
+    }
+
+    @Override
+    public void rebuild() {
+        List<CityRepo.CoordinateView> cities = cityRepo.findCoordinates();
+        long[] ids = new long[cities.size()];
+        double[] latitudes = new double[cities.size()];
+        double[] longitudes = new double[cities.size()];
+        for (int i = 0; i < cities.size(); i++) {
+            ids[i] = cities.get(i).getId();
+            latitudes[i] = cities.get(i).getLatitude();
+            longitudes[i] = cities.get(i).getLongitude();
+        }
+        tree = KdTree.build(ids, latitudes, longitudes);
+        log.debug("Built city geo index with {} cities", ids.length);
+    }
+
+    @Override
+    public int size() {
+        return tree.size();
+    }
+}
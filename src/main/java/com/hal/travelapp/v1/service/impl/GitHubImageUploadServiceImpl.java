@@ -1,29 +1,50 @@
 package com.hal.travelapp.v1.service.impl;
 
+import com.hal.travelapp.v1.client.OutboundClientFactory;
+import com.hal.travelapp.v1.config.ImageProcessingConfig;
+import com.hal.travelapp.v1.config.OutboundClientConfig;
+import com.hal.travelapp.v1.exception.InvalidImageException;
 import com.hal.travelapp.v1.service.ImageUploadService;
-import lombok.RequiredArgsConstructor;
+import com.hal.travelapp.v1.service.image.ImageHeader;
+import com.hal.travelapp.v1.service.image.ImageHeaderSniffer;
+import com.hal.travelapp.v1.service.image.StoredImagePage;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class GitHubImageUploadServiceImpl implements ImageUploadService {
 
-    private final RestTemplate restTemplate;
+    private static final int MAX_REF_UPDATE_ATTEMPTS = 5;
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+    private final Executor blobExecutor;
+    private final Map<String, String> blobShas;
+    private volatile DirectorySnapshot listingSnapshot;
+
+    @Value("${github.upload.api-url:https://api.github.com}")
+    private String apiBaseUrl;
+    
+    @Value("${github.upload.batch-commits:true}")
+    private boolean batchCommits;
     
     @Value("${github.upload.repo-owner:}")
     private String repoOwner;
@@ -43,101 +64,77 @@ public class GitHubImageUploadServiceImpl implements ImageUploadService {
     @Value("${github.upload.base-url:https://raw.githubusercontent.com}")
     private String baseUrl;
 
+    public GitHubImageUploadServiceImpl(@Qualifier(OutboundClientConfig.GITHUB_CLIENT) RestClient restClient,
+                                        @Qualifier(ImageProcessingConfig.IMAGE_WORKER_POOL) Executor blobExecutor,
+                                        @Value("${github.upload.sha-cache-size:10000}") int shaCacheSize) {
+        this.restClient = restClient;
+        this.blobExecutor = blobExecutor;
+        this.blobShas = lruCache(shaCacheSize);
+    }
+
     @Override
     public String uploadImage(MultipartFile file, String fileName) {
+        byte[] fileContent;
         try {
             // Validate file
             if (file == null || file.isEmpty()) {
                 throw new IllegalArgumentException("File cannot be null or empty");
             }
             
-            // Validate image type
-            String contentType = file.getContentType();
-            if (contentType == null || !contentType.startsWith("image/")) {
-                throw new IllegalArgumentException("File must be an image");
+            // Identify the image from its header bytes; the client Content-Type is not trusted
+            ImageHeader header;
+            try (InputStream in = file.getInputStream()) {
+                header = ImageHeaderSniffer.sniff(in);
             }
             
-            // Generate file name if not provided
+            // Generate file name if not provided, and add the real extension when it has none
             if (fileName == null || fileName.isEmpty()) {
-                String originalFilename = file.getOriginalFilename();
-                String extension = "";
-                if (originalFilename != null && originalFilename.contains(".")) {
-                    extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-                } else {
-                    // Determine extension from content type
-                    extension = switch (contentType) {
-                        case "image/jpeg", "image/jpg" -> ".jpg";
-                        case "image/png" -> ".png";
-                        case "image/gif" -> ".gif";
-                        case "image/webp" -> ".webp";
-                        default -> ".jpg";
-                    };
-                }
-                fileName = generateUniqueFileName(extension);
+                fileName = generateUniqueFileName(header.format().extension());
+            } else if (!fileName.contains(".")) {
+                fileName = fileName + header.format().extension();
             }
             
-            // Ensure fileName has extension
-            if (!fileName.contains(".")) {
-                String extension = switch (contentType) {
-                    case "image/jpeg", "image/jpg" -> ".jpg";
-                    case "image/png" -> ".png";
-                    case "image/gif" -> ".gif";
-                    case "image/webp" -> ".webp";
-                    default -> ".jpg";
-                };
-                fileName = fileName + extension;
-            }
+            // Read file content
+            fileContent = file.getBytes();
             
-            // Read file content and encode to base64
-            byte[] fileContent = file.getBytes();
-            String base64Content = Base64.getEncoder().encodeToString(fileContent);
+        } catch (IOException e) {
+            log.error("Error reading file content", e);
+            throw new RuntimeException("Failed to read file content", e);
+        } catch (InvalidImageException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error uploading image to GitHub", e);
+            throw new RuntimeException("Failed to upload image to GitHub: " + e.getMessage(), e);
+        }
+        
+        return uploadImage(fileContent, fileName);
+    }
+
+    @Override
+    public String uploadImage(byte[] content, String fileName) {
+        try {
+            String base64Content = Base64.getEncoder().encodeToString(content);
             
             // Construct file path in repository
             String filePath = uploadPath + "/" + fileName;
             
-            // Prepare GitHub API request
-            String apiUrl = String.format(
-                "https://api.github.com/repos/%s/%s/contents/%s",
-                repoOwner, repoName, filePath
-            );
-            
             // Create request body
             Map<String, Object> requestBody = new HashMap<>();
             requestBody.put("message", "Upload image: " + fileName);
             requestBody.put("content", base64Content);
             requestBody.put("branch", branch);
             
-            // Set headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(githubToken);
-            headers.set("Accept", "application/vnd.github.v3+json");
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+            // Make API call; non-2xx responses surface as HttpStatusCodeException
+            Map<String, Object> response = exchangeJson("contents.put", contentsUrl(filePath), HttpMethod.PUT, requestBody);
             
-            // Make API call
-            ResponseEntity<Map> response = restTemplate.exchange(
-                apiUrl,
-                HttpMethod.PUT,
-                request,
-                Map.class
-            );
+            // Remember the blob SHA so that deleting the file needs no lookup
+            rememberSha(filePath, response);
             
-            if (response.getStatusCode().is2xxSuccessful()) {
-                // Construct public URL
-                String publicUrl = String.format(
-                    "%s/%s/%s/%s/%s",
-                    baseUrl, repoOwner, repoName, branch, filePath
-                );
-                log.info("Successfully uploaded image to GitHub: {}", publicUrl);
-                return publicUrl;
-            } else {
-                throw new RuntimeException("Failed to upload image to GitHub. Status: " + response.getStatusCode());
-            }
+            // Construct public URL
+            String publicUrl = publicUrl(filePath);
+            log.info("Successfully uploaded image to GitHub: {}", publicUrl);
+            return publicUrl;
             
-        } catch (IOException e) {
-            log.error("Error reading file content", e);
-            throw new RuntimeException("Failed to read file content", e);
         } catch (Exception e) {
             log.error("Error uploading image to GitHub", e);
             throw new RuntimeException("Failed to upload image to GitHub: " + e.getMessage(), e);
@@ -155,63 +152,27 @@ public class GitHubImageUploadServiceImpl implements ImageUploadService {
                 throw new IllegalArgumentException("Invalid image URL format");
             }
             
-            // Get file SHA (required for deletion)
-            String apiUrl = String.format(
-                "https://api.github.com/repos/%s/%s/contents/%s",
-                repoOwner, repoName, filePath
-            );
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(githubToken);
-            headers.set("Accept", "application/vnd.github.v3+json");
-            
-            HttpEntity<Void> getRequest = new HttpEntity<>(headers);
-            
-            // First, get the file to retrieve its SHA
-            ResponseEntity<Map> getResponse = restTemplate.exchange(
-                apiUrl + "?ref=" + branch,
-                HttpMethod.GET,
-                getRequest,
-                Map.class
-            );
-            
-            if (!getResponse.getStatusCode().is2xxSuccessful()) {
-                log.warn("File not found in GitHub, may already be deleted: {}", imageUrl);
-                return;
+            // The SHA recorded at upload time saves the GET; fall back to it when unknown
+            String sha = blobShas.get(filePath);
+            if (sha == null) {
+                sha = fetchFileSha(filePath);
             }
             
-            Map<String, Object> fileInfo = getResponse.getBody();
-            if (fileInfo == null || !fileInfo.containsKey("sha")) {
-                throw new RuntimeException("Could not retrieve file SHA from GitHub");
+            try {
+                deleteFile(filePath, sha);
+            } catch (HttpClientErrorException e) {
+                // 409/422: the file changed since the SHA was recorded, so look it up and retry once
+                boolean staleSha = e.getStatusCode().value() == 409 || e.getStatusCode().value() == 422;
+                if (!staleSha) {
+                    throw e;
+                }
+                log.warn("Cached SHA for {} is stale, fetching the current one", filePath);
+                deleteFile(filePath, fetchFileSha(filePath));
+            } finally {
+                blobShas.remove(filePath);
             }
             
-            String sha = (String) fileInfo.get("sha");
-            
-            // Delete the file
-            Map<String, Object> deleteBody = new HashMap<>();
-            deleteBody.put("message", "Delete image: " + filePath);
-            deleteBody.put("sha", sha);
-            deleteBody.put("branch", branch);
-            
-            HttpHeaders deleteHeaders = new HttpHeaders();
-            deleteHeaders.setContentType(MediaType.APPLICATION_JSON);
-            deleteHeaders.setBearerAuth(githubToken);
-            deleteHeaders.set("Accept", "application/vnd.github.v3+json");
-            
-            HttpEntity<Map<String, Object>> deleteRequest = new HttpEntity<>(deleteBody, deleteHeaders);
-            
-            ResponseEntity<Void> deleteResponse = restTemplate.exchange(
-                apiUrl,
-                HttpMethod.DELETE,
-                deleteRequest,
-                Void.class
-            );
-            
-            if (deleteResponse.getStatusCode().is2xxSuccessful()) {
-                log.info("Successfully deleted image from GitHub: {}", imageUrl);
-            } else {
-                throw new RuntimeException("Failed to delete image from GitHub. Status: " + deleteResponse.getStatusCode());
-            }
+            log.info("Successfully deleted image from GitHub: {}", imageUrl);
             
         } catch (Exception e) {
             log.error("Error deleting image from GitHub", e);
@@ -219,6 +180,268 @@ public class GitHubImageUploadServiceImpl implements ImageUploadService {
         }
     }
     
+    private String fetchFileSha(String filePath) {
+        Map<String, Object> fileInfo = getJson("contents.get", contentsUrl(filePath) + "?ref=" + branch);
+        if (!fileInfo.containsKey("sha")) {
+            throw new RuntimeException("Could not retrieve file SHA from GitHub");
+        }
+        return (String) fileInfo.get("sha");
+    }
+    
+    private void deleteFile(String filePath, String sha) {
+        Map<String, Object> deleteBody = new HashMap<>();
+        deleteBody.put("message", "Delete image: " + filePath);
+        deleteBody.put("sha", sha);
+        deleteBody.put("branch", branch);
+        exchangeJson("contents.delete", contentsUrl(filePath), HttpMethod.DELETE, deleteBody);
+    }
+    
+    @Override
+    public Map<String, String> uploadImages(Map<String, byte[]> images) {
+        if (images.isEmpty()) {
+            return Map.of();
+        }
+        if (!batchCommits) {
+            // One contents API commit per file, still issued in parallel
+            Map<String, CompletableFuture<String>> uploads = new LinkedHashMap<>();
+            images.forEach((fileName, content) -> uploads.put(fileName,
+                    CompletableFuture.supplyAsync(() -> uploadImage(content, fileName), blobExecutor)));
+            Map<String, String> urls = new LinkedHashMap<>();
+            uploads.forEach((fileName, future) -> urls.put(fileName, join(future)));
+            return urls;
+        }
+
+        try {
+            // Blobs do not depend on the branch head, so they are created once and in parallel
+            Map<String, CompletableFuture<String>> blobs = new LinkedHashMap<>();
+            images.forEach((fileName, content) -> blobs.put(fileName,
+                    CompletableFuture.supplyAsync(() -> createBlob(content), blobExecutor)));
+
+            List<Map<String, Object>> treeEntries = new ArrayList<>();
+            Map<String, String> urls = new LinkedHashMap<>();
+            blobs.forEach((fileName, future) -> {
+                String filePath = uploadPath + "/" + fileName;
+                treeEntries.add(treeEntry(filePath, join(future)));
+                urls.put(fileName, publicUrl(filePath));
+            });
+
+            commitTree(treeEntries, "Upload " + images.size() + " images");
+            treeEntries.forEach(entry -> blobShas.put((String) entry.get("path"), (String) entry.get("sha")));
+            log.info("Successfully uploaded {} images to GitHub in one commit", images.size());
+            return urls;
+        } catch (Exception e) {
+            log.error("Error uploading images to GitHub", e);
+            throw new RuntimeException("Failed to upload images to GitHub: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void deleteImages(Collection<String> imageUrls) {
+        if (imageUrls.isEmpty()) {
+            return;
+        }
+        if (!batchCommits) {
+            imageUrls.forEach(this::deleteImage);
+            return;
+        }
+
+        try {
+            List<Map<String, Object>> treeEntries = new ArrayList<>();
+            for (String imageUrl : new LinkedHashSet<>(imageUrls)) {
+                String filePath = extractFilePathFromUrl(imageUrl);
+                if (filePath == null) {
+                    throw new IllegalArgumentException("Invalid image URL format: " + imageUrl);
+                }
+                // A null SHA removes the path from the new tree
+                treeEntries.add(treeEntry(filePath, null));
+            }
+
+            commitTree(treeEntries, "Delete " + treeEntries.size() + " images");
+            treeEntries.forEach(entry -> blobShas.remove((String) entry.get("path")));
+            log.info("Successfully deleted {} images from GitHub in one commit", treeEntries.size());
+        } catch (Exception e) {
+            log.error("Error deleting images from GitHub", e);
+            throw new RuntimeException("Failed to delete images from GitHub: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Pages over a snapshot of the upload directory's tree. The Git Trees API returns a
+     * directory in one response, so the page token pins the tree SHA and an offset into it;
+     * the tree is immutable, which keeps the pages consistent while the branch moves on.
+     * A listing GitHub truncated fails rather than passing for the whole directory.
+     */
+    @Override
+    public StoredImagePage listImages(String pageToken, int pageSize) {
+        try {
+            DirectorySnapshot snapshot;
+            int offset = 0;
+            if (pageToken == null) {
+                snapshot = fetchDirectory(branch + ":" + uploadPath);
+            } else {
+                int separator = pageToken.lastIndexOf(':');
+                String treeSha = pageToken.substring(0, separator);
+                offset = Integer.parseInt(pageToken.substring(separator + 1));
+                DirectorySnapshot cached = listingSnapshot;
+                snapshot = cached != null && cached.treeSha().equals(treeSha) ? cached : fetchDirectory(treeSha);
+            }
+            listingSnapshot = snapshot;
+
+            int end = Math.min(offset + pageSize, snapshot.fileNames().size());
+            List<String> urls = snapshot.fileNames().subList(offset, end).stream()
+                    .map(fileName -> publicUrl(uploadPath + "/" + fileName))
+                    .toList();
+            String nextPageToken = end < snapshot.fileNames().size() ? snapshot.treeSha() + ":" + end : null;
+            return new StoredImagePage(urls, nextPageToken);
+        } catch (HttpClientErrorException.NotFound e) {
+            // Nothing has been uploaded yet
+            return new StoredImagePage(List.of(), null);
+        } catch (Exception e) {
+            log.error("Error listing images on GitHub", e);
+            throw new RuntimeException("Failed to list images on GitHub: " + e.getMessage(), e);
+        }
+    }
+
+    private DirectorySnapshot fetchDirectory(String treeIsh) {
+        Map<String, Object> tree = getJson("git.tree.get", gitUrl("/trees/" + treeIsh));
+        if (Boolean.TRUE.equals(tree.get("truncated"))) {
+            throw new IllegalStateException("GitHub truncated the listing of " + uploadPath);
+        }
+        List<String> fileNames = new ArrayList<>();
+        for (Object entry : (List<?>) tree.get("tree")) {
+            Map<?, ?> treeEntry = (Map<?, ?>) entry;
+            if ("blob".equals(treeEntry.get("type"))) {
+                fileNames.add((String) treeEntry.get("path"));
+            }
+        }
+        return new DirectorySnapshot((String) tree.get("sha"), fileNames);
+    }
+
+    private record DirectorySnapshot(String treeSha, List<String> fileNames) {
+    }
+
+    /**
+     * Creates one tree on top of the branch head, commits it and fast-forwards the branch.
+     * If another writer moved the head in between, the tree is rebuilt on the new head.
+     */
+    private void commitTree(List<Map<String, Object>> treeEntries, String message) {
+        for (int attempt = 1; ; attempt++) {
+            String headSha = (String) ((Map<?, ?>) getJson("git.ref.get", gitUrl("/ref/heads/" + branch)).get("object")).get("sha");
+            String baseTreeSha = (String) ((Map<?, ?>) getJson("git.commit.get", gitUrl("/commits/" + headSha)).get("tree")).get("sha");
+
+            Map<String, Object> treeBody = new HashMap<>();
+            treeBody.put("base_tree", baseTreeSha);
+            treeBody.put("tree", treeEntries);
+            String treeSha = (String) postJson("git.tree.create", gitUrl("/trees"), treeBody).get("sha");
+
+            Map<String, Object> commitBody = new HashMap<>();
+            commitBody.put("message", message);
+            commitBody.put("tree", treeSha);
+            commitBody.put("parents", List.of(headSha));
+            String commitSha = (String) postJson("git.commit.create", gitUrl("/commits"), commitBody).get("sha");
+
+            Map<String, Object> refBody = new HashMap<>();
+            refBody.put("sha", commitSha);
+            refBody.put("force", false);
+            try {
+                exchangeJson("git.ref.update", gitUrl("/refs/heads/" + branch), HttpMethod.PATCH, refBody);
+                return;
+            } catch (HttpClientErrorException e) {
+                // 422 "not a fast forward" or 409 conflict: the head moved under us
+                boolean headMoved = e.getStatusCode().value() == 422 || e.getStatusCode().value() == 409;
+                if (!headMoved || attempt >= MAX_REF_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Branch {} moved while committing, retrying (attempt {})", branch, attempt);
+            }
+        }
+    }
+
+    private String createBlob(byte[] content) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("content", Base64.getEncoder().encodeToString(content));
+        body.put("encoding", "base64");
+        return (String) postJson("git.blob.create", gitUrl("/blobs"), body).get("sha");
+    }
+
+    private Map<String, Object> treeEntry(String filePath, String blobSha) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("path", filePath);
+        entry.put("mode", "100644");
+        entry.put("type", "blob");
+        entry.put("sha", blobSha);
+        return entry;
+    }
+
+    private void rememberSha(String filePath, Map<String, Object> responseBody) {
+        if (responseBody != null && responseBody.get("content") instanceof Map<?, ?> content
+                && content.get("sha") instanceof String sha) {
+            blobShas.put(filePath, sha);
+        }
+    }
+
+    private String contentsUrl(String filePath) {
+        return String.format("%s/repos/%s/%s/contents/%s", apiBaseUrl, repoOwner, repoName, filePath);
+    }
+
+    private String gitUrl(String path) {
+        return String.format("%s/repos/%s/%s/git%s", apiBaseUrl, repoOwner, repoName, path);
+    }
+
+    private String publicUrl(String filePath) {
+        return String.format("%s/%s/%s/%s/%s", baseUrl, repoOwner, repoName, branch, filePath);
+    }
+
+    private Map<String, Object> getJson(String operation, String url) {
+        return exchangeJson(operation, url, HttpMethod.GET, null);
+    }
+
+    private Map<String, Object> postJson(String operation, String url, Map<String, Object> body) {
+        return exchangeJson(operation, url, HttpMethod.POST, body);
+    }
+
+    private Map<String, Object> exchangeJson(String operation, String url, HttpMethod method, Map<String, Object> body) {
+        RestClient.RequestBodySpec request = restClient.method(method)
+                .uri(url)
+                .attribute(OutboundClientFactory.OPERATION_ATTRIBUTE, operation)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.parseMediaType("application/vnd.github.v3+json"))
+                .headers(headers -> headers.setBearerAuth(githubToken));
+        if (body != null) {
+            request.body(body);
+        }
+
+        Map<String, Object> responseBody = request.retrieve().body(JSON_OBJECT);
+        if (responseBody == null) {
+            throw new RuntimeException("Empty response from GitHub for " + method + " " + url);
+        }
+        return responseBody;
+    }
+
+    /**
+     * Bounded, access-ordered map of repository path to blob SHA. Entries are only hints:
+     * a stale SHA is detected by GitHub and answered with a fresh lookup.
+     */
+    private static Map<String, String> lruCache(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     private String generateUniqueFileName(String extension) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         String uuid = UUID.randomUUID().toString().substring(0, 8);
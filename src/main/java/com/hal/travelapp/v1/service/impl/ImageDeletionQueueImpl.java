@@ -0,0 +1,179 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.entity.domain.ImageDeletion;
+import com.hal.travelapp.v1.repository.ImageDeletionRepo;
+import com.hal.travelapp.v1.service.ImageDeletionQueue;
+import com.hal.travelapp.v1.service.ImageUploadService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class ImageDeletionQueueImpl implements ImageDeletionQueue {
+
+    private final ImageDeletionRepo imageDeletionRepo;
+    private final ImageUploadService imageUploadService;
+
+    private final AtomicLong pendingDepth = new AtomicLong();
+    private final AtomicLong deadDepth = new AtomicLong();
+    private final Counter deletedCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    @Value("${image.deletion.batch-size:50}")
+    private int batchSize;
+
+    @Value("${image.deletion.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${image.deletion.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${image.deletion.max-backoff:6h}")
+    private Duration maxBackoff;
+
+    @Value("${image.deletion.lease:5m}")
+    private Duration lease;
+
+    public ImageDeletionQueueImpl(ImageDeletionRepo imageDeletionRepo,
+                                  ImageUploadService imageUploadService,
+                                  MeterRegistry meterRegistry) {
+        this.imageDeletionRepo = imageDeletionRepo;
+        this.imageUploadService = imageUploadService;
+        Gauge.builder("image.deletion.queue.depth", pendingDepth, AtomicLong::get)
+                .description("Image deletions waiting to be processed")
+                .tag("status", "pending")
+                .register(meterRegistry);
+        Gauge.builder("image.deletion.queue.depth", deadDepth, AtomicLong::get)
+                .description("Image deletions that exhausted their attempts")
+                .tag("status", "dead")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("image.deletion.processed").tag("outcome", "deleted").register(meterRegistry);
+        this.retriedCounter = Counter.builder("image.deletion.processed").tag("outcome", "retry").register(meterRegistry);
+        this.deadCounter = Counter.builder("image.deletion.processed").tag("outcome", "dead").register(meterRegistry);
+    }
+
+    @Override
+    public void enqueue(Collection<String> imageUrls) {
+        if (imageUrls.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<ImageDeletion> deletions = new ArrayList<>();
+        for (String imageUrl : new LinkedHashSet<>(imageUrls)) {
+            ImageDeletion deletion = new ImageDeletion();
+            deletion.setImageUrl(imageUrl);
+            deletion.setNextAttemptAt(now);
+            deletions.add(deletion);
+        }
+        imageDeletionRepo.saveAll(deletions);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${image.deletion.poll-interval:30s}", initialDelayString = "${image.deletion.initial-delay:30s}")
+    public int drain() {
+        int processed = 0;
+        List<ImageDeletion> batch;
+        do {
+            Instant now = Instant.now();
+            batch = imageDeletionRepo.claimDue(now, now.plus(lease), batchSize);
+            if (!batch.isEmpty()) {
+                process(batch);
+                processed += batch.size();
+            }
+        } while (batch.size() == batchSize);
+
+        pendingDepth.set(imageDeletionRepo.countByStatus(ImageDeletion.Status.PENDING));
+        deadDepth.set(imageDeletionRepo.countByStatus(ImageDeletion.Status.DEAD));
+        return processed;
+    }
+
+    private void process(List<ImageDeletion> batch) {
+        try {
+            // One commit for the whole batch in the common case
+            imageUploadService.deleteImages(batch.stream().map(ImageDeletion::getImageUrl).toList());
+            imageDeletionRepo.deleteAllInBatch(batch);
+            deletedCounter.increment(batch.size());
+            return;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                recordOutcome(batch.getFirst(), e);
+                return;
+            }
+            log.warn("Batch deletion of {} images failed, retrying them one by one", batch.size(), e);
+        }
+
+        // Isolate the image that broke the batch so that the others still go through
+        for (ImageDeletion deletion : batch) {
+            try {
+                imageUploadService.deleteImage(deletion.getImageUrl());
+                recordOutcome(deletion, null);
+            } catch (Exception e) {
+                recordOutcome(deletion, e);
+            }
+        }
+    }
+
+    private void recordOutcome(ImageDeletion deletion, Exception failure) {
+        if (failure == null || isAlreadyGone(failure)) {
+            imageDeletionRepo.delete(deletion);
+            deletedCounter.increment();
+            return;
+        }
+
+        deletion.setAttempts(deletion.getAttempts() + 1);
+        deletion.setLastError(truncate(failure.getMessage()));
+        if (deletion.getAttempts() >= maxAttempts) {
+            deletion.setStatus(ImageDeletion.Status.DEAD);
+            deadCounter.increment();
+            log.error("Giving up deleting {} after {} attempts", deletion.getImageUrl(), deletion.getAttempts(), failure);
+        } else {
+            deletion.setNextAttemptAt(Instant.now().plus(backoff(deletion.getAttempts())));
+            retriedCounter.increment();
+            log.warn("Deleting {} failed (attempt {}), retrying at {}",
+                    deletion.getImageUrl(), deletion.getAttempts(), deletion.getNextAttemptAt());
+        }
+        imageDeletionRepo.save(deletion);
+    }
+
+    /**
+     * Exponential backoff with jitter: between half and all of initial * 2^(attempts-1), capped.
+     */
+    private Duration backoff(int attempts) {
+        long capMillis = maxBackoff.toMillis();
+        long exponential = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        long ceiling = exponential <= 0 ? capMillis : Math.min(exponential, capMillis);
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+    }
+
+    private static boolean isAlreadyGone(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpClientErrorException.NotFound) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
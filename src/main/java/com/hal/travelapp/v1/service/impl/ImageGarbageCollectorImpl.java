@@ -0,0 +1,229 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.dto.OrphanImageReportDto;
+import com.hal.travelapp.v1.exception.InvalidActionException;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.ImageGarbageCollector;
+import com.hal.travelapp.v1.service.ImageUploadService;
+import com.hal.travelapp.v1.service.image.StoredImagePage;
+import com.hal.travelapp.v1.utils.LongHashSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Mark and sweep over the image storage. The mark phase streams every photo URL column into
+ * a set of 64-bit file name hashes; the sweep pages through storage and deletes unmarked
+ * images in paced batches. A hash collision can only keep an orphan, never delete a live image.
+ * A run whose listing fails part way is counted as failed and yields no report.
+ */
+@Service
+@Slf4j
+public class ImageGarbageCollectorImpl implements ImageGarbageCollector {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final int PHOTO_COLUMNS = 7;
+    private static final int SAMPLE_SIZE = 100;
+
+    private final TravelBlogRepo travelBlogRepo;
+    private final ImageUploadService imageUploadService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter completedRuns;
+    private final Counter failedRuns;
+
+    @Value("${image.gc.page-size:1000}")
+    private int pageSize;
+
+    @Value("${image.gc.grace-period:7d}")
+    private Duration gracePeriod;
+
+    @Value("${image.gc.batch-size:100}")
+    private int batchSize;
+
+    @Value("${image.gc.batch-interval:2s}")
+    private Duration batchInterval;
+
+    @Value("${image.gc.max-deletions-per-run:5000}")
+    private int maxDeletionsPerRun;
+
+    @Value("${image.gc.scheduled-dry-run:true}")
+    private boolean scheduledDryRun;
+
+    public ImageGarbageCollectorImpl(TravelBlogRepo travelBlogRepo,
+                                     ImageUploadService imageUploadService,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry) {
+        this.travelBlogRepo = travelBlogRepo;
+        this.imageUploadService = imageUploadService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.completedRuns = Counter.builder("image.gc.runs").tag("outcome", "completed").register(meterRegistry);
+        this.failedRuns = Counter.builder("image.gc.runs").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${image.gc.cron:-}")
+    public void scheduledCollect() {
+        OrphanImageReportDto report = collect(scheduledDryRun);
+        log.info("Scheduled image garbage collection finished: {}", report);
+    }
+
+    @Override
+    public OrphanImageReportDto collect(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidActionException("Image garbage collection is already running");
+        }
+        try {
+            OrphanImageReportDto report = sweep(mark(), dryRun);
+            completedRuns.increment();
+            return report;
+        } catch (RuntimeException e) {
+            failedRuns.increment();
+            throw e;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private LongHashSet mark() {
+        int expected = (int) Math.min(Integer.MAX_VALUE / 2, travelBlogRepo.count() * PHOTO_COLUMNS);
+        LongHashSet referenced = new LongHashSet(expected);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = travelBlogRepo.streamPhotoUrls()) {
+                rows.forEach(row -> {
+                    for (Object url : row) {
+                        if (url != null) {
+                            referenced.add(LongHashSet.hash64(fileName((String) url)));
+                        }
+                    }
+                });
+            }
+        });
+        return referenced;
+    }
+
+    private OrphanImageReportDto sweep(LongHashSet referenced, boolean dryRun) {
+        Instant startedAt = Instant.now();
+        Instant cutoff = startedAt.minus(gracePeriod);
+        SweepStats stats = new SweepStats();
+        List<String> batch = new ArrayList<>(batchSize);
+
+        String pageToken = null;
+        do {
+            StoredImagePage page = imageUploadService.listImages(pageToken, pageSize);
+            for (String url : page.imageUrls()) {
+                stats.scanned++;
+                String fileName = fileName(url);
+                if (referenced.contains(LongHashSet.hash64(fileName))) {
+                    continue;
+                }
+                Instant uploadedAt = uploadedAt(fileName);
+                if (uploadedAt == null) {
+                    stats.unknownAge++;
+                    continue;
+                }
+                if (uploadedAt.isAfter(cutoff)) {
+                    stats.recent++;
+                    continue;
+                }
+                stats.orphaned++;
+                if (stats.sample.size() < SAMPLE_SIZE) {
+                    stats.sample.add(url);
+                }
+                if (!dryRun && stats.queued < maxDeletionsPerRun) {
+                    batch.add(url);
+                    stats.queued++;
+                    if (batch.size() == batchSize) {
+                        deleteBatch(batch, stats);
+                    }
+                }
+            }
+            pageToken = page.nextPageToken();
+        } while (pageToken != null);
+        if (!batch.isEmpty()) {
+            deleteBatch(batch, stats);
+        }
+
+        return new OrphanImageReportDto(
+                dryRun,
+                referenced.size(),
+                stats.scanned,
+                stats.orphaned,
+                stats.deleted,
+                stats.failed,
+                stats.recent,
+                stats.unknownAge,
+                List.copyOf(stats.sample),
+                startedAt,
+                Duration.between(startedAt, Instant.now()).toMillis()
+        );
+    }
+
+    private void deleteBatch(List<String> batch, SweepStats stats) {
+        // Pace the batches so that a large backlog does not exhaust the storage API rate limit
+        if (stats.batches++ > 0) {
+            try {
+                Thread.sleep(batchInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while collecting orphaned images", e);
+            }
+        }
+        try {
+            imageUploadService.deleteImages(List.copyOf(batch));
+            stats.deleted += batch.size();
+        } catch (Exception e) {
+            stats.failed += batch.size();
+            log.warn("Failed to delete {} orphaned images", batch.size(), e);
+        }
+        batch.clear();
+    }
+
+    private static String fileName(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Upload time encoded in the file name prefix, or null for names not generated by the app.
+     */
+    private static Instant uploadedAt(String fileName) {
+        if (fileName.length() < 15) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(fileName.substring(0, 15), FILE_TIMESTAMP)
+                    .atZone(ZoneId.systemDefault())
+                    .toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static final class SweepStats {
+        long scanned;
+        long orphaned;
+        long recent;
+        long unknownAge;
+        long queued;
+        long deleted;
+        long failed;
+        int batches;
+        final List<String> sample = new ArrayList<>();
+    }
+}
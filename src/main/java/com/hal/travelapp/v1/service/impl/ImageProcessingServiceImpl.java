@@ -0,0 +1,109 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.service.ImageProcessingService;
+import com.hal.travelapp.v1.service.image.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+@Service
+public class ImageProcessingServiceImpl implements ImageProcessingService {
+
+    private static final int PLACEHOLDER_EDGE = 16;
+
+    private final float jpegQuality;
+    private final float placeholderQuality;
+
+    public ImageProcessingServiceImpl(@Value("${image.processing.jpeg-quality:0.82}") float jpegQuality,
+                                      @Value("${image.processing.placeholder-quality:0.4}") float placeholderQuality) {
+        this.jpegQuality = jpegQuality;
+        this.placeholderQuality = placeholderQuality;
+    }
+
+    @Override
+    public DecodedImage decode(byte[] content) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("File must be a readable image", e);
+        }
+        if (image == null) {
+            throw new IllegalArgumentException("File must be a JPEG, PNG or GIF image");
+        }
+
+        BufferedImage upright = ImageResizer.applyOrientation(image, ExifOrientation.read(content));
+        return new DecodedImage(upright, upright.getColorModel().hasAlpha());
+    }
+
+    @Override
+    public ProcessedImage render(DecodedImage image, ImageVariant variant) {
+        BufferedImage resized = ImageResizer.resizeToFit(image.image(), variant.maxEdge());
+        try {
+            if (image.hasAlpha()) {
+                return new ProcessedImage(writePng(resized), "image/png", ".png", resized.getWidth(), resized.getHeight());
+            }
+            return new ProcessedImage(writeJpeg(resized, jpegQuality), "image/jpeg", ".jpg", resized.getWidth(), resized.getHeight());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode " + variant.suffix() + " variant", e);
+        }
+    }
+
+    @Override
+    public String placeholder(DecodedImage image) {
+        BufferedImage tiny = ImageResizer.resizeToFit(image.image(), PLACEHOLDER_EDGE);
+        BufferedImage opaque = new BufferedImage(tiny.getWidth(), tiny.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = opaque.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, opaque.getWidth(), opaque.getHeight());
+            g.drawImage(tiny, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        try {
+            return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(writeJpeg(opaque, placeholderQuality));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode placeholder", e);
+        }
+    }
+
+    @Override
+    public long perceptualHash(DecodedImage image) {
+        return PerceptualHash.of(image.image());
+    }
+
+    private byte[] writeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,322 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.dto.CursorPageResult;
+import com.hal.travelapp.v1.dto.ModerationAuditEntryDto;
+import com.hal.travelapp.v1.entity.domain.ModerationAuditEntry;
+import com.hal.travelapp.v1.entity.enums.AuditTargetType;
+import com.hal.travelapp.v1.repository.ModerationAuditRepo;
+import com.hal.travelapp.v1.repository.specification.ModerationAuditSpecifications;
+import com.hal.travelapp.v1.service.ModerationAuditLog;
+import com.hal.travelapp.v1.utils.KeysetCursor;
+import com.hal.travelapp.v1.utils.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Admin requests only pay for a lock-free enqueue; a single writer thread drains the ring
+ * buffer and inserts entries with JDBC batches, one transaction per batch. When the buffer is
+ * full, producers wait up to {@code offer-timeout} for room and then insert their entries
+ * themselves, so a slow database slows moderation down instead of losing entries. On shutdown
+ * the writer stops taking new work and flushes whatever is still buffered.
+ */
+@Service
+@Slf4j
+public class ModerationAuditLogImpl implements ModerationAuditLog {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final long OFFER_RETRY_NANOS = Duration.ofMillis(1).toNanos();
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "occurredAt", "id");
+
+    private static final String INSERT_SQL = """
+        INSERT INTO moderation_audit_tbl
+            (occurred_at, actor_id, target_type, target_id, action, from_status, to_status, reason)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private final ModerationAuditRepo moderationAuditRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final MpscRingBuffer<Event> buffer;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+
+    private final Counter batchedCounter;
+    private final Counter directCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ModerationAuditLogImpl(ModerationAuditRepo moderationAuditRepo,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${moderation.audit.buffer-capacity:8192}") int bufferCapacity,
+                                  @Value("${moderation.audit.batch-size:200}") int batchSize,
+                                  @Value("${moderation.audit.flush-interval:200ms}") Duration flushInterval,
+                                  @Value("${moderation.audit.offer-timeout:50ms}") Duration offerTimeout,
+                                  @Value("${moderation.audit.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.moderationAuditRepo = moderationAuditRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        // Also used from afterCommit callbacks, where the finished transaction is still bound
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.buffer = new MpscRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("moderation.audit.buffer.depth", buffer, MpscRingBuffer::size)
+                .description("Audit entries waiting for the writer")
+                .register(meterRegistry);
+        this.batchedCounter = Counter.builder("moderation.audit.written").tag("path", "batch").register(meterRegistry);
+        this.directCounter = Counter.builder("moderation.audit.written").tag("path", "direct").register(meterRegistry);
+        this.failedCounter = Counter.builder("moderation.audit.write.failures").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("moderation-audit-writer").daemon(true).start(this::runWriter);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            flushRemaining(new ArrayList<>());
+            return;
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.error("Audit writer did not finish within {}, {} entries may be lost", shutdownTimeout, buffer.size());
+        }
+    }
+
+    @Override
+    public void record(Event event) {
+        recordAll(List.of(event));
+    }
+
+    @Override
+    public void recordAll(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(events);
+                }
+            });
+        } else {
+            enqueue(events);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResult<ModerationAuditEntryDto> search(Long actorId, String targetType, Long targetId,
+                                                            Instant from, Instant to, String cursor, int pageSize) {
+        int size = Math.clamp(pageSize, 1, MAX_PAGE_SIZE);
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        AuditTargetType type = targetType == null || targetType.isBlank() ? null : AuditTargetType.parse(targetType);
+
+        List<ModerationAuditEntry> rows = moderationAuditRepo.findBy(
+                searchSpecification(actorId, type, targetId, from, to, before),
+                query -> query.sortBy(NEWEST_FIRST).limit(size + 1).all()); // Fetch one extra to check if there's more
+
+        boolean hasNext = rows.size() > size;
+        List<ModerationAuditEntry> page = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ModerationAuditEntry last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getOccurredAt(), last.getId()).encode();
+        }
+
+        return CursorPageResult.of(page.stream().map(this::mapToDto).toList(), nextCursor, hasNext, size);
+    }
+
+    /**
+     * Only the filters given, so each one can use its index
+     */
+    private static Specification<ModerationAuditEntry> searchSpecification(Long actorId, AuditTargetType targetType,
+                                                                         Long targetId, Instant from, Instant to,
+                                                                         KeysetCursor before) {
+        List<Specification<ModerationAuditEntry>> parts = new ArrayList<>();
+        if (actorId != null) {
+            parts.add(ModerationAuditSpecifications.byActor(actorId));
+        }
+        if (targetType != null) {
+            parts.add(ModerationAuditSpecifications.onTargetType(targetType));
+        }
+        if (targetId != null) {
+            parts.add(ModerationAuditSpecifications.onTarget(targetId));
+        }
+        if (from != null) {
+            parts.add(ModerationAuditSpecifications.occurredFrom(from));
+        }
+        if (to != null) {
+            parts.add(ModerationAuditSpecifications.occurredBefore(to));
+        }
+        if (before != null) {
+            parts.add(ModerationAuditSpecifications.olderThan(before.createdAt(), before.id()));
+        }
+        return Specification.allOf(parts);
+    }
+
+    private void enqueue(List<Event> events) {
+        List<Event> overflow = null;
+        for (Event event : events) {
+            if (!offer(event)) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(event);
+            }
+        }
+        if (buffer.size() >= batchSize && writer != null) {
+            LockSupport.unpark(writer);
+        }
+        if (overflow != null) {
+            log.warn("Audit buffer full, writing {} entries directly", overflow.size());
+            try {
+                insert(overflow);
+                directCounter.increment(overflow.size());
+            } catch (RuntimeException e) {
+                // The decision itself is already committed, so the caller must not see a failure
+                failedCounter.increment(overflow.size());
+                log.error("Failed to write {} audit entries", overflow.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Waits up to the offer timeout for room in the buffer, waking the writer to make some
+     */
+    private boolean offer(Event event) {
+        if (!running) {
+            // Nothing drains the buffer any more
+            return false;
+        }
+        if (buffer.offer(event)) {
+            return true;
+        }
+        long deadline = System.nanoTime() + offerTimeout.toNanos();
+        do {
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+            LockSupport.parkNanos(OFFER_RETRY_NANOS);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        } while (System.nanoTime() < deadline);
+        return false;
+    }
+
+    private void runWriter() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running) {
+            buffer.drain(batch::add, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(flushInterval.toNanos());
+                continue;
+            }
+            if (!writeBatch(batch)) {
+                // Keep the batch and retry; producers fall back to direct writes meanwhile
+                LockSupport.parkNanos(flushInterval.toNanos());
+            }
+        }
+        flushRemaining(batch);
+    }
+
+    private void flushRemaining(List<Event> batch) {
+        do {
+            buffer.drain(batch::add, batchSize - batch.size());
+        } while (!batch.isEmpty() && writeBatch(batch));
+        if (!batch.isEmpty()) {
+            log.error("Dropping {} audit entries on shutdown", batch.size() + buffer.size());
+        }
+    }
+
+    private boolean writeBatch(List<Event> batch) {
+        try {
+            insert(batch);
+            batchedCounter.increment(batch.size());
+            batch.clear();
+            return true;
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.warn("Failed to write a batch of {} audit entries", batch.size(), e);
+            return false;
+        }
+    }
+
+    private void insert(List<Event> events) {
+        writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+                    ps.setTimestamp(1, Timestamp.from(event.occurredAt()));
+                    ps.setLong(2, event.actorId());
+                    ps.setString(3, event.targetType().name());
+                    ps.setLong(4, event.targetId());
+                    ps.setString(5, event.action().name());
+                    ps.setString(6, event.fromStatus());
+                    ps.setString(7, event.toStatus());
+                    ps.setString(8, truncate(event.reason()));
+                }));
+    }
+
+    private ModerationAuditEntryDto mapToDto(ModerationAuditEntry entry) {
+        return new ModerationAuditEntryDto(
+                entry.getId(),
+                entry.getOccurredAt(),
+                entry.getActorId(),
+                entry.getTargetType().name(),
+                entry.getTargetId(),
+                entry.getAction().name(),
+                entry.getFromStatus(),
+                entry.getToStatus(),
+                entry.getReason()
+        );
+    }
+
+    private static String truncate(String reason) {
+        if (reason == null) {
+            return null;
+        }
+        return reason.length() <= 1000 ? reason : reason.substring(0, 1000);
+    }
+}
@@ -0,0 +1,88 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
+import com.hal.travelapp.v1.dto.ModerationClaimDto;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
+import com.hal.travelapp.v1.entity.domain.CertifiedUserRequest;
+import com.hal.travelapp.v1.repository.BlogLikeRepo;
+import com.hal.travelapp.v1.repository.CertifiedUserRequestRepo;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.ModerationClaimService;
+import com.hal.travelapp.v1.service.mapper.BlogMapper;
+import com.hal.travelapp.v1.service.mapper.CertifiedUserRequestMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Spreads the pending queues across moderators. A claim stamps the moderator and a lease
+ * expiry on the next rows with {@code FOR UPDATE SKIP LOCKED}; expired leases need no cleanup
+ * because the claim query treats them as unclaimed.
+ */
+@Service
+@Transactional
+public class ModerationClaimServiceImpl implements ModerationClaimService {
+
+    private final TravelBlogRepo travelBlogRepo;
+    private final CertifiedUserRequestRepo certifiedUserRequestRepo;
+    private final BlogLikeRepo blogLikeRepo;
+    private final Duration lease;
+    private final int maxClaim;
+
+    public ModerationClaimServiceImpl(TravelBlogRepo travelBlogRepo,
+                                      CertifiedUserRequestRepo certifiedUserRequestRepo,
+                                      BlogLikeRepo blogLikeRepo,
+                                      @Value("${moderation.claim.lease:15m}") Duration lease,
+                                      @Value("${moderation.claim.max-count:50}") int maxClaim) {
+        this.travelBlogRepo = travelBlogRepo;
+        this.certifiedUserRequestRepo = certifiedUserRequestRepo;
+        this.blogLikeRepo = blogLikeRepo;
+        this.lease = lease;
+        this.maxClaim = maxClaim;
+    }
+
+    @Override
+    public ModerationClaimDto<BlogCardDto> claimBlogs(Long moderatorId, int count) {
+        Instant now = Instant.now();
+        Instant leaseUntil = now.plus(lease);
+        List<Long> ids = travelBlogRepo.claimPending(moderatorId, now, leaseUntil, Math.clamp(count, 1, maxClaim));
+        if (ids.isEmpty()) {
+            return new ModerationClaimDto<>(List.of(), leaseUntil);
+        }
+
+        List<BlogCardDto> cards = BlogMapper.toCardDtos(travelBlogRepo.findCardsByIds(ids), blogLikeRepo.countLikesByBlogIds(ids));
+        return new ModerationClaimDto<>(cards, leaseUntil);
+    }
+
+    @Override
+    public ModerationClaimDto<CertifiedUserRequestDto> claimCertificationRequests(Long moderatorId, int count) {
+        Instant now = Instant.now();
+        Instant leaseUntil = now.plus(lease);
+        List<Long> ids = certifiedUserRequestRepo.claimPending(moderatorId, now, leaseUntil, Math.clamp(count, 1, maxClaim));
+        if (ids.isEmpty()) {
+            return new ModerationClaimDto<>(List.of(), leaseUntil);
+        }
+
+        List<CertifiedUserRequestDto> requests = certifiedUserRequestRepo.findAllById(ids).stream()
+                .sorted(Comparator.comparing(CertifiedUserRequest::getCreatedAt).thenComparing(CertifiedUserRequest::getId))
+                .map(CertifiedUserRequestMapper::toDto)
+                .toList();
+        return new ModerationClaimDto<>(requests, leaseUntil);
+    }
+
+    @Override
+    public int releaseBlogs(Long moderatorId, Collection<Long> blogIds) {
+        return blogIds.isEmpty() ? 0 : travelBlogRepo.releaseClaims(moderatorId, blogIds);
+    }
+
+    @Override
+    public int releaseCertificationRequests(Long moderatorId, Collection<Long> requestIds) {
+        return requestIds.isEmpty() ? 0 : certifiedUserRequestRepo.releaseClaims(moderatorId, requestIds);
+    }
+}
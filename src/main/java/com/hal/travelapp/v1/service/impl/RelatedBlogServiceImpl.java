@@ -0,0 +1,201 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.exception.InvalidActionException;
+import com.hal.travelapp.v1.repository.BlogLikeRepo;
+import com.hal.travelapp.v1.repository.RelatedBlogRepo;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.RelatedBlogService;
+import com.hal.travelapp.v1.service.search.RelatedBlogGraph;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Runs in three passes: the approved blogs are read in id pages, every like is streamed once in
+ * user order into a {@link RelatedBlogGraph}, and the top entries of each blog are written in
+ * batches, each batch replacing the rows of its blogs in one transaction. Memory grows with the
+ * number of blogs and the pair bound, not with the number of likes.
+ */
+@Service
+@Slf4j
+public class RelatedBlogServiceImpl implements RelatedBlogService {
+
+    private static final String INSERT_RELATED = """
+            INSERT INTO related_blog_tbl (blog_id, rank, related_blog_id, score) VALUES (?, ?, ?, ?)
+            """;
+
+    private final TravelBlogRepo travelBlogRepo;
+    private final BlogLikeRepo blogLikeRepo;
+    private final RelatedBlogRepo relatedBlogRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${related.top-k:12}")
+    private int topK;
+
+    @Value("${related.page-size:1000}")
+    private int pageSize;
+
+    @Value("${related.max-pairs:2000000}")
+    private int maxPairs;
+
+    /**
+     * Only a user's newest likes count, so one prolific liker cannot flood the pair map
+     */
+    @Value("${related.max-likes-per-user:100}")
+    private int maxLikesPerUser;
+
+    public RelatedBlogServiceImpl(TravelBlogRepo travelBlogRepo,
+                                  BlogLikeRepo blogLikeRepo,
+                                  RelatedBlogRepo relatedBlogRepo,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.travelBlogRepo = travelBlogRepo;
+        this.blogLikeRepo = blogLikeRepo;
+        this.relatedBlogRepo = relatedBlogRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${related.cron:0 0 4 * * *}")
+    public void scheduledRecompute() {
+        try {
+            recompute();
+        } catch (RuntimeException e) {
+            log.error("Failed to recompute related blogs", e);
+        }
+    }
+
+    @Override
+    public int recompute() {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidActionException("Related blogs are already being recomputed");
+        }
+        try {
+            long started = System.nanoTime();
+            RelatedBlogGraph graph = loadBlogs();
+            long likes = countLikes(graph);
+            long rows = write(graph);
+            log.info("Recomputed related blogs for {} blogs from {} likes, {} rows written in {} ms",
+                    graph.size(), likes, rows, (System.nanoTime() - started) / 1_000_000);
+            return graph.size();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private RelatedBlogGraph loadBlogs() {
+        long[] blogIds = new long[pageSize];
+        long[] cityIds = new long[pageSize];
+        long[][] categoryIds = new long[pageSize][];
+        int count = 0;
+
+        long afterId = 0;
+        List<TravelBlogRepo.ListingRowView> page;
+        do {
+            page = travelBlogRepo.findListingRows(afterId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            Map<Long, List<Long>> categories = new HashMap<>();
+            travelBlogRepo.findCategoryIdsByBlogIds(page.stream().map(TravelBlogRepo.ListingRowView::getId).toList())
+                    .forEach(link -> categories.computeIfAbsent(link.getBlogId(), id -> new ArrayList<>()).add(link.getCategoryId()));
+
+            if (count + page.size() > blogIds.length) {
+                int capacity = Math.max(blogIds.length * 2, count + page.size());
+                blogIds = Arrays.copyOf(blogIds, capacity);
+                cityIds = Arrays.copyOf(cityIds, capacity);
+                categoryIds = Arrays.copyOf(categoryIds, capacity);
+            }
+            for (TravelBlogRepo.ListingRowView row : page) {
+                blogIds[count] = row.getId();
+                cityIds[count] = row.getCityId() != null ? row.getCityId() : 0L;
+                categoryIds[count] = categories.getOrDefault(row.getId(), List.of()).stream()
+                        .mapToLong(Long::longValue)
+                        .sorted()
+                        .toArray();
+                count++;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        } while (page.size() == pageSize);
+
+        return new RelatedBlogGraph(Arrays.copyOf(blogIds, count), Arrays.copyOf(cityIds, count),
+                Arrays.copyOf(categoryIds, count), maxPairs);
+    }
+
+    /**
+     * Feeds each user's newest likes of approved blogs to the graph
+     *
+     * @return how many likes were counted
+     */
+    private long countLikes(RelatedBlogGraph graph) {
+        int[] userLikes = new int[maxLikesPerUser];
+        long[] counted = new long[1];
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = blogLikeRepo.streamLikesByUser()) {
+                long[] currentUser = {Long.MIN_VALUE};
+                int[] likes = new int[1];
+                rows.forEach(row -> {
+                    long userId = (Long) row[0];
+                    if (userId != currentUser[0]) {
+                        graph.addLikes(userLikes, likes[0]);
+                        counted[0] += likes[0];
+                        currentUser[0] = userId;
+                        likes[0] = 0;
+                    }
+                    int blog = graph.indexOf((Long) row[1]);
+                    if (blog >= 0 && likes[0] < userLikes.length) {
+                        userLikes[likes[0]++] = blog;
+                    }
+                });
+                graph.addLikes(userLikes, likes[0]);
+                counted[0] += likes[0];
+            }
+        });
+        return counted[0];
+    }
+
+    /**
+     * @return how many rows were written
+     */
+    private long write(RelatedBlogGraph graph) {
+        long written = 0;
+        for (int from = 0; from < graph.size(); from += pageSize) {
+            int to = Math.min(graph.size(), from + pageSize);
+            List<Long> blogIds = new ArrayList<>(to - from);
+            List<Object[]> rows = new ArrayList<>((to - from) * topK);
+            for (int index = from; index < to; index++) {
+                long blogId = graph.blogId(index);
+                blogIds.add(blogId);
+                List<RelatedBlogGraph.Related> related = graph.related(index, topK);
+                for (int rank = 0; rank < related.size(); rank++) {
+                    rows.add(new Object[]{blogId, rank, related.get(rank).blogId(), related.get(rank).score()});
+                }
+            }
+            transaction.executeWithoutResult(status -> {
+                relatedBlogRepo.deleteByBlogIds(blogIds);
+                jdbcTemplate.batchUpdate(INSERT_RELATED, rows);
+            });
+            written += rows.size();
+        }
+        transaction.executeWithoutResult(status -> relatedBlogRepo.deleteOfUnapprovedBlogs());
+        return written;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.dto.AdminStatsDto;
+import com.hal.travelapp.v1.entity.domain.TravelBlog;
+import com.hal.travelapp.v1.entity.enums.RoleEnum;
+import com.hal.travelapp.v1.repository.StatCounterRepo;
+import com.hal.travelapp.v1.service.StatCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Counters are striped: each increment upserts one of {@code stripes} rows chosen at random,
+ * and reads sum the stripes. Transactions updating the same counter therefore rarely wait on
+ * each other's row lock. A periodic reconciliation recounts the source tables and adds the
+ * difference, which repairs drift from writes that bypass the services.
+ * <p>
+ * The recount and the stripe sums are read from one REPEATABLE READ snapshot. Increments commit
+ * together with the rows they count, so a write landing during the run is in both or in neither,
+ * and the drift of the snapshot stays right once it is applied afterwards.
+ */
+@Service
+@Slf4j
+public class StatCounterServiceImpl implements StatCounterService {
+
+    private final StatCounterRepo statCounterRepo;
+    private final int stripes;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    public StatCounterServiceImpl(StatCounterRepo statCounterRepo,
+                                  @Value("${stats.counter.stripes:16}") int stripes,
+                                  PlatformTransactionManager transactionManager) {
+        this.statCounterRepo = statCounterRepo;
+        this.stripes = stripes;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public void add(String counter, long delta) {
+        if (delta != 0) {
+            statCounterRepo.add(counter, ThreadLocalRandom.current().nextInt(stripes), delta);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AdminStatsDto getStats() {
+        Map<String, Long> totals = totals();
+
+        Map<String, Long> blogsByStatus = new LinkedHashMap<>();
+        for (TravelBlog.BlogStatus status : TravelBlog.BlogStatus.values()) {
+            blogsByStatus.put(status.name(), totals.getOrDefault(StatCounterService.blogStatus(status), 0L));
+        }
+        Map<String, Long> usersByRole = new LinkedHashMap<>();
+        for (RoleEnum role : RoleEnum.values()) {
+            usersByRole.put(role.name(), totals.getOrDefault(StatCounterService.userRole(role), 0L));
+        }
+
+        return new AdminStatsDto(
+                blogsByStatus,
+                usersByRole,
+                totals.getOrDefault(PENDING_CERTIFICATIONS, 0L),
+                totals.getOrDefault(StatCounterService.likesOn(Instant.now()), 0L)
+        );
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${stats.counter.reconcile-interval:1h}",
+            initialDelayString = "${stats.counter.reconcile-initial-delay:1m}")
+    public void reconcile() {
+        Instant startOfDay = Instant.now().atOffset(ZoneOffset.UTC).toLocalDate().atStartOfDay(ZoneOffset.UTC).toInstant();
+        String likesToday = StatCounterService.likesOn(startOfDay);
+        Map<String, Long> drifts = snapshotTransaction.execute(status -> drifts(startOfDay, likesToday));
+
+        // Written outside the snapshot, whose upserts would fail on stripes updated since it began
+        writeTransaction.executeWithoutResult(status -> {
+            statCounterRepo.deleteByPrefixExcept(LIKES_DAY_PREFIX + "%", likesToday);
+            drifts.forEach((counter, drift) -> {
+                log.info("Correcting counter {} by {}", counter, drift);
+                add(counter, drift);
+            });
+        });
+    }
+
+    /**
+     * Actual value minus counted total, for every counter that is off
+     */
+    private Map<String, Long> drifts(Instant startOfDay, String likesToday) {
+        Map<String, Long> actual = new HashMap<>();
+        for (TravelBlog.BlogStatus status : TravelBlog.BlogStatus.values()) {
+            actual.put(StatCounterService.blogStatus(status), 0L);
+        }
+        for (Object[] row : statCounterRepo.countBlogsByStatus()) {
+            actual.put(StatCounterService.blogStatus((TravelBlog.BlogStatus) row[0]), (Long) row[1]);
+        }
+        for (RoleEnum role : RoleEnum.values()) {
+            actual.put(StatCounterService.userRole(role), 0L);
+        }
+        for (Object[] row : statCounterRepo.countUsersByRole()) {
+            actual.put(StatCounterService.userRole((RoleEnum) row[0]), (Long) row[1]);
+        }
+        actual.put(PENDING_CERTIFICATIONS, statCounterRepo.countPendingCertifications());
+        actual.put(likesToday, statCounterRepo.countLikesSince(startOfDay));
+
+        Map<String, Long> counted = totals();
+        Map<String, Long> drifts = new HashMap<>();
+        actual.forEach((counter, value) -> {
+            long drift = value - counted.getOrDefault(counter, 0L);
+            if (drift != 0) {
+                drifts.put(counter, drift);
+            }
+        });
+        return drifts;
+    }
+
+    private Map<String, Long> totals() {
+        Map<String, Long> totals = new HashMap<>();
+        statCounterRepo.sumByName().forEach(total -> totals.put(total.getName(), total.getTotal()));
+        return totals;
+    }
+}
@@ -0,0 +1,107 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.dto.SuggestionDto;
+import com.hal.travelapp.v1.event.BlogChangedEvent;
+import com.hal.travelapp.v1.repository.CityRepo;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.repository.TravelCategoryRepo;
+import com.hal.travelapp.v1.service.SuggestionService;
+import com.hal.travelapp.v1.service.search.SuggestionTrie;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cities and categories are weighted by their number of approved blogs, titles by their likes.
+ * Cities and categories have no write path in this API, so besides rebuilding after blog changes
+ * the index is refreshed periodically to pick up reference data and like counts.
+ */
+@Service
+@Slf4j
+public class SuggestionServiceImpl implements SuggestionService {
+
+    private static final int MAX_LIMIT = 10;
+
+    private final CityRepo cityRepo;
+    private final TravelCategoryRepo travelCategoryRepo;
+    private final TravelBlogRepo travelBlogRepo;
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("suggestion-rebuild").daemon(true).factory());
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile SuggestionTrie<SuggestionDto> trie = SuggestionTrie.empty();
+
+    public SuggestionServiceImpl(CityRepo cityRepo, TravelCategoryRepo travelCategoryRepo, TravelBlogRepo travelBlogRepo) {
+        this.cityRepo = cityRepo;
+        this.travelCategoryRepo = travelCategoryRepo;
+        this.travelBlogRepo = travelBlogRepo;
+    }
+
+    @Override
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return trie.suggest(prefix, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        requestRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${suggest.refresh-interval:10m}", initialDelayString = "${suggest.refresh-interval:10m}")
+    public void refreshPeriodically() {
+        requestRebuild();
+    }
+
+    @Override
+    public void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                // Cleared before reading, so a change during the build queues one more
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Failed to rebuild the suggestion index", e);
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        requestRebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        long started = System.nanoTime();
+        List<SuggestionTrie.Entry<SuggestionDto>> entries = new ArrayList<>();
+        cityRepo.findSuggestions().forEach(city -> entries.add(new SuggestionTrie.Entry<>(city.getName(), city.getWeight(),
+                new SuggestionDto(SuggestionDto.Type.CITY, city.getId(), city.getName()))));
+        travelCategoryRepo.findSuggestions().forEach(category -> entries.add(new SuggestionTrie.Entry<>(category.getName(),
+                category.getWeight(), new SuggestionDto(SuggestionDto.Type.CATEGORY, category.getId(), category.getName()))));
+        travelBlogRepo.findTitleSuggestions().forEach(blog -> entries.add(new SuggestionTrie.Entry<>(blog.getName(),
+                blog.getWeight(), new SuggestionDto(SuggestionDto.Type.BLOG, blog.getId(), blog.getName()))));
+
+        trie = SuggestionTrie.build(entries, MAX_LIMIT);
+        log.info("Built suggestion index with {} entries in {} ms", entries.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,253 @@
+package com.hal.travelapp.v1.service.impl;
+
+import com.hal.travelapp.v1.dto.upload.UploadSessionDto;
+import com.hal.travelapp.v1.exception.InvalidActionException;
+import com.hal.travelapp.v1.exception.ResourceNotFoundException;
+import com.hal.travelapp.v1.service.UploadSessionService;
+import com.hal.travelapp.v1.service.image.PhotoSource;
+import com.hal.travelapp.v1.service.image.PhotoUploadValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Upload sessions live in memory and stage their bytes in one temp file each. Chunks are
+ * written at their offset with positional {@link FileChannel} writes, so a retried chunk
+ * overwrites its earlier attempt. Sessions idle for longer than the TTL are removed, files
+ * included; files left behind by a previous process are removed the same way.
+ */
+@Service
+@Slf4j
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final PhotoUploadValidator photoUploadValidator;
+    private final Path stagingDir;
+    private final Duration sessionTtl;
+    private final int maxSessionsPerOwner;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public UploadSessionServiceImpl(PhotoUploadValidator photoUploadValidator,
+                                    @Value("${image.upload.staging-dir:${java.io.tmpdir}/travel-app-uploads}") Path stagingDir,
+                                    @Value("${image.upload.session-ttl:24h}") Duration sessionTtl,
+                                    @Value("${image.upload.max-sessions-per-user:20}") int maxSessionsPerOwner) throws IOException {
+        this.photoUploadValidator = photoUploadValidator;
+        this.stagingDir = Files.createDirectories(stagingDir);
+        this.sessionTtl = sessionTtl;
+        this.maxSessionsPerOwner = maxSessionsPerOwner;
+    }
+
+    @Override
+    public UploadSessionDto createSession(String fileName, long totalSize, Long ownerId) {
+        photoUploadValidator.checkSize(fileName, totalSize);
+        long openSessions = sessions.values().stream().filter(s -> s.ownerId.equals(ownerId)).count();
+        if (openSessions >= maxSessionsPerOwner) {
+            throw new InvalidActionException("Too many open upload sessions, finish or abort one first");
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        Path file = stagingDir.resolve(uploadId + ".part");
+        try {
+            Files.createFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create upload session", e);
+        }
+        UploadSession session = new UploadSession(uploadId, ownerId, fileName, totalSize, file, Instant.now());
+        sessions.put(uploadId, session);
+        return toDto(session);
+    }
+
+    @Override
+    public UploadSessionDto getSession(String uploadId, Long ownerId) {
+        return toDto(find(uploadId, ownerId));
+    }
+
+    @Override
+    public UploadSessionDto writeChunk(String uploadId, long offset, InputStream chunk, Long ownerId) {
+        UploadSession session = find(uploadId, ownerId);
+        synchronized (session) {
+            if (session.finalized) {
+                throw new InvalidActionException("Upload " + uploadId + " is already finalized");
+            }
+            if (offset < 0 || offset > session.receivedBytes) {
+                throw new InvalidActionException("Chunk offset " + offset + " is invalid, the next expected offset is "
+                        + session.receivedBytes);
+            }
+
+            long position = offset;
+            try (FileChannel channel = FileChannel.open(session.file, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+                byte[] bytes = buffer.array();
+                int read;
+                while ((read = chunk.read(bytes)) != -1) {
+                    if (position + read > session.totalSize) {
+                        throw new InvalidActionException("Chunk runs past the declared size of " + session.totalSize + " bytes");
+                    }
+                    buffer.clear().limit(read);
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write chunk of upload " + uploadId, e);
+            } finally {
+                // Whatever was written contiguously still counts, so the client can resume from it
+                session.receivedBytes = Math.max(session.receivedBytes, position);
+                session.lastActivity = Instant.now();
+            }
+            return toDto(session);
+        }
+    }
+
+    @Override
+    public UploadSessionDto finalizeSession(String uploadId, Long ownerId) {
+        UploadSession session = find(uploadId, ownerId);
+        synchronized (session) {
+            if (!session.finalized) {
+                if (session.receivedBytes != session.totalSize) {
+                    throw new InvalidActionException("Upload " + uploadId + " is incomplete: received "
+                            + session.receivedBytes + " of " + session.totalSize + " bytes");
+                }
+                photoUploadValidator.inspect(session.photo());
+                session.finalized = true;
+            }
+            session.lastActivity = Instant.now();
+            return toDto(session);
+        }
+    }
+
+    @Override
+    public void abortSession(String uploadId, Long ownerId) {
+        remove(find(uploadId, ownerId));
+    }
+
+    @Override
+    public PhotoSource stagedPhoto(String uploadId, Long ownerId) {
+        UploadSession session = find(uploadId, ownerId);
+        if (!session.finalized) {
+            throw new InvalidActionException("Upload " + uploadId + " has not been finalized");
+        }
+        return session.photo();
+    }
+
+    @Override
+    public void discard(Collection<String> uploadIds) {
+        for (String uploadId : uploadIds) {
+            UploadSession session = sessions.get(uploadId);
+            if (session != null) {
+                remove(session);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${image.upload.cleanup-interval:15m}")
+    public void removeExpiredSessions() {
+        Instant cutoff = Instant.now().minus(sessionTtl);
+        sessions.values().stream()
+                .filter(session -> session.lastActivity.isBefore(cutoff))
+                .toList()
+                .forEach(session -> {
+                    log.info("Removing abandoned upload session {}", session.uploadId);
+                    remove(session);
+                });
+
+        // Files of sessions lost with a previous process
+        try (Stream<Path> files = Files.list(stagingDir)) {
+            files.filter(file -> !sessions.containsKey(uploadIdOf(file)))
+                    .filter(file -> lastModified(file).isBefore(cutoff))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Failed to list upload staging directory {}", stagingDir, e);
+        }
+    }
+
+    private UploadSession find(String uploadId, Long ownerId) {
+        UploadSession session = sessions.get(uploadId);
+        // Someone else's session is reported as missing rather than forbidden
+        if (session == null || !Objects.equals(session.ownerId, ownerId)) {
+            throw new ResourceNotFoundException("Upload session not found with id: " + uploadId);
+        }
+        return session;
+    }
+
+    private void remove(UploadSession session) {
+        if (sessions.remove(session.uploadId, session)) {
+            deleteQuietly(session.file);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete staged upload {}", file, e);
+        }
+    }
+
+    private Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.MAX;
+        }
+    }
+
+    private static String uploadIdOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".part") ? name.substring(0, name.length() - ".part".length()) : name;
+    }
+
+    private UploadSessionDto toDto(UploadSession session) {
+        return new UploadSessionDto(
+                session.uploadId,
+                session.fileName,
+                session.totalSize,
+                session.receivedBytes,
+                session.finalized ? "FINALIZED" : "UPLOADING",
+                session.lastActivity.plus(sessionTtl)
+        );
+    }
+
+    private static final class UploadSession {
+        final String uploadId;
+        final Long ownerId;
+        final String fileName;
+        final long totalSize;
+        final Path file;
+        volatile long receivedBytes;
+        volatile boolean finalized;
+        volatile Instant lastActivity;
+
+        UploadSession(String uploadId, Long ownerId, String fileName, long totalSize, Path file, Instant createdAt) {
+            this.uploadId = uploadId;
+            this.ownerId = ownerId;
+            this.fileName = fileName;
+            this.totalSize = totalSize;
+            this.file = file;
+            this.lastActivity = createdAt;
+        }
+
+        PhotoSource photo() {
+            return PhotoSource.of(file, fileName, totalSize);
+        }
+    }
+}
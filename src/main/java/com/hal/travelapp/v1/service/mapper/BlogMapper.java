@@ -1,4 +1,45 @@
 package com.hal.travelapp.v1.service.mapper;
 
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
+import com.hal.travelapp.v1.repository.BlogLikeRepo;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class BlogMapper {
+
+    private BlogMapper() {
+        // Utility class - prevent instantiation
+    }
+
+    public static BlogCardDto toCardDto(TravelBlogRepo.BlogCardView row, long likeCount) {
+        return new BlogCardDto(
+                row.getId(),
+                row.getTitle(),
+                row.getMainPhotoThumbUrl(),
+                row.getMainPhotoPlaceholder(),
+                row.getCityId(),
+                row.getCityName(),
+                row.getAuthorId(),
+                row.getAuthorName(),
+                row.getStatus() != null ? row.getStatus().name() : null,
+                likeCount,
+                row.getCreatedAt()
+        );
+    }
+
+    /**
+     * Cards in the order of {@code rows}, joined with the grouped like counts of the same blogs;
+     * a blog without a count has no likes
+     */
+    public static List<BlogCardDto> toCardDtos(List<TravelBlogRepo.BlogCardView> rows,
+                                               List<BlogLikeRepo.LikeCount> likeCounts) {
+        Map<Long, Long> likesByBlog = new HashMap<>();
+        likeCounts.forEach(count -> likesByBlog.put(count.getBlogId(), count.getLikeCount()));
+        return rows.stream()
+                .map(row -> toCardDto(row, likesByBlog.getOrDefault(row.getId(), 0L)))
+                .toList();
+    }
 }
@@ -0,0 +1,26 @@
+package com.hal.travelapp.v1.service.mapper;
+
+import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
+import com.hal.travelapp.v1.entity.domain.CertifiedUserRequest;
+
+public class CertifiedUserRequestMapper {
+
+    private CertifiedUserRequestMapper() {
+        // Utility class - prevent instantiation
+    }
+
+    public static CertifiedUserRequestDto toDto(CertifiedUserRequest request) {
+        return new CertifiedUserRequestDto(
+                request.getId(),
+                request.getUser().getId(),
+                request.getUser().getName(),
+                request.getUser().getEmail(),
+                request.getStatus().name(),
+                request.getReviewedBy() != null ? request.getReviewedBy().getId() : null,
+                request.getReviewedBy() != null ? request.getReviewedBy().getName() : null,
+                request.getRejectionReason(),
+                request.getCreatedAt(),
+                request.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,330 @@
+package com.hal.travelapp.v1.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Column store of the blog attributes that list views filter and sort on, one primitive array
+ * per attribute. A query scans the columns, so filters cost no index maintenance, and keeps the
+ * best rows in a bounded heap; large stores are scanned in parallel chunks on the fork/join pool.
+ * <p>
+ * Removed rows leave a hole that the next insert reuses. Category ids are mapped to bit positions
+ * in the order they are first seen, and every row stores one bitset of {@code categoryWords} longs.
+ * <p>
+ * Not thread-safe: writers need exclusive access, readers can share it.
+ */
+public final class BlogColumnStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int CHUNK_SIZE = 16_384;
+    private static final long NONE = 0L;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] cityIds = new long[INITIAL_CAPACITY];
+    private int[] monthMasks = new int[INITIAL_CAPACITY];
+    private long[] likeCounts = new long[INITIAL_CAPACITY];
+    private long[] createdAts = new long[INITIAL_CAPACITY];
+    private long[] categoryBits = new long[INITIAL_CAPACITY];
+    private int categoryWords = 1;
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Map<Long, Integer> bitsByCategory = new HashMap<>();
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+
+    public enum Sort {
+        RECENT, LIKES
+    }
+
+    /**
+     * @param cityId         0 for any city
+     * @param categoryIds    empty for any category
+     * @param monthMask      0 for any month, otherwise rows sharing a month with the mask
+     * @param afterKey       with {@code afterId}, the position of the last row of the previous page
+     */
+    public record Query(long cityId, Collection<Long> categoryIds, boolean matchAllCategories, int monthMask,
+                        Sort sort, long afterKey, long afterId, int limit) {
+    }
+
+    /**
+     * @param key creation time in epoch milliseconds or like count, depending on the sort
+     */
+    public record Hit(long id, long key) {
+    }
+
+    public int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Inserts the blog or replaces all of its attributes
+     *
+     * @param cityId 0 for none
+     */
+    public void put(long id, long cityId, Collection<Long> categoryIds, int monthMask, long likeCount, long createdAt) {
+        Integer existing = slotsById.get(id);
+        int slot = existing != null ? existing : allocate(id);
+        ids[slot] = id;
+        cityIds[slot] = cityId;
+        monthMasks[slot] = monthMask;
+        likeCounts[slot] = likeCount;
+        createdAts[slot] = createdAt;
+
+        int categoryOffset = slot * categoryWords;
+        Arrays.fill(categoryBits, categoryOffset, categoryOffset + categoryWords, 0L);
+        for (long categoryId : categoryIds) {
+            int bit = bitOf(categoryId);
+            // Widening may have moved the row
+            categoryBits[slot * categoryWords + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public void remove(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        ids[slot] = NONE;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Matching rows ordered by {@code (key DESC, id DESC)} that come after the query's position
+     *
+     * @param parallelThreshold stores with at least this many slots are scanned in parallel
+     */
+    public List<Hit> find(Query query, int parallelThreshold) {
+        long[] categoryMask = new long[categoryWords];
+        for (long categoryId : query.categoryIds()) {
+            Integer bit = bitsByCategory.get(categoryId);
+            if (bit != null) {
+                categoryMask[bit >>> 6] |= 1L << bit;
+            } else if (query.matchAllCategories()) {
+                // No blog has ever had this category
+                return List.of();
+            }
+        }
+        boolean anyCategory = query.categoryIds().isEmpty();
+        if (!anyCategory && !query.matchAllCategories() && isEmpty(categoryMask)) {
+            return List.of();
+        }
+
+        boolean parallel = slotCount >= parallelThreshold;
+        Scan scan = new Scan(query, anyCategory ? null : categoryMask, parallel, 0, slotCount);
+        TopK top = parallel ? ForkJoinPool.commonPool().invoke(scan) : scan.compute();
+        return top.toHits();
+    }
+
+    private int allocate(long id) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == ids.length) {
+                grow(ids.length * 2);
+            }
+            slot = slotCount++;
+        }
+        slotsById.put(id, slot);
+        return slot;
+    }
+
+    private int bitOf(long categoryId) {
+        Integer bit = bitsByCategory.get(categoryId);
+        if (bit != null) {
+            return bit;
+        }
+        int next = bitsByCategory.size();
+        if (next >>> 6 >= categoryWords) {
+            widenCategories(categoryWords + 1);
+        }
+        bitsByCategory.put(categoryId, next);
+        return next;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        cityIds = Arrays.copyOf(cityIds, capacity);
+        monthMasks = Arrays.copyOf(monthMasks, capacity);
+        likeCounts = Arrays.copyOf(likeCounts, capacity);
+        createdAts = Arrays.copyOf(createdAts, capacity);
+        categoryBits = Arrays.copyOf(categoryBits, capacity * categoryWords);
+    }
+
+    private void widenCategories(int words) {
+        long[] widened = new long[ids.length * words];
+        for (int slot = 0; slot < slotCount; slot++) {
+            System.arraycopy(categoryBits, slot * categoryWords, widened, slot * words, categoryWords);
+        }
+        categoryBits = widened;
+        categoryWords = words;
+    }
+
+    private static boolean isEmpty(long[] words) {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scans a range of slots, splitting it into chunks when run on the fork/join pool
+     */
+    private final class Scan extends RecursiveTask<TopK> {
+        private final Query query;
+        private final long[] categoryMask;
+        private final boolean parallel;
+        private final int from;
+        private final int to;
+
+        Scan(Query query, long[] categoryMask, boolean parallel, int from, int to) {
+            this.query = query;
+            this.categoryMask = categoryMask;
+            this.parallel = parallel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (parallel && to - from > CHUNK_SIZE) {
+                int mid = (from + to) >>> 1;
+                Scan left = new Scan(query, categoryMask, true, from, mid);
+                left.fork();
+                TopK right = new Scan(query, categoryMask, true, mid, to).compute();
+                return right.merge(left.join());
+            }
+            return scan();
+        }
+
+        private TopK scan() {
+            TopK top = new TopK(query.limit());
+            long[] keys = query.sort() == Sort.LIKES ? likeCounts : createdAts;
+            long cityId = query.cityId();
+            int monthMask = query.monthMask();
+            long afterKey = query.afterKey();
+            long afterId = query.afterId();
+
+            for (int slot = from; slot < to; slot++) {
+                long id = ids[slot];
+                if (id == NONE
+                        || (cityId != NONE && cityIds[slot] != cityId)
+                        || (monthMask != 0 && (monthMasks[slot] & monthMask) == 0)
+                        || (categoryMask != null && !matchesCategories(slot))) {
+                    continue;
+                }
+                long key = keys[slot];
+                if (key < afterKey || (key == afterKey && id < afterId)) {
+                    top.offer(key, id);
+                }
+            }
+            return top;
+        }
+
+        private boolean matchesCategories(int slot) {
+            int offset = slot * categoryWords;
+            if (query.matchAllCategories()) {
+                for (int word = 0; word < categoryWords; word++) {
+                    if ((categoryBits[offset + word] & categoryMask[word]) != categoryMask[word]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            for (int word = 0; word < categoryWords; word++) {
+                if ((categoryBits[offset + word] & categoryMask[word]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Bounded min-heap on {@code (key, id)}: the root is the worst row kept
+     */
+    private static final class TopK {
+        final long[] keys;
+        final long[] ids;
+        int size;
+
+        TopK(int capacity) {
+            keys = new long[capacity];
+            ids = new long[capacity];
+        }
+
+        void offer(long key, long id) {
+            if (size < keys.length) {
+                int i = size++;
+                while (i > 0 && before(key, id, (i - 1) / 2)) {
+                    keys[i] = keys[(i - 1) / 2];
+                    ids[i] = ids[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                keys[i] = key;
+                ids[i] = id;
+            } else if (size > 0 && after(key, id, 0)) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && after(keys[child], ids[child], child + 1)) {
+                        child++;
+                    }
+                    if (!after(key, id, child)) {
+                        break;
+                    }
+                    keys[i] = keys[child];
+                    ids[i] = ids[child];
+                    i = child;
+                }
+                keys[i] = key;
+                ids[i] = id;
+            }
+        }
+
+        TopK merge(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.keys[i], other.ids[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Whether {@code (key, id)} ranks below the entry at {@code index}
+         */
+        private boolean before(long key, long id, int index) {
+            return key < keys[index] || (key == keys[index] && id < ids[index]);
+        }
+
+        /**
+         * Whether {@code (key, id)} ranks above the entry at {@code index}
+         */
+        private boolean after(long key, long id, int index) {
+            return key > keys[index] || (key == keys[index] && id > ids[index]);
+        }
+
+        List<Hit> toHits() {
+            List<Hit> hits = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                hits.add(new Hit(ids[i], keys[i]));
+            }
+            hits.sort((a, b) -> a.key() != b.key() ? Long.compare(b.key(), a.key()) : Long.compare(b.id(), a.id()));
+            return hits;
+        }
+    }
+}
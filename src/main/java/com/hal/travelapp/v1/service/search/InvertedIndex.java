@@ -0,0 +1,487 @@
+package com.hal.travelapp.v1.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory inverted index with BM25 ranking. Every document gets an ordinal in insertion order,
+ * so each posting list is a pair of parallel primitive arrays (ordinals, term frequencies) that
+ * stays sorted by plain appending. Removing or replacing a document only marks its ordinal dead;
+ * dead postings are skipped at query time and purged by {@link #compact()}, which runs
+ * automatically once half the ordinals are dead. Until then document frequencies still count
+ * removed documents, which slightly lowers the weight of terms they contained.
+ * <p>
+ * Queries use Block-Max MaxScore pruning: per-list and per-block score upper bounds let a query
+ * for a frequent term skip most of its long posting list once the top {@code k} are good enough,
+ * with results identical to scoring every posting.
+ * <p>
+ * Not thread-safe; callers guard it with a read-write lock.
+ *
+ * @param <T> data kept per document and returned with each hit
+ */
+public final class InvertedIndex<T> {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_COMPACTION_ORDINALS = 1024;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] ids = new long[16];
+    private int[] lengths = new int[16];
+    private Object[] payloads = new Object[16];
+    private int nextOrdinal;
+    private int liveCount;
+    private long totalLength;
+
+    /**
+     * Adds a document, replacing any previous version with the same id
+     *
+     * @param termFrequencies occurrences of each term, already weighted by field
+     * @param length          sum of the weighted frequencies
+     */
+    public void put(long id, Map<String, Integer> termFrequencies, int length, T payload) {
+        remove(id);
+        int ordinal = nextOrdinal++;
+        if (ordinal == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+        }
+        ids[ordinal] = id;
+        lengths[ordinal] = length;
+        payloads[ordinal] = payload;
+        live.set(ordinal);
+        ordinals.put(id, ordinal);
+        liveCount++;
+        totalLength += length;
+        termFrequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new Postings()).append(ordinal, frequency, length));
+    }
+
+    public boolean remove(long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return false;
+        }
+        live.clear(ordinal);
+        payloads[ordinal] = null;
+        liveCount--;
+        totalLength -= lengths[ordinal];
+        if (nextOrdinal >= MIN_COMPACTION_ORDINALS && liveCount < nextOrdinal / 2) {
+            compact();
+        }
+        return true;
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * Documents containing any of the terms, best BM25 score first
+     */
+    @SuppressWarnings("unchecked")
+    public List<Hit<T>> search(List<String> terms, int limit) {
+        List<Postings> lists = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(terms)) {
+            Postings list = postings.get(term);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty() || liveCount == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        float averageLength = (float) totalLength / liveCount;
+        int count = lists.size();
+        Cursor[] cursors = new Cursor[count];
+        for (int i = 0; i < count; i++) {
+            Postings list = lists.get(i);
+            float idf = (float) Math.log(1 + (nextOrdinal - list.size + 0.5) / (list.size + 0.5));
+            cursors[i] = new Cursor(list, idf, averageLength);
+        }
+        Arrays.sort(cursors, (a, b) -> Float.compare(a.maxScore, b.maxScore));
+        float[] boundUpTo = new float[count];
+        float bound = 0;
+        for (int i = 0; i < count; i++) {
+            bound += cursors[i].maxScore;
+            boundUpTo[i] = bound;
+        }
+
+        // Block-Max MaxScore: document at a time in ordinal order, where lists that cannot lift a
+        // document into the top k on their own are only probed, and blocks that cannot beat the
+        // weakest kept hit are skipped whole
+        TopK top = new TopK(limit);
+        float[] contributions = new float[count];
+        float threshold = Float.NEGATIVE_INFINITY;
+        int firstEssential = 0;
+        while (true) {
+            while (firstEssential < count && boundUpTo[firstEssential] <= threshold) {
+                firstEssential++;
+            }
+            if (firstEssential == count) {
+                break;
+            }
+            float nonEssentialBound = firstEssential > 0 ? boundUpTo[firstEssential - 1] : 0;
+
+            int ordinal = Integer.MAX_VALUE;
+            for (int i = firstEssential; i < count; i++) {
+                ordinal = Math.min(ordinal, cursors[i].ordinal());
+            }
+            if (ordinal == Integer.MAX_VALUE) {
+                break;
+            }
+
+            if (top.isFull()) {
+                float blockBound = nonEssentialBound;
+                int blockEnd = Integer.MAX_VALUE;
+                for (int i = firstEssential; i < count; i++) {
+                    Cursor cursor = cursors[i];
+                    if (!cursor.exhausted()) {
+                        blockBound += cursor.blockMaxScore();
+                        blockEnd = Math.min(blockEnd, cursor.blockLastOrdinal());
+                    }
+                }
+                if (blockBound <= threshold) {
+                    for (int i = firstEssential; i < count; i++) {
+                        cursors[i].advanceTo(blockEnd + 1);
+                    }
+                    continue;
+                }
+            }
+
+            boolean alive = live.get(ordinal);
+            float norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+            float partial = 0;
+            Arrays.fill(contributions, 0);
+            for (int i = firstEssential; i < count; i++) {
+                Cursor cursor = cursors[i];
+                if (cursor.ordinal() == ordinal) {
+                    if (alive) {
+                        contributions[i] = cursor.score(norm);
+                        partial += contributions[i];
+                    }
+                    cursor.position++;
+                }
+            }
+            if (!alive) {
+                continue;
+            }
+            int probed = firstEssential;
+            while (probed > 0 && partial + boundUpTo[probed - 1] > threshold) {
+                Cursor cursor = cursors[--probed];
+                cursor.advanceTo(ordinal);
+                if (cursor.ordinal() == ordinal) {
+                    contributions[probed] = cursor.score(norm);
+                    partial += contributions[probed];
+                }
+            }
+            if (probed > 0) {
+                continue;
+            }
+            // Summed in a fixed order so pruning never changes a score in its last bits
+            float score = 0;
+            for (int i = 0; i < count; i++) {
+                score += contributions[i];
+            }
+            top.offer(ordinal, score);
+            if (top.isFull()) {
+                threshold = top.scores[0];
+            }
+        }
+
+        int found = top.sortDescending();
+        List<Hit<T>> hits = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            int ordinal = top.ordinals[i];
+            hits.add(new Hit<>(ids[ordinal], top.scores[i], (T) payloads[ordinal]));
+        }
+        return hits;
+    }
+
+    /**
+     * Renumbers the live documents and drops the postings of dead ones. Ordinals keep their
+     * relative order, so posting lists stay sorted without re-sorting.
+     */
+    public void compact() {
+        int[] remap = new int[nextOrdinal];
+        int next = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            remap[ordinal] = live.get(ordinal) ? next++ : -1;
+        }
+
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, next)) << 1);
+        long[] newIds = new long[capacity];
+        int[] newLengths = new int[capacity];
+        Object[] newPayloads = new Object[capacity];
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            int target = remap[ordinal];
+            if (target >= 0) {
+                newIds[target] = ids[ordinal];
+                newLengths[target] = lengths[ordinal];
+                newPayloads[target] = payloads[ordinal];
+                ordinals.put(ids[ordinal], target);
+            }
+        }
+
+        postings.values().removeIf(list -> list.retain(remap, newLengths) == 0);
+        ids = newIds;
+        lengths = newLengths;
+        payloads = newPayloads;
+        live.clear();
+        live.set(0, next);
+        nextOrdinal = next;
+    }
+
+    public record Hit<T>(long id, float score, T payload) {
+    }
+
+    /**
+     * Besides the postings, keeps per block of {@value #BLOCK_SIZE} the highest term frequency and
+     * the shortest document, from which an upper bound of any score in the block follows. Bounds
+     * are only ever loosened by removals, never invalidated.
+     */
+    private static final class Postings {
+        static final int BLOCK_SHIFT = 7;
+        static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+        int[] ordinals = new int[4];
+        int[] frequencies = new int[4];
+        int[] blockMaxFrequencies = new int[1];
+        int[] blockMinLengths = new int[1];
+        int maxFrequency;
+        int minLength = Integer.MAX_VALUE;
+        int size;
+
+        void append(int ordinal, int frequency, int length) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            track(size, frequency, length);
+            size++;
+        }
+
+        /**
+         * @return the number of postings left
+         */
+        int retain(int[] remap, int[] newLengths) {
+            int kept = 0;
+            maxFrequency = 0;
+            minLength = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                int target = remap[ordinals[i]];
+                if (target >= 0) {
+                    ordinals[kept] = target;
+                    frequencies[kept] = frequencies[i];
+                    track(kept, frequencies[i], newLengths[target]);
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept < ordinals.length / 4) {
+                ordinals = Arrays.copyOf(ordinals, Math.max(4, kept));
+                frequencies = Arrays.copyOf(frequencies, Math.max(4, kept));
+                int blocks = Math.max(1, (kept + BLOCK_SIZE - 1) >> BLOCK_SHIFT);
+                blockMaxFrequencies = Arrays.copyOf(blockMaxFrequencies, blocks);
+                blockMinLengths = Arrays.copyOf(blockMinLengths, blocks);
+            }
+            return kept;
+        }
+
+        private void track(int index, int frequency, int length) {
+            int block = index >> BLOCK_SHIFT;
+            if (block == blockMaxFrequencies.length) {
+                blockMaxFrequencies = Arrays.copyOf(blockMaxFrequencies, block * 2);
+                blockMinLengths = Arrays.copyOf(blockMinLengths, block * 2);
+            }
+            if ((index & (BLOCK_SIZE - 1)) == 0) {
+                blockMaxFrequencies[block] = frequency;
+                blockMinLengths[block] = length;
+            } else {
+                blockMaxFrequencies[block] = Math.max(blockMaxFrequencies[block], frequency);
+                blockMinLengths[block] = Math.min(blockMinLengths[block], length);
+            }
+            maxFrequency = Math.max(maxFrequency, frequency);
+            minLength = Math.min(minLength, length);
+        }
+    }
+
+    /**
+     * Position in one posting list during a query, with the list's score bounds
+     */
+    private static final class Cursor {
+        final Postings list;
+        final float idf;
+        final float averageLength;
+        final float maxScore;
+        int position;
+        int boundBlock = -1;
+        float boundOfBlock;
+
+        Cursor(Postings list, float idf, float averageLength) {
+            this.list = list;
+            this.idf = idf;
+            this.averageLength = averageLength;
+            this.maxScore = bound(list.maxFrequency, list.minLength);
+        }
+
+        boolean exhausted() {
+            return position >= list.size;
+        }
+
+        int ordinal() {
+            return position < list.size ? list.ordinals[position] : Integer.MAX_VALUE;
+        }
+
+        float score(float norm) {
+            int tf = list.frequencies[position];
+            return idf * tf * (K1 + 1) / (tf + norm);
+        }
+
+        float blockMaxScore() {
+            int block = position >> Postings.BLOCK_SHIFT;
+            if (block != boundBlock) {
+                boundBlock = block;
+                boundOfBlock = bound(list.blockMaxFrequencies[block], list.blockMinLengths[block]);
+            }
+            return boundOfBlock;
+        }
+
+        int blockLastOrdinal() {
+            int end = Math.min(list.size, ((position >> Postings.BLOCK_SHIFT) + 1) << Postings.BLOCK_SHIFT);
+            return list.ordinals[end - 1];
+        }
+
+        /**
+         * Moves to the first posting at or after the ordinal by galloping, then binary search
+         */
+        void advanceTo(int ordinal) {
+            int[] ordinals = list.ordinals;
+            if (position >= list.size || ordinals[position] >= ordinal) {
+                return;
+            }
+            int low = position;
+            int step = 1;
+            int high = position + 1;
+            while (high < list.size && ordinals[high] < ordinal) {
+                low = high;
+                step <<= 1;
+                high = position + step;
+            }
+            high = Math.min(high, list.size);
+            // ordinals[low] < ordinal, and ordinals[high] >= ordinal or high == size
+            while (high - low > 1) {
+                int mid = (low + high) >>> 1;
+                if (ordinals[mid] < ordinal) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            position = high;
+        }
+
+        private float bound(int frequency, int length) {
+            float norm = K1 * (1 - B + B * length / averageLength);
+            return idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+    }
+
+    /**
+     * Bounded min-heap on score; the root is the weakest of the best {@code k} seen so far.
+     * Ties keep the earlier ordinal, i.e. the document indexed first.
+     */
+    private static final class TopK {
+        final int[] ordinals;
+        final float[] scores;
+        int size;
+
+        TopK(int k) {
+            ordinals = new int[k];
+            scores = new float[k];
+        }
+
+        boolean isFull() {
+            return size == ordinals.length;
+        }
+
+        void offer(int ordinal, float score) {
+            if (size < ordinals.length) {
+                ordinals[size] = ordinal;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                ordinals[0] = ordinal;
+                scores[0] = score;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * Heap sort in place: repeatedly moving the weakest hit to the end leaves the strongest
+         * first. The heap is unusable afterwards.
+         *
+         * @return the number of hits
+         */
+        int sortDescending() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            return size;
+        }
+
+        private boolean weaker(int a, int b) {
+            return scores[a] < scores[b] || (scores[a] == scores[b] && ordinals[a] > ordinals[b]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!weaker(i, parent)) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int end) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= end) {
+                    return;
+                }
+                if (child + 1 < end && weaker(child + 1, child)) {
+                    child++;
+                }
+                if (!weaker(child, i)) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int ordinal = ordinals[a];
+            ordinals[a] = ordinals[b];
+            ordinals[b] = ordinal;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.hal.travelapp.v1.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable nearest-neighbour index over points on the Earth. Each point is stored as a unit
+ * vector, so straight-line distance between vectors grows with great-circle distance and the
+ * tree needs no special case for the antimeridian or the poles.
+ * <p>
+ * The tree is implicit: the points of a subtree occupy a range of the arrays with the splitting
+ * point in the middle, and the splitting axis cycles x, y, z with depth.
+ */
+public final class KdTree {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final int DIMENSIONS = 3;
+
+    private final long[] ids;
+    private final double[] coordinates;
+
+    private KdTree(long[] ids, double[] coordinates) {
+        this.ids = ids;
+        this.coordinates = coordinates;
+    }
+
+    /**
+     * @param distanceKm great-circle distance from the query point
+     */
+    public record Hit(long id, double distanceKm) {
+    }
+
+    /**
+     * @param latitudes  degrees, same length as {@code ids}
+     * @param longitudes degrees, same length as {@code ids}
+     */
+    public static KdTree build(long[] ids, double[] latitudes, double[] longitudes) {
+        if (ids.length != latitudes.length || ids.length != longitudes.length) {
+            throw new IllegalArgumentException("ids, latitudes and longitudes must have the same length");
+        }
+        long[] treeIds = ids.clone();
+        double[] coordinates = new double[ids.length * DIMENSIONS];
+        for (int i = 0; i < ids.length; i++) {
+            toVector(latitudes[i], longitudes[i], coordinates, i * DIMENSIONS);
+        }
+        KdTree tree = new KdTree(treeIds, coordinates);
+        tree.arrange(0, ids.length, 0);
+        return tree;
+    }
+
+    public static KdTree empty() {
+        return new KdTree(new long[0], new double[0]);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * The {@code k} points closest to the query, nearest first
+     */
+    public List<Hit> nearest(double latitude, double longitude, int k) {
+        int count = Math.min(k, ids.length);
+        if (count <= 0) {
+            return List.of();
+        }
+        double[] query = toVector(latitude, longitude, new double[DIMENSIONS], 0);
+        Neighbours neighbours = new Neighbours(count);
+        nearest(0, ids.length, 0, query, neighbours);
+        return neighbours.toHits(ids);
+    }
+
+    /**
+     * Every point within {@code radiusKm} of the query, nearest first
+     */
+    public List<Hit> within(double latitude, double longitude, double radiusKm) {
+        if (ids.length == 0 || radiusKm < 0) {
+            return List.of();
+        }
+        double[] query = toVector(latitude, longitude, new double[DIMENSIONS], 0);
+        double chord = chordForDistance(radiusKm);
+        List<Hit> hits = new ArrayList<>();
+        within(0, ids.length, 0, query, chord * chord, hits);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::id));
+        return hits;
+    }
+
+    private void nearest(int from, int to, int axis, double[] query, Neighbours neighbours) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        neighbours.offer(squaredDistance(mid, query), mid);
+
+        double delta = query[axis] - coordinates[mid * DIMENSIONS + axis];
+        int nextAxis = (axis + 1) % DIMENSIONS;
+        // The side holding the query first, so the other side is usually pruned
+        if (delta < 0) {
+            nearest(from, mid, nextAxis, query, neighbours);
+            if (delta * delta < neighbours.bound()) {
+                nearest(mid + 1, to, nextAxis, query, neighbours);
+            }
+        } else {
+            nearest(mid + 1, to, nextAxis, query, neighbours);
+            if (delta * delta < neighbours.bound()) {
+                nearest(from, mid, nextAxis, query, neighbours);
+            }
+        }
+    }
+
+    private void within(int from, int to, int axis, double[] query, double squaredChord, List<Hit> hits) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        double squared = squaredDistance(mid, query);
+        if (squared <= squaredChord) {
+            hits.add(new Hit(ids[mid], distanceForSquaredChord(squared)));
+        }
+
+        double delta = query[axis] - coordinates[mid * DIMENSIONS + axis];
+        int nextAxis = (axis + 1) % DIMENSIONS;
+        if (delta <= 0 || delta * delta <= squaredChord) {
+            within(from, mid, nextAxis, query, squaredChord, hits);
+        }
+        if (delta >= 0 || delta * delta <= squaredChord) {
+            within(mid + 1, to, nextAxis, query, squaredChord, hits);
+        }
+    }
+
+    private double squaredDistance(int point, double[] query) {
+        int offset = point * DIMENSIONS;
+        double dx = coordinates[offset] - query[0];
+        double dy = coordinates[offset + 1] - query[1];
+        double dz = coordinates[offset + 2] - query[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Puts the median of {@code [from, to)} along the axis in the middle, smaller values before
+     * it and larger after, then does the same for both halves on the next axis
+     */
+    private void arrange(int from, int to, int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        select(from, to - 1, mid, axis);
+        int nextAxis = (axis + 1) % DIMENSIONS;
+        arrange(from, mid, nextAxis);
+        arrange(mid + 1, to, nextAxis);
+    }
+
+    /**
+     * Quickselect with a middle pivot; the input is usually unordered ids from the database
+     */
+    private void select(int low, int high, int target, int axis) {
+        while (low < high) {
+            double pivot = coordinates[((low + high) >>> 1) * DIMENSIONS + axis];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (coordinates[i * DIMENSIONS + axis] < pivot) {
+                    i++;
+                }
+                while (coordinates[j * DIMENSIONS + axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (target <= j) {
+                high = j;
+            } else if (target >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            double value = coordinates[a * DIMENSIONS + d];
+            coordinates[a * DIMENSIONS + d] = coordinates[b * DIMENSIONS + d];
+            coordinates[b * DIMENSIONS + d] = value;
+        }
+    }
+
+    private static double[] toVector(double latitude, double longitude, double[] target, int offset) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        target[offset] = cosLat * Math.cos(lon);
+        target[offset + 1] = cosLat * Math.sin(lon);
+        target[offset + 2] = Math.sin(lat);
+        return target;
+    }
+
+    private static double chordForDistance(double distanceKm) {
+        double angle = Math.min(distanceKm / EARTH_RADIUS_KM, Math.PI);
+        return 2 * Math.sin(angle / 2);
+    }
+
+    private static double distanceForSquaredChord(double squaredChord) {
+        double halfChord = Math.min(Math.sqrt(squaredChord) / 2, 1);
+        return 2 * Math.asin(halfChord) * EARTH_RADIUS_KM;
+    }
+
+    /**
+     * Bounded max-heap of the closest points seen so far, on primitive arrays
+     */
+    private static final class Neighbours {
+        final double[] distances;
+        final int[] points;
+        int size;
+
+        Neighbours(int capacity) {
+            distances = new double[capacity];
+            points = new int[capacity];
+        }
+
+        /**
+         * Squared distance a point must beat to be kept
+         */
+        double bound() {
+            return size < distances.length ? Double.POSITIVE_INFINITY : distances[0];
+        }
+
+        void offer(double distance, int point) {
+            if (size < distances.length) {
+                int i = size++;
+                while (i > 0 && distances[(i - 1) / 2] < distance) {
+                    distances[i] = distances[(i - 1) / 2];
+                    points[i] = points[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                distances[i] = distance;
+                points[i] = point;
+            } else if (distance < distances[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && distances[child + 1] > distances[child]) {
+                        child++;
+                    }
+                    if (distances[child] <= distance) {
+                        break;
+                    }
+                    distances[i] = distances[child];
+                    points[i] = points[child];
+                    i = child;
+                }
+                distances[i] = distance;
+                points[i] = point;
+            }
+        }
+
+        List<Hit> toHits(long[] ids) {
+            Hit[] hits = new Hit[size];
+            for (int i = 0; i < size; i++) {
+                hits[i] = new Hit(ids[points[i]], distanceForSquaredChord(distances[i]));
+            }
+            Arrays.sort(hits, Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::id));
+            return List.of(hits);
+        }
+    }
+}
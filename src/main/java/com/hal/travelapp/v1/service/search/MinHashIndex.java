@@ -0,0 +1,236 @@
+package com.hal.travelapp.v1.service.search;
+
+import com.hal.travelapp.v1.utils.LongHashSet;
+import com.hal.travelapp.v1.utils.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Locality-sensitive index of texts by MinHash signature. A text is reduced to its set of
+ * three-word shingles, and the signature keeps, for each of {@value #HASHES} hash functions, the
+ * smallest hash of any shingle; two signatures agree at a position with probability equal to the
+ * Jaccard similarity of the shingle sets.
+ * <p>
+ * The signature is cut into {@value #BANDS} bands of {@value #ROWS} rows, and texts that agree on
+ * every row of some band share a bucket. A query only compares against its buckets, so its cost does
+ * not grow with the number of texts. Texts with a similarity of 0.5 share a bucket 87% of the time,
+ * at 0.7 almost always.
+ * <p>
+ * Signatures and bucket chains live in flat arrays indexed by slot, about 1.3 KB per text, and a
+ * removed text's slot is reused by the next insert.
+ * <p>
+ * Not thread-safe: writers need exclusive access, readers can share it.
+ */
+public final class MinHashIndex {
+
+    public static final int HASHES = 128;
+
+    private static final int BANDS = 32;
+    private static final int ROWS = HASHES / BANDS;
+    private static final int SHINGLE_WORDS = 3;
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(HASHES).toArray();
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Per slot: the text's id (0 for a free slot) and its signature
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] signatures = new int[INITIAL_CAPACITY * HASHES];
+    // Each bucket is a chain of entries, one entry per slot and band: slot * BANDS + band.
+    // Heads and links hold the entry plus one, so that 0 ends a chain.
+    private int[] nextEntries = new int[INITIAL_CAPACITY * BANDS];
+    private final LongIntHashMap bucketHeads = new LongIntHashMap(INITIAL_CAPACITY * BANDS);
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+
+    /**
+     * @param similarity estimated Jaccard similarity of the two texts' shingles
+     */
+    public record Match(long id, double similarity) {
+    }
+
+    /**
+     * Signature of the texts' shingles; the texts are joined, so a shingle may span two of them
+     *
+     * @return null if the texts have no words
+     */
+    public static int[] signature(String... texts) {
+        List<String> words = new ArrayList<>();
+        for (String text : texts) {
+            words.addAll(TextAnalyzer.tokenize(text));
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+
+        long[] minimums = new long[HASHES];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        int shingles = Math.max(1, words.size() - SHINGLE_WORDS + 1);
+        for (int start = 0; start < shingles; start++) {
+            String shingle = String.join(" ", words.subList(start, Math.min(words.size(), start + SHINGLE_WORDS)));
+            long hash = LongHashSet.hash64(shingle);
+            for (int i = 0; i < HASHES; i++) {
+                long value = mix(hash ^ SEEDS[i]);
+                if (value < minimums[i]) {
+                    minimums[i] = value;
+                }
+            }
+        }
+
+        int[] signature = new int[HASHES];
+        for (int i = 0; i < HASHES; i++) {
+            signature[i] = (int) (minimums[i] ^ (minimums[i] >>> 32));
+        }
+        return signature;
+    }
+
+    public int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Adds the text or replaces its previous signature
+     */
+    public void put(long id, int[] signature) {
+        remove(id);
+        int slot = allocate(id);
+        System.arraycopy(signature, 0, signatures, slot * HASHES, HASHES);
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signatures, slot * HASHES, band);
+            int entry = slot * BANDS + band;
+            nextEntries[entry] = bucketHeads.get(key);
+            bucketHeads.put(key, entry + 1);
+        }
+    }
+
+    public void remove(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            unlink(bandKey(signatures, slot * HASHES, band), slot * BANDS + band);
+        }
+        ids[slot] = 0;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Indexed texts sharing a bucket with the signature whose estimated similarity is at least
+     * {@code threshold}, most similar first
+     */
+    public List<Match> similar(int[] signature, double threshold, int limit) {
+        Set<Integer> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            for (int link = bucketHeads.get(bandKey(signature, 0, band)); link != 0; link = nextEntries[link - 1]) {
+                candidates.add((link - 1) / BANDS);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int slot : candidates) {
+            double similarity = similarity(signature, slot * HASHES);
+            if (similarity >= threshold) {
+                matches.add(new Match(ids[slot], similarity));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparingLong(Match::id));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Fraction of positions where the signatures agree
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private double similarity(int[] signature, int offset) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (signature[i] == signatures[offset + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private int allocate(long id) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                signatures = Arrays.copyOf(signatures, capacity * HASHES);
+                nextEntries = Arrays.copyOf(nextEntries, capacity * BANDS);
+            }
+            slot = slotCount++;
+        }
+        ids[slot] = id;
+        slotsById.put(id, slot);
+        return slot;
+    }
+
+    private void unlink(long key, int entry) {
+        int head = bucketHeads.get(key);
+        if (head == entry + 1) {
+            if (nextEntries[entry] == 0) {
+                bucketHeads.remove(key);
+            } else {
+                bucketHeads.put(key, nextEntries[entry]);
+            }
+            return;
+        }
+        for (int link = head; link != 0; link = nextEntries[link - 1]) {
+            if (nextEntries[link - 1] == entry + 1) {
+                nextEntries[link - 1] = nextEntries[entry];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Bucket of the band of the signature starting at {@code offset}; never 0
+     */
+    private static long bandKey(int[] signature, int offset, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[offset + row];
+        }
+        key = mix(key);
+        return key != 0 ? key : 1;
+    }
+
+    /**
+     * MurmurHash3 finalizer
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,165 @@
+package com.hal.travelapp.v1.service.search;
+
+import com.hal.travelapp.v1.service.image.PerceptualHash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-index hash of 64-bit perceptual hashes for Hamming-distance lookups. Every hash is cut
+ * into {@value #CHUNKS} chunks of {@value #CHUNK_BITS} bits, and each chunk position has a directly
+ * addressed table of buckets. Two hashes within distance {@code d} agree on some chunk up to
+ * {@code d / 4} bits, so a query probes, in every table, the buckets within that radius of its own
+ * chunk (17 buckets for a distance below 8) and compares only the photos found there. Each bucket
+ * holds about one 65,536th of the photos, so a lookup reads a fixed share of the index, not all of it.
+ * <p>
+ * A bucket keeps the full hash and the id of each of its photos side by side in one array, so it
+ * is compared in a single sequential pass; a photo costs about 64 bytes, one copy per table.
+ * <p>
+ * Not thread-safe: writers need exclusive access, readers can share it.
+ */
+public final class PhotoHashIndex {
+
+    public static final int MAX_DISTANCE = 15;
+
+    private static final int CHUNKS = 4;
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+    // Per bucket: hash and id pairs, and how many pairs are in use; null until first used
+    private final long[][] buckets = new long[CHUNKS << CHUNK_BITS][];
+    private final int[] bucketSizes = new int[CHUNKS << CHUNK_BITS];
+
+    private final Map<Long, long[]> hashesById = new HashMap<>();
+    private int size;
+
+    /**
+     * @param distance Hamming distance to the closest of the id's photos
+     */
+    public record Match(long id, int distance) {
+    }
+
+    /**
+     * @return how many photos are indexed
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds the id's photos or replaces the ones it had
+     *
+     * @param photoHashes without repeats
+     */
+    public void put(long id, long[] photoHashes) {
+        remove(id);
+        if (photoHashes.length == 0) {
+            return;
+        }
+        for (long hash : photoHashes) {
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                add(bucket(hash, chunk), hash, id);
+            }
+        }
+        hashesById.put(id, photoHashes.clone());
+        size += photoHashes.length;
+    }
+
+    public void remove(long id) {
+        long[] photoHashes = hashesById.remove(id);
+        if (photoHashes == null) {
+            return;
+        }
+        for (long hash : photoHashes) {
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                delete(bucket(hash, chunk), hash, id);
+            }
+        }
+        size -= photoHashes.length;
+    }
+
+    /**
+     * Ids with a photo within {@code maxDistance} of any of the given hashes, closest first
+     *
+     * @param maxDistance at most {@value #MAX_DISTANCE}, beyond which a query probes thousands of buckets
+     */
+    public List<Match> within(long[] photoHashes, int maxDistance, int limit) {
+        if (maxDistance < 0 || maxDistance > MAX_DISTANCE) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + MAX_DISTANCE);
+        }
+        int radius = maxDistance / CHUNKS;
+        Map<Long, Integer> closest = new HashMap<>();
+        for (long hash : photoHashes) {
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                probe(hash, chunk, bucket(hash, chunk) & CHUNK_MASK, radius, 0, maxDistance, closest);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(closest.size());
+        closest.forEach((id, distance) -> matches.add(new Match(id, distance)));
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparingLong(Match::id));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Visits the bucket of {@code value} and, while {@code radius} allows, those of the values that
+     * differ from it in further bits from {@code fromBit} on, so each value is visited once
+     */
+    private void probe(long hash, int chunk, int value, int radius, int fromBit, int maxDistance,
+                       Map<Long, Integer> closest) {
+        int bucket = (chunk << CHUNK_BITS) | value;
+        long[] pairs = buckets[bucket];
+        for (int i = 0, end = 2 * bucketSizes[bucket]; i < end; i += 2) {
+            int distance = PerceptualHash.distance(hash, pairs[i]);
+            if (distance <= maxDistance) {
+                closest.merge(pairs[i + 1], distance, Math::min);
+            }
+        }
+        if (radius == 0) {
+            return;
+        }
+        for (int bit = fromBit; bit < CHUNK_BITS; bit++) {
+            probe(hash, chunk, value ^ (1 << bit), radius - 1, bit + 1, maxDistance, closest);
+        }
+    }
+
+    private void add(int bucket, long hash, long id) {
+        long[] pairs = buckets[bucket];
+        int used = 2 * bucketSizes[bucket];
+        if (pairs == null) {
+            pairs = buckets[bucket] = new long[2 * INITIAL_BUCKET_CAPACITY];
+        } else if (used == pairs.length) {
+            pairs = buckets[bucket] = Arrays.copyOf(pairs, pairs.length * 2);
+        }
+        pairs[used] = hash;
+        pairs[used + 1] = id;
+        bucketSizes[bucket]++;
+    }
+
+    /**
+     * Moves the bucket's last pair into the removed one's place
+     */
+    private void delete(int bucket, long hash, long id) {
+        long[] pairs = buckets[bucket];
+        int last = 2 * (bucketSizes[bucket] - 1);
+        for (int i = 0; i <= last; i += 2) {
+            if (pairs[i] == hash && pairs[i + 1] == id) {
+                pairs[i] = pairs[last];
+                pairs[i + 1] = pairs[last + 1];
+                if (--bucketSizes[bucket] == 0) {
+                    buckets[bucket] = null;
+                }
+                return;
+            }
+        }
+    }
+
+    private static int bucket(long hash, int chunk) {
+        return (chunk << CHUNK_BITS) | ((int) (hash >>> (chunk * CHUNK_BITS)) & CHUNK_MASK);
+    }
+}
@@ -0,0 +1,262 @@
+package com.hal.travelapp.v1.service.search;
+
+import com.hal.travelapp.v1.utils.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Scores how related two blogs are from the users who liked both and from their city and
+ * categories. Likes are fed one user at a time and counted per blog pair in a primitive map; the
+ * counts then become a compressed adjacency list that {@link #related} walks together with the
+ * blogs sharing a city or category.
+ * <p>
+ * The pair map is bounded: when it grows past {@code maxPairs}, the pairs seen the fewest times are
+ * dropped until half remain, and a dropped pair seen again starts counting afresh. Rare co-likes
+ * are undercounted, but memory stays flat however many likes are streamed.
+ * <p>
+ * Not thread-safe.
+ */
+public final class RelatedBlogGraph {
+
+    private static final float LIKE_WEIGHT = 1.0f;
+    private static final float CATEGORY_WEIGHT = 0.5f;
+    private static final float CITY_WEIGHT = 0.3f;
+    /**
+     * Newest blogs taken from each city and category the blog belongs to
+     */
+    private static final int CONTENT_CANDIDATES = 200;
+
+    private final long[] blogIds;
+    private final long[] cityIds;
+    private final long[][] categoryIds;
+    private final int[] likeCounts;
+    private final int maxPairs;
+
+    private LongIntHashMap pairCounts;
+
+    private int[] offsets;
+    private int[] neighbours;
+    private int[] coLikes;
+    private Map<Long, int[]> blogsByCity;
+    private Map<Long, int[]> blogsByCategory;
+
+    private float[] scores;
+    private int[] seen;
+    private int[] touched;
+
+    /**
+     * @param blogIds     in ascending order, so a higher index is a newer blog
+     * @param cityIds     per blog, 0 for none
+     * @param categoryIds per blog, in ascending order
+     */
+    public RelatedBlogGraph(long[] blogIds, long[] cityIds, long[][] categoryIds, int maxPairs) {
+        if (blogIds.length != cityIds.length || blogIds.length != categoryIds.length) {
+            throw new IllegalArgumentException("blogIds, cityIds and categoryIds must have the same length");
+        }
+        for (int i = 1; i < blogIds.length; i++) {
+            if (blogIds[i - 1] >= blogIds[i]) {
+                throw new IllegalArgumentException("blogIds must be in ascending order");
+            }
+        }
+        this.blogIds = blogIds;
+        this.cityIds = cityIds;
+        this.categoryIds = categoryIds;
+        this.likeCounts = new int[blogIds.length];
+        this.maxPairs = maxPairs;
+        this.pairCounts = new LongIntHashMap(Math.min(maxPairs, 1 << 16));
+    }
+
+    /**
+     * @param score higher is more related; up to 1.8 when every like, the city and all categories are shared
+     */
+    public record Related(long blogId, float score) {
+    }
+
+    public int size() {
+        return blogIds.length;
+    }
+
+    public long blogId(int index) {
+        return blogIds[index];
+    }
+
+    /**
+     * @return the blog's index, or -1 if it is not in the graph
+     */
+    public int indexOf(long blogId) {
+        int index = Arrays.binarySearch(blogIds, blogId);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Counts every pair among the blogs one user liked
+     *
+     * @param blogIndexes distinct indexes from {@link #indexOf}; the first {@code count} are used
+     */
+    public void addLikes(int[] blogIndexes, int count) {
+        if (pairCounts == null) {
+            throw new IllegalStateException("Likes cannot be added after ranking started");
+        }
+        for (int i = 0; i < count; i++) {
+            int a = blogIndexes[i];
+            likeCounts[a]++;
+            for (int j = i + 1; j < count; j++) {
+                int b = blogIndexes[j];
+                // Never 0: the larger index of a pair is at least 1
+                pairCounts.add(a < b ? pairKey(a, b) : pairKey(b, a), 1);
+            }
+        }
+        if (pairCounts.size() > maxPairs) {
+            // Halve the map so that pruning does not run again for the next few users
+            pairCounts.retainLargest(maxPairs / 2);
+        }
+    }
+
+    /**
+     * The {@code k} blogs most related to the one at {@code index}, best first. The first call
+     * ends the counting of likes.
+     */
+    public List<Related> related(int index, int k) {
+        if (offsets == null) {
+            freeze();
+        }
+        int stamp = index + 1;
+        int touchedCount = 0;
+
+        for (int edge = offsets[index]; edge < offsets[index + 1]; edge++) {
+            int other = neighbours[edge];
+            seen[other] = stamp;
+            touched[touchedCount++] = other;
+            scores[other] = LIKE_WEIGHT * coLikes[edge] / (float) Math.sqrt((double) likeCounts[index] * likeCounts[other]);
+        }
+        if (cityIds[index] != 0) {
+            touchedCount = touchNewest(blogsByCity.get(cityIds[index]), index, stamp, touchedCount);
+        }
+        for (long categoryId : categoryIds[index]) {
+            touchedCount = touchNewest(blogsByCategory.get(categoryId), index, stamp, touchedCount);
+        }
+
+        Comparator<Integer> worstFirst = Comparator.<Integer>comparingDouble(other -> scores[other])
+                .thenComparingLong(other -> blogIds[other]);
+        PriorityQueue<Integer> top = new PriorityQueue<>(k + 1, worstFirst);
+        for (int i = 0; i < touchedCount; i++) {
+            int other = touched[i];
+            if (cityIds[index] != 0 && cityIds[index] == cityIds[other]) {
+                scores[other] += CITY_WEIGHT;
+            }
+            scores[other] += CATEGORY_WEIGHT * jaccard(categoryIds[index], categoryIds[other]);
+            top.offer(other);
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+
+        Related[] related = new Related[top.size()];
+        for (int i = related.length - 1; i >= 0; i--) {
+            int other = top.poll();
+            related[i] = new Related(blogIds[other], scores[other]);
+        }
+        return List.of(related);
+    }
+
+    /**
+     * Adds the newest blogs of a city or category that are not yet candidates, with a score of 0
+     */
+    private int touchNewest(int[] members, int index, int stamp, int touchedCount) {
+        for (int i = members.length - 1, taken = 0; i >= 0 && taken < CONTENT_CANDIDATES; i--) {
+            int other = members[i];
+            if (other == index) {
+                continue;
+            }
+            taken++;
+            if (seen[other] != stamp) {
+                seen[other] = stamp;
+                scores[other] = 0;
+                touched[touchedCount++] = other;
+            }
+        }
+        return touchedCount;
+    }
+
+    /**
+     * Turns the pair counts into adjacency arrays and groups the blogs by city and category
+     */
+    private void freeze() {
+        int n = blogIds.length;
+        offsets = new int[n + 1];
+        pairCounts.forEach((key, count) -> {
+            offsets[(int) (key >>> 32) + 1]++;
+            offsets[(int) key + 1]++;
+        });
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        neighbours = new int[offsets[n]];
+        coLikes = new int[offsets[n]];
+        int[] next = Arrays.copyOf(offsets, n);
+        pairCounts.forEach((key, count) -> {
+            int a = (int) (key >>> 32);
+            int b = (int) key;
+            neighbours[next[a]] = b;
+            coLikes[next[a]++] = count;
+            neighbours[next[b]] = a;
+            coLikes[next[b]++] = count;
+        });
+        pairCounts = null;
+
+        Map<Long, List<Integer>> cities = new HashMap<>();
+        Map<Long, List<Integer>> categories = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (cityIds[i] != 0) {
+                cities.computeIfAbsent(cityIds[i], id -> new ArrayList<>()).add(i);
+            }
+            for (long categoryId : categoryIds[i]) {
+                categories.computeIfAbsent(categoryId, id -> new ArrayList<>()).add(i);
+            }
+        }
+        blogsByCity = toArrays(cities);
+        blogsByCategory = toArrays(categories);
+
+        scores = new float[n];
+        seen = new int[n];
+        touched = new int[n];
+    }
+
+    private static Map<Long, int[]> toArrays(Map<Long, List<Integer>> groups) {
+        Map<Long, int[]> arrays = new HashMap<>(groups.size() * 2);
+        groups.forEach((id, members) -> arrays.put(id, members.stream().mapToInt(Integer::intValue).toArray()));
+        return arrays;
+    }
+
+    private static long pairKey(int smaller, int larger) {
+        return (long) smaller << 32 | larger;
+    }
+
+    /**
+     * Shared categories over all categories of the two blogs
+     */
+    private static float jaccard(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        int shared = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (float) shared / (a.length + b.length - shared);
+    }
+}
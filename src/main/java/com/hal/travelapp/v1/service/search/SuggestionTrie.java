@@ -0,0 +1,334 @@
+package com.hal.travelapp.v1.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable prefix index for autocomplete. Keys are normalized like search terms and stored in
+ * a trie flattened into primitive arrays: the children of a node are consecutive node ids, sorted
+ * by label. Every node keeps the heaviest {@code topPerNode} values below it, so a lookup costs
+ * the length of the prefix and never scans a subtree.
+ * <p>
+ * Prefixes of {@value #MIN_FUZZY_LENGTH} or more characters also match keys one edit away
+ * (insertion, deletion, substitution or transposition of adjacent characters); those come after
+ * all exact prefix matches.
+ *
+ * @param <T> value returned for a key
+ */
+public final class SuggestionTrie<T> {
+
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int ROOT = 0;
+
+    private final Object[] values;
+    private final long[] weights;
+    private final char[] labels;
+    private final int[] childStart;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final int[] topCount;
+    private final int[] topPool;
+
+    private SuggestionTrie(Builder builder, Object[] values, long[] weights) {
+        this.values = values;
+        this.weights = weights;
+        this.labels = Arrays.copyOf(builder.labels, builder.nodeCount);
+        this.childStart = Arrays.copyOf(builder.childStart, builder.nodeCount);
+        this.childCount = Arrays.copyOf(builder.childCount, builder.nodeCount);
+        this.topStart = Arrays.copyOf(builder.topStart, builder.nodeCount);
+        this.topCount = Arrays.copyOf(builder.topCount, builder.nodeCount);
+        this.topPool = Arrays.copyOf(builder.topPool, builder.poolSize);
+    }
+
+    public record Entry<T>(String text, long weight, T value) {
+    }
+
+    /**
+     * @param topPerNode the most suggestions a lookup can return
+     */
+    public static <T> SuggestionTrie<T> build(List<Entry<T>> entries, int topPerNode) {
+        List<Keyed<T>> keyed = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            String key = normalize(entry.text());
+            if (!key.isEmpty()) {
+                keyed.add(new Keyed<>(key, entry));
+            }
+        }
+        keyed.sort(Comparator.comparing(Keyed::key));
+
+        int count = keyed.size();
+        String[] keys = new String[count];
+        Object[] values = new Object[count];
+        long[] weights = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = keyed.get(i).key();
+            values[i] = keyed.get(i).entry().value();
+            weights[i] = keyed.get(i).entry().weight();
+        }
+
+        Builder builder = new Builder(keys, weights, topPerNode);
+        builder.nodeCount = 1;
+        builder.buildNode(ROOT, 0, count, 0);
+        return new SuggestionTrie<>(builder, values, weights);
+    }
+
+    public static <T> SuggestionTrie<T> empty() {
+        return build(List.of(), 1);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Keys starting with the prefix, heaviest first, then keys one edit away from it
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0 || values.length == 0) {
+            return List.of();
+        }
+
+        int exact = descend(ROOT, key, 0, key.length());
+        List<Integer> found = new ArrayList<>(limit);
+        if (exact >= 0) {
+            collect(List.of(exact), found, limit);
+        }
+        if (found.size() < limit && key.length() >= MIN_FUZZY_LENGTH) {
+            List<Integer> nodes = new ArrayList<>();
+            fuzzy(ROOT, key, 0, nodes);
+            nodes.remove(Integer.valueOf(exact));
+            collect(nodes, found, limit);
+        }
+
+        List<T> suggestions = new ArrayList<>(found.size());
+        for (int entry : found) {
+            suggestions.add((T) values[entry]);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Lower case, diacritics folded, runs of punctuation and spaces turned into one space
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = TextAnalyzer.fold(text);
+        StringBuilder key = new StringBuilder(Math.min(folded.length(), MAX_KEY_LENGTH));
+        boolean gap = false;
+        for (int i = 0; i < folded.length() && key.length() < MAX_KEY_LENGTH; i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c) || Character.getType(c) == Character.NON_SPACING_MARK
+                    || Character.getType(c) == Character.COMBINING_SPACING_MARK) {
+                if (gap && !key.isEmpty()) {
+                    key.append(' ');
+                }
+                key.append(c);
+                gap = false;
+            } else {
+                gap = true;
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Merges the top lists of the nodes, heaviest first, skipping entries already found
+     */
+    private void collect(List<Integer> nodes, List<Integer> found, int limit) {
+        int[] cursors = new int[nodes.size()];
+        while (found.size() < limit) {
+            int best = -1;
+            int bestEntry = -1;
+            for (int i = 0; i < nodes.size(); i++) {
+                int node = nodes.get(i);
+                if (cursors[i] < topCount[node]) {
+                    int entry = topPool[topStart[node] + cursors[i]];
+                    if (best < 0 || heavier(entry, bestEntry)) {
+                        best = i;
+                        bestEntry = entry;
+                    }
+                }
+            }
+            if (best < 0) {
+                return;
+            }
+            cursors[best]++;
+            if (!found.contains(bestEntry)) {
+                found.add(bestEntry);
+            }
+        }
+    }
+
+    /**
+     * Nodes reached by spelling the key with exactly one edit
+     */
+    private void fuzzy(int node, String key, int position, List<Integer> nodes) {
+        if (position == key.length()) {
+            // Only an insertion past the end is left, which any child already covers as a prefix
+            return;
+        }
+        char c = key.charAt(position);
+
+        // Deletion: the key has a character the indexed text lacks
+        addIfPresent(descend(node, key, position + 1, key.length()), nodes);
+
+        int start = childStart[node];
+        int end = start + childCount[node];
+        for (int child = start; child < end; child++) {
+            if (labels[child] != c) {
+                // Substitution
+                addIfPresent(descend(child, key, position + 1, key.length()), nodes);
+                // Insertion: the indexed text has a character the key lacks
+                addIfPresent(descend(child, key, position, key.length()), nodes);
+            }
+        }
+
+        // Transposition of this and the next character
+        if (position + 1 < key.length() && key.charAt(position + 1) != c) {
+            int swapped = child(node, key.charAt(position + 1));
+            if (swapped >= 0) {
+                swapped = child(swapped, c);
+                if (swapped >= 0) {
+                    addIfPresent(descend(swapped, key, position + 2, key.length()), nodes);
+                }
+            }
+        }
+
+        int next = child(node, c);
+        if (next >= 0) {
+            fuzzy(next, key, position + 1, nodes);
+        }
+    }
+
+    private static void addIfPresent(int node, List<Integer> nodes) {
+        if (node >= 0 && !nodes.contains(node)) {
+            nodes.add(node);
+        }
+    }
+
+    private int descend(int node, String key, int from, int to) {
+        for (int i = from; i < to && node >= 0; i++) {
+            node = child(node, key.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char label) {
+        int low = childStart[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (labels[mid] < label) {
+                low = mid + 1;
+            } else if (labels[mid] > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private boolean heavier(int entry, int other) {
+        return weights[entry] > weights[other] || (weights[entry] == weights[other] && entry < other);
+    }
+
+    private record Keyed<T>(String key, Entry<T> entry) {
+    }
+
+    /**
+     * Lays nodes out breadth first per parent from the sorted keys, then fills each node's top
+     * list from its own entries and its children's top lists
+     */
+    private static final class Builder {
+        final String[] keys;
+        final long[] weights;
+        final int topPerNode;
+        char[] labels = new char[64];
+        int[] childStart = new int[64];
+        int[] childCount = new int[64];
+        int[] topStart = new int[64];
+        int[] topCount = new int[64];
+        int[] topPool = new int[64];
+        int nodeCount;
+        int poolSize;
+
+        Builder(String[] keys, long[] weights, int topPerNode) {
+            this.keys = keys;
+            this.weights = weights;
+            this.topPerNode = topPerNode;
+        }
+
+        /**
+         * Keys in {@code [from, to)} share their first {@code depth} characters; shorter keys
+         * sort first, so the ones ending at this node lead the range
+         */
+        void buildNode(int node, int from, int to, int depth) {
+            int terminalEnd = from;
+            while (terminalEnd < to && keys[terminalEnd].length() == depth) {
+                terminalEnd++;
+            }
+
+            int groups = 0;
+            for (int i = terminalEnd; i < to; i++) {
+                if (i == terminalEnd || keys[i].charAt(depth) != keys[i - 1].charAt(depth)) {
+                    groups++;
+                }
+            }
+            int first = nodeCount;
+            ensureNodes(first + groups);
+            nodeCount += groups;
+            childStart[node] = first;
+            childCount[node] = groups;
+
+            int child = first;
+            int groupStart = terminalEnd;
+            for (int i = terminalEnd + 1; i <= to; i++) {
+                if (i == to || keys[i].charAt(depth) != keys[groupStart].charAt(depth)) {
+                    labels[child] = keys[groupStart].charAt(depth);
+                    buildNode(child, groupStart, i, depth + 1);
+                    child++;
+                    groupStart = i;
+                }
+            }
+
+            List<Integer> candidates = new ArrayList<>();
+            for (int i = from; i < terminalEnd; i++) {
+                candidates.add(i);
+            }
+            for (int c = first; c < first + groups; c++) {
+                for (int i = 0; i < topCount[c]; i++) {
+                    candidates.add(topPool[topStart[c] + i]);
+                }
+            }
+            candidates.sort((a, b) -> weights[a] != weights[b] ? Long.compare(weights[b], weights[a]) : Integer.compare(a, b));
+            int kept = Math.min(topPerNode, candidates.size());
+            if (poolSize + kept > topPool.length) {
+                topPool = Arrays.copyOf(topPool, Math.max(topPool.length * 2, poolSize + kept));
+            }
+            topStart[node] = poolSize;
+            topCount[node] = kept;
+            for (int i = 0; i < kept; i++) {
+                topPool[poolSize++] = candidates.get(i);
+            }
+        }
+
+        private void ensureNodes(int capacity) {
+            if (capacity > labels.length) {
+                int grown = Math.max(labels.length * 2, capacity);
+                labels = Arrays.copyOf(labels, grown);
+                childStart = Arrays.copyOf(childStart, grown);
+                childCount = Arrays.copyOf(childCount, grown);
+                topStart = Arrays.copyOf(topStart, grown);
+                topCount = Arrays.copyOf(topCount, grown);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.hal.travelapp.v1.utils;
+
+import com.hal.travelapp.v1.exception.InvalidActionException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last blog of a listing page ordered by {@code (key DESC, id DESC)}, where the
+ * key is the sort attribute: creation time in epoch milliseconds or like count.
+ */
+public record ListingCursor(long key, long id) {
+
+    /**
+     * Sorts before every blog, used for the first page
+     */
+    public static final ListingCursor FIRST = new ListingCursor(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    public String encode() {
+        String raw = key + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or {@link #FIRST} for a missing cursor
+     * @throws InvalidActionException if the cursor was not produced by {@link #encode()}
+     */
+    public static ListingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new ListingCursor(Long.parseLong(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidActionException("Invalid cursor: " + cursor);
+        }
+    }
+}
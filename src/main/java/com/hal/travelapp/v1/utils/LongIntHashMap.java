@@ -0,0 +1,223 @@
+package com.hal.travelapp.v1.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from primitive longs to ints, the counting counterpart of
+ * {@link LongHashSet}. Uses 12 bytes per slot and no per-entry objects. The key {@code 0} cannot be
+ * stored, and a missing key reads as 0.
+ */
+public final class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.6;
+    private static final int HISTOGRAM_SIZE = 256;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    /**
+     * Adds {@code delta} to the key's value, starting from 0
+     *
+     * @return the new value
+     */
+    public int add(long key, int delta) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("0 cannot be used as a key");
+        }
+        if (size + 1 > keys.length * MAX_LOAD) {
+            rehash(keys.length << 1, Long.MIN_VALUE, 0);
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                values[i] = delta;
+                size++;
+                return delta;
+            }
+            if (keys[i] == key) {
+                return values[i] += delta;
+            }
+        }
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("0 cannot be used as a key");
+        }
+        if (size + 1 > keys.length * MAX_LOAD) {
+            rehash(keys.length << 1, Long.MIN_VALUE, 0);
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return;
+            }
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the key, shifting later entries of its probe run back so that no tombstone is left
+     */
+    public void remove(long key) {
+        if (key == EMPTY) {
+            return;
+        }
+        int mask = keys.length - 1;
+        int gap = mix(key) & mask;
+        while (keys[gap] != key) {
+            if (keys[gap] == EMPTY) {
+                return;
+            }
+            gap = (gap + 1) & mask;
+        }
+        for (int i = (gap + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            int home = mix(keys[i]) & mask;
+            // Entries whose home lies after the gap must stay where they are
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0;
+        size--;
+    }
+
+    public int get(long key) {
+        if (key == EMPTY) {
+            return 0;
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY) {
+                return 0;
+            }
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drops the entries with the smallest values until {@code target} remain. Among entries holding
+     * the cut-off value, the ones met first in slot order are kept.
+     */
+    public void retainLargest(int target) {
+        if (size <= target) {
+            return;
+        }
+        if (target <= 0) {
+            rehash(keys.length, Long.MAX_VALUE, 0);
+            return;
+        }
+        int threshold = largest(target);
+        int above = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY && values[i] > threshold) {
+                above++;
+            }
+        }
+        rehash(keys.length, threshold, target - above);
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * The {@code rank}-th largest value. Values from 1 to {@value #HISTOGRAM_SIZE} are counted in a
+     * histogram; only when the rank falls among the values outside that range are they sorted.
+     */
+    private int largest(int rank) {
+        int[] histogram = new int[HISTOGRAM_SIZE + 2];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                histogram[histogramSlot(values[i])]++;
+            }
+        }
+        // Walk down from the largest values until the slot holding the rank-th one
+        int slot = histogram.length - 1;
+        while (histogram[slot] < rank) {
+            rank -= histogram[slot];
+            slot--;
+        }
+        if (slot > 0 && slot <= HISTOGRAM_SIZE) {
+            return slot;
+        }
+        int[] outside = new int[histogram[slot]];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY && histogramSlot(values[i]) == slot) {
+                outside[n++] = values[i];
+            }
+        }
+        Arrays.sort(outside);
+        return outside[outside.length - rank];
+    }
+
+    private static int histogramSlot(int value) {
+        return value <= 0 ? 0 : Math.min(value, HISTOGRAM_SIZE + 1);
+    }
+
+    /**
+     * Moves the entries with a value above {@code threshold}, and the first {@code keepAtThreshold}
+     * with exactly that value, into fresh arrays of the given capacity
+     */
+    private void rehash(int capacity, long threshold, int keepAtThreshold) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        size = 0;
+        int mask = capacity - 1;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] == EMPTY) {
+                continue;
+            }
+            if (oldValues[slot] > threshold || (oldValues[slot] == threshold && keepAtThreshold-- > 0)) {
+                int i = mix(oldKeys[slot]) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[slot];
+                values[i] = oldValues[slot];
+                size++;
+            }
+        }
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,42 @@
+package com.hal.travelapp.v1.utils;
+
+import com.hal.travelapp.v1.exception.InvalidActionException;
+
+/**
+ * A set of months as 12 bits, January in the lowest. A range whose start is after its end, such as
+ * November to February, wraps around the new year.
+ */
+public final class MonthMask {
+
+    public static final int ALL = (1 << 12) - 1;
+
+    private MonthMask() {
+    }
+
+    /**
+     * @throws InvalidActionException if a month is not between 1 and 12
+     */
+    public static int of(int startMonth, int endMonth) {
+        int start = bit(startMonth);
+        int end = bit(endMonth);
+        if (start <= end) {
+            return (end << 1) - start;
+        }
+        // Everything except the months strictly between end and start
+        return ALL & ~(start - (end << 1));
+    }
+
+    /**
+     * @throws InvalidActionException if the month is not between 1 and 12
+     */
+    public static int bit(int month) {
+        if (month < 1 || month > 12) {
+            throw new InvalidActionException("Month must be between 1 and 12");
+        }
+        return 1 << (month - 1);
+    }
+
+    public static boolean contains(int mask, int month) {
+        return (mask & bit(month)) != 0;
+    }
+}
@@ -0,0 +1,98 @@
+package com.hal.travelapp.v1.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer. Each slot carries a
+ * sequence number that tells whether it is free for the producer claiming position {@code p}
+ * ({@code sequence == p}) or holds an element ready for the consumer ({@code sequence == p + 1}).
+ * Producers claim positions with a CAS on the tail and never block; a full buffer makes
+ * {@link #offer} return false so that the caller decides how to push back.
+ */
+public final class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        mask = size - 1;
+        elements = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    // Publishes the element to the consumer
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            // Another producer claimed this position first, try the next one
+        }
+    }
+
+    /**
+     * Hands up to {@code limit} elements to {@code consumer}, oldest first. Must only be called
+     * from the consumer thread.
+     *
+     * @return the number of elements drained
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < limit) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                // Empty, or the producer of this position has not published yet
+                break;
+            }
+            E element = elements.get(slot);
+            elements.lazySet(slot, null);
+            // Frees the slot for the producer one lap ahead
+            sequences.set(slot, position + mask + 1);
+            position++;
+            drained++;
+            consumer.accept(element);
+        }
+        head.set(position);
+        return drained;
+    }
+
+    /**
+     * Approximate number of elements, exact when no producer or consumer is active
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,40 @@
+package com.hal.travelapp.v1.utils;
+
+import com.hal.travelapp.v1.exception.InvalidActionException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last hit of a search page ordered by {@code (rank DESC, id DESC)}. The rank
+ * is the exact {@code real} returned by the database, so it compares equal on the next request.
+ */
+public record SearchCursor(float rank, long id) {
+
+    /**
+     * Sorts before every hit, used for the first page
+     */
+    public static final SearchCursor FIRST = new SearchCursor(Float.MAX_VALUE, Long.MAX_VALUE);
+
+    public String encode() {
+        String raw = Float.toString(rank) + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or {@link #FIRST} for a missing cursor
+     * @throws InvalidActionException if the cursor was not produced by {@link #encode()}
+     */
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new SearchCursor(Float.parseFloat(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidActionException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hal.travelapp.v1.benchmark;
+
+import com.hal.travelapp.v1.service.search.BlogColumnStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filtered top-20 listings on the column store, scanned on the calling thread and on the
+ * fork/join pool, over blogs spread across 200 cities and 40 categories.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.hal.travelapp.v1.benchmark.BlogColumnStoreBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlogColumnStoreBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000", "1000000"})
+    public int blogs;
+
+    private BlogColumnStore store;
+    private BlogColumnStore.Query byCategoryAndMonth;
+    private BlogColumnStore.Query byCity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        store = new BlogColumnStore();
+        for (long id = 1; id <= blogs; id++) {
+            Set<Long> categories = Set.of(1L + random.nextInt(40), 41L + random.nextInt(10));
+            store.put(id, 1 + random.nextInt(200), categories, 1 << random.nextInt(12), random.nextInt(1000), id * 60_000);
+        }
+        byCategoryAndMonth = new BlogColumnStore.Query(0L, List.of(3L, 7L), false, 1 << 11,
+                BlogColumnStore.Sort.LIKES, Long.MAX_VALUE, Long.MAX_VALUE, PAGE_SIZE);
+        byCity = new BlogColumnStore.Query(42L, List.of(), false, 0,
+                BlogColumnStore.Sort.RECENT, Long.MAX_VALUE, Long.MAX_VALUE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BlogColumnStore.Hit> categoryAndMonthByLikes() {
+        return store.find(byCategoryAndMonth, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<BlogColumnStore.Hit> categoryAndMonthByLikesParallel() {
+        return store.find(byCategoryAndMonth, 0);
+    }
+
+    @Benchmark
+    public List<BlogColumnStore.Hit> cityByRecent() {
+        return store.find(byCity, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<BlogColumnStore.Hit> cityByRecentParallel() {
+        return store.find(byCity, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BlogColumnStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
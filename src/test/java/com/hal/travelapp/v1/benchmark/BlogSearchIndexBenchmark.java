@@ -0,0 +1,78 @@
+package com.hal.travelapp.v1.benchmark;
+
+import com.hal.travelapp.v1.service.search.InvertedIndex;
+import com.hal.travelapp.v1.service.search.TextAnalyzer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures query latency of the in-memory search index, tokenization included, on a synthetic
+ * corpus whose term frequencies follow Zipf's law like natural text.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.hal.travelapp.v1.benchmark.BlogSearchIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BlogSearchIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+    private static final int TERMS_PER_DOCUMENT = 40;
+
+    @Param({"100000", "1000000"})
+    public int documents;
+
+    /**
+     * Frequent term (long posting list), rare term, and a typical three-word query
+     */
+    @Param({"w3", "w20000", "w40 w900 w7000"})
+    public String query;
+
+    private InvertedIndex<String> index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        double[] cumulative = new double[VOCABULARY];
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        index = new InvertedIndex<>();
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (int id = 1; id <= documents; id++) {
+            termFrequencies.clear();
+            for (int i = 0; i < TERMS_PER_DOCUMENT; i++) {
+                int slot = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                int rank = slot >= 0 ? slot : -slot - 1;
+                termFrequencies.merge("w" + rank, 1, Integer::sum);
+            }
+            index.put(id, termFrequencies, TERMS_PER_DOCUMENT, "blog-" + id);
+        }
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Hit<String>> topTen() {
+        return index.search(TextAnalyzer.tokenize(query), 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BlogSearchIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
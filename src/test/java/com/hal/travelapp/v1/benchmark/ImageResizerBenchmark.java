@@ -0,0 +1,57 @@
+package com.hal.travelapp.v1.benchmark;
+
+import com.hal.travelapp.v1.service.image.ImageResizer;
+import com.hal.travelapp.v1.service.image.ImageVariant;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the resize kernel on a typical phone photo.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.hal.travelapp.v1.benchmark.ImageResizerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageResizerBenchmark {
+
+    @Param({"4032x3024", "1920x1080"})
+    public String sourceSize;
+
+    @Param({"THUMB", "CARD", "FULL"})
+    public ImageVariant variant;
+
+    private BufferedImage source;
+
+    @Setup
+    public void setUp() {
+        String[] dims = sourceSize.split("x");
+        int width = Integer.parseInt(dims[0]);
+        int height = Integer.parseInt(dims[1]);
+        source = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = source.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage resizeToFit() {
+        return ImageResizer.resizeToFit(source, variant.maxEdge());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ImageResizerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
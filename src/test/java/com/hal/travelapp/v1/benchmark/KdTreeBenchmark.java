@@ -0,0 +1,110 @@
+package com.hal.travelapp.v1.benchmark;
+
+import com.hal.travelapp.v1.service.search.KdTree;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures nearest-city lookups against a linear scan, on points spread uniformly over the globe
+ * and queried at random places.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.hal.travelapp.v1.benchmark.KdTreeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KdTreeBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "100000"})
+    public int cities;
+
+    private KdTree tree;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] queryLatitudes;
+    private double[] queryLongitudes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] ids = new long[cities];
+        latitudes = new double[cities];
+        longitudes = new double[cities];
+        for (int i = 0; i < cities; i++) {
+            ids[i] = i + 1;
+            latitudes[i] = Math.toDegrees(Math.asin(random.nextDouble(-1, 1)));
+            longitudes[i] = random.nextDouble(-180, 180);
+        }
+        tree = KdTree.build(ids, latitudes, longitudes);
+
+        queryLatitudes = new double[QUERIES];
+        queryLongitudes = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryLatitudes[i] = Math.toDegrees(Math.asin(random.nextDouble(-1, 1)));
+            queryLongitudes[i] = random.nextDouble(-180, 180);
+        }
+    }
+
+    @Benchmark
+    public List<KdTree.Hit> nearestTen() {
+        int query = next++ & (QUERIES - 1);
+        return tree.nearest(queryLatitudes[query], queryLongitudes[query], 10);
+    }
+
+    @Benchmark
+    public List<KdTree.Hit> within200Km() {
+        int query = next++ & (QUERIES - 1);
+        return tree.within(queryLatitudes[query], queryLongitudes[query], 200);
+    }
+
+    /**
+     * Baseline: haversine distance to every city, keeping the closest
+     */
+    @Benchmark
+    public int linearScanNearest() {
+        int query = next++ & (QUERIES - 1);
+        double lat = Math.toRadians(queryLatitudes[query]);
+        double lon = Math.toRadians(queryLongitudes[query]);
+        double cosLat = Math.cos(lat);
+        int best = -1;
+        double bestHaversine = Double.MAX_VALUE;
+        for (int i = 0; i < cities; i++) {
+            double cityLat = Math.toRadians(latitudes[i]);
+            double dLat = Math.sin((cityLat - lat) / 2);
+            double dLon = Math.sin((Math.toRadians(longitudes[i]) - lon) / 2);
+            double haversine = dLat * dLat + cosLat * Math.cos(cityLat) * dLon * dLon;
+            if (haversine < bestHaversine) {
+                bestHaversine = haversine;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public KdTree build() {
+        long[] ids = new long[cities];
+        for (int i = 0; i < cities; i++) {
+            ids[i] = i + 1;
+        }
+        return KdTree.build(ids, latitudes, longitudes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(KdTreeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
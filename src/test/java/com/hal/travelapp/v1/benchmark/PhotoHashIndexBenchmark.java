@@ -0,0 +1,89 @@
+package com.hal.travelapp.v1.benchmark;
+
+import com.hal.travelapp.v1.service.search.PhotoHashIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the duplicate check of a new blog's five photos against a linear scan, on uniformly
+ * random hashes with blogs of five photos each. Half of the queries are copies of an indexed blog
+ * with three bits flipped per photo.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.hal.travelapp.v1.benchmark.PhotoHashIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PhotoHashIndexBenchmark {
+
+    private static final int PHOTOS_PER_BLOG = 5;
+    private static final int MAX_DISTANCE = 6;
+    private static final int QUERIES = 1024;
+
+    @Param({"100000", "1000000"})
+    public int photos;
+
+    private PhotoHashIndex index;
+    private long[] hashes;
+    private long[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        hashes = random.longs(photos).toArray();
+        index = new PhotoHashIndex();
+        for (int blog = 0; blog < photos / PHOTOS_PER_BLOG; blog++) {
+            long[] blogHashes = new long[PHOTOS_PER_BLOG];
+            System.arraycopy(hashes, blog * PHOTOS_PER_BLOG, blogHashes, 0, PHOTOS_PER_BLOG);
+            index.put(blog + 1, blogHashes);
+        }
+
+        queries = new long[QUERIES][PHOTOS_PER_BLOG];
+        for (int i = 0; i < QUERIES; i++) {
+            int copied = random.nextInt(photos / PHOTOS_PER_BLOG);
+            for (int photo = 0; photo < PHOTOS_PER_BLOG; photo++) {
+                queries[i][photo] = i % 2 == 0
+                        ? hashes[copied * PHOTOS_PER_BLOG + photo] ^ 1L << random.nextInt(64) ^ 1L << random.nextInt(64) ^ 1L << random.nextInt(64)
+                        : random.nextLong();
+            }
+        }
+    }
+
+    @Benchmark
+    public List<PhotoHashIndex.Match> within() {
+        return index.within(queries[next++ & (QUERIES - 1)], MAX_DISTANCE, 5);
+    }
+
+    /**
+     * Baseline: Hamming distance from every query photo to every indexed photo
+     */
+    @Benchmark
+    public int linearScan() {
+        long[] query = queries[next++ & (QUERIES - 1)];
+        int matches = 0;
+        for (long hash : hashes) {
+            for (long photo : query) {
+                if (Long.bitCount(hash ^ photo) <= MAX_DISTANCE) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PhotoHashIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.hal.travelapp.v1.benchmark;
+
+import com.hal.travelapp.v1.service.search.SuggestionTrie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples autocomplete latency on 100k random titles, to read off the p99.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.hal.travelapp.v1.benchmark.SuggestionTrieBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestionTrieBenchmark {
+
+    private static final String LETTERS = "abcdefghiklmnoprstuy";
+
+    /**
+     * Short exact prefix, longer exact prefix, and a typo that only fuzzy matching finds
+     */
+    @Param({"ba", "bagan t", "bgaan"})
+    public String prefix;
+
+    private SuggestionTrie<Integer> trie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<SuggestionTrie.Entry<Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder title = new StringBuilder(i % 50 == 0 ? "bagan " : "");
+            int words = 2 + random.nextInt(5);
+            for (int w = 0; w < words; w++) {
+                int length = 2 + random.nextInt(8);
+                for (int c = 0; c < length; c++) {
+                    title.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+                }
+                title.append(' ');
+            }
+            entries.add(new SuggestionTrie.Entry<>(title.toString(), random.nextInt(1000), i));
+        }
+        trie = SuggestionTrie.build(entries, 10);
+    }
+
+    @Benchmark
+    public List<Integer> suggest() {
+        return trie.suggest(prefix, 8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SuggestionTrieBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,142 @@
+package com.hal.travelapp.v1.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboundClientFactoryTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundClientFactory clientFactory;
+    private final CountDownLatch releaseSlowRequest = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok", exchange -> {
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                releaseSlowRequest.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        clientFactory = new OutboundClientFactory(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowRequest.countDown();
+        server.stop(0);
+        clientFactory.close();
+    }
+
+    @Test
+    void shouldRecordLatencyPerOperationAndStatus() {
+        // Given
+        RestClient client = clientFactory.create(settings(4, Duration.ofSeconds(1)));
+
+        // When
+        client.get().uri(url("/ok")).attribute(OutboundClientFactory.OPERATION_ATTRIBUTE, "thing.get")
+                .retrieve().toBodilessEntity();
+        assertThatThrownBy(() -> client.get().uri(url("/missing"))
+                .attribute(OutboundClientFactory.OPERATION_ATTRIBUTE, "thing.get")
+                .retrieve().toBodilessEntity())
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+
+        // Then
+        Timer ok = meterRegistry.find("outbound.client.requests")
+                .tags("client", "test", "operation", "thing.get", "status", "200").timer();
+        Timer missing = meterRegistry.find("outbound.client.requests")
+                .tags("client", "test", "operation", "thing.get", "status", "404").timer();
+        assertThat(ok).isNotNull();
+        assertThat(ok.count()).isEqualTo(1);
+        assertThat(missing).isNotNull();
+        assertThat(missing.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectCallsOverTheConcurrencyLimit() throws Exception {
+        // Given - the only slot is held by a request the server has not answered yet
+        RestClient client = clientFactory.create(settings(1, Duration.ofMillis(100)));
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() ->
+                client.get().uri(url("/slow")).retrieve().toBodilessEntity());
+        awaitInFlight(1);
+
+        // When / Then
+        assertThatThrownBy(() -> client.get().uri(url("/ok")).retrieve().toBodilessEntity())
+                .isInstanceOf(ResourceAccessException.class)
+                .isInstanceOf(OutboundCapacityException.class);
+        assertThat(meterRegistry.find("outbound.client.requests").tags("status", "REJECTED").timer())
+                .isNotNull();
+
+        releaseSlowRequest.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void shouldTimeOutSlowResponses() {
+        // Given
+        RestClient client = clientFactory.create(new OutboundClientSettings(
+                "test", Duration.ofSeconds(1), Duration.ofMillis(200), 4, Duration.ofSeconds(1)));
+
+        // When / Then
+        assertThatThrownBy(() -> client.get().uri(url("/slow")).retrieve().toBodilessEntity())
+                .isInstanceOf(ResourceAccessException.class);
+    }
+
+    private OutboundClientSettings settings(int maxConcurrentRequests, Duration acquireTimeout) {
+        return new OutboundClientSettings("test", Duration.ofSeconds(1), Duration.ofSeconds(5),
+                maxConcurrentRequests, acquireTimeout);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("outbound.client.in.flight").tag("client", "test").gauge().value();
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && inFlight() < expected; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(inFlight()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,149 @@
+package com.hal.travelapp.v1.repository;
+
+import com.hal.travelapp.v1.entity.domain.TravelBlog;
+import com.hal.travelapp.v1.initializer.DatabaseIndexInitializer;
+import com.hal.travelapp.v1.repository.specification.TravelBlogSpecifications;
+import com.hal.travelapp.v1.utils.SearchCursor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the filtered search against sequential scans. Needs PostgreSQL 16 or later for
+ * {@code EXPLAIN (GENERIC_PLAN)}, so it only runs when {@code EXPLAIN_DB_URL} points at a
+ * disposable database (its schema is recreated); credentials come from {@code EXPLAIN_DB_USERNAME}
+ * and {@code EXPLAIN_DB_PASSWORD}.
+ * <p>
+ * Each query is captured as Hibernate sends it and planned generically, like a cached prepared
+ * statement, with sequential scans disabled so that an empty table still shows whether an index
+ * can serve it.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${EXPLAIN_DB_URL}",
+        "spring.datasource.username=${EXPLAIN_DB_USERNAME:postgres}",
+        "spring.datasource.password=${EXPLAIN_DB_PASSWORD:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = ".+")
+class TravelBlogFilterPlanTest {
+
+    private static final List<String> INDEXED_TABLES = List.of("travel_blog_tbl", "blog_category_tbl", "best_time_to_visit_tbl");
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private TravelBlogRepo travelBlogRepo;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        new DatabaseIndexInitializer(jdbcTemplate).run();
+        jdbcTemplate.execute("SET enable_seqscan = off");
+        STATEMENTS.clear();
+    }
+
+    @Test
+    void shouldBrowseApprovedBlogsByIndex() {
+        assertIndexed(repo -> repo.findRankedIds(TravelBlogSpecifications.approved(), null, SearchCursor.FIRST, 20));
+        assertIndexed(repo -> repo.findRankedIds(TravelBlogSpecifications.approved(), null, new SearchCursor(0f, 100L), 20));
+    }
+
+    @Test
+    void shouldListBestForMonthByIndex() {
+        Specification<TravelBlog> filter = TravelBlogSpecifications.approved().and(TravelBlogSpecifications.bestVisitedIn(1));
+
+        assertIndexed(repo -> repo.findRankedIds(filter, null, SearchCursor.FIRST, 20));
+    }
+
+    @Test
+    void shouldFilterByCityCategoryAndMonthByIndex() {
+        Specification<TravelBlog> filter = Specification.allOf(
+                TravelBlogSpecifications.approved(),
+                TravelBlogSpecifications.inCity(1L),
+                TravelBlogSpecifications.inAllCategories(List.of(2L, 3L)),
+                TravelBlogSpecifications.bestVisitedIn(12));
+
+        assertIndexed(repo -> repo.findRankedIds(filter, null, new SearchCursor(0f, 100L), 20));
+        assertIndexed(repo -> repo.countByCity(filter));
+        assertIndexed(repo -> repo.countByCategory(filter));
+        assertIndexed(repo -> repo.countByVisitWindow(filter));
+    }
+
+    @Test
+    void shouldSearchTextByIndex() {
+        Specification<TravelBlog> filter = Specification.allOf(
+                TravelBlogSpecifications.approved(),
+                TravelBlogSpecifications.matchesText("bagan temples"),
+                TravelBlogSpecifications.inAnyCategory(List.of(2L, 3L)));
+
+        assertIndexed(repo -> repo.findRankedIds(filter, "bagan temples", new SearchCursor(0.5f, 100L), 20));
+    }
+
+    private void assertIndexed(Consumer<TravelBlogRepo> query) {
+        STATEMENTS.clear();
+        query.accept(travelBlogRepo);
+        assertThat(STATEMENTS).isNotEmpty();
+
+        for (String sql : STATEMENTS) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numberParameters(sql), String.class);
+            for (String table : INDEXED_TABLES) {
+                assertThat(plan)
+                        .as("plan of %s", sql)
+                        .doesNotContainPattern("\"Node Type\": \"Seq Scan\",[^}]*\"Relation Name\": \"" + table + "\"");
+            }
+        }
+    }
+
+    /**
+     * JDBC {@code ?} placeholders to the {@code $n} parameters EXPLAIN accepts
+     */
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
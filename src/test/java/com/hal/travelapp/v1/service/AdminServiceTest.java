@@ -2,11 +2,19 @@ package com.hal.travelapp.v1.service;
 
 import com.hal.travelapp.v1.dto.AdminApprovalRequestDto;
 import com.hal.travelapp.v1.dto.BlogApprovalRequestDto;
+import com.hal.travelapp.v1.dto.BlogDuplicateFlagDto;
+import com.hal.travelapp.v1.dto.BulkModerationRequestDto;
+import com.hal.travelapp.v1.dto.BulkModerationResultDto;
 import com.hal.travelapp.v1.dto.blog.BlogDto;
 import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
+import com.hal.travelapp.v1.dto.CursorPageResult;
+import com.hal.travelapp.v1.dto.PageResult;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
 import com.hal.travelapp.v1.entity.domain.*;
 import com.hal.travelapp.v1.entity.enums.RequestStatus;
 import com.hal.travelapp.v1.entity.enums.RoleEnum;
+import com.hal.travelapp.v1.event.BlogChangedEvent;
+import com.hal.travelapp.v1.exception.InvalidActionException;
 import com.hal.travelapp.v1.exception.ResourceNotFoundException;
 import com.hal.travelapp.v1.repository.*;
 import com.hal.travelapp.v1.service.impl.AdminServiceImpl;
@@ -14,9 +22,14 @@ import com.hal.travelapp.v1.utils.UserRoleUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
 import java.util.List;
@@ -43,6 +56,24 @@ class AdminServiceTest {
     @Mock
     private RoleRepo roleRepo;
 
+    @Mock
+    private BlogLikeRepo blogLikeRepo;
+
+    @Mock
+    private BlogDuplicateFlagRepo blogDuplicateFlagRepo;
+
+    @Mock
+    private StatCounterRepo statCounterRepo;
+
+    @Mock
+    private StatCounterService statCounterService;
+
+    @Mock
+    private ModerationAuditLog moderationAuditLog;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
@@ -223,20 +254,185 @@ class AdminServiceTest {
     }
 
     @Test
-    void shouldGetAllPendingBlogs() {
+    void shouldFilterCertificationRequestsByStatusInTheDatabase() {
         // Given
-        when(travelBlogRepo.findByStatusAndDeletedFalse(TravelBlog.BlogStatus.PENDING))
-                .thenReturn(List.of(pendingBlog));
+        Pageable pageable = PageRequest.of(1, 10);
+        when(certifiedUserRequestRepo.findRequestDtosByStatus(RequestStatus.APPROVED, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 10));
 
         // When
-        List<BlogDto> result = adminService.getAllPendingBlogs();
+        PageResult<CertifiedUserRequestDto> result = adminService.getAllCertificationRequests("approved", pageable);
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).status()).isEqualTo("PENDING");
+        assertThat(result.pageNumber()).isEqualTo(1);
+        assertThat(result.totalElements()).isEqualTo(10);
+        verify(certifiedUserRequestRepo, never()).findAll();
+        assertThatThrownBy(() -> adminService.getAllCertificationRequests("archived", pageable))
+                .isInstanceOf(InvalidActionException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldBulkApproveBlogsAndReportEachId() {
+        // Given - 1 and 2 are pending, 3 was already moderated, 4 does not exist
+        BulkModerationRequestDto request = new BulkModerationRequestDto(List.of(1L, 2L, 3L, 4L, 2L), "approve", null);
+        when(travelBlogRepo.moderatePending(Set.of(1L, 2L, 3L, 4L), "APPROVED")).thenReturn(List.of(1L, 2L));
+        when(travelBlogRepo.findExistingIds(List.of(3L, 4L))).thenReturn(List.of(3L));
+
+        // When
+        BulkModerationResultDto result = adminService.moderateBlogs(request, 1L);
+
+        // Then
+        assertThat(result.action()).isEqualTo("APPROVE");
+        assertThat(result.updatedCount()).isEqualTo(2);
+        assertThat(result.outcomes()).containsExactly(
+                new BulkModerationResultDto.Outcome(1L, "APPROVED"),
+                new BulkModerationResultDto.Outcome(2L, "APPROVED"),
+                new BulkModerationResultDto.Outcome(3L, "NOT_PENDING"),
+                new BulkModerationResultDto.Outcome(4L, "NOT_FOUND")
+        );
+        verify(travelBlogRepo, never()).save(any(TravelBlog.class));
+        verify(eventPublisher).publishEvent(new BlogChangedEvent(Set.of(1L, 2L)));
+        ArgumentCaptor<List<ModerationAuditLog.Event>> audit = ArgumentCaptor.forClass(List.class);
+        verify(moderationAuditLog).recordAll(audit.capture());
+        assertThat(audit.getValue()).extracting(ModerationAuditLog.Event::targetId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(audit.getValue()).allSatisfy(event -> {
+            assertThat(event.actorId()).isEqualTo(1L);
+            assertThat(event.fromStatus()).isEqualTo("PENDING");
+            assertThat(event.toStatus()).isEqualTo("APPROVED");
+        });
+    }
+
+    @Test
+    void shouldBulkApproveCertificationRequestsAndPromoteUsersOnce() {
+        // Given
+        BulkModerationRequestDto request = new BulkModerationRequestDto(List.of(10L, 11L), "APPROVE", "ignored");
+        when(certifiedUserRequestRepo.moderatePending(Set.of(10L, 11L), "APPROVED", 1L, null))
+                .thenReturn(List.of(new Object[]{10L, 2L}, new Object[]{11L, 5L}));
+        when(roleRepo.findByName(RoleEnum.ROLE_CERTIFIED_USER)).thenReturn(Optional.of(certifiedRole));
+
+        // When
+        BulkModerationResultDto result = adminService.moderateCertificationRequests(request, 1L);
+
+        // Then
+        assertThat(result.updatedCount()).isEqualTo(2);
+        assertThat(result.outcomes()).extracting(BulkModerationResultDto.Outcome::result)
+                .containsExactly("APPROVED", "APPROVED");
+        verify(userRepo).updateRole(Set.of(2L, 5L), certifiedRole);
+        verify(certifiedUserRequestRepo, never()).findExistingIds(anyCollection());
+    }
+
+    @Test
+    void shouldCountUserWithTwoApprovedRequestsOnce() {
+        // Given
+        BulkModerationRequestDto request = new BulkModerationRequestDto(List.of(10L, 11L), "APPROVE", null);
+        when(certifiedUserRequestRepo.moderatePending(Set.of(10L, 11L), "APPROVED", 1L, null))
+                .thenReturn(List.of(new Object[]{10L, 2L}, new Object[]{11L, 2L}));
+        when(statCounterRepo.countRolesOfUsers(Set.of(2L)))
+                .thenReturn(List.<Object[]>of(new Object[]{RoleEnum.ROLE_USER, 1L}));
+        when(roleRepo.findByName(RoleEnum.ROLE_CERTIFIED_USER)).thenReturn(Optional.of(certifiedRole));
+
+        // When
+        adminService.moderateCertificationRequests(request, 1L);
+
+        // Then
+        verify(userRepo).updateRole(Set.of(2L), certifiedRole);
+        verify(statCounterService).add(StatCounterService.userRole(RoleEnum.ROLE_USER), -1L);
+        verify(statCounterService).add(StatCounterService.userRole(RoleEnum.ROLE_CERTIFIED_USER), 1L);
+    }
+
+    @Test
+    void shouldRejectUnknownBulkAction() {
+        BulkModerationRequestDto request = new BulkModerationRequestDto(List.of(1L), "PUBLISH", null);
+
+        assertThatThrownBy(() -> adminService.moderateBlogs(request, 1L))
+                .isInstanceOf(InvalidActionException.class);
+
+        verifyNoInteractions(travelBlogRepo);
+    }
+
+    @Test
+    void shouldPagePendingBlogsWithKeysetCursor() {
+        // Given
+        Instant createdAt = Instant.parse("2024-05-01T10:15:30.123456Z");
+        TravelBlogRepo.BlogCardView first = cardView(1L, createdAt);
+        TravelBlogRepo.BlogCardView second = cardView(2L, createdAt);
+        TravelBlogRepo.BlogCardView third = cardView(3L, createdAt.plusSeconds(60));
+        BlogLikeRepo.LikeCount likes = mock(BlogLikeRepo.LikeCount.class);
+        when(likes.getBlogId()).thenReturn(2L);
+        when(likes.getLikeCount()).thenReturn(4L);
+
+        when(travelBlogRepo.findPendingCards(any(Pageable.class))).thenReturn(List.of(first, second, third));
+        when(blogLikeRepo.countLikesByBlogIds(List.of(1L, 2L))).thenReturn(List.of(likes));
+        when(travelBlogRepo.findPendingCardsAfter(eq(createdAt), eq(2L), any(Pageable.class))).thenReturn(List.of(third));
+        when(blogLikeRepo.countLikesByBlogIds(List.of(3L))).thenReturn(List.of());
+
+        // When
+        CursorPageResult<BlogCardDto> firstPage = adminService.getPendingBlogs(null, 2);
+        CursorPageResult<BlogCardDto> secondPage = adminService.getPendingBlogs(firstPage.nextCursor(), 2);
+
+        // Then
+        assertThat(firstPage.content()).extracting(BlogCardDto::id).containsExactly(1L, 2L);
+        assertThat(firstPage.content()).extracting(BlogCardDto::likeCount).containsExactly(0L, 4L);
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(secondPage.content()).extracting(BlogCardDto::id).containsExactly(3L);
+        assertThat(secondPage.hasNext()).isFalse();
+        assertThat(secondPage.nextCursor()).isNull();
+
+        verify(travelBlogRepo).findPendingCards(PageRequest.of(0, 3));
+    }
+
+    @Test
+    void shouldRejectTamperedPendingCursor() {
+        assertThatThrownBy(() -> adminService.getPendingBlogs("not-a-cursor", 20))
+                .isInstanceOf(InvalidActionException.class);
+
+        verifyNoInteractions(travelBlogRepo);
+    }
+
+    @Test
+    void shouldListDuplicateFlagsWithDeletedOriginals() {
+        // Given
+        BlogDuplicateFlagRepo.FlagView rejected = flagView(4L, TravelBlog.BlogStatus.REJECTED, false, 0.92);
+        BlogDuplicateFlagRepo.FlagView deleted = flagView(2L, TravelBlog.BlogStatus.APPROVED, true, 0.61);
+        when(blogDuplicateFlagRepo.findFlagsByBlogId(9L)).thenReturn(List.of(rejected, deleted));
+
+        // When
+        List<BlogDuplicateFlagDto> flags = adminService.getDuplicateFlags(9L);
+
+        // Then
+        assertThat(flags).extracting(BlogDuplicateFlagDto::duplicateOfId).containsExactly(4L, 2L);
+        assertThat(flags).extracting(BlogDuplicateFlagDto::status).containsExactly("REJECTED", "DELETED");
+        assertThat(flags).extracting(BlogDuplicateFlagDto::kind).containsOnly("TEXT");
+        verify(travelBlogRepo, never()).existsById(any());
+    }
+
+    @Test
+    void shouldRejectDuplicateFlagsOfMissingBlog() {
+        when(blogDuplicateFlagRepo.findFlagsByBlogId(9L)).thenReturn(List.of());
+        when(travelBlogRepo.existsById(9L)).thenReturn(false);
+
+        assertThatThrownBy(() -> adminService.getDuplicateFlags(9L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static BlogDuplicateFlagRepo.FlagView flagView(Long duplicateOfId, TravelBlog.BlogStatus status,
+                                                           boolean deleted, double similarity) {
+        BlogDuplicateFlagRepo.FlagView view = mock(BlogDuplicateFlagRepo.FlagView.class);
+        when(view.getDuplicateOfId()).thenReturn(duplicateOfId);
+        lenient().when(view.getStatus()).thenReturn(status);
+        when(view.isDeleted()).thenReturn(deleted);
+        when(view.getKind()).thenReturn(BlogDuplicateFlag.Kind.TEXT);
+        when(view.getSimilarity()).thenReturn(similarity);
+        return view;
+    }
 
-        verify(travelBlogRepo).findByStatusAndDeletedFalse(TravelBlog.BlogStatus.PENDING);
+    private static TravelBlogRepo.BlogCardView cardView(Long id, Instant createdAt) {
+        TravelBlogRepo.BlogCardView view = mock(TravelBlogRepo.BlogCardView.class);
+        lenient().when(view.getId()).thenReturn(id);
+        lenient().when(view.getStatus()).thenReturn(TravelBlog.BlogStatus.PENDING);
+        lenient().when(view.getCreatedAt()).thenReturn(createdAt);
+        return view;
     }
 }
 
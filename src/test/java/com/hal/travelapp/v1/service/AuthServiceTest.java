@@ -43,6 +43,9 @@ class AuthServiceTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private StatCounterService statCounterService;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
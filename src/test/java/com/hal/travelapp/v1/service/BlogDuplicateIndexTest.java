@@ -0,0 +1,151 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.event.BlogChangedEvent;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.impl.BlogDuplicateIndexImpl;
+import com.hal.travelapp.v1.service.search.MinHashIndex;
+import com.hal.travelapp.v1.service.search.PhotoHashIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlogDuplicateIndexTest {
+
+    private static final String BAGAN = "We rented e-bikes at dawn and rode between the temples of Old Bagan while "
+            + "hot air balloons drifted over the plain. Shwesandaw pagoda was crowded at sunset, so we climbed a "
+            + "smaller stupa near Bulethi instead and had the view almost to ourselves.";
+    private static final String BAGAN_FOOD = "Lunch was a Burmese curry spread at a family restaurant in Nyaung-U, "
+            + "with pickled tea leaf salad and far too many side dishes for two people.";
+    private static final long TEMPLE_PHOTO = 0x9C3A_71E4_0B5D_2F86L;
+    private static final long BALLOON_PHOTO = 0x61F0_8E2B_D4A7_3C19L;
+    private static final String INLE = "A long-tail boat took us across Inle Lake to the floating gardens and the "
+            + "stilt villages, where leg-rowing fishermen balanced on one foot with conical nets.";
+
+    @Mock
+    private TravelBlogRepo travelBlogRepo;
+
+    private BlogDuplicateIndexImpl blogDuplicateIndex;
+
+    @BeforeEach
+    void setUp() {
+        blogDuplicateIndex = new BlogDuplicateIndexImpl(travelBlogRepo, 2, 0.5, 6, 5);
+    }
+
+    @Test
+    void shouldFindLightlyEditedRepostButNotOtherBlogs() {
+        // Given
+        List<TravelBlogRepo.DuplicateSourceView> firstPage = List.of(paragraphs(1L, BAGAN, BAGAN_FOOD, null), paragraphs(2L, INLE, null, null));
+        List<TravelBlogRepo.DuplicateSourceView> lastPage = List.of(paragraphs(3L, null, null, null));
+        when(travelBlogRepo.findDuplicateSources(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(travelBlogRepo.findDuplicateSources(eq(2L), any(Pageable.class))).thenReturn(lastPage);
+        blogDuplicateIndex.rebuild();
+
+        // When - a few words changed and the paragraphs swapped around
+        List<MinHashIndex.Match> repost = blogDuplicateIndex.findTextDuplicates(
+                BAGAN_FOOD.replace("far too many", "so many"),
+                BAGAN.replace("e-bikes", "electric bikes").replace("almost", "nearly"),
+                "Highly recommended!");
+        List<MinHashIndex.Match> unrelated = blogDuplicateIndex.findTextDuplicates(
+                "Mandalay hill at sunset, then the U Bein bridge in Amarapura the next morning.", null, null);
+
+        // Then - the blog without text is not indexed
+        assertThat(blogDuplicateIndex.size()).isEqualTo(2);
+        assertThat(repost).extracting(MinHashIndex.Match::id).containsExactly(1L);
+        assertThat(repost.getFirst().similarity()).isGreaterThan(0.5);
+        assertThat(unrelated).isEmpty();
+        assertThat(blogDuplicateIndex.findTextDuplicates(null, " ", null)).isEmpty();
+    }
+
+    @Test
+    void shouldDropDeletedBlogs() {
+        // Given
+        TravelBlogRepo.DuplicateSourceView inle = paragraphs(2L, INLE, null, null);
+        when(travelBlogRepo.findDuplicateSourcesByIds(List.of(2L))).thenReturn(List.of(inle)).thenReturn(List.of());
+        blogDuplicateIndex.onBlogChanged(BlogChangedEvent.of(2L));
+        List<MinHashIndex.Match> beforeDelete = blogDuplicateIndex.findTextDuplicates(INLE, null, null);
+
+        // When
+        blogDuplicateIndex.onBlogChanged(BlogChangedEvent.of(2L));
+
+        // Then
+        assertThat(beforeDelete).containsExactly(new MinHashIndex.Match(2L, 1.0));
+        assertThat(blogDuplicateIndex.findTextDuplicates(INLE, null, null)).isEmpty();
+        assertThat(blogDuplicateIndex.size()).isZero();
+    }
+
+    @Test
+    void shouldFindCopiedPhotosWithinDistance() {
+        // Given - blog 2 has no hashed photos, and a replaced photo must no longer match
+        TravelBlogRepo.DuplicateSourceView temples = photos(1L, TEMPLE_PHOTO, 0x1234_5678_9ABC_DEF0L);
+        TravelBlogRepo.DuplicateSourceView unhashed = photos(2L);
+        TravelBlogRepo.DuplicateSourceView retaken = photos(1L, BALLOON_PHOTO);
+        when(travelBlogRepo.findDuplicateSourcesByIds(List.of(1L, 2L))).thenReturn(List.of(temples, unhashed));
+        when(travelBlogRepo.findDuplicateSourcesByIds(List.of(1L))).thenReturn(List.of(retaken));
+        blogDuplicateIndex.onBlogChanged(new BlogChangedEvent(List.of(1L, 2L)));
+
+        // When - two bits flipped in two of the 16-bit chunks and one in each of the others
+        long recompressed = TEMPLE_PHOTO ^ 0x0003_0001_0600_0010L;
+        long cropped = TEMPLE_PHOTO ^ 0x0007_0001_0600_0010L;
+        List<PhotoHashIndex.Match> close = blogDuplicateIndex.findPhotoDuplicates(List.of(BALLOON_PHOTO, recompressed));
+        List<PhotoHashIndex.Match> tooFar = blogDuplicateIndex.findPhotoDuplicates(List.of(cropped));
+        List<PhotoHashIndex.Match> flat = blogDuplicateIndex.findPhotoDuplicates(List.of(0L, -1L));
+        blogDuplicateIndex.onBlogChanged(BlogChangedEvent.of(1L));
+
+        // Then
+        assertThat(close).containsExactly(new PhotoHashIndex.Match(1L, 6));
+        assertThat(tooFar).isEmpty();
+        assertThat(flat).isEmpty();
+        assertThat(blogDuplicateIndex.findPhotoDuplicates(List.of(recompressed))).isEmpty();
+        assertThat(blogDuplicateIndex.findPhotoDuplicates(List.of(BALLOON_PHOTO))).containsExactly(new PhotoHashIndex.Match(1L, 0));
+        assertThat(blogDuplicateIndex.photoCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEstimateJaccardSimilarity() {
+        // 40 shared shingles out of 60 in total: a Jaccard similarity of 2/3
+        StringBuilder shared = new StringBuilder();
+        for (int i = 0; i < 42; i++) {
+            shared.append("w").append(i).append(' ');
+        }
+        StringBuilder first = new StringBuilder(shared);
+        StringBuilder second = new StringBuilder(shared);
+        for (int i = 0; i < 10; i++) {
+            first.append("a").append(i).append(' ');
+            second.append("b").append(i).append(' ');
+        }
+
+        double similarity = MinHashIndex.similarity(
+                MinHashIndex.signature(first.toString()), MinHashIndex.signature(second.toString()));
+
+        assertThat(similarity).isCloseTo(2.0 / 3, within(0.12));
+    }
+
+    private TravelBlogRepo.DuplicateSourceView paragraphs(Long id, String paragraph1, String paragraph2, String paragraph3) {
+        TravelBlogRepo.DuplicateSourceView view = mock(TravelBlogRepo.DuplicateSourceView.class);
+        lenient().when(view.getId()).thenReturn(id);
+        when(view.getParagraph1()).thenReturn(paragraph1);
+        when(view.getParagraph2()).thenReturn(paragraph2);
+        when(view.getParagraph3()).thenReturn(paragraph3);
+        return view;
+    }
+
+    private TravelBlogRepo.DuplicateSourceView photos(Long id, Long... hashes) {
+        TravelBlogRepo.DuplicateSourceView view = mock(TravelBlogRepo.DuplicateSourceView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getMainPhotoHash()).thenReturn(hashes.length > 0 ? hashes[0] : null);
+        when(view.getMidPhoto1Hash()).thenReturn(hashes.length > 1 ? hashes[1] : null);
+        return view;
+    }
+}
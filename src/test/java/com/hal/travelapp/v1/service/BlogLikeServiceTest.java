@@ -15,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -35,6 +36,12 @@ class BlogLikeServiceTest {
     @Mock
     private UserRepo userRepo;
 
+    @Mock
+    private StatCounterService statCounterService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BlogLikeServiceImpl blogLikeService;
 
@@ -89,6 +96,7 @@ class BlogLikeServiceTest {
         verify(blogLikeRepo).existsByUserIdAndBlogId(1L, 1L);
         verify(blogLikeRepo).save(any(BlogLike.class));
         verify(blogLikeRepo).countLikesByBlogId(1L);
+        verify(statCounterService).add(anyString(), eq(1L));
     }
 
     @Test
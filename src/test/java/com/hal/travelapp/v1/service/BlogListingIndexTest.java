@@ -0,0 +1,160 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.event.BlogChangedEvent;
+import com.hal.travelapp.v1.event.BlogLikesChangedEvent;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.impl.BlogListingIndexImpl;
+import com.hal.travelapp.v1.service.search.BlogColumnStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlogListingIndexTest {
+
+    @Mock
+    private TravelBlogRepo travelBlogRepo;
+
+    private BlogListingIndexImpl blogListingIndex;
+
+    @BeforeEach
+    void setUp() {
+        blogListingIndex = new BlogListingIndexImpl(travelBlogRepo, 2, 1);
+    }
+
+    @Test
+    void shouldBuildInPagesAndFilterByCityCategoryAndMonth() {
+        // Given
+        List<TravelBlogRepo.ListingRowView> firstPage = List.of(row(1L, 10L, 0b11, 4, 100), row(2L, 20L, 0b100, 9, 200));
+        List<TravelBlogRepo.ListingRowView> lastPage = List.of(row(3L, 10L, 0b1000, 1, 300));
+        when(travelBlogRepo.findListingRows(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(travelBlogRepo.findListingRows(eq(2L), any(Pageable.class))).thenReturn(lastPage);
+        List<TravelBlogRepo.BlogCategoryView> firstCategories = List.of(link(1L, 5L), link(1L, 6L), link(2L, 5L));
+        List<TravelBlogRepo.BlogCategoryView> lastCategories = List.of(link(3L, 6L));
+        when(travelBlogRepo.findCategoryIdsByBlogIds(List.of(1L, 2L))).thenReturn(firstCategories);
+        when(travelBlogRepo.findCategoryIdsByBlogIds(List.of(3L))).thenReturn(lastCategories);
+
+        // When
+        blogListingIndex.rebuild();
+
+        // Then
+        assertThat(blogListingIndex.size()).isEqualTo(3);
+        assertThat(ids(query(10L, List.of(), false, 0, BlogColumnStore.Sort.RECENT))).containsExactly(3L, 1L);
+        assertThat(ids(query(0L, List.of(5L, 6L), true, 0, BlogColumnStore.Sort.RECENT))).containsExactly(1L);
+        assertThat(ids(query(0L, List.of(6L, 99L), false, 0, BlogColumnStore.Sort.LIKES))).containsExactly(1L, 3L);
+        assertThat(ids(query(0L, List.of(), false, 0b100, BlogColumnStore.Sort.LIKES))).containsExactly(2L);
+        assertThat(ids(query(0L, List.of(99L), true, 0, BlogColumnStore.Sort.RECENT))).isEmpty();
+    }
+
+    @Test
+    void shouldPatchLikesAndRemovals() {
+        // Given
+        TravelBlogRepo.ListingRowView liked = row(7L, 10L, 0, 50, 100);
+        when(travelBlogRepo.findListingRowsByIds(List.of(7L))).thenReturn(List.of(liked)).thenReturn(List.of());
+        when(travelBlogRepo.findCategoryIdsByBlogIds(anyCollection())).thenReturn(List.of());
+
+        // When - liked, then rejected
+        blogListingIndex.onBlogLikesChanged(new BlogLikesChangedEvent(7L));
+        List<BlogColumnStore.Hit> afterLike = blogListingIndex.find(query(0L, List.of(), false, 0, BlogColumnStore.Sort.LIKES));
+        blogListingIndex.onBlogChanged(BlogChangedEvent.of(7L));
+
+        // Then
+        assertThat(afterLike).containsExactly(new BlogColumnStore.Hit(7L, 50));
+        assertThat(blogListingIndex.size()).isZero();
+    }
+
+    @Test
+    void shouldMatchSortedFilterWhenScanningInParallelAcrossPages() {
+        // Given - enough rows for several fork/join chunks, with ties on the like count
+        SplittableRandom random = new SplittableRandom(3);
+        BlogColumnStore store = new BlogColumnStore();
+        List<long[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            long cityId = 1 + random.nextInt(20);
+            long likes = random.nextInt(500);
+            long category = 1 + random.nextInt(100);
+            store.put(id, cityId, Set.of(category), 1 << random.nextInt(12), likes, id * 1000);
+            rows.add(new long[]{id, cityId, likes, category});
+        }
+        for (long id = 1; id <= 100_000; id += 9) {
+            store.remove(id);
+        }
+        List<BlogColumnStore.Hit> expected = rows.stream()
+                .filter(row -> (row[0] - 1) % 9 != 0 && row[1] == 4 && (row[3] == 7 || row[3] == 70))
+                .map(row -> new BlogColumnStore.Hit(row[0], row[2]))
+                .sorted(Comparator.comparingLong(BlogColumnStore.Hit::key).thenComparingLong(BlogColumnStore.Hit::id).reversed())
+                .toList();
+
+        // When - page through 25 at a time
+        List<BlogColumnStore.Hit> paged = new ArrayList<>();
+        long afterKey = Long.MAX_VALUE;
+        long afterId = Long.MAX_VALUE;
+        List<BlogColumnStore.Hit> page;
+        do {
+            page = store.find(new BlogColumnStore.Query(4L, List.of(7L, 70L), false, 0,
+                    BlogColumnStore.Sort.LIKES, afterKey, afterId, 25), 1);
+            paged.addAll(page);
+            if (!page.isEmpty()) {
+                afterKey = page.getLast().key();
+                afterId = page.getLast().id();
+            }
+        } while (page.size() == 25);
+
+        // Then
+        assertThat(expected).isNotEmpty();
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldWidenCategoryBitsBeyondSixtyFour() {
+        BlogColumnStore store = new BlogColumnStore();
+        for (long id = 1; id <= 100; id++) {
+            store.put(id, 1L, List.of(id), 0, 0, id);
+        }
+
+        assertThat(store.find(new BlogColumnStore.Query(0L, List.of(3L, 90L), false, 0,
+                BlogColumnStore.Sort.RECENT, Long.MAX_VALUE, Long.MAX_VALUE, 10), Integer.MAX_VALUE))
+                .extracting(BlogColumnStore.Hit::id).containsExactly(90L, 3L);
+    }
+
+    private BlogColumnStore.Query query(long cityId, List<Long> categoryIds, boolean all, int monthMask, BlogColumnStore.Sort sort) {
+        return new BlogColumnStore.Query(cityId, categoryIds, all, monthMask, sort, Long.MAX_VALUE, Long.MAX_VALUE, 10);
+    }
+
+    private List<Long> ids(BlogColumnStore.Query query) {
+        return blogListingIndex.find(query).stream().map(BlogColumnStore.Hit::id).toList();
+    }
+
+    private TravelBlogRepo.ListingRowView row(Long id, Long cityId, int monthMask, long likes, long createdAtSeconds) {
+        TravelBlogRepo.ListingRowView row = mock(TravelBlogRepo.ListingRowView.class);
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getCityId()).thenReturn(cityId);
+        lenient().when(row.getMonthMask()).thenReturn(monthMask);
+        lenient().when(row.getLikeCount()).thenReturn(likes);
+        lenient().when(row.getCreatedAt()).thenReturn(Instant.ofEpochSecond(createdAtSeconds));
+        return row;
+    }
+
+    private TravelBlogRepo.BlogCategoryView link(Long blogId, Long categoryId) {
+        TravelBlogRepo.BlogCategoryView link = mock(TravelBlogRepo.BlogCategoryView.class);
+        when(link.getBlogId()).thenReturn(blogId);
+        when(link.getCategoryId()).thenReturn(categoryId);
+        return link;
+    }
+}
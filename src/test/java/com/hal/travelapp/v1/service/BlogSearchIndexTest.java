@@ -0,0 +1,156 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.blog.BlogIndexHitDto;
+import com.hal.travelapp.v1.event.BlogChangedEvent;
+import com.hal.travelapp.v1.exception.InvalidActionException;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.impl.BlogSearchIndexImpl;
+import com.hal.travelapp.v1.service.search.InvertedIndex;
+import com.hal.travelapp.v1.service.search.TextAnalyzer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlogSearchIndexTest {
+
+    @Mock
+    private TravelBlogRepo travelBlogRepo;
+
+    private BlogSearchIndexImpl blogSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        blogSearchIndex = new BlogSearchIndexImpl(travelBlogRepo, 2);
+    }
+
+    @Test
+    void shouldFoldDiacriticsButKeepMyanmarMarks() {
+        assertThat(TextAnalyzer.tokenize("Café at the Inlé Lake!")).containsExactly("cafe", "inle", "lake");
+        assertThat(TextAnalyzer.tokenize("ပုဂံ Bagan")).containsExactly("ပုဂံ", "bagan");
+    }
+
+    @Test
+    void shouldBuildInPagesAndRankTitleMatchesFirst() {
+        // Given
+        List<TravelBlogRepo.SearchDocumentView> firstPage = List.of(
+                document(1L, "Street food in Yangon", "Yangon", "We tried the tea shops near the temples."),
+                document(2L, "Temples of Bagan", "Bagan", "Sunrise over a thousand temples.")
+        );
+        List<TravelBlogRepo.SearchDocumentView> lastPage = List.of(
+                document(3L, "Inle Lake by boat", "Nyaungshwe", "Floating gardens and leg rowers.")
+        );
+        when(travelBlogRepo.findSearchDocuments(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(travelBlogRepo.findSearchDocuments(eq(2L), any(Pageable.class))).thenReturn(lastPage);
+
+        // When
+        blogSearchIndex.rebuild();
+        List<BlogIndexHitDto> hits = blogSearchIndex.search("temples", 10);
+
+        // Then
+        assertThat(blogSearchIndex.size()).isEqualTo(3);
+        assertThat(hits).extracting(BlogIndexHitDto::id).containsExactly(2L, 1L);
+        assertThat(hits.getFirst().cityName()).isEqualTo("Bagan");
+        assertThat(hits.getFirst().score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void shouldApplyChangesIncrementally() {
+        // Given
+        TravelBlogRepo.SearchDocumentView approved = document(7L, "Mandalay Hill", "Mandalay", "Climbing at dusk.");
+        when(travelBlogRepo.findSearchDocumentsByIds(List.of(7L)))
+                .thenReturn(List.of(approved))
+                .thenReturn(List.of());
+
+        // When - approved, then rejected
+        blogSearchIndex.onBlogChanged(BlogChangedEvent.of(7L));
+        List<BlogIndexHitDto> afterApproval = blogSearchIndex.search("mandalay", 10);
+        blogSearchIndex.onBlogChanged(BlogChangedEvent.of(7L));
+
+        // Then
+        assertThat(afterApproval).extracting(BlogIndexHitDto::id).containsExactly(7L);
+        assertThat(blogSearchIndex.search("mandalay", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectBlankQuery() {
+        assertThatThrownBy(() -> blogSearchIndex.search("  ", 10)).isInstanceOf(InvalidActionException.class);
+    }
+
+    @Test
+    void shouldKeepBestHitsAcrossRemovalsAndCompaction() {
+        // Given - every document matches, later ones repeat the term more often
+        InvertedIndex<String> index = new InvertedIndex<>();
+        for (long id = 1; id <= 3000; id++) {
+            index.put(id, Map.of("pagoda", (int) (id % 10) + 1, "filler", 5), (int) (id % 10) + 6, "blog-" + id);
+        }
+
+        // When - removing two thirds triggers compaction
+        for (long id = 1; id <= 3000; id++) {
+            if (id % 3 != 0) {
+                index.remove(id);
+            }
+        }
+        List<InvertedIndex.Hit<String>> hits = index.search(List.of("pagoda"), 5);
+
+        // Then
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(hits).hasSize(5);
+        assertThat(hits).allSatisfy(hit -> {
+            assertThat(hit.id() % 3).isZero();
+            assertThat(hit.id() % 10).isEqualTo(9);
+            assertThat(hit.payload()).isEqualTo("blog-" + hit.id());
+        });
+        assertThat(hits).extracting(InvertedIndex.Hit::id).isSorted();
+    }
+
+    @Test
+    void shouldPruneWithoutChangingTheTopHits() {
+        // Given - skewed term frequencies and document lengths, some documents removed
+        SplittableRandom random = new SplittableRandom(7);
+        InvertedIndex<String> index = new InvertedIndex<>();
+        for (long id = 1; id <= 5000; id++) {
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            int length = 5 + random.nextInt(60);
+            for (int i = 0; i < length; i++) {
+                termFrequencies.merge("t" + (int) Math.sqrt(random.nextInt(400)), 1, Integer::sum);
+            }
+            index.put(id, termFrequencies, length, "blog-" + id);
+        }
+        for (long id = 1; id <= 5000; id += 7) {
+            index.remove(id);
+        }
+
+        for (List<String> query : List.of(List.of("t0"), List.of("t3", "t19"), List.of("t1", "t10", "t15"))) {
+            // When
+            List<InvertedIndex.Hit<String>> pruned = index.search(query, 10);
+            List<InvertedIndex.Hit<String>> exhaustive = index.search(query, index.size());
+
+            // Then
+            assertThat(pruned).containsExactlyElementsOf(exhaustive.subList(0, 10));
+        }
+    }
+
+    private TravelBlogRepo.SearchDocumentView document(Long id, String title, String city, String paragraph) {
+        TravelBlogRepo.SearchDocumentView document = mock(TravelBlogRepo.SearchDocumentView.class);
+        lenient().when(document.getId()).thenReturn(id);
+        lenient().when(document.getTitle()).thenReturn(title);
+        lenient().when(document.getCityName()).thenReturn(city);
+        lenient().when(document.getParagraph1()).thenReturn(paragraph);
+        return document;
+    }
+}
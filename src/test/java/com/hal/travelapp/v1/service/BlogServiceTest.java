@@ -2,32 +2,57 @@ package com.hal.travelapp.v1.service;
 
 import com.hal.travelapp.v1.dto.CursorPageResult;
 import com.hal.travelapp.v1.dto.PageResult;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
 import com.hal.travelapp.v1.dto.blog.BlogCreateRequestDto;
 import com.hal.travelapp.v1.dto.blog.BlogDto;
+import com.hal.travelapp.v1.dto.blog.BlogFacetsDto;
+import com.hal.travelapp.v1.dto.blog.BlogSearchFilterDto;
+import com.hal.travelapp.v1.dto.blog.BlogSearchHitDto;
+import com.hal.travelapp.v1.dto.blog.BlogSearchResultDto;
 import com.hal.travelapp.v1.dto.blog.BlogUpdateRequestDto;
+import com.hal.travelapp.v1.dto.blog.NearbyBlogDto;
 import com.hal.travelapp.v1.entity.domain.*;
 import com.hal.travelapp.v1.entity.enums.RoleEnum;
+import com.hal.travelapp.v1.exception.InvalidActionException;
 import com.hal.travelapp.v1.exception.ResourceNotFoundException;
 import com.hal.travelapp.v1.repository.*;
-import com.hal.travelapp.v1.service.ImageUploadService;
+import com.hal.travelapp.v1.service.ImageDeletionQueue;
+import com.hal.travelapp.v1.service.image.ImageVariant;
+import com.hal.travelapp.v1.service.image.PhotoSlot;
+import com.hal.travelapp.v1.service.image.PhotoSource;
+import com.hal.travelapp.v1.service.image.StoredPhoto;
 import com.hal.travelapp.v1.service.impl.BlogServiceImpl;
+import com.hal.travelapp.v1.service.search.BlogColumnStore;
+import com.hal.travelapp.v1.service.search.KdTree;
+import com.hal.travelapp.v1.service.search.MinHashIndex;
+import com.hal.travelapp.v1.service.search.PhotoHashIndex;
+import com.hal.travelapp.v1.utils.ListingCursor;
+import com.hal.travelapp.v1.utils.MonthMask;
+import com.hal.travelapp.v1.utils.SearchCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,7 +77,34 @@ class BlogServiceTest {
     private FavoriteBlogRepo favoriteBlogRepo;
 
     @Mock
-    private ImageUploadService imageUploadService;
+    private ImageDeletionQueue imageDeletionQueue;
+
+    @Mock
+    private BlogPhotoService blogPhotoService;
+
+    @Mock
+    private UploadSessionService uploadSessionService;
+
+    @Mock
+    private StatCounterService statCounterService;
+
+    @Mock
+    private CityGeoIndex cityGeoIndex;
+
+    @Mock
+    private BlogListingIndex blogListingIndex;
+
+    @Mock
+    private RelatedBlogRepo relatedBlogRepo;
+
+    @Mock
+    private BlogDuplicateIndex blogDuplicateIndex;
+
+    @Mock
+    private BlogDuplicateFlagRepo blogDuplicateFlagRepo;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private BlogServiceImpl blogService;
@@ -125,11 +177,17 @@ class BlogServiceTest {
         createRequest.setBestTimeEndMonth(3L);
         createRequest.setCategoryIds(Set.of(1L));
 
-        when(imageUploadService.uploadImage(mainPhoto, null)).thenReturn("https://raw.githubusercontent.com/owner/repo/main/images/main.jpg");
-        when(imageUploadService.uploadImage(midPhoto1, null)).thenReturn("https://raw.githubusercontent.com/owner/repo/main/images/mid1.jpg");
-        when(imageUploadService.uploadImage(midPhoto2, null)).thenReturn("https://raw.githubusercontent.com/owner/repo/main/images/mid2.jpg");
-        when(imageUploadService.uploadImage(midPhoto3, null)).thenReturn("https://raw.githubusercontent.com/owner/repo/main/images/mid3.jpg");
-        when(imageUploadService.uploadImage(sidePhoto, null)).thenReturn("https://raw.githubusercontent.com/owner/repo/main/images/side.jpg");
+        when(blogPhotoService.storePhotos(anyMap())).thenReturn(Map.of(
+                PhotoSlot.MAIN, new StoredPhoto(Map.of(
+                        ImageVariant.THUMB, "https://raw.githubusercontent.com/owner/repo/main/images/main_thumb.jpg",
+                        ImageVariant.CARD, "https://raw.githubusercontent.com/owner/repo/main/images/main_card.jpg",
+                        ImageVariant.FULL, "https://raw.githubusercontent.com/owner/repo/main/images/main_full.jpg"),
+                        "data:image/jpeg;base64,AA==", 0x0F0F0F0F0F0F0F0FL),
+                PhotoSlot.MID1, new StoredPhoto(Map.of(ImageVariant.FULL, "https://raw.githubusercontent.com/owner/repo/main/images/mid1_full.jpg"), "data:image/jpeg;base64,AA==", 0x1111111111111111L),
+                PhotoSlot.MID2, new StoredPhoto(Map.of(ImageVariant.FULL, "https://raw.githubusercontent.com/owner/repo/main/images/mid2_full.jpg"), "data:image/jpeg;base64,AA==", 0x2222222222222222L),
+                PhotoSlot.MID3, new StoredPhoto(Map.of(ImageVariant.FULL, "https://raw.githubusercontent.com/owner/repo/main/images/mid3_full.jpg"), "data:image/jpeg;base64,AA==", 0x3333333333333333L),
+                PhotoSlot.SIDE, new StoredPhoto(Map.of(ImageVariant.FULL, "https://raw.githubusercontent.com/owner/repo/main/images/side_full.jpg"), "data:image/jpeg;base64,AA==", 0x4444444444444444L)
+        ));
         when(cityRepo.findById(1L)).thenReturn(Optional.of(city));
         when(travelCategoryRepo.findByIdIn(Set.of(1L))).thenReturn(List.of(category));
         when(userRepo.findById(1L)).thenReturn(Optional.of(author));
@@ -139,6 +197,16 @@ class BlogServiceTest {
             return saved;
         });
         when(blogLikeRepo.countLikesByBlogId(1L)).thenReturn(0L);
+        TravelBlog original = new TravelBlog();
+        original.setId(5L);
+        TravelBlog photoSource = new TravelBlog();
+        photoSource.setId(7L);
+        when(blogDuplicateIndex.findTextDuplicates("First paragraph", "Second paragraph", "Third paragraph"))
+                .thenReturn(List.of(new MinHashIndex.Match(5L, 0.9)));
+        when(blogDuplicateIndex.findPhotoDuplicates(argThat(hashes -> hashes.size() == 5 && hashes.contains(0x0F0F0F0F0F0F0F0FL))))
+                .thenReturn(List.of(new PhotoHashIndex.Match(7L, 4)));
+        when(travelBlogRepo.getReferenceById(5L)).thenReturn(original);
+        when(travelBlogRepo.getReferenceById(7L)).thenReturn(photoSource);
 
         // When
         BlogDto result = blogService.createBlog(createRequest, 1L);
@@ -146,17 +214,89 @@ class BlogServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.title()).isEqualTo("Amazing Yangon");
-        assertThat(result.mainPhotoUrl()).isNotNull();
+        assertThat(result.mainPhotoUrl()).endsWith("main_full.jpg");
+        assertThat(result.mainPhotoThumbUrl()).endsWith("main_thumb.jpg");
+        assertThat(result.mainPhotoCardUrl()).endsWith("main_card.jpg");
+        assertThat(result.sidePhotoUrl()).endsWith("side_full.jpg");
+        assertThat(result.mainPhotoPlaceholder()).startsWith("data:image/jpeg;base64,");
+        assertThat(result.sidePhotoPlaceholder()).startsWith("data:image/jpeg;base64,");
         assertThat(result.status()).isEqualTo("PENDING");
         assertThat(result.cityId()).isEqualTo(1L);
         assertThat(result.authorId()).isEqualTo(1L);
 
-        verify(imageUploadService, times(5)).uploadImage(any(), any());
+        verify(blogPhotoService).storePhotos(argThat(photos -> photos.size() == 5));
         verify(cityRepo).findById(1L);
         verify(travelCategoryRepo).findByIdIn(Set.of(1L));
         verify(userRepo).findById(1L);
         verify(travelBlogRepo).save(any(TravelBlog.class));
         verify(blogLikeRepo).countLikesByBlogId(1L);
+        verify(blogDuplicateFlagRepo).saveAll(argThat((List<BlogDuplicateFlag> flags) -> flags.size() == 2
+                && flags.get(0).getDuplicateOf() == original
+                && flags.get(0).getKind() == BlogDuplicateFlag.Kind.TEXT
+                && flags.get(0).getSimilarity() == 0.9
+                && flags.get(1).getDuplicateOf() == photoSource
+                && flags.get(1).getKind() == BlogDuplicateFlag.Kind.PHOTO
+                && flags.get(1).getSimilarity() == 1 - 4.0 / 64));
+    }
+
+    @Test
+    void shouldCreateBlogFromStagedUploads() {
+        // Given - every photo but the main one was uploaded beforehand in chunks
+        BlogCreateRequestDto createRequest = stagedCreateRequest();
+        PhotoSource staged = mock(PhotoSource.class);
+        when(uploadSessionService.stagedPhoto(anyString(), eq(1L))).thenReturn(staged);
+        when(blogPhotoService.storePhotos(anyMap())).thenReturn(Map.of(
+                PhotoSlot.MAIN, new StoredPhoto(Map.of(ImageVariant.FULL, "main_full.jpg"), null, 0L)
+        ));
+        when(cityRepo.findById(1L)).thenReturn(Optional.of(city));
+        when(userRepo.findById(1L)).thenReturn(Optional.of(author));
+        when(travelBlogRepo.save(any(TravelBlog.class))).thenAnswer(invocation -> {
+            TravelBlog saved = invocation.getArgument(0);
+            saved.setId(42L);
+            return saved;
+        });
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            blogService.createBlog(createRequest, 1L);
+
+            // Then - the sessions are only removed once the blog is committed
+            verify(blogPhotoService).storePhotos(argThat(photos -> photos.size() == 5
+                    && photos.get(PhotoSlot.SIDE) == staged && photos.get(PhotoSlot.MAIN) != staged));
+            verify(uploadSessionService, never()).discard(anyCollection());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(uploadSessionService).discard(List.of("u-mid1", "u-mid2", "u-mid3", "u-side"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldKeepStagedUploadsWhenSaveFails() {
+        // Given
+        BlogCreateRequestDto createRequest = stagedCreateRequest();
+        PhotoSource staged = mock(PhotoSource.class);
+        when(uploadSessionService.stagedPhoto(anyString(), eq(1L))).thenReturn(staged);
+        when(blogPhotoService.storePhotos(anyMap())).thenReturn(Map.of(
+                PhotoSlot.MAIN, new StoredPhoto(Map.of(ImageVariant.FULL, "main_full.jpg"), null, 0L)
+        ));
+        when(cityRepo.findById(1L)).thenReturn(Optional.of(city));
+        when(userRepo.findById(1L)).thenReturn(Optional.of(author));
+        when(travelBlogRepo.save(any(TravelBlog.class))).thenThrow(new IllegalStateException("connection lost"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            assertThatThrownBy(() -> blogService.createBlog(createRequest, 1L))
+                    .isInstanceOf(IllegalStateException.class);
+
+            // Then - the upload ids can be submitted again
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+            verify(uploadSessionService, never()).discard(anyCollection());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -279,7 +419,13 @@ class BlogServiceTest {
         when(travelBlogRepo.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(blog));
         when(cityRepo.findById(1L)).thenReturn(Optional.of(city));
         when(travelCategoryRepo.findByIdIn(Set.of(1L))).thenReturn(List.of(category));
-        when(imageUploadService.uploadImage(any(), any())).thenReturn("https://raw.githubusercontent.com/owner/repo/main/images/new-image.jpg");
+        when(blogPhotoService.storePhotos(anyMap())).thenReturn(Map.of(
+                PhotoSlot.MAIN, new StoredPhoto(Map.of(
+                        ImageVariant.THUMB, "https://raw.githubusercontent.com/owner/repo/main/images/new_thumb.jpg",
+                        ImageVariant.CARD, "https://raw.githubusercontent.com/owner/repo/main/images/new_card.jpg",
+                        ImageVariant.FULL, "https://raw.githubusercontent.com/owner/repo/main/images/new_full.jpg"),
+                        "data:image/jpeg;base64,AA==", 0L)
+        ));
         when(travelBlogRepo.save(any(TravelBlog.class))).thenReturn(blog);
         when(blogLikeRepo.countLikesByBlogId(1L)).thenReturn(0L);
 
@@ -289,7 +435,9 @@ class BlogServiceTest {
         // Then
         assertThat(result).isNotNull();
         verify(travelBlogRepo).findByIdAndDeletedFalse(1L);
-        verify(imageUploadService, times(5)).uploadImage(any(), any());
+        verify(blogPhotoService).storePhotos(argThat(photos -> photos.size() == 5));
+        verify(imageDeletionQueue).enqueue(List.of("main.jpg"));
+        assertThat(blog.getMainPhotoThumbUrl()).endsWith("new_thumb.jpg");
         verify(travelBlogRepo).save(any(TravelBlog.class));
         verify(blogLikeRepo).countLikesByBlogId(1L);
     }
@@ -317,8 +465,6 @@ class BlogServiceTest {
         // Given
         when(travelBlogRepo.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(blog));
         when(travelBlogRepo.save(any(TravelBlog.class))).thenReturn(blog);
-        // Mock image deletion - may throw exception if image doesn't exist, which is fine
-        doNothing().when(imageUploadService).deleteImage(anyString());
 
         // When
         blogService.deleteBlog(1L);
@@ -326,7 +472,7 @@ class BlogServiceTest {
         // Then
         assertThat(blog.isDeleted()).isTrue();
         verify(travelBlogRepo).findByIdAndDeletedFalse(1L);
-        verify(imageUploadService, atLeastOnce()).deleteImage(anyString());
+        verify(imageDeletionQueue).enqueue(List.of("main.jpg", "mid1.jpg", "mid2.jpg", "mid3.jpg", "side.jpg"));
         verify(travelBlogRepo).save(blog);
     }
 
@@ -464,8 +610,279 @@ class BlogServiceTest {
         verify(blogLikeRepo).existsByUserIdAndBlogId(1L, 1L);
         verify(favoriteBlogRepo).existsByUserIdAndBlogId(1L, 1L);
     }
-}
 
+    @Test
+    void shouldSearchApprovedBlogsInRankOrder() {
+        // Given - two hits on this page and one more behind it
+        when(travelBlogRepo.findRankedIds(any(), eq("bagan"), eq(SearchCursor.FIRST), eq(3))).thenReturn(List.of(
+                new TravelBlogFilterRepo.RankedId(5L, 0.9f),
+                new TravelBlogFilterRepo.RankedId(3L, 0.4f),
+                new TravelBlogFilterRepo.RankedId(2L, 0.1f)));
+        TravelBlogRepo.BlogCardView card5 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card5.getId()).thenReturn(5L);
+        TravelBlogRepo.BlogCardView card3 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card3.getId()).thenReturn(3L);
+        // Cards come back in creation order, not rank order
+        when(travelBlogRepo.findCardsByIds(List.of(5L, 3L))).thenReturn(List.of(card3, card5));
+        when(blogLikeRepo.countLikesByBlogIds(List.of(5L, 3L))).thenReturn(List.of());
+        TravelBlogRepo.SearchHighlightView highlight = searchHighlight(5L, "Temples of <mark>Bagan</mark>");
+        when(travelBlogRepo.findSearchHighlights(List.of(5L, 3L), "bagan")).thenReturn(List.of(highlight));
+
+        // When
+        BlogSearchResultDto result = blogService.searchBlogs("  bagan ", null, null, 2);
+
+        // Then
+        CursorPageResult<BlogSearchHitDto> page = result.page();
+        assertThat(page.content()).extracting(hit -> hit.blog().id()).containsExactly(5L, 3L);
+        assertThat(page.content().getFirst().snippet()).isEqualTo("Temples of <mark>Bagan</mark>");
+        assertThat(page.content().get(1).snippet()).isNull();
+        assertThat(page.hasNext()).isTrue();
+        assertThat(SearchCursor.decode(page.nextCursor())).isEqualTo(new SearchCursor(0.4f, 3L));
+        assertThat(result.facets()).isNotNull();
+    }
+
+    @Test
+    void shouldBrowseFilteredBlogsWithoutQuery() {
+        // Given
+        when(travelBlogRepo.findRankedIds(any(), isNull(), eq(SearchCursor.FIRST), eq(11)))
+                .thenReturn(List.of(new TravelBlogFilterRepo.RankedId(8L, 0f)));
+        TravelBlogRepo.BlogCardView card = mock(TravelBlogRepo.BlogCardView.class);
+        when(card.getId()).thenReturn(8L);
+        when(travelBlogRepo.findCardsByIds(List.of(8L))).thenReturn(List.of(card));
+        when(blogLikeRepo.countLikesByBlogIds(List.of(8L))).thenReturn(List.of());
+        when(travelBlogRepo.countByCity(any())).thenReturn(List.of(
+                new TravelBlogFilterRepo.FacetCount(1L, "Yangon", 2),
+                new TravelBlogFilterRepo.FacetCount(2L, "Bagan", 5)));
+        when(travelBlogRepo.countByCategory(any())).thenReturn(List.of());
+        when(travelBlogRepo.countByVisitWindow(any())).thenReturn(List.of());
+        BlogSearchFilterDto filter = new BlogSearchFilterDto(2L, List.of(4L), "all", 12);
 
+        // When
+        BlogSearchResultDto result = blogService.searchBlogs(null, filter, null, 10);
 
+        // Then
+        assertThat(result.page().content()).singleElement().satisfies(hit -> {
+            assertThat(hit.blog().id()).isEqualTo(8L);
+            assertThat(hit.snippet()).isNull();
+        });
+        assertThat(result.page().hasNext()).isFalse();
+        assertThat(result.facets().cities()).extracting(BlogFacetsDto.Value::label).containsExactly("Bagan", "Yangon");
+        verify(travelBlogRepo, never()).findSearchHighlights(any(), any());
+    }
+
+    @Test
+    void shouldCountWrappingVisitWindowsForEveryMonth() {
+        // Given - November to February, and a second window in December
+        when(travelBlogRepo.findRankedIds(any(), isNull(), eq(SearchCursor.FIRST), anyInt())).thenReturn(List.of());
+        when(travelBlogRepo.countByCity(any())).thenReturn(List.of());
+        when(travelBlogRepo.countByCategory(any())).thenReturn(List.of());
+        when(travelBlogRepo.countByVisitWindow(any())).thenReturn(List.of(
+                new TravelBlogFilterRepo.WindowCount(MonthMask.of(11, 2), 3),
+                new TravelBlogFilterRepo.WindowCount(MonthMask.of(12, 12), 1)));
+
+        // When
+        BlogFacetsDto facets = blogService.searchBlogs(null, null, null, 10).facets();
+
+        // Then
+        assertThat(facets.months()).extracting(BlogFacetsDto.Value::id).containsExactly(12L, 1L, 2L, 11L);
+        assertThat(facets.months().getFirst().label()).isEqualTo("DECEMBER");
+        assertThat(facets.months().getFirst().count()).isEqualTo(4L);
+    }
+
+    @Test
+    void shouldSkipFacetsOnLaterPages() {
+        // Given
+        SearchCursor after = new SearchCursor(0.5f, 9L);
+        when(travelBlogRepo.findRankedIds(any(), eq("bagan"), eq(after), eq(11))).thenReturn(List.of());
+
+        // When
+        BlogSearchResultDto result = blogService.searchBlogs("bagan", null, after.encode(), 10);
+
+        // Then
+        assertThat(result.page().content()).isEmpty();
+        assertThat(result.facets()).isNull();
+        verify(travelBlogRepo, never()).countByCity(any());
+    }
 
+    @Test
+    void shouldEncodeMonthRangesAroundTheNewYear() {
+        int winter = MonthMask.of(11, 2);
+        int summer = MonthMask.of(6, 8);
+
+        assertThat(List.of(11, 12, 1, 2)).allMatch(month -> MonthMask.contains(winter, month));
+        assertThat(List.of(3, 10)).noneMatch(month -> MonthMask.contains(winter, month));
+        assertThat(Integer.bitCount(summer)).isEqualTo(3);
+        assertThat(MonthMask.of(4, 3)).isEqualTo(MonthMask.ALL);
+        assertThatThrownBy(() -> MonthMask.of(0, 5)).isInstanceOf(InvalidActionException.class);
+    }
+
+    @Test
+    void shouldGetBestForMonthWithNextCursor() {
+        // Given
+        when(travelBlogRepo.findRankedIds(any(), isNull(), eq(new SearchCursor(0f, 40L)), eq(3))).thenReturn(List.of(
+                new TravelBlogFilterRepo.RankedId(30L, 0f),
+                new TravelBlogFilterRepo.RankedId(20L, 0f),
+                new TravelBlogFilterRepo.RankedId(10L, 0f)));
+        TravelBlogRepo.BlogCardView card30 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card30.getId()).thenReturn(30L);
+        TravelBlogRepo.BlogCardView card20 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card20.getId()).thenReturn(20L);
+        when(travelBlogRepo.findCardsByIds(List.of(30L, 20L))).thenReturn(List.of(card20, card30));
+        when(blogLikeRepo.countLikesByBlogIds(List.of(30L, 20L))).thenReturn(List.of());
+
+        // When
+        CursorPageResult<BlogCardDto> result = blogService.getBestForMonth(1, "40", 2);
+
+        // Then
+        assertThat(result.content()).extracting(BlogCardDto::id).containsExactly(30L, 20L);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.nextCursor()).isEqualTo("20");
+    }
+
+    @Test
+    void shouldRejectInvalidBestForMonth() {
+        assertThatThrownBy(() -> blogService.getBestForMonth(13, null, 10))
+                .isInstanceOf(InvalidActionException.class);
+        assertThatThrownBy(() -> blogService.getBestForMonth(1, "abc", 10))
+                .isInstanceOf(InvalidActionException.class);
+        verify(travelBlogRepo, never()).findRankedIds(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldGetNearbyBlogsByCityDistanceWithoutTheBlogItself() {
+        // Given - the blog is in city 1; city 2 is 150 km away
+        City city = new City();
+        city.setId(1L);
+        city.setLatitude(21.17);
+        city.setLongitude(94.86);
+        TravelBlog blog = new TravelBlog();
+        blog.setId(7L);
+        blog.setStatus(TravelBlog.BlogStatus.APPROVED);
+        blog.setCity(city);
+        when(travelBlogRepo.findByIdAndDeletedFalse(7L)).thenReturn(Optional.of(blog));
+        when(cityGeoIndex.nearest(21.17, 94.86, 5)).thenReturn(List.of(
+                new KdTree.Hit(1L, 0), new KdTree.Hit(2L, 150)));
+        List<TravelBlogRepo.CityBlogView> newest = List.of(
+                cityBlog(9L, 2L), cityBlog(7L, 1L), cityBlog(3L, 1L), cityBlog(8L, 2L));
+        when(travelBlogRepo.findNewestApprovedIdsByCities(Set.of(1L, 2L), 3)).thenReturn(newest);
+        TravelBlogRepo.BlogCardView card3 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card3.getId()).thenReturn(3L);
+        when(card3.getCityId()).thenReturn(1L);
+        TravelBlogRepo.BlogCardView card9 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card9.getId()).thenReturn(9L);
+        when(card9.getCityId()).thenReturn(2L);
+        when(travelBlogRepo.findCardsByIds(List.of(3L, 9L))).thenReturn(List.of(card3, card9));
+        when(blogLikeRepo.countLikesByBlogIds(List.of(3L, 9L))).thenReturn(List.of());
+
+        // When
+        List<NearbyBlogDto> result = blogService.getNearbyBlogs(7L, null, null, null, 2);
+
+        // Then
+        assertThat(result).extracting(nearby -> nearby.blog().id()).containsExactly(3L, 9L);
+        assertThat(result).extracting(NearbyBlogDto::distanceKm).containsExactly(0.0, 150.0);
+    }
+
+    @Test
+    void shouldRejectNearbySearchWithoutOrigin() {
+        assertThatThrownBy(() -> blogService.getNearbyBlogs(null, 16.8, null, null, 10))
+                .isInstanceOf(InvalidActionException.class);
+        assertThatThrownBy(() -> blogService.getNearbyBlogs(null, 95.0, 16.8, null, 10))
+                .isInstanceOf(InvalidActionException.class);
+        verifyNoInteractions(cityGeoIndex);
+    }
+
+    @Test
+    void shouldBrowseFilteredBlogsFromListingIndex() {
+        // Given
+        ListingCursor after = new ListingCursor(12, 40L);
+        BlogColumnStore.Query query = new BlogColumnStore.Query(1L, List.of(2L, 3L), true, MonthMask.bit(12),
+                BlogColumnStore.Sort.LIKES, 12, 40L, 3);
+        when(blogListingIndex.find(query)).thenReturn(List.of(
+                new BlogColumnStore.Hit(30L, 12), new BlogColumnStore.Hit(20L, 9), new BlogColumnStore.Hit(10L, 9)));
+        TravelBlogRepo.BlogCardView card30 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card30.getId()).thenReturn(30L);
+        TravelBlogRepo.BlogCardView card20 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card20.getId()).thenReturn(20L);
+        when(travelBlogRepo.findCardsByIds(List.of(30L, 20L))).thenReturn(List.of(card20, card30));
+        when(blogLikeRepo.countLikesByBlogIds(List.of(30L, 20L))).thenReturn(List.of());
+
+        // When
+        CursorPageResult<BlogCardDto> result = blogService.browseBlogs(
+                new BlogSearchFilterDto(1L, List.of(2L, 3L), "all", 12), "likes", after.encode(), 2);
+
+        // Then
+        assertThat(result.content()).extracting(BlogCardDto::id).containsExactly(30L, 20L);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.nextCursor()).isEqualTo(new ListingCursor(9, 20L).encode());
+        verify(travelBlogRepo, never()).findRankedIds(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldRejectInvalidListingSort() {
+        assertThatThrownBy(() -> blogService.browseBlogs(null, "views", null, 10))
+                .isInstanceOf(InvalidActionException.class);
+        verifyNoInteractions(blogListingIndex);
+    }
+
+    @Test
+    void shouldGetRelatedBlogsInStoredOrderWithoutUnpublishedOnes() {
+        // Given - blog 4 was rejected after the lists were computed
+        when(relatedBlogRepo.findRelatedBlogIds(7L, PageRequest.of(0, 3))).thenReturn(List.of(9L, 4L, 2L));
+        TravelBlogRepo.BlogCardView card9 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card9.getId()).thenReturn(9L);
+        when(card9.getStatus()).thenReturn(TravelBlog.BlogStatus.APPROVED);
+        TravelBlogRepo.BlogCardView card4 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card4.getId()).thenReturn(4L);
+        when(card4.getStatus()).thenReturn(TravelBlog.BlogStatus.REJECTED);
+        TravelBlogRepo.BlogCardView card2 = mock(TravelBlogRepo.BlogCardView.class);
+        when(card2.getId()).thenReturn(2L);
+        when(card2.getStatus()).thenReturn(TravelBlog.BlogStatus.APPROVED);
+        when(travelBlogRepo.findCardsByIds(List.of(9L, 4L, 2L))).thenReturn(List.of(card2, card4, card9));
+        when(blogLikeRepo.countLikesByBlogIds(List.of(9L, 4L, 2L))).thenReturn(List.of());
+
+        // When
+        List<BlogCardDto> result = blogService.getRelatedBlogs(7L, 3);
+
+        // Then
+        assertThat(result).extracting(BlogCardDto::id).containsExactly(9L, 2L);
+    }
+
+    @Test
+    void shouldRejectInvalidSearchFilters() {
+        assertThatThrownBy(() -> blogService.searchBlogs(null, new BlogSearchFilterDto(null, null, "any", 13), null, 10))
+                .isInstanceOf(InvalidActionException.class);
+        assertThatThrownBy(() -> blogService.searchBlogs(null, new BlogSearchFilterDto(null, List.of(1L), "some", null), null, 10))
+                .isInstanceOf(InvalidActionException.class);
+        verify(travelBlogRepo, never()).findRankedIds(any(), any(), any(), anyInt());
+    }
+
+    private TravelBlogRepo.CityBlogView cityBlog(Long id, Long cityId) {
+        TravelBlogRepo.CityBlogView row = mock(TravelBlogRepo.CityBlogView.class);
+        when(row.getId()).thenReturn(id);
+        lenient().when(row.getCityId()).thenReturn(cityId);
+        return row;
+    }
+
+    private TravelBlogRepo.SearchHighlightView searchHighlight(Long id, String snippet) {
+        TravelBlogRepo.SearchHighlightView highlight = mock(TravelBlogRepo.SearchHighlightView.class);
+        when(highlight.getId()).thenReturn(id);
+        lenient().when(highlight.getTitleHighlight()).thenReturn(null);
+        when(highlight.getSnippet()).thenReturn(snippet);
+        return highlight;
+    }
+
+    private BlogCreateRequestDto stagedCreateRequest() {
+        BlogCreateRequestDto createRequest = new BlogCreateRequestDto();
+        createRequest.setTitle("Amazing Yangon");
+        createRequest.setParagraph1("First paragraph");
+        createRequest.setParagraph2("Second paragraph");
+        createRequest.setParagraph3("Third paragraph");
+        createRequest.setMainPhoto(new MockMultipartFile("mainPhoto", "main.jpg", "image/jpeg", "test image content".getBytes()));
+        createRequest.setMidPhoto1UploadId("u-mid1");
+        createRequest.setMidPhoto2UploadId("u-mid2");
+        createRequest.setMidPhoto3UploadId("u-mid3");
+        createRequest.setSidePhotoUploadId("u-side");
+        createRequest.setCityId(1L);
+        return createRequest;
+    }
+}
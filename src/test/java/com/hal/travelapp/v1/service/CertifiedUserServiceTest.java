@@ -2,6 +2,7 @@ package com.hal.travelapp.v1.service;
 
 import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
 import com.hal.travelapp.v1.dto.CertifiedUserRequestResponseDto;
+import com.hal.travelapp.v1.dto.PageResult;
 import com.hal.travelapp.v1.entity.domain.CertifiedUserRequest;
 import com.hal.travelapp.v1.entity.domain.Role;
 import com.hal.travelapp.v1.entity.domain.User;
@@ -18,6 +19,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
 import java.util.List;
@@ -40,6 +44,9 @@ class CertifiedUserServiceTest {
     @Mock
     private RoleRepo roleRepo;
 
+    @Mock
+    private StatCounterService statCounterService;
+
     @InjectMocks
     private CertifiedUserServiceImpl certifiedUserService;
 
@@ -157,18 +164,23 @@ class CertifiedUserServiceTest {
     @Test
     void shouldGetAllPendingRequests() {
         // Given
-        when(certifiedUserRequestRepo.findByStatusAndDeletedFalse(RequestStatus.PENDING))
-                .thenReturn(List.of(pendingRequest));
+        Pageable pageable = PageRequest.of(0, 20);
+        CertifiedUserRequestDto pendingDto = new CertifiedUserRequestDto(1L, 1L, "John Doe", "john@example.com",
+                "PENDING", null, null, null, Instant.now(), Instant.now());
+        when(certifiedUserRequestRepo.findRequestDtosByStatus(RequestStatus.PENDING, pageable))
+                .thenReturn(new PageImpl<>(List.of(pendingDto), pageable, 1));
 
         // When
-        List<CertifiedUserRequestDto> result = certifiedUserService.getAllPendingRequests();
+        PageResult<CertifiedUserRequestDto> result = certifiedUserService.getAllPendingRequests(pageable);
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).status()).isEqualTo("PENDING");
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.content().get(0).status()).isEqualTo("PENDING");
+        assertThat(result.totalElements()).isEqualTo(1);
 
-        verify(certifiedUserRequestRepo).findByStatusAndDeletedFalse(RequestStatus.PENDING);
+        verify(certifiedUserRequestRepo).findRequestDtosByStatus(RequestStatus.PENDING, pageable);
+        verify(certifiedUserRequestRepo, never()).findAll();
     }
 }
 
@@ -0,0 +1,113 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.repository.CityRepo;
+import com.hal.travelapp.v1.service.impl.CityGeoIndexImpl;
+import com.hal.travelapp.v1.service.search.KdTree;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CityGeoIndexTest {
+
+    @Mock
+    private CityRepo cityRepo;
+
+    @InjectMocks
+    private CityGeoIndexImpl cityGeoIndex;
+
+    @Test
+    void shouldFindNearestCitiesFromTheDatabase() {
+        // Given - Yangon, Bagan, Mandalay and Bangkok
+        List<CityRepo.CoordinateView> cities = List.of(
+                coordinate(1L, 16.8409, 96.1735),
+                coordinate(2L, 21.1717, 94.8585),
+                coordinate(3L, 21.9588, 96.0891),
+                coordinate(4L, 13.7563, 100.5018));
+        when(cityRepo.findCoordinates()).thenReturn(cities);
+
+        // When
+        cityGeoIndex.rebuild();
+        List<KdTree.Hit> nearest = cityGeoIndex.nearest(21.1717, 94.8585, 2);
+        List<KdTree.Hit> within = cityGeoIndex.within(16.8409, 96.1735, 570);
+
+        // Then
+        assertThat(cityGeoIndex.size()).isEqualTo(4);
+        assertThat(nearest).extracting(KdTree.Hit::id).containsExactly(2L, 3L);
+        assertThat(nearest.get(1).distanceKm()).isCloseTo(154, within(5.0));
+        assertThat(within).extracting(KdTree.Hit::id).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void shouldMatchBruteForceAcrossTheAntimeridianAndPoles() {
+        // Given
+        SplittableRandom random = new SplittableRandom(11);
+        int count = 5000;
+        long[] ids = new long[count];
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+            latitudes[i] = Math.toDegrees(Math.asin(random.nextDouble(-1, 1)));
+            longitudes[i] = random.nextDouble(-180, 180);
+        }
+        KdTree tree = KdTree.build(ids, latitudes, longitudes);
+
+        double[][] queries = {{0, 179.9}, {0, -179.9}, {89.9, 0}, {-89.9, 45}, {16.8, 96.1}};
+        for (double[] query : queries) {
+            List<KdTree.Hit> expected = bruteForce(ids, latitudes, longitudes, query[0], query[1]);
+
+            // When
+            List<KdTree.Hit> nearest = tree.nearest(query[0], query[1], 10);
+            List<KdTree.Hit> within = tree.within(query[0], query[1], 500);
+
+            // Then
+            assertThat(nearest).extracting(KdTree.Hit::id)
+                    .containsExactlyElementsOf(expected.subList(0, 10).stream().map(KdTree.Hit::id).toList());
+            assertThat(within).extracting(KdTree.Hit::id)
+                    .containsExactlyElementsOf(expected.stream().filter(hit -> hit.distanceKm() <= 500).map(KdTree.Hit::id).toList());
+        }
+    }
+
+    @Test
+    void shouldAnswerEmptyIndex() {
+        assertThat(cityGeoIndex.nearest(0, 0, 5)).isEmpty();
+        assertThat(cityGeoIndex.within(0, 0, 100)).isEmpty();
+    }
+
+    /**
+     * Haversine distance to every point
+     */
+    private static List<KdTree.Hit> bruteForce(long[] ids, double[] latitudes, double[] longitudes,
+                                               double latitude, double longitude) {
+        List<KdTree.Hit> hits = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            double dLat = Math.toRadians(latitudes[i] - latitude);
+            double dLon = Math.toRadians(longitudes[i] - longitude);
+            double a = Math.pow(Math.sin(dLat / 2), 2) + Math.cos(Math.toRadians(latitude))
+                    * Math.cos(Math.toRadians(latitudes[i])) * Math.pow(Math.sin(dLon / 2), 2);
+            hits.add(new KdTree.Hit(ids[i], 2 * Math.asin(Math.min(1, Math.sqrt(a))) * KdTree.EARTH_RADIUS_KM));
+        }
+        hits.sort(Comparator.comparingDouble(KdTree.Hit::distanceKm).thenComparingLong(KdTree.Hit::id));
+        return hits;
+    }
+
+    private CityRepo.CoordinateView coordinate(Long id, double latitude, double longitude) {
+        CityRepo.CoordinateView city = mock(CityRepo.CoordinateView.class);
+        when(city.getId()).thenReturn(id);
+        when(city.getLatitude()).thenReturn(latitude);
+        when(city.getLongitude()).thenReturn(longitude);
+        return city;
+    }
+}
@@ -0,0 +1,250 @@
+package com.hal.travelapp.v1.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP stand-in for the parts of the GitHub REST API used by the image upload service:
+ * the contents API and the Git Data API (refs, commits, trees, blobs) of a single repository.
+ * Trees are modelled as flat path -> blob SHA maps.
+ */
+class FakeGitHubApi implements AutoCloseable {
+
+    private final HttpServer server;
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final AtomicInteger shaSequence = new AtomicInteger();
+
+    private final Map<String, Map<String, String>> trees = new ConcurrentHashMap<>();
+    private final Map<String, String> commitTrees = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> directoryTrees = new ConcurrentHashMap<>();
+    private final Set<String> blobs = ConcurrentHashMap.newKeySet();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger refConflictsToSimulate = new AtomicInteger();
+    private volatile boolean truncateListings;
+    private volatile String head;
+
+    FakeGitHubApi() throws IOException {
+        String rootTree = nextSha("tree");
+        trees.put(rootTree, Map.of());
+        head = nextSha("commit");
+        commitTrees.put(head, rootTree);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/repos/owner/repo/", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** Files on the branch head, path -> blob SHA. */
+    synchronized Map<String, String> files() {
+        return Map.copyOf(trees.get(commitTrees.get(head)));
+    }
+
+    /** Method and path of every request received, in order. */
+    List<String> requests() {
+        return requests;
+    }
+
+    long count(String methodAndPathPrefix) {
+        return requests.stream().filter(r -> r.startsWith(methodAndPathPrefix)).count();
+    }
+
+    /** Makes the next ref updates fail as if another writer had moved the branch. */
+    void simulateRefConflicts(int times) {
+        refConflictsToSimulate.set(times);
+    }
+
+    /** Makes directory listings report that GitHub cut them short. */
+    void truncateListings() {
+        truncateListings = true;
+    }
+
+    /** Adds a file to the branch head as a separate commit. */
+    synchronized String putFile(String path) {
+        String blobSha = nextSha("blob");
+        blobs.add(blobSha);
+        Map<String, String> tree = new HashMap<>(files());
+        tree.put(path, blobSha);
+        commit(tree);
+        return blobSha;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring("/repos/owner/repo".length());
+        requests.add(method + " " + path);
+        try {
+            Map<String, Object> body = readBody(exchange);
+            synchronized (this) {
+                if (path.startsWith("/contents/")) {
+                    handleContents(exchange, method, path.substring("/contents/".length()), body);
+                } else if (path.startsWith("/git/")) {
+                    handleGit(exchange, method, path.substring("/git".length()), body);
+                } else {
+                    respond(exchange, 404, Map.of("message", "Not Found"));
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleContents(HttpExchange exchange, String method, String filePath, Map<String, Object> body) throws IOException {
+        Map<String, String> tree = new HashMap<>(files());
+        switch (method) {
+            case "GET" -> {
+                String sha = tree.get(filePath);
+                if (sha == null) {
+                    respond(exchange, 404, Map.of("message", "Not Found"));
+                } else {
+                    respond(exchange, 200, Map.of("path", filePath, "sha", sha));
+                }
+            }
+            case "PUT" -> {
+                String blobSha = nextSha("blob");
+                blobs.add(blobSha);
+                tree.put(filePath, blobSha);
+                String commitSha = commit(tree);
+                respond(exchange, 201, Map.of(
+                        "content", Map.of("path", filePath, "sha", blobSha),
+                        "commit", Map.of("sha", commitSha)
+                ));
+            }
+            case "DELETE" -> {
+                String current = tree.get(filePath);
+                if (current == null) {
+                    respond(exchange, 404, Map.of("message", "Not Found"));
+                } else if (!current.equals(body.get("sha"))) {
+                    respond(exchange, 409, Map.of("message", filePath + " does not match " + body.get("sha")));
+                } else {
+                    tree.remove(filePath);
+                    respond(exchange, 200, Map.of("commit", Map.of("sha", commit(tree))));
+                }
+            }
+            default -> respond(exchange, 405, Map.of("message", "Method Not Allowed"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleGit(HttpExchange exchange, String method, String path, Map<String, Object> body) throws IOException {
+        if (method.equals("GET") && path.startsWith("/ref/heads/")) {
+            respond(exchange, 200, Map.of("object", Map.of("sha", head, "type", "commit")));
+        } else if (method.equals("GET") && path.startsWith("/commits/")) {
+            String treeSha = commitTrees.get(path.substring("/commits/".length()));
+            respond(exchange, 200, Map.of("tree", Map.of("sha", treeSha)));
+        } else if (method.equals("GET") && path.startsWith("/trees/")) {
+            handleTreeListing(exchange, path.substring("/trees/".length()));
+        } else if (method.equals("POST") && path.equals("/blobs")) {
+            String sha = nextSha("blob");
+            blobs.add(sha);
+            respond(exchange, 201, Map.of("sha", sha));
+        } else if (method.equals("POST") && path.equals("/trees")) {
+            Map<String, String> tree = new HashMap<>(trees.get((String) body.get("base_tree")));
+            for (Map<String, Object> entry : (List<Map<String, Object>>) body.get("tree")) {
+                String entryPath = (String) entry.get("path");
+                String sha = (String) entry.get("sha");
+                if (sha == null) {
+                    tree.remove(entryPath);
+                } else if (blobs.contains(sha)) {
+                    tree.put(entryPath, sha);
+                } else {
+                    respond(exchange, 422, Map.of("message", "Unknown blob " + sha));
+                    return;
+                }
+            }
+            String treeSha = nextSha("tree");
+            trees.put(treeSha, tree);
+            respond(exchange, 201, Map.of("sha", treeSha));
+        } else if (method.equals("POST") && path.equals("/commits")) {
+            String commitSha = nextSha("commit");
+            commitTrees.put(commitSha, (String) body.get("tree"));
+            respond(exchange, 201, Map.of("sha", commitSha));
+        } else if (method.equals("PATCH") && path.startsWith("/refs/heads/")) {
+            if (refConflictsToSimulate.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                // Someone else committed in between: move the head and reject the update
+                putFile("images/concurrent_" + shaSequence.get() + ".jpg");
+                respond(exchange, 422, Map.of("message", "Update is not a fast forward"));
+                return;
+            }
+            head = (String) body.get("sha");
+            respond(exchange, 200, Map.of("object", Map.of("sha", head)));
+        } else {
+            respond(exchange, 404, Map.of("message", "Not Found"));
+        }
+    }
+
+    /** Lists one directory, addressed either as "branch:dir" or by the SHA of an earlier listing. */
+    private void handleTreeListing(HttpExchange exchange, String treeIsh) throws IOException {
+        String treeSha = treeIsh;
+        Map<String, String> directory = directoryTrees.get(treeIsh);
+        if (directory == null && treeIsh.contains(":")) {
+            String prefix = treeIsh.substring(treeIsh.indexOf(':') + 1) + "/";
+            directory = new TreeMap<>();
+            for (Map.Entry<String, String> file : files().entrySet()) {
+                String name = file.getKey();
+                if (name.startsWith(prefix) && name.indexOf('/', prefix.length()) < 0) {
+                    directory.put(name.substring(prefix.length()), file.getValue());
+                }
+            }
+            if (directory.isEmpty()) {
+                respond(exchange, 404, Map.of("message", "Not Found"));
+                return;
+            }
+            treeSha = nextSha("tree");
+            directoryTrees.put(treeSha, directory);
+        }
+        if (directory == null) {
+            respond(exchange, 404, Map.of("message", "Not Found"));
+            return;
+        }
+        List<Map<String, Object>> entries = new ArrayList<>();
+        directory.forEach((name, sha) -> entries.add(Map.of("path", name, "type", "blob", "sha", sha)));
+        respond(exchange, 200, Map.of("sha", treeSha, "tree", entries, "truncated", truncateListings));
+    }
+
+    private String commit(Map<String, String> tree) {
+        String treeSha = nextSha("tree");
+        trees.put(treeSha, tree);
+        String commitSha = nextSha("commit");
+        commitTrees.put(commitSha, treeSha);
+        head = commitSha;
+        return commitSha;
+    }
+
+    private String nextSha(String kind) {
+        return kind + "-" + shaSequence.incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        byte[] bytes = exchange.getRequestBody().readAllBytes();
+        if (bytes.length == 0) {
+            return Map.of();
+        }
+        return json.readValue(bytes, Map.class);
+    }
+
+    private void respond(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        byte[] bytes = json.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -187,7 +187,7 @@ class FavoriteBlogServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<TravelBlog> blogPage = new PageImpl<>(List.of(blog), pageable, 1);
         BlogDto blogDto = new BlogDto(
-                1L, "Test Blog", null, null, null, null, null, null, null, null,
+                1L, "Test Blog", null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
                 1L, "City", 1L, "Author", "APPROVED", null, null, null, null,
                 0L, false, true, null, null
         );
@@ -0,0 +1,212 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.client.OutboundClientFactory;
+import com.hal.travelapp.v1.client.OutboundClientSettings;
+import com.hal.travelapp.v1.service.image.StoredImagePage;
+import com.hal.travelapp.v1.service.impl.GitHubImageUploadServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubImageUploadServiceTest {
+
+    private static final String RAW_BASE = "https://raw.githubusercontent.com/owner/repo/main/";
+
+    private FakeGitHubApi gitHub;
+    private ExecutorService executor;
+    private OutboundClientFactory clientFactory;
+    private GitHubImageUploadServiceImpl imageUploadService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gitHub = new FakeGitHubApi();
+        executor = Executors.newFixedThreadPool(4);
+        clientFactory = new OutboundClientFactory(new SimpleMeterRegistry());
+        OutboundClientSettings settings = new OutboundClientSettings(
+                "github", Duration.ofSeconds(2), Duration.ofSeconds(5), 8, Duration.ofSeconds(5));
+        imageUploadService = new GitHubImageUploadServiceImpl(clientFactory.create(settings), executor, 100);
+        ReflectionTestUtils.setField(imageUploadService, "apiBaseUrl", gitHub.baseUrl());
+        ReflectionTestUtils.setField(imageUploadService, "batchCommits", true);
+        ReflectionTestUtils.setField(imageUploadService, "repoOwner", "owner");
+        ReflectionTestUtils.setField(imageUploadService, "repoName", "repo");
+        ReflectionTestUtils.setField(imageUploadService, "branch", "main");
+        ReflectionTestUtils.setField(imageUploadService, "githubToken", "token");
+        ReflectionTestUtils.setField(imageUploadService, "uploadPath", "images");
+        ReflectionTestUtils.setField(imageUploadService, "baseUrl", "https://raw.githubusercontent.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        gitHub.close();
+        executor.shutdownNow();
+        clientFactory.close();
+    }
+
+    @Test
+    void shouldUploadAllImagesInOneCommit() {
+        // Given
+        Map<String, byte[]> images = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            images.put("photo" + i + "_full.jpg", ("image " + i).getBytes());
+        }
+
+        // When
+        Map<String, String> urls = imageUploadService.uploadImages(images);
+
+        // Then
+        assertThat(urls).containsEntry("photo0_full.jpg", RAW_BASE + "images/photo0_full.jpg");
+        assertThat(gitHub.files()).containsOnlyKeys(
+                "images/photo0_full.jpg", "images/photo1_full.jpg", "images/photo2_full.jpg",
+                "images/photo3_full.jpg", "images/photo4_full.jpg");
+        assertThat(gitHub.count("POST /git/blobs")).isEqualTo(5);
+        assertThat(gitHub.count("POST /git/trees")).isEqualTo(1);
+        assertThat(gitHub.count("POST /git/commits")).isEqualTo(1);
+        assertThat(gitHub.count("PATCH /git/refs/heads/main")).isEqualTo(1);
+        assertThat(gitHub.count("PUT /contents")).isZero();
+    }
+
+    @Test
+    void shouldRebuildCommitWhenBranchMoves() {
+        // Given
+        gitHub.simulateRefConflicts(2);
+
+        // When
+        imageUploadService.uploadImages(Map.of("a_full.jpg", "a".getBytes(), "b_full.jpg", "b".getBytes()));
+
+        // Then - blobs are reused, the tree and commit are rebuilt on the moved head
+        assertThat(gitHub.files()).containsKeys("images/a_full.jpg", "images/b_full.jpg");
+        assertThat(gitHub.files()).hasSize(4);
+        assertThat(gitHub.count("POST /git/blobs")).isEqualTo(2);
+        assertThat(gitHub.count("POST /git/commits")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldDeleteAllImagesInOneCommit() {
+        // Given
+        for (String name : List.of("main", "mid1", "mid2", "mid3", "side")) {
+            gitHub.putFile("images/" + name + ".jpg");
+        }
+        gitHub.putFile("images/other.jpg");
+
+        // When
+        imageUploadService.deleteImages(List.of(
+                RAW_BASE + "images/main.jpg", RAW_BASE + "images/mid1.jpg", RAW_BASE + "images/mid2.jpg",
+                RAW_BASE + "images/mid3.jpg", RAW_BASE + "images/side.jpg"));
+
+        // Then
+        assertThat(gitHub.files()).containsOnlyKeys("images/other.jpg");
+        assertThat(gitHub.count("POST /git/commits")).isEqualTo(1);
+        assertThat(gitHub.count("GET /contents")).isZero();
+        assertThat(gitHub.count("DELETE /contents")).isZero();
+    }
+
+    @Test
+    void shouldUploadThroughContentsApiWhenBatchingIsDisabled() {
+        // Given
+        ReflectionTestUtils.setField(imageUploadService, "batchCommits", false);
+
+        // When
+        Map<String, String> urls = imageUploadService.uploadImages(Map.of("single_full.jpg", "x".getBytes()));
+
+        // Then
+        assertThat(urls).containsEntry("single_full.jpg", RAW_BASE + "images/single_full.jpg");
+        assertThat(gitHub.files()).containsKey("images/single_full.jpg");
+        assertThat(gitHub.count("PUT /contents/images/single_full.jpg")).isEqualTo(1);
+        assertThat(gitHub.count("POST /git")).isZero();
+    }
+
+    @Test
+    void shouldDeleteSingleImageThroughContentsApi() {
+        // Given
+        gitHub.putFile("images/old.jpg");
+
+        // When
+        imageUploadService.deleteImage(RAW_BASE + "images/old.jpg");
+
+        // Then
+        assertThat(gitHub.files()).doesNotContainKey("images/old.jpg");
+        assertThat(gitHub.count("DELETE /contents/images/old.jpg")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDeleteWithShaRememberedAtUpload() {
+        // Given
+        String url = imageUploadService.uploadImage("content".getBytes(), "cached.jpg");
+
+        // When
+        imageUploadService.deleteImage(url);
+
+        // Then
+        assertThat(gitHub.files()).doesNotContainKey("images/cached.jpg");
+        assertThat(gitHub.count("GET /contents")).isZero();
+        assertThat(gitHub.count("DELETE /contents/images/cached.jpg")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLookUpShaWhenRememberedOneIsStale() {
+        // Given - the file is overwritten elsewhere after our upload
+        String url = imageUploadService.uploadImage("content".getBytes(), "changed.jpg");
+        gitHub.putFile("images/changed.jpg");
+
+        // When
+        imageUploadService.deleteImage(url);
+
+        // Then
+        assertThat(gitHub.files()).doesNotContainKey("images/changed.jpg");
+        assertThat(gitHub.count("GET /contents/images/changed.jpg")).isEqualTo(1);
+        assertThat(gitHub.count("DELETE /contents/images/changed.jpg")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldListUploadDirectoryInPages() {
+        // Given
+        gitHub.putFile("images/a.jpg");
+        gitHub.putFile("images/b.jpg");
+        gitHub.putFile("images/c.jpg");
+        gitHub.putFile("other/d.jpg");
+
+        // When
+        StoredImagePage first = imageUploadService.listImages(null, 2);
+        gitHub.putFile("images/added_later.jpg");
+        StoredImagePage second = imageUploadService.listImages(first.nextPageToken(), 2);
+
+        // Then - later pages come from the same snapshot
+        assertThat(first.imageUrls()).containsExactly(RAW_BASE + "images/a.jpg", RAW_BASE + "images/b.jpg");
+        assertThat(second.imageUrls()).containsExactly(RAW_BASE + "images/c.jpg");
+        assertThat(second.nextPageToken()).isNull();
+        assertThat(gitHub.count("GET /git/trees/")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldListNothingBeforeFirstUpload() {
+        // When
+        StoredImagePage page = imageUploadService.listImages(null, 10);
+
+        // Then
+        assertThat(page.imageUrls()).isEmpty();
+        assertThat(page.nextPageToken()).isNull();
+    }
+
+    @Test
+    void shouldFailTruncatedListing() {
+        // Given
+        gitHub.putFile("images/a.jpg");
+        gitHub.truncateListings();
+
+        // When / Then
+        assertThatThrownBy(() -> imageUploadService.listImages(null, 10))
+                .hasMessageContaining("GitHub truncated the listing of images");
+    }
+}
@@ -0,0 +1,153 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.entity.domain.ImageDeletion;
+import com.hal.travelapp.v1.repository.ImageDeletionRepo;
+import com.hal.travelapp.v1.service.impl.ImageDeletionQueueImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageDeletionQueueTest {
+
+    @Mock
+    private ImageDeletionRepo imageDeletionRepo;
+
+    @Mock
+    private ImageUploadService imageUploadService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImageDeletionQueueImpl imageDeletionQueue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        imageDeletionQueue = new ImageDeletionQueueImpl(imageDeletionRepo, imageUploadService, meterRegistry);
+        ReflectionTestUtils.setField(imageDeletionQueue, "batchSize", 10);
+        ReflectionTestUtils.setField(imageDeletionQueue, "maxAttempts", 3);
+        ReflectionTestUtils.setField(imageDeletionQueue, "initialBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(imageDeletionQueue, "maxBackoff", Duration.ofHours(6));
+        ReflectionTestUtils.setField(imageDeletionQueue, "lease", Duration.ofMinutes(5));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldEnqueueEachUrlOnce() {
+        // When
+        imageDeletionQueue.enqueue(List.of("a.jpg", "b.jpg", "a.jpg"));
+
+        // Then
+        ArgumentCaptor<List<ImageDeletion>> captor = ArgumentCaptor.forClass(List.class);
+        verify(imageDeletionRepo).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(ImageDeletion::getImageUrl).containsExactly("a.jpg", "b.jpg");
+        assertThat(captor.getValue()).allSatisfy(deletion -> {
+            assertThat(deletion.getStatus()).isEqualTo(ImageDeletion.Status.PENDING);
+            assertThat(deletion.getNextAttemptAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void shouldDeleteClaimedBatchInOneCall() {
+        // Given
+        List<ImageDeletion> batch = List.of(deletion("a.jpg", 0), deletion("b.jpg", 0));
+        when(imageDeletionRepo.claimDue(any(Instant.class), any(Instant.class), anyInt())).thenReturn(batch);
+        when(imageDeletionRepo.countByStatus(ImageDeletion.Status.PENDING)).thenReturn(0L);
+
+        // When
+        int processed = imageDeletionQueue.drain();
+
+        // Then
+        assertThat(processed).isEqualTo(2);
+        verify(imageUploadService).deleteImages(List.of("a.jpg", "b.jpg"));
+        verify(imageDeletionRepo).deleteAllInBatch(batch);
+        verify(imageUploadService, never()).deleteImage(any());
+        assertThat(meterRegistry.get("image.deletion.processed").tag("outcome", "deleted").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldIsolateFailingImageAndBackOff() {
+        // Given
+        ImageDeletion good = deletion("good.jpg", 0);
+        ImageDeletion bad = deletion("bad.jpg", 0);
+        when(imageDeletionRepo.claimDue(any(Instant.class), any(Instant.class), anyInt())).thenReturn(List.of(good, bad));
+        when(imageDeletionRepo.countByStatus(ImageDeletion.Status.PENDING)).thenReturn(1L);
+        doThrow(new RuntimeException("batch failed")).when(imageUploadService).deleteImages(anyList());
+        doNothing().when(imageUploadService).deleteImage("good.jpg");
+        doThrow(new RuntimeException("GitHub unavailable")).when(imageUploadService).deleteImage("bad.jpg");
+        Instant before = Instant.now();
+
+        // When
+        imageDeletionQueue.drain();
+
+        // Then
+        verify(imageDeletionRepo).delete(good);
+        verify(imageDeletionRepo).save(bad);
+        assertThat(bad.getAttempts()).isEqualTo(1);
+        assertThat(bad.getStatus()).isEqualTo(ImageDeletion.Status.PENDING);
+        assertThat(bad.getLastError()).isEqualTo("GitHub unavailable");
+        assertThat(bad.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(15));
+        assertThat(meterRegistry.get("image.deletion.queue.depth").tag("status", "pending").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldMoveToDeadLetterAfterMaxAttempts() {
+        // Given
+        ImageDeletion deletion = deletion("bad.jpg", 2);
+        when(imageDeletionRepo.claimDue(any(Instant.class), any(Instant.class), anyInt())).thenReturn(List.of(deletion));
+        doThrow(new RuntimeException("GitHub unavailable")).when(imageUploadService).deleteImages(anyList());
+
+        // When
+        imageDeletionQueue.drain();
+
+        // Then
+        assertThat(deletion.getStatus()).isEqualTo(ImageDeletion.Status.DEAD);
+        assertThat(deletion.getAttempts()).isEqualTo(3);
+        verify(imageDeletionRepo).save(deletion);
+        assertThat(meterRegistry.get("image.deletion.processed").tag("outcome", "dead").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldTreatMissingImageAsDeleted() {
+        // Given
+        ImageDeletion deletion = deletion("gone.jpg", 0);
+        when(imageDeletionRepo.claimDue(any(Instant.class), any(Instant.class), anyInt())).thenReturn(List.of(deletion));
+        doThrow(new RuntimeException("Failed to delete images",
+                HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null)))
+                .when(imageUploadService).deleteImages(anyList());
+
+        // When
+        imageDeletionQueue.drain();
+
+        // Then
+        verify(imageDeletionRepo).delete(deletion);
+        verify(imageDeletionRepo, never()).save(any());
+    }
+
+    private ImageDeletion deletion(String url, int attempts) {
+        ImageDeletion deletion = new ImageDeletion();
+        deletion.setImageUrl(url);
+        deletion.setAttempts(attempts);
+        deletion.setNextAttemptAt(Instant.now());
+        return deletion;
+    }
+}
@@ -0,0 +1,126 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.OrphanImageReportDto;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.image.StoredImagePage;
+import com.hal.travelapp.v1.service.impl.ImageGarbageCollectorImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageGarbageCollectorTest {
+
+    private static final String BASE = "https://raw.githubusercontent.com/owner/repo/main/images/";
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    @Mock
+    private TravelBlogRepo travelBlogRepo;
+
+    @Mock
+    private ImageUploadService imageUploadService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ImageGarbageCollectorImpl imageGarbageCollector;
+
+    private final String oldName = LocalDateTime.now().minusDays(30).format(STAMP);
+    private final String newName = LocalDateTime.now().minusHours(1).format(STAMP);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        imageGarbageCollector = new ImageGarbageCollectorImpl(travelBlogRepo, imageUploadService, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(imageGarbageCollector, "pageSize", 2);
+        ReflectionTestUtils.setField(imageGarbageCollector, "gracePeriod", Duration.ofDays(7));
+        ReflectionTestUtils.setField(imageGarbageCollector, "batchSize", 2);
+        ReflectionTestUtils.setField(imageGarbageCollector, "batchInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(imageGarbageCollector, "maxDeletionsPerRun", 100);
+
+        when(travelBlogRepo.count()).thenReturn(1L);
+        when(travelBlogRepo.streamPhotoUrls()).thenReturn(Stream.<Object[]>of(
+                new Object[]{BASE + oldName + "_live_full.jpg", null, null, null, null, null, null}
+        ));
+        when(imageUploadService.listImages(null, 2)).thenReturn(new StoredImagePage(
+                List.of(BASE + oldName + "_live_full.jpg", BASE + oldName + "_orphan1.jpg"), "tree:2"));
+        when(imageUploadService.listImages("tree:2", 2)).thenReturn(new StoredImagePage(
+                List.of(BASE + oldName + "_orphan2.jpg", BASE + newName + "_uploading.jpg"), "tree:4"));
+        when(imageUploadService.listImages("tree:4", 2)).thenReturn(new StoredImagePage(
+                List.of(BASE + "README.md", BASE + oldName + "_orphan3.jpg"), null));
+    }
+
+    @Test
+    void shouldReportOrphansWithoutDeletingInDryRun() {
+        // When
+        OrphanImageReportDto report = imageGarbageCollector.collect(true);
+
+        // Then
+        assertThat(report.dryRun()).isTrue();
+        assertThat(report.referencedImages()).isEqualTo(1);
+        assertThat(report.scannedImages()).isEqualTo(6);
+        assertThat(report.orphanedImages()).isEqualTo(3);
+        assertThat(report.skippedRecent()).isEqualTo(1);
+        assertThat(report.skippedUnknownAge()).isEqualTo(1);
+        assertThat(report.deletedImages()).isZero();
+        assertThat(report.sampleOrphans()).containsExactly(
+                BASE + oldName + "_orphan1.jpg", BASE + oldName + "_orphan2.jpg", BASE + oldName + "_orphan3.jpg");
+        verify(imageUploadService, never()).deleteImages(anyCollection());
+    }
+
+    @Test
+    void shouldDeleteOrphansInBatches() {
+        // When
+        OrphanImageReportDto report = imageGarbageCollector.collect(false);
+
+        // Then
+        assertThat(report.deletedImages()).isEqualTo(3);
+        verify(imageUploadService).deleteImages(List.of(BASE + oldName + "_orphan1.jpg", BASE + oldName + "_orphan2.jpg"));
+        verify(imageUploadService).deleteImages(List.of(BASE + oldName + "_orphan3.jpg"));
+    }
+
+    @Test
+    void shouldStopDeletingAtPerRunLimitAndCountFailures() {
+        // Given
+        ReflectionTestUtils.setField(imageGarbageCollector, "maxDeletionsPerRun", 2);
+        doThrow(new RuntimeException("rate limited")).when(imageUploadService).deleteImages(anyCollection());
+
+        // When
+        OrphanImageReportDto report = imageGarbageCollector.collect(false);
+
+        // Then
+        assertThat(report.orphanedImages()).isEqualTo(3);
+        assertThat(report.failedDeletions()).isEqualTo(2);
+        assertThat(report.deletedImages()).isZero();
+        verify(imageUploadService, times(1)).deleteImages(anyCollection());
+    }
+
+    @Test
+    void shouldFailRunWhenListingFails() {
+        // Given
+        when(imageUploadService.listImages("tree:4", 2)).thenThrow(new RuntimeException("listing truncated"));
+
+        // When / Then
+        assertThatThrownBy(() -> imageGarbageCollector.collect(false)).hasMessage("listing truncated");
+        assertThat(meterRegistry.get("image.gc.runs").tag("outcome", "failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("image.gc.runs").tag("outcome", "completed").counter().count()).isZero();
+    }
+}
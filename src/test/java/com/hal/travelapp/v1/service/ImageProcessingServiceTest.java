@@ -0,0 +1,179 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.service.image.DecodedImage;
+import com.hal.travelapp.v1.service.image.ExifOrientation;
+import com.hal.travelapp.v1.service.image.ImageResizer;
+import com.hal.travelapp.v1.service.image.ImageVariant;
+import com.hal.travelapp.v1.service.image.PerceptualHash;
+import com.hal.travelapp.v1.service.image.ProcessedImage;
+import com.hal.travelapp.v1.service.impl.ImageProcessingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageProcessingServiceTest {
+
+    private ImageProcessingServiceImpl imageProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        imageProcessingService = new ImageProcessingServiceImpl(0.82f, 0.4f);
+    }
+
+    @Test
+    void shouldRenderVariantsWithinBounds() throws IOException {
+        // Given
+        DecodedImage decoded = imageProcessingService.decode(encode(new BufferedImage(3000, 2000, BufferedImage.TYPE_INT_RGB), "jpg"));
+
+        // When
+        ProcessedImage thumb = imageProcessingService.render(decoded, ImageVariant.THUMB);
+        ProcessedImage full = imageProcessingService.render(decoded, ImageVariant.FULL);
+
+        // Then
+        assertThat(thumb.width()).isEqualTo(320);
+        assertThat(thumb.height()).isEqualTo(213);
+        assertThat(thumb.contentType()).isEqualTo("image/jpeg");
+        assertThat(thumb.extension()).isEqualTo(".jpg");
+        assertThat(full.width()).isEqualTo(1920);
+        assertThat(ImageIO.read(new ByteArrayInputStream(thumb.content())).getWidth()).isEqualTo(320);
+    }
+
+    @Test
+    void shouldRenderTinyInlinePlaceholder() throws IOException {
+        // Given - a transparent PNG, which the placeholder flattens to JPEG
+        DecodedImage decoded = imageProcessingService.decode(encode(new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_ARGB), "png"));
+
+        // When
+        String placeholder = imageProcessingService.placeholder(decoded);
+
+        // Then
+        assertThat(placeholder).startsWith("data:image/jpeg;base64,");
+        assertThat(placeholder.length()).isLessThan(2000);
+        byte[] jpeg = Base64.getDecoder().decode(placeholder.substring("data:image/jpeg;base64,".length()));
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertThat(image.getWidth()).isEqualTo(16);
+        assertThat(image.getHeight()).isEqualTo(12);
+    }
+
+    @Test
+    void shouldNotUpscaleSmallImages() throws IOException {
+        // Given
+        DecodedImage decoded = imageProcessingService.decode(encode(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png"));
+
+        // When
+        ProcessedImage card = imageProcessingService.render(decoded, ImageVariant.CARD);
+
+        // Then
+        assertThat(card.width()).isEqualTo(200);
+        assertThat(card.height()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldKeepTransparentImagesAsPng() throws IOException {
+        // Given
+        DecodedImage decoded = imageProcessingService.decode(encode(new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_ARGB), "png"));
+
+        // When
+        ProcessedImage card = imageProcessingService.render(decoded, ImageVariant.CARD);
+
+        // Then
+        assertThat(decoded.hasAlpha()).isTrue();
+        assertThat(card.contentType()).isEqualTo("image/png");
+        assertThat(card.width()).isEqualTo(800);
+    }
+
+    @Test
+    void shouldRejectNonImageContent() {
+        assertThatThrownBy(() -> imageProcessingService.decode("test image content".getBytes()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldReadExifOrientation() {
+        // Given - SOI, APP1 "Exif" with a big-endian TIFF header and one IFD entry (orientation = 6)
+        byte[] jpegHeader = {
+                (byte) 0xFF, (byte) 0xD8,
+                (byte) 0xFF, (byte) 0xE1, 0x00, 0x22,
+                'E', 'x', 'i', 'f', 0x00, 0x00,
+                'M', 'M', 0x00, 0x2A, 0x00, 0x00, 0x00, 0x08,
+                0x00, 0x01,
+                0x01, 0x12, 0x00, 0x03, 0x00, 0x00, 0x00, 0x01, 0x00, 0x06, 0x00, 0x00,
+                0x00, 0x00, 0x00, 0x00,
+                (byte) 0xFF, (byte) 0xD9
+        };
+
+        // When/Then
+        assertThat(ExifOrientation.read(jpegHeader)).isEqualTo(6);
+        assertThat(ExifOrientation.read("not a jpeg".getBytes())).isEqualTo(ExifOrientation.NORMAL);
+    }
+
+    @Test
+    void shouldRotateImageUpright() {
+        // Given
+        BufferedImage landscape = new BufferedImage(40, 10, BufferedImage.TYPE_INT_RGB);
+        landscape.setRGB(0, 0, 0xFF0000);
+
+        // When
+        BufferedImage rotated = ImageResizer.applyOrientation(landscape, 6);
+
+        // Then - a 90 degree clockwise rotation moves the top-left pixel to the top-right
+        assertThat(rotated.getWidth()).isEqualTo(10);
+        assertThat(rotated.getHeight()).isEqualTo(40);
+        assertThat(rotated.getRGB(9, 0) & 0xFFFFFF).isEqualTo(0xFF0000);
+    }
+
+    @Test
+    void shouldGiveCopiesCloseHashesAndOtherPhotosDistantOnes() throws IOException {
+        // Given - the same scene re-uploaded as a small JPEG, and the scene mirrored
+        BufferedImage scene = scene(false);
+        DecodedImage original = imageProcessingService.decode(encode(scene, "png"));
+        ProcessedImage reupload = imageProcessingService.render(original, ImageVariant.THUMB);
+        DecodedImage copy = imageProcessingService.decode(reupload.content());
+        DecodedImage mirrored = imageProcessingService.decode(encode(scene(true), "png"));
+
+        // When
+        long originalHash = imageProcessingService.perceptualHash(original);
+        long copyHash = imageProcessingService.perceptualHash(copy);
+        long mirroredHash = imageProcessingService.perceptualHash(mirrored);
+
+        // Then
+        assertThat(PerceptualHash.hasDetail(originalHash)).isTrue();
+        assertThat(PerceptualHash.distance(originalHash, copyHash)).isLessThanOrEqualTo(3);
+        assertThat(PerceptualHash.distance(originalHash, mirroredHash)).isGreaterThan(15);
+        assertThat(PerceptualHash.hasDetail(imageProcessingService.perceptualHash(
+                imageProcessingService.decode(encode(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB), "png"))))).isFalse();
+    }
+
+    /**
+     * A sky gradient over a dark hill and a bright sun
+     */
+    private BufferedImage scene(boolean mirrored) {
+        BufferedImage image = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int column = mirrored ? image.getWidth() - 1 - x : x;
+                int sky = 90 + 120 * y / image.getHeight();
+                boolean hill = y > 500 - 200 * Math.sin(Math.PI * column / image.getWidth() * 1.5);
+                boolean sun = Math.hypot(column - 900, y - 200) < 90;
+                int grey = sun ? 250 : hill ? 40 + column % 60 : sky;
+                image.setRGB(x, y, grey << 16 | grey << 8 | Math.min(255, grey + 30));
+            }
+        }
+        return image;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
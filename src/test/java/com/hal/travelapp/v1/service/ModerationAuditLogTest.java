@@ -0,0 +1,208 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.CursorPageResult;
+import com.hal.travelapp.v1.dto.ModerationAuditEntryDto;
+import com.hal.travelapp.v1.entity.domain.ModerationAuditEntry;
+import com.hal.travelapp.v1.entity.enums.AuditTargetType;
+import com.hal.travelapp.v1.entity.enums.ModerationAction;
+import com.hal.travelapp.v1.repository.ModerationAuditRepo;
+import com.hal.travelapp.v1.service.impl.ModerationAuditLogImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationAuditLogTest {
+
+    @Mock
+    private ModerationAuditRepo moderationAuditRepo;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<ModerationAuditLog.Event> written = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldFlushBufferedEntriesOnStop() {
+        // Given
+        captureWrites(null);
+        ModerationAuditLogImpl auditLog = auditLog(1024, 50);
+        auditLog.start();
+
+        // When
+        for (long id = 1; id <= 120; id++) {
+            auditLog.record(event(id));
+        }
+        auditLog.stop();
+
+        // Then
+        assertThat(written).extracting(ModerationAuditLog.Event::targetId).hasSize(120).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldKeepEveryEntryFromConcurrentProducers() throws Exception {
+        // Given
+        captureWrites(null);
+        ModerationAuditLogImpl auditLog = auditLog(256, 50);
+        auditLog.start();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            long first = p * 1000L;
+            futures.add(producers.submit(() -> {
+                for (long id = first; id < first + 1000; id++) {
+                    auditLog.record(event(id));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        producers.shutdown();
+        auditLog.stop();
+
+        // Then
+        assertThat(new HashSet<>(written.stream().map(ModerationAuditLog.Event::targetId).toList())).hasSize(4000);
+        assertThat(written).hasSize(4000);
+    }
+
+    @Test
+    void shouldWriteDirectlyWhenTheBufferStaysFull() throws Exception {
+        // Given - the writer is stuck on its first batch
+        CountDownLatch release = new CountDownLatch(1);
+        captureWrites(release);
+        ModerationAuditLogImpl auditLog = auditLog(2, 1);
+        auditLog.start();
+
+        // When
+        for (long id = 1; id <= 4; id++) {
+            auditLog.record(event(id));
+        }
+        release.countDown();
+        auditLog.stop();
+
+        // Then
+        assertThat(meterRegistry.get("moderation.audit.written").tag("path", "direct").counter().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(written).extracting(ModerationAuditLog.Event::targetId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void shouldQueueEntriesOnlyAfterCommit() {
+        // Given
+        captureWrites(null);
+        ModerationAuditLogImpl auditLog = auditLog(16, 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        auditLog.record(event(1L));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Then
+        assertThat(written).isEmpty();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.getFirst().afterCommit();
+        assertThat(written).extracting(ModerationAuditLog.Event::targetId).containsExactly(1L);
+    }
+
+    @Test
+    void shouldContinueSearchFromCursor() {
+        // Given
+        Instant now = Instant.now();
+        doReturn(List.of(entry(3L, now), entry(2L, now), entry(1L, now)), List.of(entry(1L, now)))
+                .when(moderationAuditRepo).findBy(ArgumentMatchers.<Specification<ModerationAuditEntry>>any(), any());
+        ModerationAuditLogImpl auditLog = auditLog(16, 10);
+
+        // When
+        CursorPageResult<ModerationAuditEntryDto> page = auditLog.search(7L, "blog", null, null, null, null, 2);
+
+        // Then
+        assertThat(page.content()).extracting(ModerationAuditEntryDto::id).containsExactly(3L, 2L);
+        assertThat(page.hasNext()).isTrue();
+
+        CursorPageResult<ModerationAuditEntryDto> next = auditLog.search(7L, "BLOG", null, null, null, page.nextCursor(), 2);
+        assertThat(next.content()).extracting(ModerationAuditEntryDto::id).containsExactly(1L);
+        assertThat(next.hasNext()).isFalse();
+    }
+
+    private ModerationAuditLogImpl auditLog(int capacity, int batchSize) {
+        return new ModerationAuditLogImpl(moderationAuditRepo, jdbcTemplate, transactionManager, meterRegistry,
+                capacity, batchSize, Duration.ofMillis(5), Duration.ofMillis(20), Duration.ofSeconds(5));
+    }
+
+    /**
+     * Records what reaches the database. With a latch, writes from the writer thread wait for it.
+     */
+    @SuppressWarnings("unchecked")
+    private void captureWrites(CountDownLatch writerLatch) {
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            if (writerLatch != null && Thread.currentThread().getName().equals("moderation-audit-writer")) {
+                writerLatch.await(5, TimeUnit.SECONDS);
+            }
+            written.addAll(invocation.getArgument(1));
+            return new int[0][];
+        });
+    }
+
+    private ModerationAuditLog.Event event(long targetId) {
+        return new ModerationAuditLog.Event(Instant.now(), 1L, AuditTargetType.BLOG, targetId,
+                ModerationAction.APPROVE, "PENDING", "APPROVED", null);
+    }
+
+    private ModerationAuditEntry entry(Long id, Instant occurredAt) {
+        ModerationAuditEntry entry = new ModerationAuditEntry();
+        entry.setId(id);
+        entry.setOccurredAt(occurredAt);
+        entry.setActorId(7L);
+        entry.setTargetType(AuditTargetType.BLOG);
+        entry.setTargetId(id);
+        entry.setAction(ModerationAction.REJECT);
+        entry.setFromStatus("PENDING");
+        entry.setToStatus("REJECTED");
+        return entry;
+    }
+}
@@ -0,0 +1,125 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.CertifiedUserRequestDto;
+import com.hal.travelapp.v1.dto.ModerationClaimDto;
+import com.hal.travelapp.v1.dto.blog.BlogCardDto;
+import com.hal.travelapp.v1.entity.domain.CertifiedUserRequest;
+import com.hal.travelapp.v1.entity.domain.TravelBlog;
+import com.hal.travelapp.v1.entity.domain.User;
+import com.hal.travelapp.v1.repository.BlogLikeRepo;
+import com.hal.travelapp.v1.repository.CertifiedUserRequestRepo;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.impl.ModerationClaimServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationClaimServiceTest {
+
+    @Mock
+    private TravelBlogRepo travelBlogRepo;
+
+    @Mock
+    private CertifiedUserRequestRepo certifiedUserRequestRepo;
+
+    @Mock
+    private BlogLikeRepo blogLikeRepo;
+
+    private ModerationClaimServiceImpl moderationClaimService;
+
+    @BeforeEach
+    void setUp() {
+        moderationClaimService = new ModerationClaimServiceImpl(travelBlogRepo, certifiedUserRequestRepo, blogLikeRepo,
+                Duration.ofMinutes(15), 50);
+    }
+
+    @Test
+    void shouldLeaseBlogsForTheConfiguredDuration() {
+        // Given
+        TravelBlogRepo.BlogCardView card = mock(TravelBlogRepo.BlogCardView.class);
+        when(card.getId()).thenReturn(7L);
+        when(card.getStatus()).thenReturn(TravelBlog.BlogStatus.PENDING);
+        when(travelBlogRepo.claimPending(eq(1L), any(Instant.class), any(Instant.class), eq(10))).thenReturn(List.of(7L));
+        when(blogLikeRepo.countLikesByBlogIds(List.of(7L))).thenReturn(List.of());
+        when(travelBlogRepo.findCardsByIds(List.of(7L))).thenReturn(List.of(card));
+
+        // When
+        ModerationClaimDto<BlogCardDto> claim = moderationClaimService.claimBlogs(1L, 10);
+
+        // Then
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> leaseUntil = ArgumentCaptor.forClass(Instant.class);
+        verify(travelBlogRepo).claimPending(eq(1L), now.capture(), leaseUntil.capture(), eq(10));
+        assertThat(Duration.between(now.getValue(), leaseUntil.getValue())).isEqualTo(Duration.ofMinutes(15));
+        assertThat(claim.leaseExpiresAt()).isEqualTo(leaseUntil.getValue());
+        assertThat(claim.items()).extracting(BlogCardDto::id).containsExactly(7L);
+    }
+
+    @Test
+    void shouldCapClaimSizeAndSkipLookupsWhenQueueIsEmpty() {
+        // Given
+        when(travelBlogRepo.claimPending(eq(1L), any(Instant.class), any(Instant.class), anyInt())).thenReturn(List.of());
+
+        // When
+        ModerationClaimDto<BlogCardDto> claim = moderationClaimService.claimBlogs(1L, 10_000);
+
+        // Then
+        assertThat(claim.items()).isEmpty();
+        verify(travelBlogRepo).claimPending(eq(1L), any(Instant.class), any(Instant.class), eq(50));
+        verify(travelBlogRepo, never()).findCardsByIds(anyList());
+        verifyNoInteractions(blogLikeRepo);
+    }
+
+    @Test
+    void shouldReturnClaimedCertificationRequestsOldestFirst() {
+        // Given
+        User user = new User();
+        user.setId(3L);
+        user.setName("Jane");
+        CertifiedUserRequest newer = certificationRequest(11L, user, Instant.parse("2024-05-02T00:00:00Z"));
+        CertifiedUserRequest older = certificationRequest(12L, user, Instant.parse("2024-05-01T00:00:00Z"));
+        when(certifiedUserRequestRepo.claimPending(eq(1L), any(Instant.class), any(Instant.class), eq(2)))
+                .thenReturn(List.of(11L, 12L));
+        when(certifiedUserRequestRepo.findAllById(List.of(11L, 12L))).thenReturn(List.of(newer, older));
+
+        // When
+        ModerationClaimDto<CertifiedUserRequestDto> claim = moderationClaimService.claimCertificationRequests(1L, 2);
+
+        // Then
+        assertThat(claim.items()).extracting(CertifiedUserRequestDto::id).containsExactly(12L, 11L);
+    }
+
+    @Test
+    void shouldOnlyReleaseOwnClaims() {
+        // Given
+        when(travelBlogRepo.releaseClaims(1L, List.of(7L, 8L))).thenReturn(1);
+
+        // When / Then
+        assertThat(moderationClaimService.releaseBlogs(1L, List.of(7L, 8L))).isEqualTo(1);
+        assertThat(moderationClaimService.releaseCertificationRequests(1L, List.of())).isZero();
+        verifyNoInteractions(certifiedUserRequestRepo);
+    }
+
+    private static CertifiedUserRequest certificationRequest(Long id, User user, Instant createdAt) {
+        CertifiedUserRequest request = new CertifiedUserRequest();
+        request.setId(id);
+        request.setUser(user);
+        request.setCreatedAt(createdAt);
+        return request;
+    }
+}
@@ -0,0 +1,173 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.exception.ImageTooLargeException;
+import com.hal.travelapp.v1.exception.InvalidImageException;
+import com.hal.travelapp.v1.service.image.ImageFormat;
+import com.hal.travelapp.v1.service.image.ImageHeader;
+import com.hal.travelapp.v1.service.image.ImageHeaderSniffer;
+import com.hal.travelapp.v1.service.image.PhotoSource;
+import com.hal.travelapp.v1.service.image.PhotoUploadValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PhotoUploadValidatorTest {
+
+    private PhotoUploadValidator photoUploadValidator;
+
+    @BeforeEach
+    void setUp() {
+        photoUploadValidator = new PhotoUploadValidator(DataSize.ofKilobytes(100), DataSize.ofKilobytes(150), 1_000_000, 1_500_000);
+    }
+
+    @Test
+    void shouldSniffJpegPastMetadataSegments() throws IOException {
+        // Given - a 60 KB APP1 segment between SOI and the frame header
+        byte[] encoded = encode(new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB), "jpg");
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        jpeg.write(encoded, 0, 2);
+        jpeg.write(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) 0xEA, 0x62});
+        jpeg.write(new byte[60000]);
+        jpeg.write(encoded, 2, encoded.length - 2);
+
+        // When
+        ImageHeader header = sniff(jpeg.toByteArray());
+
+        // Then
+        assertThat(header).isEqualTo(new ImageHeader(ImageFormat.JPEG, 640, 480));
+    }
+
+    @Test
+    void shouldSniffPngAndGif() throws IOException {
+        // When
+        ImageHeader png = sniff(encode(new BufferedImage(300, 200, BufferedImage.TYPE_INT_ARGB), "png"));
+        ImageHeader gif = sniff(encode(new BufferedImage(120, 90, BufferedImage.TYPE_INT_RGB), "gif"));
+
+        // Then
+        assertThat(png).isEqualTo(new ImageHeader(ImageFormat.PNG, 300, 200));
+        assertThat(gif).isEqualTo(new ImageHeader(ImageFormat.GIF, 120, 90));
+    }
+
+    @Test
+    void shouldSniffWebpVariants() throws IOException {
+        // Given
+        byte[] lossy = webp("VP8 ");
+        lossy[23] = (byte) 0x9D;
+        lossy[24] = 0x01;
+        lossy[25] = 0x2A;
+        lossy[26] = (byte) 0x80; // width 640
+        lossy[27] = 0x02;
+        lossy[28] = (byte) 0xE0; // height 480
+        lossy[29] = 0x01;
+
+        byte[] lossless = webp("VP8L");
+        int bits = (1024 - 1) | (768 - 1) << 14;
+        lossless[20] = 0x2F;
+        lossless[21] = (byte) bits;
+        lossless[22] = (byte) (bits >>> 8);
+        lossless[23] = (byte) (bits >>> 16);
+        lossless[24] = (byte) (bits >>> 24);
+
+        byte[] extended = webp("VP8X");
+        extended[24] = (byte) (4000 - 1);
+        extended[25] = (byte) ((4000 - 1) >>> 8);
+        extended[27] = (byte) (3000 - 1);
+        extended[28] = (byte) ((3000 - 1) >>> 8);
+
+        // When / Then
+        assertThat(sniff(lossy)).isEqualTo(new ImageHeader(ImageFormat.WEBP, 640, 480));
+        assertThat(sniff(lossless)).isEqualTo(new ImageHeader(ImageFormat.WEBP, 1024, 768));
+        assertThat(sniff(extended)).isEqualTo(new ImageHeader(ImageFormat.WEBP, 4000, 3000));
+    }
+
+    @Test
+    void shouldRejectNonImagesAndTruncatedHeaders() {
+        assertThatThrownBy(() -> sniff("<html>not an image</html>".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(InvalidImageException.class);
+        assertThatThrownBy(() -> sniff(new byte[]{(byte) 0x89, 'P', 'N', 'G'}))
+                .isInstanceOf(InvalidImageException.class);
+    }
+
+    @Test
+    void shouldIgnoreClientContentType() throws IOException {
+        // Given - claims to be a JPEG but is text
+        MockMultipartFile fake = new MockMultipartFile("mainPhoto", "photo.jpg", "image/jpeg", "hello".getBytes());
+
+        // When / Then
+        assertThatThrownBy(() -> photoUploadValidator.validate(List.of(PhotoSource.of(fake))))
+                .isInstanceOf(InvalidImageException.class)
+                .hasMessageContaining("photo.jpg");
+    }
+
+    @Test
+    void shouldRejectPartOverPixelLimitFromHeaderAlone() throws IOException {
+        // Given - a small file that declares 2000x1000 pixels
+        MockMultipartFile big = new MockMultipartFile("mainPhoto", "big.png", "image/png",
+                encode(new BufferedImage(2000, 1000, BufferedImage.TYPE_BYTE_BINARY), "png"));
+
+        // When / Then
+        assertThatThrownBy(() -> photoUploadValidator.validate(List.of(PhotoSource.of(big))))
+                .isInstanceOf(ImageTooLargeException.class)
+                .hasMessageContaining("2000x1000");
+    }
+
+    @Test
+    void shouldRejectPartAndRequestOverByteLimits() {
+        // Given
+        MockMultipartFile huge = new MockMultipartFile("mainPhoto", "huge.jpg", "image/jpeg", new byte[120 * 1024]);
+        MockMultipartFile first = new MockMultipartFile("midPhoto1", "a.jpg", "image/jpeg", new byte[80 * 1024]);
+        MockMultipartFile second = new MockMultipartFile("midPhoto2", "b.jpg", "image/jpeg", new byte[80 * 1024]);
+
+        // When / Then
+        assertThatThrownBy(() -> photoUploadValidator.validate(List.of(PhotoSource.of(huge))))
+                .isInstanceOf(ImageTooLargeException.class)
+                .hasMessageContaining("huge.jpg");
+        assertThatThrownBy(() -> photoUploadValidator.validate(List.of(PhotoSource.of(first), PhotoSource.of(second))))
+                .isInstanceOf(ImageTooLargeException.class)
+                .hasMessageContaining("total");
+    }
+
+    @Test
+    void shouldRejectRequestOverTotalPixelLimit() throws IOException {
+        // Given - each photo is within the per-part limit, together they are not
+        byte[] png = encode(new BufferedImage(1000, 800, BufferedImage.TYPE_BYTE_BINARY), "png");
+        MockMultipartFile first = new MockMultipartFile("midPhoto1", "a.png", "image/png", png);
+        MockMultipartFile second = new MockMultipartFile("midPhoto2", "b.png", "image/png", png);
+
+        // When / Then
+        assertThat(photoUploadValidator.inspect(PhotoSource.of(first)).pixels()).isEqualTo(800_000);
+        assertThatThrownBy(() -> photoUploadValidator.validate(List.of(PhotoSource.of(first), PhotoSource.of(second))))
+                .isInstanceOf(ImageTooLargeException.class)
+                .hasMessageContaining("total");
+    }
+
+    private static ImageHeader sniff(byte[] bytes) throws IOException {
+        return ImageHeaderSniffer.sniff(new ByteArrayInputStream(bytes));
+    }
+
+    private static byte[] webp(String chunk) {
+        byte[] bytes = new byte[30];
+        System.arraycopy("RIFF".getBytes(StandardCharsets.US_ASCII), 0, bytes, 0, 4);
+        System.arraycopy("WEBP".getBytes(StandardCharsets.US_ASCII), 0, bytes, 8, 4);
+        System.arraycopy(chunk.getBytes(StandardCharsets.US_ASCII), 0, bytes, 12, 4);
+        return bytes;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
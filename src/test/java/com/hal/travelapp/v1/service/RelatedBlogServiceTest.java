@@ -0,0 +1,151 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.repository.BlogLikeRepo;
+import com.hal.travelapp.v1.repository.RelatedBlogRepo;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.service.impl.RelatedBlogServiceImpl;
+import com.hal.travelapp.v1.service.search.RelatedBlogGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelatedBlogServiceTest {
+
+    @Mock
+    private TravelBlogRepo travelBlogRepo;
+
+    @Mock
+    private BlogLikeRepo blogLikeRepo;
+
+    @Mock
+    private RelatedBlogRepo relatedBlogRepo;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RelatedBlogServiceImpl relatedBlogService;
+
+    @BeforeEach
+    void setUp() {
+        relatedBlogService = new RelatedBlogServiceImpl(travelBlogRepo, blogLikeRepo, relatedBlogRepo, jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(relatedBlogService, "topK", 2);
+        ReflectionTestUtils.setField(relatedBlogService, "pageSize", 10);
+        ReflectionTestUtils.setField(relatedBlogService, "maxPairs", 1000);
+        ReflectionTestUtils.setField(relatedBlogService, "maxLikesPerUser", 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRankByCoLikesCityAndCategories() {
+        // Given - blogs 1, 3 and 4 are in city 10; 1, 2 and 4 share category 5
+        List<TravelBlogRepo.ListingRowView> blogs = List.of(
+                row(1L, 10L), row(2L, 20L), row(3L, 10L), row(4L, 10L), row(5L, 30L));
+        when(travelBlogRepo.findListingRows(eq(0L), any(Pageable.class))).thenReturn(blogs);
+        List<TravelBlogRepo.BlogCategoryView> categories = List.of(
+                link(1L, 5L), link(2L, 6L), link(2L, 5L), link(4L, 5L), link(5L, 7L));
+        when(travelBlogRepo.findCategoryIdsByBlogIds(List.of(1L, 2L, 3L, 4L, 5L))).thenReturn(categories);
+        // User 7 liked a blog that is no longer approved, user 8 liked more than the cap
+        when(blogLikeRepo.streamLikesByUser()).thenReturn(Stream.of(
+                new Object[]{6L, 1L}, new Object[]{6L, 2L}, new Object[]{6L, 3L},
+                new Object[]{7L, 1L}, new Object[]{7L, 99L}, new Object[]{7L, 2L},
+                new Object[]{8L, 2L}, new Object[]{8L, 5L}, new Object[]{8L, 4L}, new Object[]{8L, 1L}));
+
+        // When
+        int processed = relatedBlogService.recompute();
+
+        // Then
+        assertThat(processed).isEqualTo(5);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        List<Object[]> ofBlogOne = rows.getValue().stream().filter(row -> row[0].equals(1L)).toList();
+        // 2: co-liked twice, 2/sqrt(2*3) + half the categories; 3: co-liked once, 1/sqrt(2*1) + same city
+        assertThat(ofBlogOne).extracting(row -> row[2]).containsExactly(2L, 3L);
+        assertThat(ofBlogOne).extracting(row -> row[1]).containsExactly(0, 1);
+        assertThat((float) ofBlogOne.get(0)[3]).isCloseTo(1.066f, within(0.001f));
+        assertThat((float) ofBlogOne.get(1)[3]).isCloseTo(1.007f, within(0.001f));
+        verify(relatedBlogRepo).deleteByBlogIds(List.of(1L, 2L, 3L, 4L, 5L));
+        verify(relatedBlogRepo).deleteOfUnapprovedBlogs();
+    }
+
+    @Test
+    void shouldKeepFrequentPairsWhenPruning() {
+        // Given
+        RelatedBlogGraph graph = new RelatedBlogGraph(new long[]{10, 20, 30, 40}, new long[4], new long[4][0], 2);
+        for (int i = 0; i < 3; i++) {
+            graph.addLikes(new int[]{0, 1}, 2);
+        }
+        graph.addLikes(new int[]{2, 3}, 2);
+
+        // When - a third pair overflows the bound
+        graph.addLikes(new int[]{0, 2}, 2);
+
+        // Then
+        assertThat(graph.related(0, 5)).extracting(RelatedBlogGraph.Related::blogId).containsExactly(20L);
+        assertThat(graph.related(2, 5)).isEmpty();
+        assertThat(graph.indexOf(30)).isEqualTo(2);
+        assertThat(graph.indexOf(35)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldPruneToHalfWhenMostPairsWereSeenOnce() {
+        // Given - two pairs seen twice and eight seen once fill the bound of 10
+        RelatedBlogGraph graph = new RelatedBlogGraph(LongStream.rangeClosed(1, 12).toArray(),
+                new long[12], new long[12][0], 10);
+        for (int i = 0; i < 2; i++) {
+            graph.addLikes(new int[]{0, 1}, 2);
+            graph.addLikes(new int[]{2, 3}, 2);
+        }
+        for (int other = 5; other < 12; other++) {
+            graph.addLikes(new int[]{4, other}, 2);
+        }
+        graph.addLikes(new int[]{5, 6}, 2);
+
+        // When - an eleventh pair overflows the bound
+        graph.addLikes(new int[]{5, 7}, 2);
+
+        // Then - both frequent pairs survive alongside three of the single ones
+        assertThat(graph.related(0, 5)).extracting(RelatedBlogGraph.Related::blogId).containsExactly(2L);
+        assertThat(graph.related(2, 5)).extracting(RelatedBlogGraph.Related::blogId).containsExactly(4L);
+        int edges = 0;
+        for (int i = 0; i < graph.size(); i++) {
+            edges += graph.related(i, 12).size();
+        }
+        assertThat(edges).isEqualTo(2 * 5);
+    }
+
+    private TravelBlogRepo.ListingRowView row(Long id, Long cityId) {
+        TravelBlogRepo.ListingRowView row = mock(TravelBlogRepo.ListingRowView.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getCityId()).thenReturn(cityId);
+        return row;
+    }
+
+    private TravelBlogRepo.BlogCategoryView link(Long blogId, Long categoryId) {
+        TravelBlogRepo.BlogCategoryView link = mock(TravelBlogRepo.BlogCategoryView.class);
+        when(link.getBlogId()).thenReturn(blogId);
+        when(link.getCategoryId()).thenReturn(categoryId);
+        return link;
+    }
+}
@@ -0,0 +1,121 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.AdminStatsDto;
+import com.hal.travelapp.v1.entity.domain.TravelBlog;
+import com.hal.travelapp.v1.entity.enums.RoleEnum;
+import com.hal.travelapp.v1.repository.StatCounterRepo;
+import com.hal.travelapp.v1.service.impl.StatCounterServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatCounterServiceTest {
+
+    @Mock
+    private StatCounterRepo statCounterRepo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StatCounterServiceImpl statCounterService;
+
+    @BeforeEach
+    void setUp() {
+        statCounterService = new StatCounterServiceImpl(statCounterRepo, 4, transactionManager);
+    }
+
+    @Test
+    void shouldSkipZeroDelta() {
+        // When
+        statCounterService.add(StatCounterService.PENDING_CERTIFICATIONS, 0);
+
+        // Then
+        verify(statCounterRepo, never()).add(anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void shouldAddToOneOfTheConfiguredStripes() {
+        // When
+        statCounterService.add(StatCounterService.PENDING_CERTIFICATIONS, 3);
+
+        // Then
+        verify(statCounterRepo).add(eq(StatCounterService.PENDING_CERTIFICATIONS),
+                intThat(stripe -> stripe >= 0 && stripe < 4), eq(3L));
+    }
+
+    @Test
+    void shouldSumStripesAndFillMissingCounters() {
+        // Given
+        when(statCounterRepo.sumByName()).thenReturn(List.of(
+                total(StatCounterService.blogStatus(TravelBlog.BlogStatus.APPROVED), 12),
+                total(StatCounterService.PENDING_CERTIFICATIONS, 2),
+                total(StatCounterService.likesOn(Instant.now()), 5)
+        ));
+
+        // When
+        AdminStatsDto stats = statCounterService.getStats();
+
+        // Then
+        assertThat(stats.blogsByStatus()).containsEntry("APPROVED", 12L).containsEntry("PENDING", 0L);
+        assertThat(stats.usersByRole()).containsEntry(RoleEnum.ROLE_USER.name(), 0L);
+        assertThat(stats.pendingCertifications()).isEqualTo(2L);
+        assertThat(stats.likesToday()).isEqualTo(5L);
+    }
+
+    @Test
+    void shouldAddOnlyTheDriftWhenReconciling() {
+        // Given
+        String pendingBlogs = StatCounterService.blogStatus(TravelBlog.BlogStatus.PENDING);
+        String users = StatCounterService.userRole(RoleEnum.ROLE_USER);
+        when(statCounterRepo.countBlogsByStatus())
+                .thenReturn(List.<Object[]>of(new Object[]{TravelBlog.BlogStatus.PENDING, 7L}));
+        when(statCounterRepo.countUsersByRole())
+                .thenReturn(List.<Object[]>of(new Object[]{RoleEnum.ROLE_USER, 10L}));
+        when(statCounterRepo.countPendingCertifications()).thenReturn(0L);
+        when(statCounterRepo.countLikesSince(any(Instant.class))).thenReturn(0L);
+        when(statCounterRepo.sumByName()).thenReturn(List.of(
+                total(pendingBlogs, 9),
+                total(users, 10)
+        ));
+
+        // When
+        statCounterService.reconcile();
+
+        // Then
+        verify(statCounterRepo).add(eq(pendingBlogs), anyInt(), eq(-2L));
+        verify(statCounterRepo, never()).add(eq(users), anyInt(), anyLong());
+        verify(statCounterRepo).deleteByPrefixExcept(eq(StatCounterService.LIKES_DAY_PREFIX + "%"), anyString());
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ && definition.isReadOnly()));
+    }
+
+    private StatCounterRepo.CounterTotal total(String name, long value) {
+        return new StatCounterRepo.CounterTotal() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public long getTotal() {
+                return value;
+            }
+        };
+    }
+}
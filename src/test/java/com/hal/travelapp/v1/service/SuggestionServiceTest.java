@@ -0,0 +1,113 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.SuggestionDto;
+import com.hal.travelapp.v1.repository.CityRepo;
+import com.hal.travelapp.v1.repository.TravelBlogRepo;
+import com.hal.travelapp.v1.repository.TravelCategoryRepo;
+import com.hal.travelapp.v1.service.impl.SuggestionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionServiceTest {
+
+    @Mock
+    private CityRepo cityRepo;
+
+    @Mock
+    private TravelCategoryRepo travelCategoryRepo;
+
+    @Mock
+    private TravelBlogRepo travelBlogRepo;
+
+    private SuggestionServiceImpl suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new SuggestionServiceImpl(cityRepo, travelCategoryRepo, travelBlogRepo);
+
+        List<CityRepo.SuggestionView> cities = List.of(
+                city(1L, "Bagan", 40),
+                city(2L, "Bago", 5),
+                city(3L, "Mandalay", 60)
+        );
+        List<TravelCategoryRepo.SuggestionView> categories = List.of(category(10L, "Beaches", 12));
+        List<TravelBlogRepo.SuggestionView> titles = List.of(
+                title(100L, "Bagan at sunrise", 90),
+                title(101L, "Café hopping in Mandalay", 3)
+        );
+        when(cityRepo.findSuggestions()).thenReturn(cities);
+        when(travelCategoryRepo.findSuggestions()).thenReturn(categories);
+        when(travelBlogRepo.findTitleSuggestions()).thenReturn(titles);
+        suggestionService.rebuild();
+    }
+
+    @Test
+    void shouldRankPrefixMatchesByPopularity() {
+        List<SuggestionDto> suggestions = suggestionService.suggest("Ba", 10);
+
+        assertThat(suggestions).extracting(SuggestionDto::label)
+                .containsExactly("Bagan at sunrise", "Bagan", "Bago");
+        assertThat(suggestions.get(1).type()).isEqualTo(SuggestionDto.Type.CITY);
+    }
+
+    @Test
+    void shouldToleratePrefixOneEditAway() {
+        // Transposition, substitution, deletion and insertion
+        assertThat(suggestionService.suggest("Mnadalay", 10)).extracting(SuggestionDto::id).contains(3L);
+        assertThat(suggestionService.suggest("Mandolay", 10)).extracting(SuggestionDto::id).contains(3L);
+        assertThat(suggestionService.suggest("Beaaches", 10)).extracting(SuggestionDto::id).containsExactly(10L);
+        assertThat(suggestionService.suggest("Bgan", 10)).extracting(SuggestionDto::id).contains(100L, 1L);
+    }
+
+    @Test
+    void shouldListExactMatchesBeforeTypoMatches() {
+        // Only Bago starts with "bago"; the more popular Bagan entries are one substitution away
+        List<SuggestionDto> suggestions = suggestionService.suggest("bago", 10);
+
+        assertThat(suggestions).extracting(SuggestionDto::label)
+                .containsExactly("Bago", "Bagan at sunrise", "Bagan");
+    }
+
+    @Test
+    void shouldFoldDiacriticsAndPunctuation() {
+        assertThat(suggestionService.suggest("cafe-hopping", 10)).extracting(SuggestionDto::id).containsExactly(101L);
+    }
+
+    @Test
+    void shouldReturnNothingForBlankPrefix() {
+        assertThat(suggestionService.suggest(" ", 10)).isEmpty();
+    }
+
+    private CityRepo.SuggestionView city(Long id, String name, long weight) {
+        CityRepo.SuggestionView view = mock(CityRepo.SuggestionView.class);
+        lenient().when(view.getId()).thenReturn(id);
+        lenient().when(view.getName()).thenReturn(name);
+        lenient().when(view.getWeight()).thenReturn(weight);
+        return view;
+    }
+
+    private TravelCategoryRepo.SuggestionView category(Long id, String name, long weight) {
+        TravelCategoryRepo.SuggestionView view = mock(TravelCategoryRepo.SuggestionView.class);
+        lenient().when(view.getId()).thenReturn(id);
+        lenient().when(view.getName()).thenReturn(name);
+        lenient().when(view.getWeight()).thenReturn(weight);
+        return view;
+    }
+
+    private TravelBlogRepo.SuggestionView title(Long id, String name, long weight) {
+        TravelBlogRepo.SuggestionView view = mock(TravelBlogRepo.SuggestionView.class);
+        lenient().when(view.getId()).thenReturn(id);
+        lenient().when(view.getName()).thenReturn(name);
+        lenient().when(view.getWeight()).thenReturn(weight);
+        return view;
+    }
+}
@@ -0,0 +1,154 @@
+package com.hal.travelapp.v1.service;
+
+import com.hal.travelapp.v1.dto.upload.UploadSessionDto;
+import com.hal.travelapp.v1.exception.ImageTooLargeException;
+import com.hal.travelapp.v1.exception.InvalidActionException;
+import com.hal.travelapp.v1.exception.InvalidImageException;
+import com.hal.travelapp.v1.exception.ResourceNotFoundException;
+import com.hal.travelapp.v1.service.image.PhotoSource;
+import com.hal.travelapp.v1.service.image.PhotoUploadValidator;
+import com.hal.travelapp.v1.service.impl.UploadSessionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadSessionServiceTest {
+
+    @TempDir
+    Path stagingDir;
+
+    private UploadSessionServiceImpl uploadSessionService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        PhotoUploadValidator validator = new PhotoUploadValidator(DataSize.ofMegabytes(1), DataSize.ofMegabytes(5), 1_000_000, 5_000_000);
+        uploadSessionService = new UploadSessionServiceImpl(validator, stagingDir, Duration.ofHours(1), 2);
+    }
+
+    @Test
+    void shouldAssembleChunksAndAcceptRetriedChunk() throws IOException {
+        // Given
+        byte[] png = png(200, 100);
+        int half = png.length / 2;
+        UploadSessionDto session = uploadSessionService.createSession("photo.png", png.length, 1L);
+
+        // When - the first chunk is sent twice, as after a lost response
+        uploadSessionService.writeChunk(session.uploadId(), 0, chunk(png, 0, half), 1L);
+        uploadSessionService.writeChunk(session.uploadId(), 0, chunk(png, 0, half), 1L);
+        UploadSessionDto resumed = uploadSessionService.getSession(session.uploadId(), 1L);
+        uploadSessionService.writeChunk(session.uploadId(), resumed.receivedBytes(), chunk(png, half, png.length), 1L);
+        UploadSessionDto finalized = uploadSessionService.finalizeSession(session.uploadId(), 1L);
+
+        // Then
+        assertThat(resumed.receivedBytes()).isEqualTo(half);
+        assertThat(finalized.status()).isEqualTo("FINALIZED");
+        PhotoSource photo = uploadSessionService.stagedPhoto(session.uploadId(), 1L);
+        assertThat(photo.name()).isEqualTo("photo.png");
+        assertThat(photo.readAllBytes()).isEqualTo(png);
+    }
+
+    @Test
+    void shouldRejectGapsOverrunsAndIncompleteFinalize() {
+        // Given
+        UploadSessionDto session = uploadSessionService.createSession("photo.png", 10, 1L);
+
+        // When / Then
+        assertThatThrownBy(() -> uploadSessionService.writeChunk(session.uploadId(), 5, chunk(new byte[5], 0, 5), 1L))
+                .isInstanceOf(InvalidActionException.class)
+                .hasMessageContaining("next expected offset is 0");
+        assertThatThrownBy(() -> uploadSessionService.writeChunk(session.uploadId(), 0, chunk(new byte[11], 0, 11), 1L))
+                .isInstanceOf(InvalidActionException.class)
+                .hasMessageContaining("declared size");
+        assertThatThrownBy(() -> uploadSessionService.finalizeSession(session.uploadId(), 1L))
+                .isInstanceOf(InvalidActionException.class)
+                .hasMessageContaining("incomplete");
+        assertThatThrownBy(() -> uploadSessionService.stagedPhoto(session.uploadId(), 1L))
+                .isInstanceOf(InvalidActionException.class);
+    }
+
+    @Test
+    void shouldRejectNonImageOnFinalize() {
+        // Given
+        byte[] text = "definitely not an image".getBytes();
+        UploadSessionDto session = uploadSessionService.createSession("photo.jpg", text.length, 1L);
+        uploadSessionService.writeChunk(session.uploadId(), 0, chunk(text, 0, text.length), 1L);
+
+        // When / Then
+        assertThatThrownBy(() -> uploadSessionService.finalizeSession(session.uploadId(), 1L))
+                .isInstanceOf(InvalidImageException.class);
+    }
+
+    @Test
+    void shouldEnforceSizeOwnershipAndSessionLimit() {
+        // When / Then
+        assertThatThrownBy(() -> uploadSessionService.createSession("huge.jpg", DataSize.ofMegabytes(2).toBytes(), 1L))
+                .isInstanceOf(ImageTooLargeException.class);
+
+        UploadSessionDto session = uploadSessionService.createSession("a.jpg", 10, 1L);
+        uploadSessionService.createSession("b.jpg", 10, 1L);
+        assertThatThrownBy(() -> uploadSessionService.createSession("c.jpg", 10, 1L))
+                .isInstanceOf(InvalidActionException.class);
+        assertThatThrownBy(() -> uploadSessionService.getSession(session.uploadId(), 2L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void shouldDeleteStagedFilesOnAbortDiscardAndExpiry() throws IOException, InterruptedException {
+        // Given
+        UploadSessionDto aborted = uploadSessionService.createSession("a.jpg", 10, 1L);
+        UploadSessionDto used = uploadSessionService.createSession("b.jpg", 10, 1L);
+        Files.write(stagingDir.resolve("left-by-previous-run.part"), new byte[]{1});
+
+        // When
+        uploadSessionService.abortSession(aborted.uploadId(), 1L);
+        uploadSessionService.discard(List.of(used.uploadId()));
+
+        // Then
+        assertThat(stagingDir.resolve(aborted.uploadId() + ".part")).doesNotExist();
+        assertThat(stagingDir.resolve(used.uploadId() + ".part")).doesNotExist();
+        assertThatThrownBy(() -> uploadSessionService.getSession(aborted.uploadId(), 1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // Given - a service whose sessions expire immediately
+        UploadSessionServiceImpl expiring = new UploadSessionServiceImpl(
+                new PhotoUploadValidator(DataSize.ofMegabytes(1), DataSize.ofMegabytes(5), 1_000_000, 5_000_000),
+                stagingDir, Duration.ZERO, 2);
+        UploadSessionDto stale = expiring.createSession("c.jpg", 10, 1L);
+        Thread.sleep(5);
+
+        // When
+        expiring.removeExpiredSessions();
+
+        // Then
+        try (var files = Files.list(stagingDir)) {
+            assertThat(files).isEmpty();
+        }
+        assertThatThrownBy(() -> expiring.getSession(stale.uploadId(), 1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static ByteArrayInputStream chunk(byte[] bytes, int from, int to) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(bytes, from, to));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}